@@ -15,6 +15,11 @@ import pm.cli.OutputFormatter;
 import pm.completion.CompletionHandler;
 import pm.completion.CompletionScripts;
 import pm.core.Project;
+import pm.daemon.DaemonClient;
+import pm.daemon.DaemonServer;
+import pm.detector.DetectionCache;
+import pm.detector.DirectorySnapshot;
+import pm.detector.ProjectDiscovery;
 import pm.detector.ProjectType;
 import pm.detector.ProjectTypeDetector;
 import pm.doctor.HealthCheck;
@@ -31,6 +36,14 @@ import pm.license.LicenseValidator;
 import pm.security.SecurityCheck;
 import pm.security.SecurityScorer;
 import pm.executor.CommandExecutor;
+import pm.executor.ParallelRunner;
+import pm.executor.ResourceUsage;
+import pm.git.GitMaintenance;
+import pm.git.MaintenanceResult;
+import pm.git.RemoteSync;
+import pm.git.RepoHealth;
+import pm.git.RepoStatus;
+import pm.git.SyncResult;
 import pm.storage.ProjectStore;
 import pm.util.ArgsParser;
 import pm.util.CommandConfigurator;
@@ -39,9 +52,11 @@ import pm.util.GitIntegration;
 import pm.util.RuntimeChecker;
 import pm.tracking.StatsStore;
 import pm.telemetry.Telemetry;
+import pm.telemetry.TelemetryConfig;
 import pm.util.UpdateChecker;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.FileSystemException;
 import java.nio.file.Files;
@@ -50,6 +65,9 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.Set;
 
 /**
  * Main class of ProjectManager - CLI for managing multiple projects.
@@ -66,7 +84,8 @@ import java.util.Map;
  * <p><b>Available commands:</b>
  * <pre>
  * pm add NAME --path PATH [--env VARS]  Register new project
- * pm list                               List all projects
+ * pm add --scan DIR [--dry-run]         Register every project below DIR
+ * pm list [--short]                     List all projects
  * pm build NAME                         Build project
  * pm run NAME                           Run project
  * pm test NAME                          Run tests
@@ -74,9 +93,14 @@ import java.util.Map;
  * pm commands NAME                      List available commands
  * pm remove NAME                        Remove project
  * pm info NAME                          Show project information
+ * pm status NAME | --all [--json]       Show Git status of one or all projects
+ * pm fetch NAME | --all                 Fetch one or all projects from their remotes
+ * pm pull NAME | --all --ff-only        Fast-forward one or all projects
+ * pm git-maintain NAME | --all [--run]  Report and improve git status performance
  * pm env SUBCOMMAND NAME [options]      Manage environment variables
  * pm refresh NAME | --all               Re-detect type and update commands
  * pm update                             Update to the latest version
+ * pm daemon start|stop|status          Manage the optional background daemon
  * pm help                               Show help
  * </pre>
  *
@@ -89,31 +113,85 @@ public class ProjectManager {
     // Service instances (manual dependency injection pattern)
     private static final ProjectStore store = new ProjectStore();
     private static final ProjectTypeDetector detector = new ProjectTypeDetector();
+    private static final DetectionCache detectionCache = new DetectionCache(Constants.DETECTION_CACHE_FILE);
     private static final CommandExecutor executor = new CommandExecutor();
     private static final StatsStore statsStore = new StatsStore();
 
+    /**
+     * Commands the daemon may run on behalf of a client. Commands that need the
+     * terminal (build, run, test, prompts) or replace the installation always run
+     * in the client's own JVM.
+     */
+    private static final Set<String> DAEMON_COMMANDS = Set.of(
+            "list", "ls", "info", "status", "commands", "cmd", "env", "hooks", "refresh",
+            "rename", "add", "export", "completions", "doctor", "secure", "modules", "ci",
+            "stats", "help", "-h", "--help", "version", "-v", "--version");
+
+    /** Commands that accept {@code --json}; their JSON output must not be preceded by the banner. */
+    private static final Set<String> JSON_COMMANDS = Set.of("status");
+
+    /**
+     * Subcommands of daemon commands that prompt for confirmation. Inside the
+     * daemon there is no console, so a prompt would read "no" without asking;
+     * these always run in the client's own JVM.
+     */
+    private static final Map<String, Set<String>> LOCAL_SUBCOMMANDS = Map.of(
+            "env", Set.of("switch"));
+
+    /** Directory relative paths in arguments are resolved against (the client's, inside the daemon). */
+    private static Path workingDir = Paths.get("").toAbsolutePath();
+
+    /** True while the daemon is running a command: exit() must not stop the JVM. */
+    private static boolean servingDaemon;
+
     /**
      * Application entry point.
      *
      * @param args command-line arguments
      */
     public static void main(String[] args) {
+        // Hand the command to a running daemon if there is one (pm daemon start)
+        if (System.getenv("PM_NO_DAEMON") == null) {
+            OptionalInt status = forwardToDaemon(Constants.DAEMON_SOCKET, args, System.getenv(),
+                    System.out, System.err);
+            if (status.isPresent()) {
+                System.out.flush();
+                if (status.getAsInt() != 0) {
+                    System.exit(status.getAsInt());
+                }
+                return;
+            }
+        }
+
+        execute(args);
+    }
+
+    /**
+     * Runs one command in this JVM.
+     *
+     * @param args command-line arguments
+     */
+    private static void execute(String[] args) {
         // Fast path: shell completion callback (no banner, no update check)
         if (args.length > 0 && "--complete".equals(args[0])) {
             CompletionHandler.handle(args);
             return;
         }
 
-        printBanner();
+        // Machine-readable output (--json) must be the only thing on stdout
+        if (!isJsonOutput(args)) {
+            printBanner();
 
-        // Check for updates in the background (non-blocking, 2s timeout)
-        UpdateChecker.checkForUpdates();
+            // Show cached update notice; revalidate in the background if stale
+            UpdateChecker.checkForUpdates();
 
-        // Initialize telemetry (first-run consent prompt if needed)
-        Telemetry.init();
+            // Initialize telemetry (first-run consent prompt if needed)
+            Telemetry.init();
+        }
 
         if (args.length == 0) {
             printHelp();
+            UpdateChecker.awaitBackgroundCheck();
             return;
         }
 
@@ -133,6 +211,10 @@ public class ProjectManager {
                 case "remove", "rm" -> handleRemove(args);
                 case "rename" -> handleRename(args);
                 case "info" -> handleInfo(args);
+                case "status" -> handleStatus(args);
+                case "fetch" -> handleFetch(args);
+                case "pull" -> handlePull(args);
+                case "git-maintain" -> handleGitMaintain(args);
                 case "env" -> handleEnv(args);
                 case "hooks" -> handleHooks(args);
                 case "refresh" -> handleRefresh(args);
@@ -151,6 +233,7 @@ public class ProjectManager {
                 case "config" -> handleConfig(args);
                 case "license" -> handleLicense(args);
                 case "stats" -> handleStats(args);
+                case "daemon" -> handleDaemon(args);
                 case "help", "-h", "--help" -> printHelp();
                 case "version", "-v", "--version" -> printVersion();
                 default -> handleGenericCommand(command, args);
@@ -160,8 +243,10 @@ public class ProjectManager {
             handleFatalError(e);
         } finally {
             long elapsedMs = System.currentTimeMillis() - startTime;
+            detectionCache.flush();
             Telemetry.trackCommand(command, success, elapsedMs);
             Telemetry.flush();
+            UpdateChecker.awaitBackgroundCheck();
         }
     }
 
@@ -186,12 +271,20 @@ public class ProjectManager {
      * <li>Confirm to the user</li>
      * </ol>
      *
+     * <p>With {@code --scan} it registers every project found below the given
+     * roots instead (see {@link #handleAddScan(ArgsParser)}).
+     *
      * @param args command arguments
      */
     private static void handleAdd(String[] args) {
         // Parse arguments
         ArgsParser parser = new ArgsParser(args);
 
+        if (parser.hasFlag("scan")) {
+            handleAddScan(parser);
+            return;
+        }
+
         String name = parser.getPositional(1);
         String pathFlag = parser.getFlag("path");
         String typeFlag = parser.getFlag("type");
@@ -199,28 +292,28 @@ public class ProjectManager {
         if (name == null || name.isBlank()) {
             OutputFormatter.error("Project name is required");
             System.out.println("Usage: pm add <name> --path <path> [--type <type>] [--env <vars>]");
-            System.exit(1);
+            exit(1);
         }
 
         if (pathFlag == null || pathFlag.isBlank()) {
             OutputFormatter.error("Project path is required");
             System.out.println("Usage: pm add <name> --path <path> [--type <type>] [--env <vars>]");
-            System.exit(1);
+            exit(1);
         }
 
         // Expand ~ to home directory
         String expandedPath = pathFlag.replace("~", System.getProperty("user.home"));
-        Path projectPath = Paths.get(expandedPath).toAbsolutePath().normalize();
+        Path projectPath = resolveUserPath(expandedPath);
 
         // Verify path exists
         if (!Files.exists(projectPath)) {
             OutputFormatter.error("Path does not exist: " + projectPath);
-            System.exit(1);
+            exit(1);
         }
 
         if (!Files.isDirectory(projectPath)) {
             OutputFormatter.error("Path is not a directory: " + projectPath);
-            System.exit(1);
+            exit(1);
         }
 
         // Verify project doesn't already exist
@@ -228,18 +321,19 @@ public class ProjectManager {
             Project existing = store.findProject(name);
             if (existing != null) {
                 OutputFormatter.error("Project '" + name + "' already exists");
-                System.exit(1);
+                exit(1);
             }
         } catch (IOException e) {
             OutputFormatter.error("Failed to check existing projects: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
 
         System.out.println();
         OutputFormatter.info("Detecting project type...");
         System.out.println();
 
-        // Detect project type
+        // Detect project type (primary and secondary types come from one listing)
+        DetectionCache.Detection detection = detectionCache.detect(projectPath);
         ProjectType detectedType;
         if (typeFlag != null && !typeFlag.isBlank()) {
             try {
@@ -247,19 +341,18 @@ public class ProjectManager {
             } catch (IllegalArgumentException e) {
                 OutputFormatter.error("Invalid project type: " + typeFlag);
                 System.out.println("Valid types: GRADLE, MAVEN, NODEJS, DOTNET, PYTHON, RUST, GO, PNPM, BUN, YARN");
-                System.exit(1);
+                exit(1);
                 return;
             }
         } else {
-            detectedType = ProjectTypeDetector.detect(projectPath);
+            detectedType = detection.type();
         }
 
         // Create project
         Project project = new Project(name, projectPath, detectedType);
 
-        // Detect secondary types (e.g., Docker alongside Maven)
-        List<ProjectType> allTypes = ProjectTypeDetector.detectAll(projectPath);
-        allTypes.stream()
+        // Secondary types (e.g., Docker alongside Maven)
+        detection.allTypes().stream()
                 .filter(t -> t != detectedType)
                 .forEach(project::addSecondaryType);
 
@@ -291,8 +384,171 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to save project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
+        }
+    }
+
+    /**
+     * Registers every project found below one or more root directories.
+     *
+     * <p>Usage: {@code pm add --scan ROOT[,ROOT...] [--depth N] [--jobs N] [--dry-run]}
+     *
+     * <p>The roots are walked in parallel by {@link ProjectDiscovery}. Each
+     * project is named after its directory (prefixed with the parent
+     * directory's name, or numbered, when the name is taken), gets its default
+     * commands, and all of them are saved in one {@link ProjectStore#update}
+     * write. Directories that are already registered are skipped.
+     * {@code --dry-run} prints what would be registered without saving.
+     */
+    private static void handleAddScan(ArgsParser parser) {
+        String rootList = parser.getFlag("scan");
+        if (rootList == null || rootList.isBlank() || rootList.equals("true")) {
+            OutputFormatter.error("Root directory is required");
+            System.out.println("Usage: pm add --scan <dir>[,<dir>...] [--depth <n>] [--jobs <n>] [--dry-run]");
+            exit(1);
+            return;
+        }
+
+        List<Path> roots = new java.util.ArrayList<>();
+        for (String root : rootList.split(",")) {
+            if (root.isBlank()) {
+                continue;
+            }
+            Path path = resolveUserPath(root.trim().replace("~", System.getProperty("user.home")));
+            if (!Files.isDirectory(path)) {
+                OutputFormatter.error("Not a directory: " + path);
+                exit(1);
+                return;
+            }
+            roots.add(path);
+        }
+
+        // 0 checks only the roots themselves
+        int maxDepth = parseIntFlag(parser, "depth", 0, ProjectDiscovery.DEFAULT_MAX_DEPTH);
+        int jobs = parseJobs(parser);
+        boolean dryRun = parser.hasFlag("dry-run");
+
+        System.out.println();
+        OutputFormatter.info("Scanning " + String.join(", ", roots.stream().map(Path::toString).toList()) +
+                " (depth " + maxDepth + ")...");
+
+        long start = System.nanoTime();
+        ProjectDiscovery.Result discovery = ProjectDiscovery.discover(roots, maxDepth, jobs);
+        long walkMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("  " + OutputFormatter.GRAY + String.format("%,d", discovery.directories()) +
+                " directories in " + walkMs + " ms" +
+                (discovery.unreadable() > 0 ? ", " + discovery.unreadable() + " unreadable" : "") +
+                OutputFormatter.RESET);
+        System.out.println();
+
+        List<Project> added;
+        try {
+            if (dryRun) {
+                added = planDiscoveredProjects(discovery.projects(), store.load());
+            } else {
+                added = store.update(projects -> {
+                    List<Project> planned = planDiscoveredProjects(discovery.projects(), projects);
+                    for (Project project : planned) {
+                        projects.putIfAbsent(project.name(), project);
+                    }
+                    return planned;
+                });
+            }
+        } catch (IOException e) {
+            OutputFormatter.error("Failed to save projects: " + e.getMessage());
+            exit(1);
+            return;
+        }
+
+        int alreadyRegistered = discovery.projects().size() - added.size();
+        if (added.isEmpty()) {
+            OutputFormatter.info(discovery.projects().isEmpty()
+                    ? "No projects found"
+                    : "All " + discovery.projects().size() + " projects found are already registered");
+            System.out.println();
+            return;
         }
+
+        int nameWidth = Math.max(7, added.stream().mapToInt(p -> p.name().length()).max().orElse(0) + 2);
+        System.out.println("  " + OutputFormatter.BOLD + padRight("Project", nameWidth) + padRight("Type", 12) +
+                "Path" + OutputFormatter.RESET);
+        System.out.println("  " + "─".repeat(nameWidth + 12 + 40));
+        for (Project project : added) {
+            System.out.println("  " + padRight(project.name(), nameWidth) + padRight(project.type().displayName(), 12) +
+                    OutputFormatter.GRAY + project.path() + OutputFormatter.RESET);
+        }
+        System.out.println();
+
+        String skipped = alreadyRegistered > 0 ? " (" + alreadyRegistered + " already registered)" : "";
+        if (dryRun) {
+            OutputFormatter.info("Dry run: " + added.size() + " project" + (added.size() != 1 ? "s" : "") +
+                    " would be registered" + skipped);
+            System.out.println("Run again without --dry-run to register them");
+        } else {
+            OutputFormatter.success("Registered " + added.size() + " project" + (added.size() != 1 ? "s" : "") +
+                    skipped);
+            System.out.println("Use 'pm list' to see them, 'pm rename' to change a name");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Builds the projects to register from a discovery, skipping directories
+     * that are already registered and choosing names that are free in
+     * {@code existing}.
+     *
+     * @param found    discovered projects, sorted by path
+     * @param existing registered projects (name → project); not modified
+     * @return new projects with default commands configured, in discovery order
+     */
+    private static List<Project> planDiscoveredProjects(List<ProjectDiscovery.Found> found,
+                                                        Map<String, Project> existing) {
+        Set<Path> registeredPaths = new java.util.HashSet<>();
+        for (Project project : existing.values()) {
+            registeredPaths.add(project.path().toAbsolutePath().normalize());
+        }
+        Set<String> takenNames = new java.util.HashSet<>(existing.keySet());
+
+        List<Project> planned = new java.util.ArrayList<>();
+        for (ProjectDiscovery.Found candidate : found) {
+            if (!registeredPaths.add(candidate.path())) {
+                continue;
+            }
+            String name = discoveredName(candidate.path(), takenNames);
+            takenNames.add(name);
+
+            Project project = new Project(name, candidate.path(), candidate.type());
+            candidate.allTypes().stream()
+                    .filter(t -> t != candidate.type())
+                    .forEach(project::addSecondaryType);
+            CommandConfigurator.configureDefaultCommands(project);
+            planned.add(project);
+        }
+        return planned;
+    }
+
+    /**
+     * Names a discovered project after its directory: "api", else
+     * "work-api" (parent directory prefix), else "api-2", "api-3", ...
+     */
+    private static String discoveredName(Path path, Set<String> takenNames) {
+        String name = path.getFileName() != null ? path.getFileName().toString() : "project";
+        if (!takenNames.contains(name)) {
+            return name;
+        }
+        Path parent = path.getParent();
+        if (parent != null && parent.getFileName() != null) {
+            String prefixed = parent.getFileName() + "-" + name;
+            if (!takenNames.contains(prefixed)) {
+                return prefixed;
+            }
+        }
+        int suffix = 2;
+        while (takenNames.contains(name + "-" + suffix)) {
+            suffix++;
+        }
+        return name + "-" + suffix;
     }
 
     // ============================================================
@@ -303,12 +559,21 @@ public class ProjectManager {
      * Handler for the "list" command.
      * Lists all registered projects.
      *
-     * <p>Usage: pm list
+     * <p>Usage: pm list [--short]
+     *
+     * <p>{@code --short} prints one line per project from the project index,
+     * without loading the full registry or inspecting each project directory.
      *
      * @param args command arguments
      */
     private static void handleList(String[] args) {
+        ArgsParser parser = new ArgsParser(args);
         try {
+            if (parser.hasFlag("short")) {
+                OutputFormatter.printProjectList(store.loadIndex().values());
+                return;
+            }
+
             // Load all projects
             Map<String, Project> projects = store.load();
 
@@ -317,7 +582,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to load projects: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -352,12 +617,12 @@ public class ProjectManager {
             buildSingleProject(projectName);
         } else if (parser.hasFlag("all")) {
             // Build all registered projects
-            buildAllProjects();
+            buildAllProjects(parseJobs(parser), parser.hasFlag("fail-fast"));
         } else {
             OutputFormatter.error("Project name is required. Use --all to build all projects.");
             System.out.println("Usage: pm build <name>");
-            System.out.println("       pm build --all");
-            System.exit(1);
+            System.out.println("       pm build --all [--jobs <n>] [--fail-fast]");
+            exit(1);
         }
     }
 
@@ -367,7 +632,7 @@ public class ProjectManager {
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
                 System.out.println("Use 'pm list' to see registered projects");
-                System.exit(1);
+                exit(1);
             }
 
             checkTypeOutdated(project);
@@ -377,14 +642,14 @@ public class ProjectManager {
             if (buildCommand == null) {
                 OutputFormatter.error("No 'build' command configured for this project");
                 System.out.println("Use 'pm commands " + projectName + "' to see available commands");
-                System.exit(1);
+                exit(1);
             }
 
             RuntimeChecker.checkRuntime(project.type());
 
             if (!executeHooks(project, "pre-build")) {
                 OutputFormatter.error("Pre-build hook failed. Build aborted.");
-                System.exit(1);
+                exit(1);
             }
 
             System.out.println();
@@ -410,7 +675,7 @@ public class ProjectManager {
             System.out.println("─".repeat(60));
             System.out.println();
 
-            statsStore.record(projectName, "build", result.durationMs(), result.success());
+            statsStore.record(projectName, "build", result.durationMs(), result.success(), result.usage());
 
             if (result.success()) {
                 if (!executeHooks(project, "post-build")) {
@@ -422,19 +687,19 @@ public class ProjectManager {
                 OutputFormatter.error("Build failed");
                 System.out.println("Exit code: " + result.exitCode());
                 System.out.println("Duration: " + result.formattedDuration());
-                System.exit(1);
+                exit(1);
             }
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to load project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         } catch (InterruptedException e) {
             OutputFormatter.warning("Build interrupted");
-            System.exit(130);
+            exit(130);
         }
     }
 
-    private static void buildAllProjects() {
+    private static void buildAllProjects(int jobs, boolean failFast) {
         try {
             Map<String, Project> projects = store.load();
             if (projects.isEmpty()) {
@@ -444,6 +709,11 @@ public class ProjectManager {
             }
 
             OutputFormatter.section("Build All");
+
+            if (jobs > 1) {
+                runAllProjectsParallel(projects, "build", "built", 300, jobs, failFast);
+                return;
+            }
             int passed = 0;
             int total = 0;
 
@@ -487,11 +757,17 @@ public class ProjectManager {
                     } else {
                         System.out.println("  " + OutputFormatter.RED + "✗" + OutputFormatter.RESET +
                                 " " + project.name() + " failed (exit code " + result.exitCode() + ")");
+                        if (failFast) {
+                            break;
+                        }
                     }
                 } catch (IOException | InterruptedException e) {
                     System.out.println("  " + "─".repeat(40));
                     System.out.println("  " + OutputFormatter.RED + "✗" + OutputFormatter.RESET +
                             " " + project.name() + " error: " + e.getMessage());
+                    if (failFast) {
+                        break;
+                    }
                 }
             }
 
@@ -523,14 +799,14 @@ public class ProjectManager {
         if (projectName == null || projectName.isBlank()) {
             OutputFormatter.error("Project name is required");
             System.out.println("Usage: pm run <name>");
-            System.exit(1);
+            exit(1);
         }
 
         try {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             checkTypeOutdated(project);
@@ -539,7 +815,7 @@ public class ProjectManager {
             String runCommand = project.getCommand("run");
             if (runCommand == null) {
                 OutputFormatter.error("No 'run' command configured for this project");
-                System.exit(1);
+                exit(1);
             }
 
             // Check runtime is available before executing
@@ -548,7 +824,7 @@ public class ProjectManager {
             // Run pre-run hooks
             if (!executeHooks(project, "pre-run")) {
                 OutputFormatter.error("Pre-run hook failed. Run aborted.");
-                System.exit(1);
+                exit(1);
             }
 
             System.out.println();
@@ -575,7 +851,7 @@ public class ProjectManager {
             System.out.println("─".repeat(60));
             System.out.println();
 
-            statsStore.record(projectName, "run", result.durationMs(), result.success());
+            statsStore.record(projectName, "run", result.durationMs(), result.success(), result.usage());
 
             if (result.success()) {
                 // Run post-run hooks
@@ -587,15 +863,15 @@ public class ProjectManager {
             } else {
                 OutputFormatter.error("Process failed");
                 System.out.println("Exit code: " + result.exitCode());
-                System.exit(1);
+                exit(1);
             }
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to load project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         } catch (InterruptedException e) {
             OutputFormatter.warning("Process interrupted");
-            System.exit(130);
+            exit(130);
         }
     }
 
@@ -619,12 +895,12 @@ public class ProjectManager {
         if (projectName != null && !projectName.isBlank()) {
             testSingleProject(projectName);
         } else if (parser.hasFlag("all")) {
-            testAllProjects();
+            testAllProjects(parseJobs(parser), parser.hasFlag("fail-fast"));
         } else {
             OutputFormatter.error("Project name is required. Use --all to test all projects.");
             System.out.println("Usage: pm test <name>");
-            System.out.println("       pm test --all");
-            System.exit(1);
+            System.out.println("       pm test --all [--jobs <n>] [--fail-fast]");
+            exit(1);
         }
     }
 
@@ -633,7 +909,7 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             checkTypeOutdated(project);
@@ -642,14 +918,14 @@ public class ProjectManager {
             String testCommand = project.getCommand("test");
             if (testCommand == null) {
                 OutputFormatter.error("No 'test' command configured for this project");
-                System.exit(1);
+                exit(1);
             }
 
             RuntimeChecker.checkRuntime(project.type());
 
             if (!executeHooks(project, "pre-test")) {
                 OutputFormatter.error("Pre-test hook failed. Tests aborted.");
-                System.exit(1);
+                exit(1);
             }
 
             System.out.println();
@@ -674,7 +950,7 @@ public class ProjectManager {
             System.out.println("─".repeat(60));
             System.out.println();
 
-            statsStore.record(projectName, "test", result.durationMs(), result.success());
+            statsStore.record(projectName, "test", result.durationMs(), result.success(), result.usage());
 
             if (result.success()) {
                 if (!executeHooks(project, "post-test")) {
@@ -685,19 +961,19 @@ public class ProjectManager {
             } else {
                 OutputFormatter.error("Tests failed");
                 System.out.println("Exit code: " + result.exitCode());
-                System.exit(1);
+                exit(1);
             }
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to load project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         } catch (InterruptedException e) {
             OutputFormatter.warning("Tests interrupted");
-            System.exit(130);
+            exit(130);
         }
     }
 
-    private static void testAllProjects() {
+    private static void testAllProjects(int jobs, boolean failFast) {
         try {
             Map<String, Project> projects = store.load();
             if (projects.isEmpty()) {
@@ -707,6 +983,11 @@ public class ProjectManager {
             }
 
             OutputFormatter.section("Test All");
+
+            if (jobs > 1) {
+                runAllProjectsParallel(projects, "test", "tested", 600, jobs, failFast);
+                return;
+            }
             int passed = 0;
             int total = 0;
 
@@ -750,11 +1031,17 @@ public class ProjectManager {
                     } else {
                         System.out.println("  " + OutputFormatter.RED + "✗" + OutputFormatter.RESET +
                                 " " + project.name() + " failed (exit code " + result.exitCode() + ")");
+                        if (failFast) {
+                            break;
+                        }
                     }
                 } catch (IOException | InterruptedException e) {
                     System.out.println("  " + "─".repeat(40));
                     System.out.println("  " + OutputFormatter.RED + "✗" + OutputFormatter.RESET +
                             " " + project.name() + " error: " + e.getMessage());
+                    if (failFast) {
+                        break;
+                    }
                 }
             }
 
@@ -767,6 +1054,216 @@ public class ProjectManager {
         }
     }
 
+    // ============================================================
+    // PARALLEL --all EXECUTION (build / test)
+    // ============================================================
+
+    /**
+     * Outcome of running one project's command with captured output.
+     *
+     * @param success    true if hooks and command succeeded
+     * @param exitCode   command exit code (-1 on timeout, error, or hook failure)
+     * @param durationMs command duration in milliseconds
+     * @param output     captured hook and command output
+     * @param error      error description, or null if the command ran to completion
+     */
+    private record ProjectRun(boolean success, int exitCode, long durationMs, String output, String error) {}
+
+    /**
+     * Parses the {@code --jobs <n>} flag for {@code --all} commands.
+     * Defaults to one job per available processor.
+     *
+     * @param parser parsed command arguments
+     * @return number of parallel jobs (at least 1)
+     */
+    private static int parseJobs(ArgsParser parser) {
+        String value = parser.getFlag("jobs");
+        if (value == null) {
+            return ParallelRunner.defaultJobs();
+        }
+        try {
+            int jobs = Integer.parseInt(value.trim());
+            if (jobs >= 1) {
+                return jobs;
+            }
+        } catch (NumberFormatException ignored) {
+            // Fall through to the error below
+        }
+        OutputFormatter.error("Invalid value for --jobs: " + value);
+        System.out.println("Use a positive number, e.g. --jobs 4");
+        exit(1);
+        return 1;
+    }
+
+    /**
+     * Runs a command on all projects concurrently on a bounded worker pool.
+     *
+     * <p>Each project's hooks and command output are captured and printed as a
+     * single block when the project finishes, so output from different projects
+     * never interleaves. With {@code failFast}, the first failure cancels all
+     * queued projects and kills the ones still running.
+     *
+     * @param projects       all registered projects
+     * @param commandName    command to run (e.g., "build", "test")
+     * @param pastTense      verb used in the per-project result line (e.g., "built")
+     * @param timeoutSeconds timeout for each project's command
+     * @param jobs           maximum number of projects running at the same time
+     * @param failFast       cancel remaining work after the first failure
+     */
+    private static void runAllProjectsParallel(Map<String, Project> projects, String commandName,
+                                               String pastTense, long timeoutSeconds,
+                                               int jobs, boolean failFast) {
+        List<Project> runnable = new java.util.ArrayList<>();
+        int total = 0;
+
+        for (Project project : projects.values()) {
+            if (project.getCommand(commandName) == null) {
+                System.out.println("  " + OutputFormatter.BOLD + project.name() + OutputFormatter.RESET +
+                        " " + OutputFormatter.GRAY + "— no " + commandName + " command, skipped" + OutputFormatter.RESET);
+                continue;
+            }
+
+            total++;
+            if (!Files.exists(project.path()) || !Files.isDirectory(project.path())) {
+                System.out.println("  " + OutputFormatter.BOLD + project.name() + OutputFormatter.RESET +
+                        " " + OutputFormatter.RED + "— path not found" + OutputFormatter.RESET);
+                continue;
+            }
+            runnable.add(project);
+        }
+
+        int workers = Math.min(jobs, Math.max(1, runnable.size()));
+        System.out.println("  " + OutputFormatter.GRAY + "Running " + runnable.size() + " project" +
+                (runnable.size() != 1 ? "s" : "") + " with " + workers + " parallel job" +
+                (workers != 1 ? "s" : "") + (failFast ? " (fail-fast)" : "") + OutputFormatter.RESET);
+
+        Map<Project, ProjectRun> results;
+        try {
+            results = new ParallelRunner(jobs).runAll(runnable,
+                    project -> runProjectCaptured(project, commandName, timeoutSeconds),
+                    (project, run) -> printProjectRun(project, run, pastTense),
+                    run -> failFast && !run.success());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            OutputFormatter.warning("Interrupted");
+            return;
+        }
+
+        long passed = results.values().stream().filter(ProjectRun::success).count();
+
+        int cancelled = 0;
+        for (Project project : runnable) {
+            if (!results.containsKey(project)) {
+                System.out.println("  " + OutputFormatter.GRAY + "○ " + project.name() +
+                        " cancelled" + OutputFormatter.RESET);
+                cancelled++;
+            }
+        }
+
+        System.out.println();
+        System.out.println("  Result: " + passed + "/" + total + " projects " + pastTense + " successfully" +
+                (cancelled > 0 ? " (" + cancelled + " cancelled)" : ""));
+        System.out.println();
+    }
+
+    /**
+     * Runs a project's command and its pre-/post- hooks, capturing all output.
+     * Called from worker threads — must not print directly.
+     *
+     * @param project        the project to run
+     * @param commandName    command to run
+     * @param timeoutSeconds timeout for the command
+     * @return the outcome with the captured output
+     */
+    private static ProjectRun runProjectCaptured(Project project, String commandName, long timeoutSeconds) {
+        StringBuilder output = new StringBuilder();
+        try {
+            if (!executeHooksCaptured(project, "pre-" + commandName, output)) {
+                return new ProjectRun(false, -1, 0, output.toString(), "pre-" + commandName + " hook failed");
+            }
+
+            CommandExecutor.CapturedOutput result = executor.captureOutput(
+                    project.getCommand(commandName), project.path(), timeoutSeconds, project.envVars());
+            output.append(result.stdout());
+
+            if (result.exitCode() != 0) {
+                String error = result.exitCode() == -1
+                        ? "timed out after " + timeoutSeconds + " seconds"
+                        : null;
+                return new ProjectRun(false, result.exitCode(), result.durationMs(), output.toString(), error);
+            }
+
+            if (!executeHooksCaptured(project, "post-" + commandName, output)) {
+                output.append("Post-").append(commandName).append(" hook failed.\n");
+            }
+            return new ProjectRun(true, 0, result.durationMs(), output.toString(), null);
+
+        } catch (IOException e) {
+            return new ProjectRun(false, -1, 0, output.toString(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ProjectRun(false, -1, 0, output.toString(), "cancelled");
+        }
+    }
+
+    /**
+     * Captured-output variant of {@link #executeHooks(Project, String)} for parallel runs.
+     *
+     * @param project the project whose hooks to run
+     * @param slot    hook slot (e.g., "pre-build")
+     * @param output  buffer that receives hook output
+     * @return true if all hooks succeeded (or none existed)
+     */
+    private static boolean executeHooksCaptured(Project project, String slot, StringBuilder output)
+            throws IOException, InterruptedException {
+        for (String script : project.getHooks(slot)) {
+            output.append("Running ").append(slot).append(" hook: ").append(script).append("\n");
+            CommandExecutor.CapturedOutput result = executor.captureOutput(
+                    script, project.path(), Constants.HOOK_TIMEOUT, project.envVars());
+            output.append(result.stdout());
+            if (result.exitCode() != 0) {
+                output.append(slot).append(" hook failed: ").append(script).append("\n");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prints a finished project's captured output and result line as one block.
+     */
+    private static void printProjectRun(Project project, ProjectRun run, String pastTense) {
+        StringBuilder block = new StringBuilder();
+        block.append("\n");
+        block.append("  ").append(OutputFormatter.BOLD).append(project.name()).append(OutputFormatter.RESET)
+                .append(" ").append(OutputFormatter.GRAY).append("(").append(project.type().displayName())
+                .append(")").append(OutputFormatter.RESET).append("\n");
+        block.append("  ").append("─".repeat(40)).append("\n");
+        if (!run.output().isEmpty()) {
+            block.append(run.output());
+            if (!run.output().endsWith("\n")) {
+                block.append("\n");
+            }
+        }
+        block.append("  ").append("─".repeat(40)).append("\n");
+
+        if (run.success()) {
+            block.append("  ").append(OutputFormatter.GREEN).append("✓").append(OutputFormatter.RESET)
+                    .append(" ").append(project.name()).append(" ").append(pastTense)
+                    .append(" (").append(formatDuration(run.durationMs())).append(")");
+        } else if (run.error() != null) {
+            block.append("  ").append(OutputFormatter.RED).append("✗").append(OutputFormatter.RESET)
+                    .append(" ").append(project.name()).append(" error: ").append(run.error());
+        } else {
+            block.append("  ").append(OutputFormatter.RED).append("✗").append(OutputFormatter.RESET)
+                    .append(" ").append(project.name()).append(" failed (exit code ")
+                    .append(run.exitCode()).append(")");
+        }
+
+        System.out.println(block);
+        System.out.flush();
+    }
+
     // ============================================================
     // COMMAND: SCAN (Scan commands in code)
     // ============================================================
@@ -837,7 +1334,7 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             checkTypeOutdated(project);
@@ -845,7 +1342,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to load project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -862,7 +1359,7 @@ public class ProjectManager {
             OutputFormatter.error("Command name and command line are required");
             System.out.println("Usage: pm commands <project> add <name> \"<command>\"");
             System.out.println("Example: pm commands my-app add tunnel \"npx expo start --tunnel\"");
-            System.exit(1);
+            exit(1);
         }
 
         String commandName = args[3];
@@ -873,7 +1370,7 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             boolean existed = project.hasCommand(commandName);
@@ -901,7 +1398,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to update project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -917,7 +1414,7 @@ public class ProjectManager {
         if (args.length < 4) {
             OutputFormatter.error("Command name is required");
             System.out.println("Usage: pm commands <project> remove <name>");
-            System.exit(1);
+            exit(1);
         }
 
         String commandName = args[3];
@@ -926,12 +1423,12 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             if (!project.hasCommand(commandName)) {
                 OutputFormatter.error("Command '" + commandName + "' not found in project '" + projectName + "'");
-                System.exit(1);
+                exit(1);
             }
 
             project.removeCommand(commandName);
@@ -942,7 +1439,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to update project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -966,7 +1463,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to load projects: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -1013,7 +1510,7 @@ public class ProjectManager {
         if (projectName == null || projectName.isBlank()) {
             OutputFormatter.error("Project name is required");
             System.out.println("Usage: pm remove <name>");
-            System.exit(1);
+            exit(1);
         }
 
         try {
@@ -1021,7 +1518,7 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             // Confirm removal (unless --force flag is used)
@@ -1053,7 +1550,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to remove project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -1086,21 +1583,21 @@ public class ProjectManager {
         if (currentName == null || currentName.isBlank()) {
             OutputFormatter.error("Project name is required");
             System.out.println("Usage: pm rename <current-name> [new-name] [--path <new-path>]");
-            System.exit(1);
+            exit(1);
         }
 
         // At least one change must be specified
         if ((newName == null || newName.isBlank()) && (newPath == null || newPath.isBlank())) {
             OutputFormatter.error("Specify a new name, a new path with --path, or both");
             System.out.println("Usage: pm rename <current-name> [new-name] [--path <new-path>]");
-            System.exit(1);
+            exit(1);
         }
 
         try {
             Project project = store.findProject(currentName);
             if (project == null) {
                 OutputFormatter.error("Project '" + currentName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             String finalName = (newName != null && !newName.isBlank()) ? newName : currentName;
@@ -1109,15 +1606,15 @@ public class ProjectManager {
             // Validate new path if provided
             if (newPath != null && !newPath.isBlank()) {
                 String expandedPath = newPath.replace("~", System.getProperty("user.home"));
-                finalPath = Paths.get(expandedPath).toAbsolutePath().normalize();
+                finalPath = resolveUserPath(expandedPath);
 
                 if (!Files.exists(finalPath)) {
                     OutputFormatter.error("Path does not exist: " + finalPath);
-                    System.exit(1);
+                    exit(1);
                 }
                 if (!Files.isDirectory(finalPath)) {
                     OutputFormatter.error("Path is not a directory: " + finalPath);
-                    System.exit(1);
+                    exit(1);
                 }
             }
 
@@ -1126,7 +1623,7 @@ public class ProjectManager {
                 Project conflict = store.findProject(finalName);
                 if (conflict != null) {
                     OutputFormatter.error("A project named '" + finalName + "' already exists");
-                    System.exit(1);
+                    exit(1);
                 }
             }
 
@@ -1135,9 +1632,11 @@ public class ProjectManager {
             project.commands().forEach(updated::addCommand);
             project.envVars().forEach(updated::addEnvVar);
 
-            // Remove old, save new
-            store.removeProject(currentName);
-            store.saveProject(updated);
+            // Remove old, save new (single write)
+            store.update(projects -> {
+                projects.remove(currentName);
+                return projects.put(finalName, updated);
+            });
 
             // Show result
             System.out.println();
@@ -1155,50 +1654,655 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to rename project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
+        }
+    }
+
+    // ============================================================
+
+    /**
+     * Handler for the "info" command.
+     * Shows detailed project information.
+     *
+     * <p>Usage: {@code pm info NAME}
+     *
+     * @param args command arguments
+     */
+    private static void handleInfo(String[] args) {
+        ArgsParser parser = new ArgsParser(args);
+
+        String projectName = parser.getPositional(1);
+        if (projectName == null || projectName.isBlank()) {
+            OutputFormatter.error("Project name is required");
+            System.out.println("Usage: pm info <name>");
+            exit(1);
+        }
+
+        try {
+            Project project = store.findProject(projectName);
+            if (project == null) {
+                OutputFormatter.error("Project '" + projectName + "' not found");
+                exit(1);
+            }
+
+            checkTypeOutdated(project);
+
+            // Show detailed info
+            OutputFormatter.section("Project Information");
+            OutputFormatter.printProject(project);
+            OutputFormatter.printCommands(project);
+
+        } catch (IOException e) {
+            OutputFormatter.error("Failed to load project: " + e.getMessage());
+            exit(1);
+        }
+    }
+
+    // ============================================================
+    // COMMAND: STATUS (Git dashboard)
+    // ============================================================
+
+    /** Default per-repository limit for {@code pm status}, in seconds. */
+    private static final long DEFAULT_STATUS_TIMEOUT_SECONDS = 10;
+
+    /**
+     * Handler for the "status" command.
+     * Shows branch, local changes and upstream sync for one or all projects.
+     *
+     * <p>Usage: {@code pm status <name> | --all [--jobs <n>] [--timeout <s>] [--json]}
+     *
+     * <p>Repositories are read concurrently on a bounded worker pool, one
+     * {@code git status} call each. A repository that does not answer within
+     * the timeout is reported as timed out instead of holding up the table.
+     * On a terminal, a progress line is printed as each repository finishes;
+     * the table itself is always sorted by project name.
+     *
+     * @param args command arguments
+     */
+    private static void handleStatus(String[] args) {
+        ArgsParser parser = new ArgsParser(args);
+        boolean json = parser.hasFlag("json");
+
+        List<Project> projects = resolveProjects(parser,
+                "pm status <name> [--json]",
+                "pm status --all [--jobs <n>] [--timeout <seconds>] [--json]");
+        if (projects == null) {
+            return;
+        }
+
+        long timeoutMs = parseTimeoutFlag(parser, DEFAULT_STATUS_TIMEOUT_SECONDS) * 1000;
+        int jobs = parseJobs(parser);
+
+        if (projects.isEmpty() && !json) {
+            OutputFormatter.warning("No projects registered");
+            return;
+        }
+
+        boolean progress = !json && projects.size() > 1 && System.console() != null;
+        int[] done = {0};
+        long start = System.nanoTime();
+
+        Map<Project, RepoStatus> results;
+        try {
+            results = new ParallelRunner(jobs).runAll(projects,
+                    project -> RepoStatus.collect(project.name(), project.path(), timeoutMs),
+                    progress ? (project, status) -> System.out.println("  " + OutputFormatter.GRAY +
+                            "[" + (++done[0]) + "/" + projects.size() + "] " + project.name() +
+                            " (" + status.durationMs() + " ms)" + OutputFormatter.RESET) : null,
+                    null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            OutputFormatter.warning("Interrupted");
+            return;
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // runAll returns results in input order, which is already sorted by name
+        List<RepoStatus> statuses = List.copyOf(results.values());
+
+        if (json) {
+            java.io.StringWriter out = new java.io.StringWriter();
+            try {
+                RepoStatus.writeJson(statuses, out);
+            } catch (IOException e) {
+                OutputFormatter.error("Failed to write JSON: " + e.getMessage());
+                exit(1);
+                return;
+            }
+            System.out.println(out);
+            return;
+        }
+
+        printStatusTable(statuses, timeoutMs);
+
+        long attention = statuses.stream().filter(RepoStatus::needsAttention).count();
+        System.out.println();
+        System.out.println("  " + statuses.size() + " project" + (statuses.size() != 1 ? "s" : "") +
+                ", " + attention + " need" + (attention != 1 ? "" : "s") + " attention" +
+                OutputFormatter.GRAY + " (" + elapsedMs + " ms, " +
+                Math.min(jobs, statuses.size()) + " parallel job" + (Math.min(jobs, statuses.size()) != 1 ? "s" : "") +
+                ")" + OutputFormatter.RESET);
+        System.out.println("  " + OutputFormatter.GRAY +
+                "+ staged  ~ modified  ? untracked  ! conflicted  ↑ ahead  ↓ behind" + OutputFormatter.RESET);
+        System.out.println();
+    }
+
+    /**
+     * Resolves the {@code <name> | --all} argument of the commands that work on
+     * one or all projects. Prints an error and exits if the project does not
+     * exist or neither was given.
+     *
+     * @param parser parsed command arguments
+     * @param usage  usage lines shown when neither a name nor --all was given
+     *               (lines not starting with "pm " are printed as they are)
+     * @return the named project, or all projects sorted by name; null after an error
+     */
+    private static List<Project> resolveProjects(ArgsParser parser, String... usage) {
+        String projectName = parser.getPositional(1);
+        try {
+            if (projectName != null && !projectName.isBlank()) {
+                Project project = store.findProject(projectName);
+                if (project == null) {
+                    OutputFormatter.error("Project '" + projectName + "' not found");
+                    exit(1);
+                    return null;
+                }
+                return List.of(project);
+            }
+            if (parser.hasFlag("all")) {
+                List<Project> projects = new java.util.ArrayList<>(store.load().values());
+                projects.sort(java.util.Comparator.comparing(Project::name));
+                return projects;
+            }
+        } catch (IOException e) {
+            OutputFormatter.error("Failed to load projects: " + e.getMessage());
+            exit(1);
+            return null;
+        }
+
+        OutputFormatter.error("Project name or --all flag is required");
+        for (int i = 0; i < usage.length; i++) {
+            String indent = i == 0 ? "Usage: " : usage[i].startsWith("pm ") ? "       " : "";
+            System.out.println(indent + usage[i]);
+        }
+        exit(1);
+        return null;
+    }
+
+    /**
+     * Parses the {@code --timeout <seconds>} flag of the git commands.
+     *
+     * @param parser         parsed command arguments
+     * @param defaultSeconds value when the flag is absent
+     * @return per-repository timeout in seconds (0 means no limit)
+     */
+    private static long parseTimeoutFlag(ArgsParser parser, long defaultSeconds) {
+        String value = parser.getFlag("timeout");
+        if (value == null) {
+            return defaultSeconds;
+        }
+        try {
+            long seconds = Long.parseLong(value.trim());
+            if (seconds >= 0) {
+                return seconds;
+            }
+        } catch (NumberFormatException ignored) {
+            // Fall through to the error below
+        }
+        OutputFormatter.error("Invalid value for --timeout: " + value);
+        System.out.println("Use a number of seconds, e.g. --timeout 30 (0 for no limit)");
+        exit(1);
+        return defaultSeconds;
+    }
+
+    private static void printStatusTable(List<RepoStatus> statuses, long timeoutMs) {
+        int nameWidth = Math.max(7, statuses.stream().mapToInt(s -> s.name().length()).max().orElse(7));
+        int branchWidth = Math.max(6, statuses.stream().mapToInt(s -> statusBranch(s).length()).max().orElse(6));
+        int changesWidth = Math.max(7, statuses.stream().mapToInt(s -> s.changesSummary().length()).max().orElse(7));
+        int syncWidth = Math.max(4, statuses.stream().mapToInt(s -> s.syncSummary().length()).max().orElse(4));
+
+        System.out.println();
+        System.out.println("  " + padRight("Project", nameWidth + 2) + padRight("Branch", branchWidth + 2) +
+                padRight("Changes", changesWidth + 2) + padRight("Sync", syncWidth + 2) + "Stash");
+        System.out.println("  " + "─".repeat(nameWidth + branchWidth + changesWidth + syncWidth + 13));
+
+        for (RepoStatus status : statuses) {
+            String name = padRight(status.name(), nameWidth + 2);
+            if (status.state() != RepoStatus.State.OK) {
+                String problem = switch (status.state()) {
+                    case PATH_NOT_FOUND -> OutputFormatter.RED + "path not found";
+                    case NOT_A_REPOSITORY -> OutputFormatter.GRAY + "not a git repository";
+                    case TIMED_OUT -> OutputFormatter.YELLOW + "timed out after " + (timeoutMs / 1000) + "s";
+                    default -> OutputFormatter.RED + "git status failed";
+                };
+                System.out.println("  " + name + problem + OutputFormatter.RESET);
+                continue;
+            }
+
+            GitIntegration.GitSnapshot git = status.git();
+            String changesColor = git.conflicted() > 0 ? OutputFormatter.RED
+                    : git.isClean() ? OutputFormatter.GREEN : OutputFormatter.YELLOW;
+            String syncColor = !git.hasUpstream() || (git.ahead() == 0 && git.behind() == 0)
+                    ? OutputFormatter.GRAY : OutputFormatter.CYAN;
+
+            System.out.println("  " + name +
+                    padRight(statusBranch(status), branchWidth + 2) +
+                    changesColor + padRight(status.changesSummary(), changesWidth + 2) + OutputFormatter.RESET +
+                    syncColor + padRight(status.syncSummary(), syncWidth + 2) + OutputFormatter.RESET +
+                    (git.stashes() > 0 ? String.valueOf(git.stashes()) : OutputFormatter.GRAY + "—" + OutputFormatter.RESET));
+        }
+    }
+
+    private static String statusBranch(RepoStatus status) {
+        GitIntegration.GitSnapshot git = status.git();
+        if (git == null) {
+            return "";
+        }
+        if (git.isDetached()) {
+            return git.commit() != null && git.commit().length() >= 7
+                    ? "(" + git.commit().substring(0, 7) + ")"
+                    : "(detached)";
+        }
+        return git.branch();
+    }
+
+    // ============================================================
+    // COMMANDS: FETCH, PULL (Update repositories from their remotes)
+    // ============================================================
+
+    /** Default concurrency for fetch/pull: network-bound, so not tied to the core count. */
+    private static final int DEFAULT_SYNC_JOBS = 8;
+
+    /** Default limit of concurrent fetches/pulls against the same host. */
+    private static final int DEFAULT_SYNC_PER_HOST = 4;
+
+    /** Default per-repository limit for fetch/pull, in seconds. */
+    private static final long DEFAULT_SYNC_TIMEOUT_SECONDS = 120;
+
+    /**
+     * Handler for the "fetch" command.
+     *
+     * <p>Usage: {@code pm fetch <name> | --all [--jobs <n>] [--per-host <n>] [--timeout <s>]}
+     *
+     * @param args command arguments
+     */
+    private static void handleFetch(String[] args) {
+        syncProjects(RemoteSync.Mode.FETCH, args);
+    }
+
+    /**
+     * Handler for the "pull" command. Pulls are always fast-forward only, so
+     * unattended runs over many repositories never create merge commits;
+     * {@code --ff-only} is accepted for clarity.
+     *
+     * <p>Usage: {@code pm pull <name> | --all [--ff-only] [--jobs <n>] [--per-host <n>] [--timeout <s>]}
+     *
+     * @param args command arguments
+     */
+    private static void handlePull(String[] args) {
+        syncProjects(RemoteSync.Mode.PULL, args);
+    }
+
+    /**
+     * Fetches or pulls one or all projects.
+     *
+     * <p>Projects run concurrently on a bounded worker pool, with at most
+     * {@code --per-host} operations against the same remote host at once.
+     * Projects are ordered round-robin by host so workers are not all held by
+     * one busy host. A line is printed per project as it finishes, and git
+     * durations are recorded in the stats file with a single write at the end.
+     *
+     * @param mode fetch or pull
+     * @param args command arguments
+     */
+    private static void syncProjects(RemoteSync.Mode mode, String[] args) {
+        ArgsParser parser = new ArgsParser(args);
+        String command = mode.command();
+
+        String ffOnly = mode == RemoteSync.Mode.PULL ? " [--ff-only]" : "";
+        List<Project> projects = resolveProjects(parser,
+                "pm " + command + " <name>",
+                "pm " + command + " --all" + ffOnly + " [--jobs <n>] [--per-host <n>] [--timeout <seconds>]");
+        if (projects == null) {
+            return;
+        }
+
+        if (projects.isEmpty()) {
+            OutputFormatter.warning("No projects registered");
+            return;
+        }
+
+        int jobs = parser.getFlag("jobs") != null ? parseJobs(parser) : DEFAULT_SYNC_JOBS;
+        int perHost = parseIntFlag(parser, "per-host", 1, DEFAULT_SYNC_PER_HOST);
+        long timeoutSeconds = parseTimeoutFlag(parser, DEFAULT_SYNC_TIMEOUT_SECONDS);
+
+        RemoteSync sync = new RemoteSync(mode, perHost, timeoutSeconds * 1000);
+        List<Project> ordered = RemoteSync.interleaveByHost(projects, p -> sync.projectHost(p.path()));
+        int nameWidth = projects.stream().mapToInt(p -> p.name().length()).max().orElse(10) + 2;
+
+        String verb = mode == RemoteSync.Mode.PULL ? "Pulling" : "Fetching";
+        int workers = Math.min(jobs, projects.size());
+        System.out.println("  " + OutputFormatter.GRAY + verb + " " + projects.size() + " project" +
+                (projects.size() != 1 ? "s" : "") + " with " + workers + " parallel job" +
+                (workers != 1 ? "s" : "") + ", at most " + perHost + " per host" + OutputFormatter.RESET);
+        System.out.println();
+
+        long start = System.nanoTime();
+        Map<Project, SyncResult> results;
+        try {
+            results = new ParallelRunner(jobs).runAll(ordered,
+                    project -> sync.sync(project.name(), project.path()),
+                    (project, result) -> printSyncResult(result, nameWidth, timeoutSeconds),
+                    null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            OutputFormatter.warning("Interrupted");
+            return;
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        Map<String, pm.tracking.StatsRecord> records = new java.util.HashMap<>();
+        String timestamp = java.time.Instant.now().toString();
+        int updated = 0;
+        int upToDate = 0;
+        int failed = 0;
+        int skipped = 0;
+        long bytes = 0;
+        for (SyncResult result : results.values()) {
+            switch (result.state()) {
+                case UPDATED -> updated++;
+                case UP_TO_DATE -> upToDate++;
+                case SKIPPED -> skipped++;
+                default -> failed++;
+            }
+            bytes += result.bytesReceived();
+            if (result.ran()) {
+                records.put(result.name(), new pm.tracking.StatsRecord(
+                        result.durationMs(), result.success(), timestamp));
+            }
+        }
+        statsStore.recordAll(command, records);
+
+        System.out.println();
+        System.out.println("  Result: " + updated + " updated, " + upToDate + " up to date" +
+                (failed > 0 ? ", " + OutputFormatter.RED + failed + " failed" + OutputFormatter.RESET : "") +
+                (skipped > 0 ? ", " + skipped + " skipped" : "") +
+                OutputFormatter.GRAY + " — " + OutputFormatter.formatFileSize(bytes) + " received in " +
+                (elapsedMs < 1000 ? elapsedMs + " ms" : formatDuration(elapsedMs)) + OutputFormatter.RESET);
+        System.out.println();
+
+        if (failed > 0) {
+            exit(1);
+        }
+    }
+
+    private static void printSyncResult(SyncResult result, int nameWidth, long timeoutSeconds) {
+        String name = padRight(result.name(), nameWidth);
+        String timing = OutputFormatter.GRAY + " (" + result.durationMs() + " ms)" + OutputFormatter.RESET;
+        String line = switch (result.state()) {
+            case UPDATED -> OutputFormatter.GREEN + "✓" + OutputFormatter.RESET + " " + name +
+                    (result.refsUpdated() > 0
+                            ? result.refsUpdated() + " ref" + (result.refsUpdated() != 1 ? "s" : "") + " updated"
+                            : "fast-forwarded") +
+                    ", " + OutputFormatter.formatFileSize(result.bytesReceived()) + timing;
+            case UP_TO_DATE -> OutputFormatter.GREEN + "✓" + OutputFormatter.RESET + " " + name +
+                    OutputFormatter.GRAY + "up to date" + OutputFormatter.RESET + timing;
+            case SKIPPED -> OutputFormatter.GRAY + "○ " + name + "skipped: " + result.message() +
+                    OutputFormatter.RESET;
+            case TIMED_OUT -> OutputFormatter.YELLOW + "✗" + OutputFormatter.RESET + " " + name +
+                    "timed out after " + timeoutSeconds + "s";
+            case FAILED -> OutputFormatter.RED + "✗" + OutputFormatter.RESET + " " + name +
+                    result.message() + timing;
+        };
+        System.out.println("  " + line);
+        System.out.flush();
+    }
+
+    /**
+     * Parses a flag that must be an integer of at least {@code min}.
+     *
+     * @param parser       parsed command arguments
+     * @param flag         flag name without dashes
+     * @param min          smallest accepted value
+     * @param defaultValue value when the flag is absent
+     * @return the value (at least {@code min})
+     */
+    private static int parseIntFlag(ArgsParser parser, String flag, int min, int defaultValue) {
+        String value = parser.getFlag(flag);
+        if (value == null) {
+            return defaultValue;
         }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed >= min) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+            // Fall through to the error below
+        }
+        OutputFormatter.error("Invalid value for --" + flag + ": " + value);
+        System.out.println("Use " + (min == 0 ? "0 or a positive number" : "a number of at least " + min) +
+                ", e.g. --" + flag + " " + defaultValue);
+        exit(1);
+        return defaultValue;
     }
 
+    // ============================================================
+    // COMMAND: GIT-MAINTAIN (Repository health and maintenance)
     // ============================================================
 
+    /** Default per-git-call limit for git-maintain, in seconds (repacks can be slow). */
+    private static final long DEFAULT_MAINTAIN_TIMEOUT_SECONDS = 600;
+
+    /** Default concurrency when running tasks: git repack and commit-graph are already multi-threaded. */
+    private static final int DEFAULT_MAINTAIN_JOBS = 2;
+
     /**
-     * Handler for the "info" command.
-     * Shows detailed project information.
+     * Handler for the "git-maintain" command.
      *
-     * <p>Usage: {@code pm info NAME}
+     * <p>Usage: {@code pm git-maintain <name> | --all [--run] [--tasks <list>] [--jobs <n>] [--timeout <s>]}
+     *
+     * <p>Without {@code --run} or {@code --tasks} it only reports object and
+     * pack counts, index size, commit-graph and status-related settings, and
+     * the median {@code git status} time. With them, it runs the maintenance
+     * tasks and reports the status time again, before → after.
      *
      * @param args command arguments
      */
-    private static void handleInfo(String[] args) {
+    private static void handleGitMaintain(String[] args) {
         ArgsParser parser = new ArgsParser(args);
 
-        String projectName = parser.getPositional(1);
-        if (projectName == null || projectName.isBlank()) {
-            OutputFormatter.error("Project name is required");
-            System.out.println("Usage: pm info <name>");
-            System.exit(1);
+        List<Project> projects = resolveProjects(parser,
+                "pm git-maintain <name> [--run] [--tasks <list>]",
+                "pm git-maintain --all [--run] [--tasks <list>] [--jobs <n>] [--timeout <seconds>]",
+                "Tasks: " + GitMaintenance.Task.ids());
+        if (projects == null) {
+            return;
         }
 
+        Set<GitMaintenance.Task> tasks;
+        String taskList = parser.getFlag("tasks");
+        if (taskList != null) {
+            try {
+                tasks = GitMaintenance.parseTasks(taskList);
+            } catch (IllegalArgumentException e) {
+                OutputFormatter.error(e.getMessage());
+                System.out.println("Tasks: " + GitMaintenance.Task.ids());
+                exit(1);
+                return;
+            }
+        } else {
+            tasks = parser.hasFlag("run") ? GitMaintenance.Task.DEFAULTS : Set.of();
+        }
+
+        if (projects.isEmpty()) {
+            OutputFormatter.warning("No projects registered");
+            return;
+        }
+
+        int jobs = parser.getFlag("jobs") != null || tasks.isEmpty() ? parseJobs(parser) : DEFAULT_MAINTAIN_JOBS;
+        long timeoutMs = parseTimeoutFlag(parser, DEFAULT_MAINTAIN_TIMEOUT_SECONDS) * 1000;
+
+        if (!tasks.isEmpty()) {
+            System.out.println("  " + OutputFormatter.GRAY + "Tasks: " + String.join(", ",
+                    tasks.stream().sorted().map(GitMaintenance.Task::id).toList()) + OutputFormatter.RESET);
+        }
+
+        boolean progress = projects.size() > 1 && System.console() != null;
+        int[] done = {0};
+        long start = System.nanoTime();
+
+        Map<Project, MaintenanceResult> results;
         try {
-            Project project = store.findProject(projectName);
-            if (project == null) {
-                OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+            results = new ParallelRunner(jobs).runAll(projects,
+                    project -> GitMaintenance.run(project.name(), project.path(), tasks, timeoutMs),
+                    progress ? (project, result) -> System.out.println("  " + OutputFormatter.GRAY +
+                            "[" + (++done[0]) + "/" + projects.size() + "] " + project.name() +
+                            OutputFormatter.RESET) : null,
+                    null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            OutputFormatter.warning("Interrupted");
+            return;
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        List<MaintenanceResult> sorted = List.copyOf(results.values());
+        printMaintenanceTable(sorted);
+
+        int failed = 0;
+        List<String> needsWork = new java.util.ArrayList<>();
+        for (MaintenanceResult result : sorted) {
+            if (result.state() == MaintenanceResult.State.FAILED || result.state() == MaintenanceResult.State.TIMED_OUT) {
+                failed++;
             }
+            for (GitMaintenance.TaskOutcome task : result.tasks()) {
+                if (!task.success()) {
+                    System.out.println("  " + OutputFormatter.RED + "✗" + OutputFormatter.RESET + " " +
+                            result.name() + ": " + task.task().id() + " failed — " + task.message());
+                }
+            }
+            RepoHealth health = result.after() != null ? result.after() : result.before();
+            if (health != null && !health.issues().isEmpty()) {
+                needsWork.add(result.name() + " (" + String.join(", ", health.issues()) + ")");
+            }
+        }
 
-            checkTypeOutdated(project);
+        System.out.println();
+        if (!needsWork.isEmpty()) {
+            System.out.println("  " + OutputFormatter.YELLOW + "Could be faster:" + OutputFormatter.RESET);
+            for (String line : needsWork) {
+                System.out.println("    " + line);
+            }
+            if (tasks.isEmpty()) {
+                System.out.println("  Run " + OutputFormatter.BOLD + "pm git-maintain " +
+                        (projects.size() > 1 ? "--all" : projects.get(0).name()) + " --run" +
+                        OutputFormatter.RESET + " to pack objects and write commit-graphs");
+            }
+            System.out.println();
+        }
+        System.out.println("  " + sorted.size() + " project" + (sorted.size() != 1 ? "s" : "") +
+                (failed > 0 ? ", " + OutputFormatter.RED + failed + " failed" + OutputFormatter.RESET : "") +
+                OutputFormatter.GRAY + " (" + formatDuration(elapsedMs) + ", " +
+                Math.min(jobs, sorted.size()) + " parallel job" + (Math.min(jobs, sorted.size()) != 1 ? "s" : "") +
+                ")" + OutputFormatter.RESET);
+        System.out.println();
 
-            // Show detailed info
-            OutputFormatter.section("Project Information");
-            OutputFormatter.printProject(project);
-            OutputFormatter.printCommands(project);
+        if (failed > 0) {
+            exit(1);
+        }
+    }
 
-        } catch (IOException e) {
-            OutputFormatter.error("Failed to load project: " + e.getMessage());
-            System.exit(1);
+    private static void printMaintenanceTable(List<MaintenanceResult> results) {
+        String[] header = {"Project", "Loose", "Packs", "Objects", "Index", "Graph", "Tuning", "git status"};
+        List<String[]> rows = new java.util.ArrayList<>();
+        for (MaintenanceResult result : results) {
+            RepoHealth before = result.before();
+            if (before == null) {
+                String problem = switch (result.state()) {
+                    case TIMED_OUT -> "timed out";
+                    case SKIPPED -> result.message();
+                    default -> result.message() != null ? result.message() : "failed";
+                };
+                rows.add(new String[]{result.name(), problem});
+                continue;
+            }
+            RepoHealth after = result.after() != null ? result.after() : before;
+
+            List<String> tuning = new java.util.ArrayList<>();
+            if (after.untrackedCache() == RepoHealth.UntrackedCache.ON) tuning.add("untracked-cache");
+            if (after.untrackedCache() == RepoHealth.UntrackedCache.KEEP) tuning.add("untracked-cache=keep");
+            if (after.manyFiles()) tuning.add("many-files");
+            if (after.fsmonitor()) tuning.add("fsmonitor");
+
+            String status = result.statusBeforeMs() < 0 ? "—" : result.statusBeforeMs() + " ms";
+            if (result.after() != null && result.statusAfterMs() >= 0) {
+                status = result.statusBeforeMs() + " → " + result.statusAfterMs() + " ms";
+                double change = result.statusChange();
+                if (!Double.isNaN(change)) {
+                    status += String.format(" (%+.0f%%)", change * 100);
+                }
+            }
+            if (result.state() == MaintenanceResult.State.TIMED_OUT) {
+                status = (result.statusBeforeMs() < 0 ? "" : result.statusBeforeMs() + " ms → ") + "timed out";
+            }
+
+            rows.add(new String[]{
+                    result.name(),
+                    change(before.looseObjects(), after.looseObjects()),
+                    change(before.packs(), after.packs()),
+                    OutputFormatter.formatFileSize(after.looseBytes() + after.packBytes()),
+                    OutputFormatter.formatFileSize(after.indexBytes()),
+                    before.commitGraph() == after.commitGraph()
+                            ? (after.commitGraph() ? "yes" : "no")
+                            : (before.commitGraph() ? "yes" : "no") + " → " + (after.commitGraph() ? "yes" : "no"),
+                    tuning.isEmpty() ? "—" : String.join(", ", tuning),
+                    status});
+        }
+
+        int[] widths = new int[header.length];
+        for (int i = 0; i < header.length; i++) {
+            widths[i] = header[i].length();
+        }
+        for (String[] row : rows) {
+            // Problem rows span the remaining columns and do not widen them
+            if (row.length == header.length) {
+                for (int i = 0; i < row.length; i++) {
+                    widths[i] = Math.max(widths[i], row[i].length());
+                }
+            } else {
+                widths[0] = Math.max(widths[0], row[0].length());
+            }
+        }
+
+        System.out.println();
+        StringBuilder line = new StringBuilder("  ");
+        int total = 0;
+        for (int i = 0; i < header.length; i++) {
+            line.append(padRight(header[i], widths[i] + 2));
+            total += widths[i] + 2;
+        }
+        System.out.println(line.toString().stripTrailing());
+        System.out.println("  " + "─".repeat(total - 2));
+
+        for (String[] row : rows) {
+            line = new StringBuilder("  ");
+            if (row.length != header.length) {
+                line.append(padRight(row[0], widths[0] + 2)).append(OutputFormatter.GRAY).append(row[1])
+                        .append(OutputFormatter.RESET);
+            } else {
+                for (int i = 0; i < row.length; i++) {
+                    line.append(padRight(row[i], widths[i] + 2));
+                }
+            }
+            System.out.println(line.toString().stripTrailing());
         }
     }
 
+    private static String change(long before, long after) {
+        return before == after ? String.valueOf(after) : before + " → " + after;
+    }
+
     // ============================================================
     // COMMAND: ENV (Manage environment variables)
     // ============================================================
@@ -1238,7 +2342,7 @@ public class ProjectManager {
             default -> {
                 OutputFormatter.error("Unknown env subcommand: " + subcommand);
                 printEnvHelp();
-                System.exit(1);
+                exit(1);
             }
         }
     }
@@ -1247,7 +2351,7 @@ public class ProjectManager {
         if (args.length < 4) {
             OutputFormatter.error("Project name and KEY=VALUE are required");
             System.out.println("Usage: pm env set <name> KEY=VALUE[,KEY2=VALUE2]");
-            System.exit(1);
+            exit(1);
         }
 
         String projectName = args[2];
@@ -1256,7 +2360,7 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             // Join remaining args as the env string (supports spaces in values)
@@ -1269,7 +2373,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to update project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -1277,7 +2381,7 @@ public class ProjectManager {
         if (args.length < 4) {
             OutputFormatter.error("Project name and variable key are required");
             System.out.println("Usage: pm env get <name> KEY");
-            System.exit(1);
+            exit(1);
         }
 
         String projectName = args[2];
@@ -1287,20 +2391,20 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             String value = project.getEnvVar(key);
             if (value == null) {
                 OutputFormatter.error("Variable '" + key + "' not found in project '" + projectName + "'");
-                System.exit(1);
+                exit(1);
             }
 
             System.out.println(key + "=" + value);
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to load project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -1308,7 +2412,7 @@ public class ProjectManager {
         if (args.length < 3) {
             OutputFormatter.error("Project name is required");
             System.out.println("Usage: pm env list <name> [--show]");
-            System.exit(1);
+            exit(1);
         }
 
         String projectName = args[2];
@@ -1319,7 +2423,7 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             Map<String, String> vars = project.envVars();
@@ -1354,7 +2458,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to load project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -1362,7 +2466,7 @@ public class ProjectManager {
         if (args.length < 4) {
             OutputFormatter.error("Project name and variable key are required");
             System.out.println("Usage: pm env remove <name> KEY");
-            System.exit(1);
+            exit(1);
         }
 
         String projectName = args[2];
@@ -1372,13 +2476,13 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             boolean removed = project.removeEnvVar(key);
             if (!removed) {
                 OutputFormatter.error("Variable '" + key + "' not found in project '" + projectName + "'");
-                System.exit(1);
+                exit(1);
             }
 
             store.saveProject(project);
@@ -1388,7 +2492,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to update project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -1396,7 +2500,7 @@ public class ProjectManager {
         if (args.length < 3) {
             OutputFormatter.error("Project name is required");
             System.out.println("Usage: pm env clear <name>");
-            System.exit(1);
+            exit(1);
         }
 
         String projectName = args[2];
@@ -1405,7 +2509,7 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             int count = project.envVarCount();
@@ -1423,7 +2527,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to update project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -1431,7 +2535,7 @@ public class ProjectManager {
         if (args.length < 3) {
             OutputFormatter.error("Project name is required");
             System.out.println("Usage: pm env files <name>");
-            System.exit(1);
+            exit(1);
         }
 
         String projectName = args[2];
@@ -1440,7 +2544,7 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             List<Path> envFiles = EnvFileDetector.detectEnvFiles(project.path());
@@ -1469,7 +2573,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to load project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -1477,7 +2581,7 @@ public class ProjectManager {
         if (args.length < 4) {
             OutputFormatter.error("Project name and filename are required");
             System.out.println("Usage: pm env show <name> <filename> [--show]");
-            System.exit(1);
+            exit(1);
         }
 
         String projectName = args[2];
@@ -1486,20 +2590,20 @@ public class ProjectManager {
 
         if (!filename.startsWith(".env")) {
             OutputFormatter.error("Filename must start with '.env'");
-            System.exit(1);
+            exit(1);
         }
 
         try {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             Path envFile = project.path().resolve(filename);
             if (!Files.isRegularFile(envFile)) {
                 OutputFormatter.error("File '" + filename + "' not found in project directory");
-                System.exit(1);
+                exit(1);
             }
 
             Map<String, String> entries = EnvFileDetector.parseEnvFile(envFile);
@@ -1528,7 +2632,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to load project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -1536,7 +2640,7 @@ public class ProjectManager {
         if (args.length < 4) {
             OutputFormatter.error("Project name and environment name are required");
             System.out.println("Usage: pm env switch <name> <env-name>");
-            System.exit(1);
+            exit(1);
         }
 
         String projectName = args[2];
@@ -1546,7 +2650,7 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             Path source = project.path().resolve(".env." + envName);
@@ -1554,7 +2658,7 @@ public class ProjectManager {
 
             if (!Files.isRegularFile(source)) {
                 OutputFormatter.error("File '.env." + envName + "' not found in project directory");
-                System.exit(1);
+                exit(1);
             }
 
             if (Files.exists(target)) {
@@ -1577,7 +2681,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to switch environment: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -1695,14 +2799,14 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             OutputFormatter.printHooks(projectName, project.hooks());
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to load project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -1716,7 +2820,7 @@ public class ProjectManager {
             OutputFormatter.error("Hook slot and script are required");
             System.out.println("Usage: pm hooks <project> add <slot> \"<script>\"");
             System.out.println("Example: pm hooks my-app add pre-build \"npm run lint\"");
-            System.exit(1);
+            exit(1);
         }
 
         String slot = args[3].toLowerCase();
@@ -1725,14 +2829,14 @@ public class ProjectManager {
         if (!slot.startsWith("pre-") && !slot.startsWith("post-")) {
             OutputFormatter.error("Invalid hook slot: " + slot);
             System.out.println("Slots must start with 'pre-' or 'post-' (e.g., pre-build, post-test)");
-            System.exit(1);
+            exit(1);
         }
 
         String hookCommand = slot.startsWith("pre-") ? slot.substring(4) : slot.substring(5);
         if (hookCommand.isBlank()) {
             OutputFormatter.error("Invalid hook slot: " + slot);
             System.out.println("Slots must include a command name (e.g., pre-build, post-test)");
-            System.exit(1);
+            exit(1);
         }
 
         // Join remaining args as the script (supports unquoted multi-word commands)
@@ -1742,7 +2846,7 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             // Validate that the hook command matches an existing command on the project
@@ -1761,7 +2865,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to update project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -1775,7 +2879,7 @@ public class ProjectManager {
             OutputFormatter.error("Hook slot and script are required");
             System.out.println("Usage: pm hooks <project> remove <slot> \"<script>\"");
             System.out.println("Use 'pm hooks <project>' to see current hooks");
-            System.exit(1);
+            exit(1);
         }
 
         String slot = args[3].toLowerCase();
@@ -1785,14 +2889,14 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             boolean removed = project.removeHook(slot, script);
             if (!removed) {
                 OutputFormatter.error("Hook not found in slot '" + slot + "': " + script);
                 System.out.println("Use 'pm hooks " + projectName + "' to see current hooks");
-                System.exit(1);
+                exit(1);
             }
 
             store.saveProject(project);
@@ -1803,7 +2907,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to update project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -1834,7 +2938,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to load projects: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -1886,7 +2990,7 @@ public class ProjectManager {
         if (args.length < 2) {
             OutputFormatter.error("Unknown command: " + commandName);
             System.out.println("Run 'pm help' for usage information");
-            System.exit(1);
+            exit(1);
         }
 
         String projectName = args[1];
@@ -1897,14 +3001,14 @@ public class ProjectManager {
                 // Not a known project — this is truly an unknown command
                 OutputFormatter.error("Unknown command: " + commandName);
                 System.out.println("Run 'pm help' for usage information");
-                System.exit(1);
+                exit(1);
             }
 
             String cmdLine = project.getCommand(commandName);
             if (cmdLine == null) {
                 OutputFormatter.error("No '" + commandName + "' command configured for project '" + projectName + "'");
                 System.out.println("Use 'pm commands " + projectName + "' to see available commands");
-                System.exit(1);
+                exit(1);
             }
 
             validateProjectPath(project);
@@ -1912,7 +3016,7 @@ public class ProjectManager {
             // Run pre-hooks
             if (!executeHooks(project, "pre-" + commandName)) {
                 OutputFormatter.error("Pre-" + commandName + " hook failed. Command aborted.");
-                System.exit(1);
+                exit(1);
             }
 
             System.out.println();
@@ -1949,15 +3053,15 @@ public class ProjectManager {
             } else {
                 OutputFormatter.error("'" + commandName + "' failed");
                 System.out.println("Exit code: " + result.exitCode());
-                System.exit(1);
+                exit(1);
             }
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to load project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         } catch (InterruptedException e) {
             OutputFormatter.warning("Command interrupted");
-            System.exit(130);
+            exit(130);
         }
     }
 
@@ -1995,7 +3099,8 @@ public class ProjectManager {
      * <p>Usage:
      * <ul>
      * <li>{@code pm refresh <name>} — refresh a single project</li>
-     * <li>{@code pm refresh --all} — refresh all registered projects</li>
+     * <li>{@code pm refresh --all [--jobs N]} — refresh all registered projects,
+     *     detecting them concurrently</li>
      * </ul>
      */
     private static void handleRefresh(String[] args) {
@@ -2007,19 +3112,20 @@ public class ProjectManager {
             OutputFormatter.error("Specify a project name or use --all");
             System.out.println("Usage:");
             System.out.println("  pm refresh <name>    Refresh a specific project");
-            System.out.println("  pm refresh --all     Refresh all registered projects");
-            System.exit(1);
+            System.out.println("  pm refresh --all     Refresh all registered projects [--jobs <n>]");
+            exit(1);
         }
 
         try {
             if (refreshAll) {
-                refreshAllProjects();
+                refreshAllProjects(parser.getFlag("jobs") != null ? parseJobs(parser)
+                        : Math.max(DEFAULT_REFRESH_JOBS, ParallelRunner.defaultJobs()));
             } else {
                 refreshSingleProject(name);
             }
         } catch (IOException e) {
             OutputFormatter.error("Failed to refresh: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -2027,33 +3133,19 @@ public class ProjectManager {
         Project project = store.findProject(name);
         if (project == null) {
             OutputFormatter.error("Project not found: " + name);
-            System.exit(1);
+            exit(1);
             return;
         }
 
         if (!Files.exists(project.path()) || !Files.isDirectory(project.path())) {
             OutputFormatter.error("Project path does not exist: " + project.path());
-            System.exit(1);
+            exit(1);
             return;
         }
 
         ProjectType oldType = project.type();
-        ProjectType newType = ProjectTypeDetector.detect(project.path());
-
-        // Create new project with detected type, preserving env vars
-        Project refreshed = new Project(project.name(), project.path(), newType);
-        CommandConfigurator.configureDefaultCommands(refreshed);
-
-        // Detect secondary types
-        List<ProjectType> allTypes = ProjectTypeDetector.detectAll(project.path());
-        allTypes.stream()
-                .filter(t -> t != newType)
-                .forEach(refreshed::addSecondaryType);
-
-        // Copy environment variables
-        for (Map.Entry<String, String> entry : project.envVars().entrySet()) {
-            refreshed.addEnvVar(entry.getKey(), entry.getValue());
-        }
+        Project refreshed = refreshedProject(project, detectionCache.detect(project.path()));
+        ProjectType newType = refreshed.type();
 
         store.saveProject(refreshed);
 
@@ -2097,9 +3189,65 @@ public class ProjectManager {
         System.out.println();
     }
 
-    private static void refreshAllProjects() throws IOException {
-        Map<String, Project> projects = store.load();
+    /**
+     * Default concurrency for {@code refresh --all}. Detection mostly waits on
+     * {@code stat} calls (slow on network-mounted homes), so it uses more
+     * threads than there are cores.
+     */
+    private static final int DEFAULT_REFRESH_JOBS = 8;
+
+    private static void refreshAllProjects(int jobs) throws IOException {
+        // Load once, detect every project concurrently, and commit the changes in a single write
+        store.update(projects -> {
+            refreshProjects(projects, jobs);
+            return null;
+        });
+    }
+
+    /**
+     * Builds the refreshed version of a project: detected type, secondary
+     * types and default commands, keeping its environment variables and hooks.
+     *
+     * @param project   registered project
+     * @param detection detection of its directory
+     * @return a new project with the same name and path
+     */
+    static Project refreshedProject(Project project, DetectionCache.Detection detection) {
+        ProjectType newType = detection.type();
+        Project refreshed = new Project(project.name(), project.path(), newType);
+        CommandConfigurator.configureDefaultCommands(refreshed);
+
+        detection.allTypes().stream()
+                .filter(t -> t != newType)
+                .forEach(refreshed::addSecondaryType);
+
+        for (Map.Entry<String, String> entry : project.envVars().entrySet()) {
+            refreshed.addEnvVar(entry.getKey(), entry.getValue());
+        }
+        project.hooks().forEach((slot, scripts) -> scripts.forEach(script -> refreshed.addHook(slot, script)));
+        return refreshed;
+    }
+
+    /**
+     * Whether refreshing changed anything that was persisted: type, secondary types or commands.
+     */
+    static boolean refreshChanged(Project before, Project after) {
+        return before.type() != after.type()
+                || !before.secondaryTypes().equals(after.secondaryTypes())
+                || !before.commands().equals(after.commands());
+    }
 
+    /**
+     * Re-detects type and default commands for every project in the map.
+     *
+     * <p>Detection runs on a pool of {@code jobs} threads; results are then
+     * printed in name order and only projects that changed are replaced, so
+     * the store journals just those.
+     *
+     * @param projects mutable registry map (from {@link ProjectStore#update})
+     * @param jobs     number of projects detected concurrently
+     */
+    static void refreshProjects(Map<String, Project> projects, int jobs) throws IOException {
         if (projects.isEmpty()) {
             System.out.println("  " + OutputFormatter.GRAY + "No projects registered" + OutputFormatter.RESET);
             return;
@@ -2109,73 +3257,85 @@ public class ProjectManager {
         OutputFormatter.info("Checking " + projects.size() + " projects...");
         System.out.println();
 
-        int updated = 0;
-        int upToDate = 0;
-        int errors = 0;
+        List<Project> sorted = new java.util.ArrayList<>(projects.values());
+        sorted.sort(java.util.Comparator.comparing(Project::name));
 
-        for (Project project : projects.values()) {
+        long start = System.nanoTime();
+        Map<Project, Project> results;
+        try {
+            // A null result means the project directory is gone
+            results = new ParallelRunner(jobs).runAll(sorted, project -> {
+                if (!Files.isDirectory(project.path())) {
+                    return null;
+                }
+                DetectionCache.Detection detection = detectionCache.detect(project.path());
+                return detection != null ? refreshedProject(project, detection) : null;
+            }, null, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            OutputFormatter.warning("Interrupted, nothing was saved");
+            throw new java.io.InterruptedIOException("refresh interrupted");
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        int changed = 0;
+        int unchanged = 0;
+        int skipped = 0;
+
+        for (Project project : sorted) {
             String name = project.name();
+            Project refreshed = results.get(project);
 
-            if (!Files.exists(project.path()) || !Files.isDirectory(project.path())) {
+            if (refreshed == null) {
                 System.out.println("  " + OutputFormatter.RED + "SKIP" + OutputFormatter.RESET +
                         "  " + padRight(name, 20) + OutputFormatter.GRAY + "path not found" + OutputFormatter.RESET);
-                errors++;
+                skipped++;
                 continue;
             }
 
-            ProjectType oldType = project.type();
-            ProjectType newType = ProjectTypeDetector.detect(project.path());
-
-            if (oldType != newType) {
-                // Create refreshed project
-                Project refreshed = new Project(name, project.path(), newType);
-                CommandConfigurator.configureDefaultCommands(refreshed);
-
-                // Detect secondary types
-                List<ProjectType> allTypes = ProjectTypeDetector.detectAll(project.path());
-                allTypes.stream()
-                        .filter(t -> t != newType)
-                        .forEach(refreshed::addSecondaryType);
-
-                // Copy environment variables
-                for (Map.Entry<String, String> entry : project.envVars().entrySet()) {
-                    refreshed.addEnvVar(entry.getKey(), entry.getValue());
-                }
+            if (!refreshChanged(project, refreshed)) {
+                System.out.println("  " + OutputFormatter.GREEN + "OK  " + OutputFormatter.RESET +
+                        "  " + padRight(name, 20) +
+                        OutputFormatter.GRAY + refreshed.type().displayName() + OutputFormatter.RESET);
+                unchanged++;
+                continue;
+            }
 
-                store.saveProject(refreshed);
+            projects.put(name, refreshed);
+            changed++;
 
+            if (project.type() != refreshed.type()) {
                 System.out.println("  " + OutputFormatter.GREEN + "UPD " + OutputFormatter.RESET +
                         "  " + padRight(name, 20) +
-                        OutputFormatter.YELLOW + oldType.displayName() + OutputFormatter.RESET +
-                        " → " + OutputFormatter.GREEN + newType.displayName() + OutputFormatter.RESET);
-                for (Map.Entry<String, String> cmd : refreshed.commands().entrySet()) {
+                        OutputFormatter.YELLOW + project.type().displayName() + OutputFormatter.RESET +
+                        " → " + OutputFormatter.GREEN + refreshed.type().displayName() + OutputFormatter.RESET);
+            } else {
+                System.out.println("  " + OutputFormatter.GREEN + "UPD " + OutputFormatter.RESET +
+                        "  " + padRight(name, 20) + refreshed.type().displayName() +
+                        OutputFormatter.GRAY + " (commands or secondary types)" + OutputFormatter.RESET);
+            }
+            for (Map.Entry<String, String> cmd : refreshed.commands().entrySet()) {
+                if (!cmd.getValue().equals(project.commands().get(cmd.getKey()))) {
                     System.out.println("        " + padRight("", 20) +
                             OutputFormatter.GREEN + "+ " + cmd.getKey() + OutputFormatter.RESET +
                             " → " + OutputFormatter.CYAN + cmd.getValue() + OutputFormatter.RESET);
                 }
-                updated++;
-            } else {
-                // Re-apply default commands (in case new commands were added to the type)
-                Project refreshed = new Project(name, project.path(), newType);
-                CommandConfigurator.configureDefaultCommands(refreshed);
-
-                for (Map.Entry<String, String> entry : project.envVars().entrySet()) {
-                    refreshed.addEnvVar(entry.getKey(), entry.getValue());
+            }
+            for (String removed : project.commands().keySet()) {
+                if (!refreshed.hasCommand(removed)) {
+                    System.out.println("        " + padRight("", 20) +
+                            OutputFormatter.RED + "- " + removed + OutputFormatter.RESET);
                 }
-
-                store.saveProject(refreshed);
-
-                System.out.println("  " + OutputFormatter.GREEN + "OK  " + OutputFormatter.RESET +
-                        "  " + padRight(name, 20) +
-                        OutputFormatter.GRAY + newType.displayName() + OutputFormatter.RESET);
-                upToDate++;
             }
         }
 
+        int usedJobs = Math.min(jobs, sorted.size());
         System.out.println();
-        System.out.println("  " + OutputFormatter.GREEN + updated + " updated" + OutputFormatter.RESET +
-                ", " + upToDate + " refreshed" +
-                (errors > 0 ? ", " + OutputFormatter.RED + errors + " skipped" + OutputFormatter.RESET : ""));
+        System.out.println("  " + OutputFormatter.GREEN + changed + " changed" + OutputFormatter.RESET +
+                ", " + unchanged + " unchanged" +
+                (skipped > 0 ? ", " + OutputFormatter.RED + skipped + " skipped" + OutputFormatter.RESET : "") +
+                OutputFormatter.GRAY + " (" + (elapsedMs < 1000 ? elapsedMs + " ms" : formatDuration(elapsedMs)) +
+                ", " + usedJobs + " parallel job" + (usedJobs != 1 ? "s" : "") + ")" + OutputFormatter.RESET);
         System.out.println();
     }
 
@@ -2292,7 +3452,7 @@ public class ProjectManager {
                     continue;
                 }
 
-                List<HealthCheck> checks = HealthScorer.evaluate(project);
+                List<HealthCheck> checks = HealthScorer.evaluate(project, DirectorySnapshot.of(project.path()));
                 char grade = HealthScorer.grade(checks);
                 String color = HealthScorer.gradeColor(grade);
                 long passed = checks.stream().filter(HealthCheck::passed).count();
@@ -2367,8 +3527,9 @@ public class ProjectManager {
                     continue;
                 }
 
-                List<SecurityCheck> checks = SecurityScorer.evaluate(project);
-                List<String> fixActions = fix ? SecurityScorer.fix(project) : List.of();
+                DirectorySnapshot root = DirectorySnapshot.of(project.path());
+                List<SecurityCheck> checks = SecurityScorer.evaluate(project, root);
+                List<String> fixActions = fix ? SecurityScorer.fix(project, root) : List.of();
 
                 long passed = checks.stream().filter(SecurityCheck::passed).count();
 
@@ -2582,7 +3743,7 @@ public class ProjectManager {
                 Project project = store.findProject(projectName);
                 if (project == null) {
                     OutputFormatter.error("Project '" + projectName + "' not found");
-                    System.exit(1);
+                    exit(1);
                 }
 
                 OutputFormatter.section("CI/CD — " + project.name());
@@ -2685,7 +3846,7 @@ public class ProjectManager {
                 Project project = store.findProject(projectName);
                 if (project == null) {
                     OutputFormatter.error("Project '" + projectName + "' not found");
-                    System.exit(1);
+                    exit(1);
                 }
 
                 OutputFormatter.section("Lint \u2014 " + project.name());
@@ -2776,7 +3937,7 @@ public class ProjectManager {
                 Project project = store.findProject(projectName);
                 if (project == null) {
                     OutputFormatter.error("Project '" + projectName + "' not found");
-                    System.exit(1);
+                    exit(1);
                 }
 
                 OutputFormatter.section("Format \u2014 " + project.name());
@@ -2867,7 +4028,7 @@ public class ProjectManager {
                 Project project = store.findProject(projectName);
                 if (project == null) {
                     OutputFormatter.error("Project '" + projectName + "' not found");
-                    System.exit(1);
+                    exit(1);
                 }
 
                 OutputFormatter.section("Workspace Modules — " + project.name());
@@ -2970,7 +4131,7 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
 
             List<MigrationTool> tools = MigrationDetector.detect(project.path());
@@ -2989,7 +4150,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to load project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -3027,7 +4188,7 @@ public class ProjectManager {
 
         } catch (IOException e) {
             OutputFormatter.error("Failed to load projects: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -3037,7 +4198,7 @@ public class ProjectManager {
         if (!RuntimeChecker.isCommandAvailable(tool.binary(), "--version")) {
             OutputFormatter.error(tool.displayName() + " is not installed or not in PATH");
             System.out.println("  Install " + tool.displayName() + " and try again.");
-            System.exit(1);
+            exit(1);
         }
 
         System.out.println();
@@ -3072,7 +4233,7 @@ public class ProjectManager {
             }
         } catch (IOException | InterruptedException e) {
             OutputFormatter.error("Migration execution failed: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -3082,7 +4243,7 @@ public class ProjectManager {
         if (!RuntimeChecker.isCommandAvailable(tool.binary(), "--version")) {
             OutputFormatter.error(tool.displayName() + " is not installed or not in PATH");
             System.out.println("  Install " + tool.displayName() + " and try again.");
-            System.exit(1);
+            exit(1);
         }
 
         OutputFormatter.section("Migration Status — " + project.name()
@@ -3100,7 +4261,7 @@ public class ProjectManager {
             }
         } catch (IOException | InterruptedException e) {
             OutputFormatter.error("Status check failed: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -3118,7 +4279,7 @@ public class ProjectManager {
     private static void handleExport(String[] args) {
         ArgsParser parser = new ArgsParser(args);
         String fileFlag = parser.getFlag("file");
-        Path outputFile = Paths.get(fileFlag != null ? fileFlag : "pm-export.json").toAbsolutePath().normalize();
+        Path outputFile = resolveUserPath(fileFlag != null ? fileFlag : "pm-export.json");
 
         // Collect project names (positional args after "export")
         List<String> projectNames = new java.util.ArrayList<>();
@@ -3163,16 +4324,16 @@ public class ProjectManager {
         if (filePath == null || filePath.isBlank()) {
             OutputFormatter.error("File path is required");
             System.out.println("Usage: pm import <file>");
-            System.exit(1);
+            exit(1);
         }
 
         // Expand ~ to home directory
         String expandedPath = filePath.replace("~", System.getProperty("user.home"));
-        Path inputFile = Paths.get(expandedPath).toAbsolutePath().normalize();
+        Path inputFile = resolveUserPath(expandedPath);
 
         if (!Files.exists(inputFile)) {
             OutputFormatter.error("File not found: " + inputFile);
-            System.exit(1);
+            exit(1);
         }
 
         OutputFormatter.section("Import");
@@ -3213,14 +4374,13 @@ public class ProjectManager {
     /**
      * Checks if a project's stored type differs from what would be detected now.
      * If so, prints a hint suggesting the user run pm refresh.
+     *
+     * <p>Detection is cached: while the project root is unchanged this costs one stat.
      */
     private static void checkTypeOutdated(Project project) {
         try {
-            if (!Files.exists(project.path()) || !Files.isDirectory(project.path())) {
-                return;
-            }
-            ProjectType detected = ProjectTypeDetector.detect(project.path());
-            if (detected != project.type() && detected != ProjectType.UNKNOWN) {
+            ProjectType detected = detectionCache.type(project.path());
+            if (detected != null && detected != project.type() && detected != ProjectType.UNKNOWN) {
                 System.out.println("  " + OutputFormatter.YELLOW + "hint:" + OutputFormatter.RESET +
                         " detected type is " + OutputFormatter.GREEN + detected.displayName() + OutputFormatter.RESET +
                         " but project is registered as " + OutputFormatter.YELLOW + project.type().displayName() + OutputFormatter.RESET);
@@ -3407,7 +4567,7 @@ public class ProjectManager {
             OutputFormatter.error("Project name or --all flag is required");
             System.out.println("Usage: pm stats <name>");
             System.out.println("       pm stats --all");
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -3416,11 +4576,11 @@ public class ProjectManager {
             Project project = store.findProject(projectName);
             if (project == null) {
                 OutputFormatter.error("Project '" + projectName + "' not found");
-                System.exit(1);
+                exit(1);
             }
         } catch (IOException e) {
             OutputFormatter.error("Failed to load project: " + e.getMessage());
-            System.exit(1);
+            exit(1);
         }
 
         var stats = statsStore.getStats(projectName);
@@ -3429,7 +4589,13 @@ public class ProjectManager {
         OutputFormatter.info("Stats: " + projectName);
         System.out.println();
 
-        String[] commands = {"build", "test", "run"};
+        List<String> commands = new java.util.ArrayList<>(List.of("build", "test", "run"));
+        // Git syncs are only listed once the project has been fetched or pulled
+        for (String sync : List.of("fetch", "pull")) {
+            if (stats != null && stats.containsKey(sync)) {
+                commands.add(sync);
+            }
+        }
         for (String cmd : commands) {
             java.util.List<pm.tracking.StatsRecord> records =
                     (stats != null) ? stats.get(cmd) : null;
@@ -3447,6 +4613,9 @@ public class ProjectManager {
                 }
                 System.out.println("    Last:    " + last.formattedDuration()
                         + " (" + status + ")  —  " + ts);
+                if (last.usage() != null) {
+                    System.out.println("             " + formatUsage(last.usage()));
+                }
 
                 long avg = records.stream()
                         .mapToLong(pm.tracking.StatsRecord::durationMs).sum() / records.size();
@@ -3458,6 +4627,7 @@ public class ProjectManager {
                 System.out.println("    Average: " + formatDuration(avg));
                 System.out.println("    Fastest: " + formatDuration(min));
                 System.out.println("    Slowest: " + formatDuration(max));
+                printUsageStats(records);
             }
             System.out.println();
         }
@@ -3469,7 +4639,7 @@ public class ProjectManager {
             projects = store.load();
         } catch (IOException e) {
             OutputFormatter.error("Failed to load projects: " + e.getMessage());
-            System.exit(1);
+            exit(1);
             return;
         }
 
@@ -3517,6 +4687,47 @@ public class ProjectManager {
         System.out.println();
     }
 
+    /**
+     * Formats the resources of one run, e.g.
+     * {@code CPU 48.2s (45.0s user, 3.2s sys), peak RSS 812 MB, I/O 40 MB read / 120 MB written}.
+     */
+    private static String formatUsage(ResourceUsage usage) {
+        return "CPU " + ResourceUsage.formatCpu(usage.cpuMs())
+                + " (" + ResourceUsage.formatCpu(usage.cpuUserMs()) + " user, "
+                + ResourceUsage.formatCpu(usage.cpuSystemMs()) + " sys)"
+                + ", peak RSS " + OutputFormatter.formatFileSize(usage.peakRssBytes())
+                + ", I/O " + OutputFormatter.formatFileSize(usage.readBytes()) + " read / "
+                + OutputFormatter.formatFileSize(usage.writeBytes()) + " written";
+    }
+
+    /**
+     * Prints average and maximum resource usage over the runs that were measured.
+     */
+    private static void printUsageStats(List<pm.tracking.StatsRecord> records) {
+        List<ResourceUsage> measured = records.stream()
+                .map(pm.tracking.StatsRecord::usage)
+                .filter(java.util.Objects::nonNull)
+                .toList();
+        if (measured.isEmpty()) {
+            return;
+        }
+        int n = measured.size();
+        long avgCpu = measured.stream().mapToLong(ResourceUsage::cpuMs).sum() / n;
+        long maxCpu = measured.stream().mapToLong(ResourceUsage::cpuMs).max().orElse(0);
+        long avgRss = measured.stream().mapToLong(ResourceUsage::peakRssBytes).sum() / n;
+        long maxRss = measured.stream().mapToLong(ResourceUsage::peakRssBytes).max().orElse(0);
+        long avgRead = measured.stream().mapToLong(ResourceUsage::readBytes).sum() / n;
+        long avgWrite = measured.stream().mapToLong(ResourceUsage::writeBytes).sum() / n;
+
+        System.out.println("    CPU:     " + ResourceUsage.formatCpu(avgCpu) + " average, "
+                + ResourceUsage.formatCpu(maxCpu) + " max"
+                + (n < records.size() ? "  (" + n + " of " + records.size() + " runs measured)" : ""));
+        System.out.println("    Memory:  " + OutputFormatter.formatFileSize(avgRss) + " average peak, "
+                + OutputFormatter.formatFileSize(maxRss) + " max");
+        System.out.println("    I/O:     " + OutputFormatter.formatFileSize(avgRead) + " read / "
+                + OutputFormatter.formatFileSize(avgWrite) + " written on average");
+    }
+
     private static String formatDuration(long durationMs) {
         long seconds = durationMs / 1000;
         if (seconds < 60) {
@@ -3533,10 +4744,14 @@ public class ProjectManager {
 
         Commands:
           add <name> --path <path> [--env <vars>]  Register a new project
-          list, ls                                  List all projects
+          add --scan <dir>[,<dir>] [--depth <n>]    Find and register all projects below dirs
+              [--jobs <n>] [--dry-run]              (--dry-run: only list what would be added)
+          list, ls [--short]                        List all projects (--short: one line each)
           build <name> [--all]                       Build project (or all with --all)
+          build --all [--jobs <n>] [--fail-fast]     Build all projects in parallel
           run <name>                                Run project
           test <name> [--all]                        Run tests (or all with --all)
+          test --all [--jobs <n>] [--fail-fast]      Test all projects in parallel
           <cmd> <name>                              Run any registered command
           scan <name>                               Scan for commands in code
           commands, cmd <name>                      List available commands
@@ -3550,11 +4765,21 @@ public class ProjectManager {
           remove, rm <name>                         Remove project
           rename <name> [new-name] [--path <path>]   Rename project or update path
           info <name>                               Show project details
+          status <name> [--json]                    Show branch, changes and upstream sync
+          status --all [--jobs <n>] [--timeout <s>] [--json]
+                                                    Git dashboard for all projects
+          fetch <name> | --all [--jobs <n>] [--per-host <n>]
+                                                    Fetch from remotes, in parallel with --all
+          pull <name> | --all --ff-only [--jobs <n>] [--per-host <n>]
+                                                    Fast-forward from upstreams, in parallel with --all
+          git-maintain <name> | --all [--run] [--tasks <list>]
+                                                    Report and improve git status performance
           env <subcommand> <name> [options]         Manage environment variables
           refresh <name>                            Re-detect type and update commands
-          refresh --all                             Refresh all registered projects
+          refresh --all [--jobs <n>]                Refresh all registered projects in parallel
           completions <shell>                       Generate completion script (bash/zsh/fish/powershell)
           update                                    Update to the latest version
+          daemon start|stop|status                  Keep a background JVM for faster commands
           doctor [--score]                            Check environment, runtimes, and project health (A/B/C/D/F)
           secure [--fix]                              Scan projects for security misconfigurations
           audit                                     Audit dependencies for known vulnerabilities
@@ -3613,6 +4838,191 @@ public class ProjectManager {
         """);
     }
 
+    // ============================================================
+    // COMMAND: DAEMON (Resident server for faster commands)
+    // ============================================================
+
+    /**
+     * Handler for the "daemon" command.
+     *
+     * <p>Usage: {@code pm daemon start|stop|status}
+     *
+     * <p>The daemon keeps a warm JVM and the project registry in memory and runs
+     * quick, non-interactive commands forwarded by later {@code pm} invocations
+     * over a Unix domain socket. Set {@code PM_NO_DAEMON=1} to bypass it.
+     *
+     * @param args command arguments
+     */
+    private static void handleDaemon(String[] args) {
+        String subcommand = args.length > 1 ? args[1].toLowerCase() : "status";
+        switch (subcommand) {
+            case "start" -> startDaemon();
+            case "stop" -> {
+                if (DaemonClient.stop(Constants.DAEMON_SOCKET)) {
+                    OutputFormatter.success("Daemon stopped");
+                } else {
+                    OutputFormatter.info("Daemon is not running");
+                }
+            }
+            case "status" -> {
+                String status = DaemonClient.ping(Constants.DAEMON_SOCKET);
+                if (status != null) {
+                    OutputFormatter.success("Daemon running (" + status + ")");
+                    System.out.println("  Socket: " + Constants.DAEMON_SOCKET);
+                } else {
+                    OutputFormatter.info("Daemon is not running. Start it with: pm daemon start");
+                }
+            }
+            case "run" -> runDaemon();
+            default -> {
+                OutputFormatter.error("Unknown daemon subcommand: " + subcommand);
+                System.out.println("Usage: pm daemon start|stop|status");
+                exit(1);
+            }
+        }
+    }
+
+    /**
+     * Starts {@code pm daemon run} as a background process and waits until it answers.
+     */
+    private static void startDaemon() {
+        String status = DaemonClient.ping(Constants.DAEMON_SOCKET);
+        if (status != null) {
+            OutputFormatter.info("Daemon already running (" + status + ")");
+            return;
+        }
+
+        List<String> command = List.of(
+                ProcessHandle.current().info().command().orElse("java"),
+                "-Duser.home=" + System.getProperty("user.home"),
+                "-cp", System.getProperty("java.class.path"),
+                ProjectManager.class.getName(), "daemon", "run");
+
+        try {
+            Files.createDirectories(Constants.CACHE_DIR);
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.appendTo(Constants.DAEMON_LOG.toFile()))
+                    .start();
+            process.getOutputStream().close();
+
+            // Wait up to 10 seconds for the socket to answer
+            for (int i = 0; i < 100 && process.isAlive(); i++) {
+                status = DaemonClient.ping(Constants.DAEMON_SOCKET);
+                if (status != null) {
+                    OutputFormatter.success("Daemon started (" + status + ")");
+                    System.out.println("  Stop it with: pm daemon stop");
+                    return;
+                }
+                Thread.sleep(100);
+            }
+        } catch (IOException e) {
+            OutputFormatter.error("Could not start the daemon: " + e.getMessage());
+            exit(1);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        OutputFormatter.error("The daemon did not start. See " + Constants.DAEMON_LOG);
+        exit(1);
+    }
+
+    /**
+     * Serves forwarded commands in this JVM until {@code pm daemon stop}.
+     */
+    private static void runDaemon() {
+        store.enableLoadCache();
+
+        DaemonServer server = new DaemonServer(Constants.DAEMON_SOCKET, Constants.VERSION,
+                new DaemonServer.Handler() {
+                    @Override
+                    public String refusal(Path clientDir, Map<String, String> env) {
+                        // Runtime checks and child processes would see the daemon's PATH
+                        if (!Objects.equals(env.get("PATH"), System.getenv("PATH"))) {
+                            return "PATH differs from the daemon's";
+                        }
+                        // The first-run consent prompt needs the client's terminal
+                        if (!TelemetryConfig.load().isPrompted()) {
+                            return "telemetry consent not asked yet";
+                        }
+                        return null;
+                    }
+
+                    @Override
+                    public int run(String[] args, Path clientDir) {
+                        Path daemonDir = workingDir;
+                        workingDir = clientDir;
+                        servingDaemon = true;
+                        // The license may have been (de)activated by a process outside the daemon
+                        LicenseManager.invalidate();
+                        try {
+                            execute(args);
+                            return 0;
+                        } catch (ExitRequest e) {
+                            return e.status;
+                        } finally {
+                            servingDaemon = false;
+                            workingDir = daemonDir;
+                        }
+                    }
+                });
+
+        System.out.println("pm daemon listening on " + Constants.DAEMON_SOCKET
+                + " (pid " + ProcessHandle.current().pid() + ")");
+        try {
+            server.serve();
+        } catch (IOException e) {
+            OutputFormatter.error("Daemon failed: " + e.getMessage());
+            exit(1);
+        }
+    }
+
+    /**
+     * Checks whether a command line asks a command that supports it for JSON
+     * output. A literal {@code --json} given to any other command (e.g. as
+     * an argument of a custom command) does not skip the banner, update
+     * notice or telemetry consent.
+     */
+    static boolean isJsonOutput(String[] args) {
+        return args.length > 0 && JSON_COMMANDS.contains(args[0].toLowerCase())
+                && Arrays.asList(args).contains("--json");
+    }
+
+    /**
+     * Hands a command line to the daemon listening on a socket, if it may run there.
+     *
+     * @param socket daemon socket
+     * @param args   command-line arguments
+     * @param env    the client's environment
+     * @param stdout where the command's output goes
+     * @param stderr where the command's errors go
+     * @return the exit status, or empty if the command must run in this JVM
+     *         (not a daemon command, no daemon, or refused by it)
+     */
+    static OptionalInt forwardToDaemon(Path socket, String[] args, Map<String, String> env,
+                                       OutputStream stdout, OutputStream stderr) {
+        if (!isDaemonCommand(args)) {
+            return OptionalInt.empty();
+        }
+        return DaemonClient.forward(socket, Constants.VERSION, args, workingDir, env, stdout, stderr);
+    }
+
+    /**
+     * Checks whether a command line may be handed to the daemon.
+     */
+    private static boolean isDaemonCommand(String[] args) {
+        if (args.length == 0) {
+            return false;
+        }
+        String command = args[0].toLowerCase();
+        if (!DAEMON_COMMANDS.contains(command)) {
+            return false;
+        }
+        Set<String> local = LOCAL_SUBCOMMANDS.get(command);
+        return local == null || args.length < 2 || !local.contains(args[1].toLowerCase());
+    }
+
     private static void handleCompletions(String[] args) {
         if (args.length < 2) {
             OutputFormatter.error("Shell name required.");
@@ -3642,6 +5052,13 @@ public class ProjectManager {
             return;
         }
 
+        // Make sure the cache the script reads matches this version's commands
+        try {
+            store.refreshCompletionCache();
+        } catch (IOException e) {
+            // The script falls back to 'pm --complete' without a cache
+        }
+
         // Print raw script to stdout (no ANSI, suitable for eval/sourcing)
         System.out.print(script);
     }
@@ -3666,14 +5083,14 @@ public class ProjectManager {
             System.out.println("The directory may have been moved, renamed, or deleted.");
             System.out.println("To update the path, run:");
             System.out.println("  pm rename " + project.name() + " --path <new-path>");
-            System.exit(1);
+            exit(1);
         }
         if (!Files.isDirectory(project.path())) {
             OutputFormatter.error("Project path is not a directory: " + project.path());
             System.out.println("The registered path points to a file, not a directory.");
             System.out.println("To update the path, run:");
             System.out.println("  pm rename " + project.name() + " --path <new-path>");
-            System.exit(1);
+            exit(1);
         }
     }
 
@@ -3770,7 +5187,49 @@ public class ProjectManager {
             OutputFormatter.error("Unexpected error: " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
             System.out.println("If this persists, run 'pm doctor' to diagnose your environment.");
         }
-        System.exit(1);
+        exit(1);
+    }
+
+    /**
+     * Ends the current command with an exit status.
+     *
+     * <p>Inside the daemon this unwinds back to the request loop, which reports
+     * the status to the client, instead of stopping the JVM.
+     *
+     * @param status exit status
+     */
+    private static void exit(int status) {
+        if (servingDaemon) {
+            throw new ExitRequest(status);
+        }
+        detectionCache.flush();
+        System.exit(status);
+    }
+
+    /**
+     * Thrown by {@link #exit(int)} inside the daemon. It is an {@link Error} so the
+     * {@code catch (Exception e)} blocks of the command handlers let it through.
+     */
+    private static final class ExitRequest extends Error {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        ExitRequest(int status) {
+            super(null, null, false, false);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Resolves a path given on the command line against the user's working
+     * directory (the client's directory when running inside the daemon).
+     *
+     * @param path path as typed, with {@code ~} already expanded
+     * @return absolute, normalized path
+     */
+    private static Path resolveUserPath(String path) {
+        return workingDir.resolve(path).toAbsolutePath().normalize();
     }
 
     /**
@@ -4,12 +4,20 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import pm.detector.ProjectType;
+import pm.executor.CaptureBuffer;
 import pm.executor.CommandExecutor;
 import pm.executor.CommandExecutor.CapturedOutput;
+import pm.util.Constants;
 import pm.util.RuntimeChecker;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -27,8 +35,12 @@ import java.util.Map;
  *
  * <p>Read-only: never modifies dependency files.
  *
+ * <p>Audit output is captured within {@link #AUDIT_CAPTURE_BYTES} of memory;
+ * larger reports (e.g. {@code npm audit --json} of a big monorepo) spill to a
+ * temporary file in the cache directory and are parsed from there as a stream.
+ *
  * @author SoftDryzz
- * @version 1.6.3
+ * @version 2.1.0
  * @since 1.6.3
  */
 public final class DependencyAuditor {
@@ -36,6 +48,9 @@ public final class DependencyAuditor {
     /** Timeout in seconds for audit commands. */
     static final int AUDIT_TIMEOUT = 120;
 
+    /** Audit output kept in memory; anything larger is parsed from a spill file. */
+    static final int AUDIT_CAPTURE_BYTES = 1024 * 1024;
+
     private final CommandExecutor executor;
 
     public DependencyAuditor(CommandExecutor executor) {
@@ -73,17 +88,24 @@ public final class DependencyAuditor {
         }
 
         // Run the audit command
-        try {
-            String command = auditCommand(type);
-            CapturedOutput output = executor.captureOutput(command, projectPath, AUDIT_TIMEOUT);
+        String command = auditCommand(type);
+        CaptureBuffer buffer = new CaptureBuffer(AUDIT_CAPTURE_BYTES, Constants.CACHE_DIR);
+        try (CapturedOutput output = executor.captureOutput(command, projectPath, AUDIT_TIMEOUT, null, buffer)) {
 
             String stdout = output.stdout();
             if (stdout == null || stdout.isBlank()) {
                 return new AuditReport(AuditReport.Status.ERROR, List.of(),
                         "Audit tool produced no output (exit code: " + output.exitCode() + ")", "");
             }
+            if (output.truncated() && output.spillFile() == null) {
+                return new AuditReport(AuditReport.Status.ERROR, List.of(),
+                        "Audit output too large to parse (" + output.droppedBytes() + " bytes dropped)", "");
+            }
 
-            List<Vulnerability> vulns = parseOutput(type, stdout);
+            List<Vulnerability> vulns;
+            try (Reader reader = output.reader()) {
+                vulns = parseOutput(type, reader);
+            }
 
             if (vulns.isEmpty()) {
                 return new AuditReport(AuditReport.Status.CLEAN, List.of(),
@@ -145,13 +167,14 @@ public final class DependencyAuditor {
      */
     static boolean isAuditToolAvailable(ProjectType type) {
         return switch (type) {
-            case NODEJS -> RuntimeChecker.getVersion("npm", "--version") != null;
-            case PNPM -> RuntimeChecker.getVersion("pnpm", "--version") != null;
-            case YARN -> RuntimeChecker.getVersion("yarn", "--version") != null;
+            case NODEJS -> RuntimeChecker.isCommandAvailable("npm", "--version");
+            case PNPM -> RuntimeChecker.isCommandAvailable("pnpm", "--version");
+            case YARN -> RuntimeChecker.isCommandAvailable("yarn", "--version");
+            // Cargo also finds subcommands outside PATH (in CARGO_HOME/bin), so ask cargo itself
             case RUST -> RuntimeChecker.getVersion("cargo", "audit --version") != null;
-            case GO -> RuntimeChecker.getVersion("govulncheck", "-h") != null;
-            case PYTHON -> RuntimeChecker.getVersion("pip-audit", "--version") != null;
-            case DOTNET -> RuntimeChecker.getVersion("dotnet", "--version") != null;
+            case GO -> RuntimeChecker.isCommandAvailable("govulncheck", "-h");
+            case PYTHON -> RuntimeChecker.isCommandAvailable("pip-audit", "--version");
+            case DOTNET -> RuntimeChecker.isCommandAvailable("dotnet", "--version");
             default -> false;
         };
     }
@@ -212,11 +235,10 @@ public final class DependencyAuditor {
     // PARSER DISPATCH
     // ============================================================
 
-    private List<Vulnerability> parseOutput(ProjectType type, String json) {
+    private List<Vulnerability> parseOutput(ProjectType type, Reader json) {
         try {
             return switch (type) {
-                case NODEJS -> parseNpmJson(json);
-                case PNPM -> parsePnpmJson(json);
+                case NODEJS, PNPM -> parseNpmJson(json);
                 case YARN -> parseYarnJson(json);
                 case RUST -> parseCargoJson(json);
                 case GO -> parseGovulncheckJson(json);
@@ -239,18 +261,28 @@ public final class DependencyAuditor {
      * <p>Structure: {@code { "vulnerabilities": { "pkg": { "severity": "high" } } }}
      */
     static List<Vulnerability> parseNpmJson(String json) {
-        List<Vulnerability> vulns = new ArrayList<>();
-        try {
-            JsonObject root = JsonParser.parseString(json).getAsJsonObject();
-            if (!root.has("vulnerabilities")) return vulns;
-
-            JsonObject vulnerabilities = root.getAsJsonObject("vulnerabilities");
-            for (Map.Entry<String, JsonElement> entry : vulnerabilities.entrySet()) {
-                String pkgName = entry.getKey();
-                JsonObject vuln = entry.getValue().getAsJsonObject();
-                String severity = vuln.has("severity") ? vuln.get("severity").getAsString() : "medium";
+        return parseNpmJson(new StringReader(json));
+    }
 
-                vulns.add(new Vulnerability("", pkgName, Severity.from(severity), ""));
+    /**
+     * Streams npm audit --json output, reading only package names and severities,
+     * so a report of tens of megabytes is never held in memory as a tree.
+     */
+    static List<Vulnerability> parseNpmJson(Reader json) {
+        List<Vulnerability> vulns = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(json)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!reader.nextName().equals("vulnerabilities")) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String pkgName = reader.nextName();
+                    vulns.add(new Vulnerability("", pkgName, Severity.from(readSeverity(reader)), ""));
+                }
+                reader.endObject();
             }
         } catch (Exception e) {
             // Malformed JSON — return what we have
@@ -258,6 +290,23 @@ public final class DependencyAuditor {
         return vulns;
     }
 
+    /**
+     * Reads one npm vulnerability object, keeping only its severity.
+     */
+    private static String readSeverity(JsonReader reader) throws IOException {
+        String severity = "medium";
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("severity") && reader.peek() == JsonToken.STRING) {
+                severity = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return severity;
+    }
+
     /**
      * Parses pnpm audit --json output. Same structure as npm.
      */
@@ -272,8 +321,14 @@ public final class DependencyAuditor {
      * contain vulnerability data at {@code data.advisory}.
      */
     static List<Vulnerability> parseYarnJson(String json) {
+        return parseYarnJson(new StringReader(json));
+    }
+
+    static List<Vulnerability> parseYarnJson(Reader json) {
         List<Vulnerability> vulns = new ArrayList<>();
-        for (String line : json.split("\n")) {
+        BufferedReader reader = new BufferedReader(json);
+        String line;
+        while ((line = nextLine(reader)) != null) {
             String trimmed = line.trim();
             if (trimmed.isEmpty()) continue;
             try {
@@ -304,9 +359,13 @@ public final class DependencyAuditor {
      * <p>Structure: {@code { "vulnerabilities": { "list": [ { "advisory": { ... } } ] } }}
      */
     static List<Vulnerability> parseCargoJson(String json) {
+        return parseCargoJson(new StringReader(json));
+    }
+
+    static List<Vulnerability> parseCargoJson(Reader json) {
         List<Vulnerability> vulns = new ArrayList<>();
         try {
-            JsonObject root = JsonParser.parseString(json).getAsJsonObject();
+            JsonObject root = JsonParser.parseReader(json).getAsJsonObject();
             if (!root.has("vulnerabilities")) return vulns;
 
             JsonObject vulnsObj = root.getAsJsonObject("vulnerabilities");
@@ -337,8 +396,14 @@ public final class DependencyAuditor {
      * contain vulnerability data with an OSV identifier.
      */
     static List<Vulnerability> parseGovulncheckJson(String json) {
+        return parseGovulncheckJson(new StringReader(json));
+    }
+
+    static List<Vulnerability> parseGovulncheckJson(Reader json) {
         List<Vulnerability> vulns = new ArrayList<>();
-        for (String line : json.split("\n")) {
+        BufferedReader reader = new BufferedReader(json);
+        String line;
+        while ((line = nextLine(reader)) != null) {
             String trimmed = line.trim();
             if (trimmed.isEmpty()) continue;
             try {
@@ -362,9 +427,13 @@ public final class DependencyAuditor {
      * <p>Structure: {@code [ { "name": "pkg", "vulns": [ { "id": "PYSEC-..." } ] } ]}
      */
     static List<Vulnerability> parsePipAuditJson(String json) {
+        return parsePipAuditJson(new StringReader(json));
+    }
+
+    static List<Vulnerability> parsePipAuditJson(Reader json) {
         List<Vulnerability> vulns = new ArrayList<>();
         try {
-            JsonArray root = JsonParser.parseString(json).getAsJsonArray();
+            JsonArray root = JsonParser.parseReader(json).getAsJsonArray();
             for (JsonElement el : root) {
                 JsonObject pkg = el.getAsJsonObject();
                 String name = getStringOr(pkg, "name", "");
@@ -391,9 +460,13 @@ public final class DependencyAuditor {
      * <p>Structure: {@code { "projects": [ { "frameworks": [ { "topLevelPackages": [...] } ] } ] }}
      */
     static List<Vulnerability> parseDotnetJson(String json) {
+        return parseDotnetJson(new StringReader(json));
+    }
+
+    static List<Vulnerability> parseDotnetJson(Reader json) {
         List<Vulnerability> vulns = new ArrayList<>();
         try {
-            JsonObject root = JsonParser.parseString(json).getAsJsonObject();
+            JsonObject root = JsonParser.parseReader(json).getAsJsonObject();
             if (!root.has("projects")) return vulns;
 
             JsonArray projects = root.getAsJsonArray("projects");
@@ -426,6 +499,17 @@ public final class DependencyAuditor {
     // UTILITIES
     // ============================================================
 
+    /**
+     * Reads the next line of NDJSON output; a read error ends the output.
+     */
+    private static String nextLine(BufferedReader reader) {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     private static String getStringOr(JsonObject obj, String key, String defaultValue) {
         return obj.has(key) && !obj.get(key).isJsonNull()
                 ? obj.get(key).getAsString()
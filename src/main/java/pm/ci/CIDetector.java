@@ -1,5 +1,7 @@
 package pm.ci;
 
+import pm.detector.DirectorySnapshot;
+
 import java.io.IOException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
@@ -40,22 +42,31 @@ public final class CIDetector {
             return List.of();
         }
 
+        return detect(DirectorySnapshot.of(projectRoot));
+    }
+
+    /**
+     * Detects all CI/CD providers from an existing listing of the project root.
+     *
+     * @param root snapshot of the project directory
+     * @return list of detected providers (may be empty, never null)
+     */
+    public static List<CIProvider> detect(DirectorySnapshot root) {
         List<CIProvider> providers = new ArrayList<>();
 
-        if (Files.isDirectory(projectRoot.resolve(".github").resolve("workflows"))) {
+        if (root.isDirectory(".github/workflows")) {
             providers.add(CIProvider.GITHUB_ACTIONS);
         }
-        if (Files.exists(projectRoot.resolve(".gitlab-ci.yml"))) {
+        if (root.exists(".gitlab-ci.yml")) {
             providers.add(CIProvider.GITLAB_CI);
         }
-        if (Files.exists(projectRoot.resolve("Jenkinsfile"))) {
+        if (root.exists("Jenkinsfile")) {
             providers.add(CIProvider.JENKINS);
         }
-        if (Files.exists(projectRoot.resolve(".travis.yml"))) {
+        if (root.exists(".travis.yml")) {
             providers.add(CIProvider.TRAVIS_CI);
         }
-        Path circleConfig = projectRoot.resolve(".circleci").resolve("config.yml");
-        if (Files.exists(circleConfig)) {
+        if (root.exists(".circleci/config.yml")) {
             providers.add(CIProvider.CIRCLECI);
         }
 
@@ -3,10 +3,12 @@ package pm.cli;
 import pm.ci.CIDetector;
 import pm.ci.CIProvider;
 import pm.core.Project;
+import pm.detector.DirectorySnapshot;
 import pm.detector.ProjectType;
 import pm.migration.MigrationDetector;
 import pm.migration.MigrationTool;
 import pm.scanner.EnvFileDetector;
+import pm.storage.ProjectIndex;
 import pm.util.GitIntegration;
 import pm.workspace.WorkspaceDetector;
 import pm.workspace.WorkspaceModule;
@@ -14,6 +16,7 @@ import pm.workspace.WorkspaceModule;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -110,12 +113,27 @@ public class OutputFormatter {
         System.out.println();
     }
 
+    /**
+     * Formats a byte count in human-readable format.
+     *
+     * @param bytes size in bytes
+     * @return e.g. "512 B", "1.5 KB" or "2.3 MB"
+     */
+    public static String formatFileSize(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024.0);
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
     /**
      * Displays project information in a readable format.
      *
      * @param project project to display
      */
     public static void printProject(Project project) {
+        // One listing of the root serves the CI, env file and migration detectors
+        DirectorySnapshot root = DirectorySnapshot.of(project.path());
+
         System.out.println(BOLD + project.name() + RESET + " " +
                 GRAY + "(" + project.type().displayName() + ")" + RESET);
         if (project.hasSecondaryTypes()) {
@@ -151,7 +169,7 @@ public class OutputFormatter {
         printGitInfo(project.path());
 
         // Show CI/CD information
-        printCIInfo(project.path());
+        printCIInfo(root);
 
         // Show workspace info
         List<WorkspaceModule> modules = WorkspaceDetector.detect(project.type(), project.path());
@@ -163,7 +181,7 @@ public class OutputFormatter {
         }
 
         // Show .env files
-        List<Path> envFiles = EnvFileDetector.detectEnvFiles(project.path());
+        List<Path> envFiles = EnvFileDetector.detectEnvFiles(root);
         if (!envFiles.isEmpty()) {
             String names = envFiles.stream()
                     .map(p -> p.getFileName().toString())
@@ -174,7 +192,7 @@ public class OutputFormatter {
         }
 
         // Show migration tools
-        List<MigrationTool> migrations = MigrationDetector.detect(project.path());
+        List<MigrationTool> migrations = MigrationDetector.detect(root);
         if (!migrations.isEmpty()) {
             String tools = migrations.stream()
                     .map(MigrationTool::displayName)
@@ -201,45 +219,60 @@ public class OutputFormatter {
         System.out.println();
         System.out.println("  " + BOLD + "Git:" + RESET);
 
+        // One git call for branch, status, upstream and stash
+        GitIntegration.GitSnapshot git = GitIntegration.snapshot(projectPath);
+        if (git == null) {
+            System.out.println("    Branch: " + GRAY + "could not read (is git installed?)" + RESET);
+            System.out.println("    Status: " + GRAY + "could not read" + RESET);
+            return;
+        }
+
         // Current Branch
-        String branch = GitIntegration.getCurrentBranch(projectPath);
-        if (branch != null) {
-            System.out.println("    Branch: " + GREEN + branch + RESET);
+        if (!git.isDetached()) {
+            System.out.println("    Branch: " + GREEN + git.branch() + RESET);
         } else {
-            System.out.println("    Branch: " + GRAY + "could not read (is git installed?)" + RESET);
+            String at = git.commit() != null ? " at " + git.commit().substring(0, Math.min(7, git.commit().length())) : "";
+            System.out.println("    Branch: " + YELLOW + "detached HEAD" + at + RESET);
         }
 
         // Status (modified files, etc.)
-        GitIntegration.GitStatus status = GitIntegration.getStatus(projectPath);
-        if (status != null) {
-            if (status.isClean()) {
-                System.out.println("    Status: " + GREEN + "✓ Clean working tree" + RESET);
-            } else {
-                System.out.println("    Status: " + YELLOW + status.toString() + RESET);
-            }
+        if (git.isClean()) {
+            System.out.println("    Status: " + GREEN + "✓ Clean working tree" + RESET);
         } else {
-            System.out.println("    Status: " + GRAY + "could not read" + RESET);
+            String status = git.status().isClean() ? "" : git.status().toString();
+            if (git.conflicted() > 0) {
+                status = git.conflicted() + " conflicted" + (status.isEmpty() ? "" : ", " + status);
+            }
+            System.out.println("    Status: " + YELLOW + status + RESET);
         }
 
-        // Commits pending push
-        int commitsAhead = GitIntegration.getCommitsAhead(projectPath);
-        if (commitsAhead > 0) {
-            System.out.println("    Unpushed: " + YELLOW + commitsAhead + " commit" +
-                    (commitsAhead > 1 ? "s" : "") + RESET);
-        } else if (commitsAhead == 0) {
-            System.out.println("    Unpushed: " + GREEN + "✓ Up to date" + RESET);
-        } else {
+        // Commits pending push / pull
+        if (!git.hasUpstream()) {
             System.out.println("    Unpushed: " + GRAY + "no remote tracking branch" + RESET);
+        } else if (git.ahead() > 0) {
+            System.out.println("    Unpushed: " + YELLOW + git.ahead() + " commit" +
+                    (git.ahead() > 1 ? "s" : "") + RESET);
+        } else {
+            System.out.println("    Unpushed: " + GREEN + "✓ Up to date" + RESET);
+        }
+        if (git.hasUpstream() && git.behind() > 0) {
+            System.out.println("    Behind: " + YELLOW + git.behind() + " commit" +
+                    (git.behind() > 1 ? "s" : "") + " on " + git.upstream() + RESET);
+        }
+
+        // Stash
+        if (git.stashes() > 0) {
+            System.out.println("    Stash: " + git.stashes() + " entr" + (git.stashes() > 1 ? "ies" : "y"));
         }
     }
 
     /**
      * Displays CI/CD information for a project.
      *
-     * @param projectPath project path
+     * @param root snapshot of the project directory
      */
-    private static void printCIInfo(Path projectPath) {
-        java.util.List<CIProvider> providers = CIDetector.detect(projectPath);
+    private static void printCIInfo(DirectorySnapshot root) {
+        java.util.List<CIProvider> providers = CIDetector.detect(root);
 
         if (providers.isEmpty()) {
             System.out.println();
@@ -252,7 +285,7 @@ public class OutputFormatter {
         for (CIProvider provider : providers) {
             String detail = "";
             if (provider == CIProvider.GITHUB_ACTIONS) {
-                int count = CIDetector.workflowCount(projectPath);
+                int count = CIDetector.workflowCount(root.root());
                 if (count > 0) {
                     detail = " (" + count + " workflow" + (count > 1 ? "s" : "") + ")";
                 }
@@ -285,6 +318,49 @@ public class OutputFormatter {
         }
     }
 
+    /**
+     * Displays a compact one-line-per-project list from the project index.
+     *
+     * <p>Used by {@code pm list --short}: needs no Git, CI or filesystem
+     * inspection, and no full registry load.
+     *
+     * @param entries index entries to display
+     * @since 2.1.0
+     */
+    public static void printProjectList(Collection<ProjectIndex.Entry> entries) {
+        if (entries.isEmpty()) {
+            System.out.println(GRAY + "No projects registered yet." + RESET);
+            System.out.println();
+            System.out.println("Add your first project with:");
+            System.out.println("  " + CYAN + "pm add <name> --path <path>" + RESET);
+            return;
+        }
+
+        int nameWidth = 0;
+        int typeWidth = 0;
+        for (ProjectIndex.Entry entry : entries) {
+            nameWidth = Math.max(nameWidth, entry.name().length());
+            typeWidth = Math.max(typeWidth, entry.type().displayName().length());
+        }
+
+        System.out.println();
+        System.out.println("Registered Projects (" + entries.size() + ")");
+        System.out.println("─".repeat(23));
+        System.out.println();
+
+        for (ProjectIndex.Entry entry : entries) {
+            String commands = entry.commands().isEmpty() ? "" : "  " + GRAY + String.join(", ", entry.commands()) + RESET;
+            System.out.println("  " + BOLD + pad(entry.name(), nameWidth) + RESET + "  " +
+                    GRAY + pad(entry.type().displayName(), typeWidth) + RESET + "  " +
+                    CYAN + entry.path() + RESET + commands);
+        }
+        System.out.println();
+    }
+
+    private static String pad(String text, int width) {
+        return text.length() >= width ? text : text + " ".repeat(width - text.length());
+    }
+
     /**
      * Displays available commands for a project.
      *
@@ -0,0 +1,263 @@
+package pm.completion;
+
+import pm.storage.ProjectIndex;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Precomputed shell completions ({@code ~/.projectmanager/cache/completions.txt}).
+ *
+ * <p>The scripts from {@link CompletionScripts} look up the words typed so far in
+ * this file and only start a JVM ({@code pm --complete}) when no line matches.
+ * The file is regenerated by {@code ProjectStore} whenever the registry changes,
+ * and by {@code pm completions <shell>}.
+ *
+ * <p>Format: a header, then one {@code key<TAB>candidates} line per context.
+ * <pre>
+ * # pm completion cache v1
+ * names&lt;TAB&gt;api web
+ * 1&lt;TAB&gt;add audit build ...
+ * 2 build&lt;TAB&gt;--all @names
+ * 3 hooks *&lt;TAB&gt;add remove
+ * 4 hooks api add&lt;TAB&gt;post-build ... pre-deploy post-deploy
+ * </pre>
+ *
+ * <ul>
+ * <li>The key is the index of the word being completed followed by the words
+ *     before it (without {@code pm}), separated by spaces.</li>
+ * <li>A {@code *} in the third key word matches any argument not listed explicitly
+ *     (usually a project name). Shells try the exact key first.</li>
+ * <li>{@code @names} stands for the project names on the {@code names} line, so
+ *     contexts listing every project do not repeat them.</li>
+ * <li>Candidates are not filtered by the current word; the shell does that.</li>
+ * </ul>
+ *
+ * <p>Contexts that need data not kept in the index (environment variable keys)
+ * or that are deeper than the fourth word are not cached.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class CompletionCache {
+
+    static final String HEADER = "# pm completion cache v1";
+
+    /** Key word that matches any argument without a line of its own. */
+    static final String WILDCARD = "*";
+
+    /** Placeholder for the full list of project names. */
+    static final String NAMES_PLACEHOLDER = "@names";
+
+    private CompletionCache() {
+        throw new AssertionError("CompletionCache cannot be instantiated");
+    }
+
+    /**
+     * Regenerates the cache file from the project index.
+     *
+     * @param file  cache file to write
+     * @param index current project index
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, Map<String, ProjectIndex.Entry> index) throws IOException {
+        Map<String, List<String>> contexts = generate(index);
+
+        Path parent = file.getParent();
+        if (parent != null && !Files.exists(parent)) {
+            Files.createDirectories(parent);
+        }
+
+        List<String> names = new ArrayList<>(index.keySet());
+        names.sort(null);
+
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            writer.write("names\t" + String.join(" ", names));
+            writer.newLine();
+            for (Map.Entry<String, List<String>> context : contexts.entrySet()) {
+                writer.write(context.getKey() + "\t" + String.join(" ", context.getValue()));
+                writer.newLine();
+            }
+        }
+
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Runs the completion state machine for every context a shell can look up.
+     *
+     * @param index current project index
+     * @return candidates by key (sorted, with {@code @names} substituted)
+     */
+    static Map<String, List<String>> generate(Map<String, ProjectIndex.Entry> index) {
+        IndexSource source = new IndexSource(index);
+        Set<String> names = new HashSet<>(index.keySet());
+        Map<String, List<String>> contexts = new TreeMap<>();
+
+        put(contexts, names, source, "pm");
+
+        for (String cmd : CompletionHandler.TOP_LEVEL_COMMANDS) {
+            List<String> position2 = put(contexts, names, source, "pm", cmd);
+
+            List<String> args2 = explicit(position2, names);
+            args2.add(WILDCARD);
+            List<String> projectArgs3 = List.of();
+            for (String arg2 : args2) {
+                List<String> position3 = put(contexts, names, source, "pm", cmd, arg2);
+                List<String> args3 = explicit(position3, names);
+                for (String arg3 : args3) {
+                    put(contexts, names, source, "pm", cmd, arg2, arg3);
+                }
+                if (WILDCARD.equals(arg2)) {
+                    projectArgs3 = args3;
+                }
+            }
+
+            // Fourth-word completions that depend on which project was named (e.g. hook slots).
+            // The third word never depends on the project, so the wildcard's candidates apply.
+            if (names.isEmpty() || !containsAll(position2, names)) {
+                continue;
+            }
+            for (String project : names) {
+                for (String arg3 : projectArgs3) {
+                    String wildcardKey = key("pm", cmd, WILDCARD, arg3);
+                    List<String> specific = complete(source, "pm", cmd, project, arg3);
+                    if (specific == null) {
+                        continue;
+                    }
+                    specific = withPlaceholder(specific, names);
+                    if (!specific.equals(contexts.get(wildcardKey))) {
+                        contexts.put(key("pm", cmd, project, arg3), specific);
+                    }
+                }
+            }
+        }
+
+        return contexts;
+    }
+
+    // ============================================================
+    // INTERNAL
+    // ============================================================
+
+    /**
+     * Computes and stores the candidates for the words typed so far.
+     *
+     * @return the raw candidates, or an empty list if the context is not cacheable
+     */
+    private static List<String> put(Map<String, List<String>> contexts, Set<String> names,
+                                    IndexSource source, String... typed) {
+        List<String> candidates = complete(source, typed);
+        if (candidates == null) {
+            return new ArrayList<>();
+        }
+        contexts.put(key(typed), withPlaceholder(candidates, names));
+        return candidates;
+    }
+
+    /**
+     * Runs the state machine for the word after {@code typed}.
+     *
+     * @return sorted candidates, or null if they need data the index does not have
+     */
+    private static List<String> complete(IndexSource source, String... typed) {
+        String[] words = new String[typed.length + 1];
+        System.arraycopy(typed, 0, words, 0, typed.length);
+        words[typed.length] = "";
+        try {
+            List<String> candidates = new ArrayList<>(
+                    CompletionHandler.computeCompletions(words, typed.length, source));
+            candidates.sort(null);
+            return candidates;
+        } catch (UncachedDataException e) {
+            return null;
+        }
+    }
+
+    private static String key(String... typed) {
+        StringBuilder key = new StringBuilder(String.valueOf(typed.length));
+        for (int i = 1; i < typed.length; i++) {
+            key.append(' ').append(typed[i]);
+        }
+        return key.toString();
+    }
+
+    private static List<String> explicit(List<String> candidates, Set<String> names) {
+        List<String> result = new ArrayList<>();
+        for (String candidate : candidates) {
+            if (!names.contains(candidate)) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    private static boolean containsAll(List<String> candidates, Set<String> names) {
+        return candidates.size() >= names.size() && new HashSet<>(candidates).containsAll(names);
+    }
+
+    private static List<String> withPlaceholder(List<String> candidates, Set<String> names) {
+        if (names.isEmpty() || !containsAll(candidates, names)) {
+            return candidates;
+        }
+        List<String> result = explicit(candidates, names);
+        result.add(NAMES_PLACEHOLDER);
+        return result;
+    }
+
+    /**
+     * Project data backed by the index only. Environment variable keys are not in
+     * the index, so contexts that need them are left to the JVM.
+     */
+    private static final class IndexSource implements CompletionHandler.ProjectSource {
+        private final Map<String, ProjectIndex.Entry> index;
+
+        IndexSource(Map<String, ProjectIndex.Entry> index) {
+            this.index = index;
+        }
+
+        @Override
+        public List<String> projectNames() {
+            return new ArrayList<>(index.keySet());
+        }
+
+        @Override
+        public List<String> commandNames(String projectName) {
+            ProjectIndex.Entry entry = index.get(projectName);
+            return entry != null ? entry.commands() : List.of();
+        }
+
+        @Override
+        public List<String> envVarKeys(String projectName) {
+            throw new UncachedDataException();
+        }
+    }
+
+    /** Signals a context whose completions cannot be precomputed. */
+    private static final class UncachedDataException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        UncachedDataException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -2,13 +2,13 @@ package pm.completion;
 
 import pm.core.Project;
 import pm.detector.ProjectType;
+import pm.storage.ProjectIndex;
 import pm.storage.ProjectStore;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 /**
@@ -27,8 +27,8 @@ public final class CompletionHandler {
     /** All top-level commands available in pm. */
     static final List<String> TOP_LEVEL_COMMANDS = List.of(
             "add", "list", "ls", "build", "run", "test", "scan",
-            "commands", "cmd", "remove", "rm", "rename", "info",
-            "env", "hooks", "refresh", "update", "doctor", "secure",
+            "commands", "cmd", "remove", "rm", "rename", "info", "status", "fetch", "pull",
+            "git-maintain", "env", "hooks", "refresh", "update", "doctor", "secure",
             "audit", "ci", "lint", "fmt", "modules", "migrate", "export", "import",
             "config", "license", "stats", "help", "version", "completions"
     );
@@ -40,7 +40,8 @@ public final class CompletionHandler {
 
     /** Commands that take a project name OR --all flag. */
     private static final Set<String> PROJECT_OR_ALL_COMMANDS = Set.of(
-            "build", "run", "test", "commands", "cmd", "hooks", "refresh", "stats"
+            "build", "run", "test", "commands", "cmd", "hooks", "refresh", "stats", "status",
+            "fetch", "pull", "git-maintain"
     );
 
     /** Env subcommands. */
@@ -136,6 +137,14 @@ public final class CompletionHandler {
      * Determines candidates based on word position and context.
      */
     static List<String> computeCompletions(String[] words, int cword) {
+        return computeCompletions(words, cword, STORE);
+    }
+
+    /**
+     * Core completion state machine with an explicit source of project data.
+     * Used by {@link CompletionCache} to precompute completions from the index.
+     */
+    static List<String> computeCompletions(String[] words, int cword, ProjectSource source) {
         // cword 0 = "pm" itself, no completions
         if (cword <= 0) {
             return List.of();
@@ -150,54 +159,59 @@ public final class CompletionHandler {
 
         // cword 2: completing after the command (pm build <TAB>)
         if (cword == 2) {
-            return completionsForPosition2(cmd);
+            return completionsForPosition2(cmd, source);
         }
 
         // cword 3: completing third position (pm env set <TAB>)
         if (cword == 3) {
             String arg2 = words.length > 2 ? words[2] : "";
-            return completionsForPosition3(cmd, arg2);
+            return completionsForPosition3(cmd, arg2, source);
         }
 
         // cword 4+: deeper completions
         if (cword >= 4) {
             String arg2 = words.length > 2 ? words[2] : "";
             String arg3 = words.length > 3 ? words[3] : "";
-            return completionsForPosition4Plus(cmd, arg2, arg3, words, cword);
+            return completionsForPosition4Plus(cmd, arg2, arg3, words, cword, source);
         }
 
         return List.of();
     }
 
-    private static List<String> completionsForPosition2(String cmd) {
+    private static List<String> completionsForPosition2(String cmd, ProjectSource source) {
         if (PROJECT_COMMANDS.contains(cmd)) {
-            return getProjectNames();
+            return source.projectNames();
         }
         if (PROJECT_OR_ALL_COMMANDS.contains(cmd)) {
-            List<String> result = new ArrayList<>(getProjectNames());
+            List<String> result = new ArrayList<>(source.projectNames());
             result.add("--all");
             return result;
         }
         if ("export".equals(cmd)) {
-            List<String> result = new ArrayList<>(getProjectNames());
+            List<String> result = new ArrayList<>(source.projectNames());
             result.add("--file");
             return result;
         }
+        // pm add <TAB> → the name is freeform, but --scan registers a whole tree
+        if ("add".equals(cmd)) {
+            return new ArrayList<>(List.of("--scan"));
+        }
         return switch (cmd) {
             case "env" -> new ArrayList<>(ENV_SUBCOMMANDS);
             case "config" -> new ArrayList<>(CONFIG_SUBCOMMANDS);
             case "license" -> new ArrayList<>(LICENSE_SUBCOMMANDS);
             case "completions" -> new ArrayList<>(SHELL_NAMES);
+            case "list", "ls" -> new ArrayList<>(List.of("--short"));
             case "doctor" -> new ArrayList<>(List.of("--score"));
             case "secure" -> new ArrayList<>(List.of("--fix"));
             default -> List.of();
         };
     }
 
-    private static List<String> completionsForPosition3(String cmd, String arg2) {
+    private static List<String> completionsForPosition3(String cmd, String arg2, ProjectSource source) {
         // pm env <subcmd> <TAB> → project names
         if ("env".equals(cmd) && ENV_SUBCOMMANDS.contains(arg2.toLowerCase())) {
-            return getProjectNames();
+            return source.projectNames();
         }
         // pm commands <project> <TAB> → add, remove
         if ("commands".equals(cmd) || "cmd".equals(cmd)) {
@@ -207,6 +221,29 @@ public final class CompletionHandler {
         if ("hooks".equals(cmd)) {
             return new ArrayList<>(MANAGEMENT_SUBCOMMANDS);
         }
+        // pm build --all <TAB> → parallel execution flags
+        if (("build".equals(cmd) || "test".equals(cmd)) && "--all".equals(arg2)) {
+            return new ArrayList<>(List.of("--jobs", "--fail-fast"));
+        }
+        // pm status --all <TAB> → dashboard flags
+        if ("status".equals(cmd) && "--all".equals(arg2)) {
+            return new ArrayList<>(List.of("--jobs", "--timeout", "--json"));
+        }
+        // pm fetch --all <TAB> → concurrency and throttling flags
+        if ("fetch".equals(cmd) && "--all".equals(arg2)) {
+            return new ArrayList<>(List.of("--jobs", "--per-host", "--timeout"));
+        }
+        if ("pull".equals(cmd) && "--all".equals(arg2)) {
+            return new ArrayList<>(List.of("--ff-only", "--jobs", "--per-host", "--timeout"));
+        }
+        // pm refresh --all <TAB> → detection concurrency
+        if ("refresh".equals(cmd) && "--all".equals(arg2)) {
+            return new ArrayList<>(List.of("--jobs"));
+        }
+        // pm git-maintain --all <TAB> → maintenance flags
+        if ("git-maintain".equals(cmd) && "--all".equals(arg2)) {
+            return new ArrayList<>(List.of("--run", "--tasks", "--jobs", "--timeout"));
+        }
         // pm migrate <project> <TAB> → status
         if ("migrate".equals(cmd)) {
             return new ArrayList<>(List.of("status"));
@@ -217,23 +254,25 @@ public final class CompletionHandler {
         }
         // pm export <name> <TAB> → more project names + --file
         if ("export".equals(cmd)) {
-            List<String> result = new ArrayList<>(getProjectNames());
+            List<String> result = new ArrayList<>(source.projectNames());
             result.add("--file");
             return result;
         }
+        // pm add --scan <TAB> → let shell handle filesystem
         // pm add <name> <TAB> → flags
         if ("add".equals(cmd)) {
-            return List.of("--path", "--type", "--env");
+            return "--scan".equals(arg2) ? List.of() : List.of("--path", "--type", "--env");
         }
         return List.of();
     }
 
-    private static List<String> completionsForPosition4Plus(String cmd, String arg2, String arg3, String[] words, int cword) {
+    private static List<String> completionsForPosition4Plus(String cmd, String arg2, String arg3,
+                                                            String[] words, int cword, ProjectSource source) {
         // pm hooks <project> add <TAB> → slot suggestions
         if ("hooks".equals(cmd) && "add".equals(arg3.toLowerCase())) {
             List<String> slots = new ArrayList<>(HOOK_SLOT_PREFIXES);
             // Also add slots for custom commands
-            List<String> customCmdSlots = getProjectCommandSlots(arg2);
+            List<String> customCmdSlots = getProjectCommandSlots(source, arg2);
             slots.addAll(customCmdSlots);
             return slots;
         }
@@ -242,13 +281,19 @@ public final class CompletionHandler {
         if ("env".equals(cmd) && cword == 4) {
             String envSubcmd = arg2.toLowerCase();
             if ("get".equals(envSubcmd) || "remove".equals(envSubcmd)) {
-                return getProjectEnvVarKeys(arg3);
+                return source.envVarKeys(arg3);
             }
         }
         // pm add <name> --path <TAB> → let shell handle filesystem
         // pm add <name> --type <TAB> → project type names
+        // pm add --scan <dir> <TAB> → discovery flags
         if ("add".equals(cmd)) {
             String prevWord = (cword > 0 && cword - 1 < words.length) ? words[cword - 1] : "";
+            if ("--scan".equals(arg2)) {
+                return Set.of("--depth", "--jobs").contains(prevWord)
+                        ? List.of()
+                        : List.of("--depth", "--jobs", "--dry-run");
+            }
             if ("--type".equals(prevWord)) {
                 return getProjectTypeNames();
             }
@@ -265,43 +310,67 @@ public final class CompletionHandler {
     // DATA ACCESS (lazy, error-safe)
     // ============================================================
 
-    static List<String> getProjectNames() {
-        try {
-            ProjectStore store = new ProjectStore();
-            Map<String, Project> projects = store.load();
-            return new ArrayList<>(projects.keySet());
-        } catch (IOException e) {
-            return List.of();
-        }
+    /**
+     * Project data the state machine needs. Lookups for unknown projects return
+     * empty lists.
+     */
+    interface ProjectSource {
+        List<String> projectNames();
+
+        List<String> commandNames(String projectName);
+
+        List<String> envVarKeys(String projectName);
     }
 
-    private static List<String> getProjectCommandSlots(String projectName) {
-        try {
-            ProjectStore store = new ProjectStore();
-            Project project = store.findProject(projectName);
-            if (project == null) return List.of();
-            List<String> slots = new ArrayList<>();
-            for (String cmd : project.commands().keySet()) {
-                slots.add("pre-" + cmd);
-                slots.add("post-" + cmd);
+    /** Reads the registry on demand: the index for names and commands, the full store for env vars. */
+    private static final ProjectSource STORE = new ProjectSource() {
+        @Override
+        public List<String> projectNames() {
+            return getProjectNames();
+        }
+
+        @Override
+        public List<String> commandNames(String projectName) {
+            try {
+                ProjectIndex.Entry entry = new ProjectStore().loadIndex().get(projectName);
+                return entry != null ? entry.commands() : List.of();
+            } catch (IOException e) {
+                return List.of();
             }
-            return slots;
-        } catch (IOException e) {
-            return List.of();
         }
-    }
 
-    private static List<String> getProjectEnvVarKeys(String projectName) {
+        @Override
+        public List<String> envVarKeys(String projectName) {
+            try {
+                Project project = new ProjectStore().findProject(projectName);
+                return project != null ? new ArrayList<>(project.envVars().keySet()) : List.of();
+            } catch (IOException e) {
+                return List.of();
+            }
+        }
+    };
+
+    /**
+     * Project names from the lightweight index, so a TAB press never parses the full registry.
+     */
+    static List<String> getProjectNames() {
         try {
             ProjectStore store = new ProjectStore();
-            Project project = store.findProject(projectName);
-            if (project == null) return List.of();
-            return new ArrayList<>(project.envVars().keySet());
+            return new ArrayList<>(store.loadIndex().keySet());
         } catch (IOException e) {
             return List.of();
         }
     }
 
+    private static List<String> getProjectCommandSlots(ProjectSource source, String projectName) {
+        List<String> slots = new ArrayList<>();
+        for (String cmd : source.commandNames(projectName)) {
+            slots.add("pre-" + cmd);
+            slots.add("post-" + cmd);
+        }
+        return slots;
+    }
+
     private static List<String> getProjectTypeNames() {
         List<String> types = new ArrayList<>();
         for (ProjectType type : ProjectType.values()) {
@@ -1,18 +1,33 @@
 package pm.completion;
 
+import pm.util.Constants;
+
 /**
  * Generates shell-specific completion scripts for pm.
  *
  * <p>Each method returns a script that, when sourced by the user's shell,
- * enables TAB completion for the {@code pm} command. The scripts call
- * back into {@code pm --complete} to get dynamic completions.
+ * enables TAB completion for the {@code pm} command. The scripts first look
+ * up the words typed so far in the precomputed {@link CompletionCache}
+ * (a single {@code awk} call), and only call back into {@code pm --complete}
+ * when the cache is missing or has no entry for the context. The cache
+ * location can be overridden with the {@code PM_COMPLETION_CACHE} variable.
  *
  * @author SoftDryzz
- * @version 1.6.0
+ * @version 2.1.0
  * @since 1.6.0
  */
 public final class CompletionScripts {
 
+    /**
+     * Looks up {@code $key} (exact) or {@code $wild} (third word replaced by {@code *})
+     * in the cache, expands {@code @names}, and prints {@code =<candidates>}.
+     * Exits non-zero when neither key is cached.
+     */
+    private static final String AWK_LOOKUP = "awk -F'\\t' -v k=\"$key\" -v w=\"$wild\" "
+            + "'$1==\"names\"{n=$2} $1==k{e=$2;f=1} $1==w{d=$2;g=1} "
+            + "END{if(f)v=e;else if(g)v=d;else exit 1;"
+            + "p=index(v,\"@names\");if(p)v=substr(v,1,p-1) n substr(v,p+6);print \"=\" v}'";
+
     private CompletionScripts() {}
 
     /**
@@ -21,14 +36,24 @@ public final class CompletionScripts {
      * <p>Setup: {@code eval "$(pm completions bash)"}
      */
     public static String bash() {
-        return """
+        return fill("""
                 _pm_completions() {
-                    local completions
-                    completions=$(pm --complete -- "$COMP_CWORD" "${COMP_WORDS[@]}" 2>/dev/null)
+                    local cache="${PM_COMPLETION_CACHE:-{{CACHE}}}"
+                    local completions key="$COMP_CWORD" wild="$COMP_CWORD" i
+                    for ((i = 1; i < COMP_CWORD; i++)); do
+                        key+=" ${COMP_WORDS[i]}"
+                        if ((i == 2)); then wild+=" *"; else wild+=" ${COMP_WORDS[i]}"; fi
+                    done
+                    [[ -r "$cache" ]] && completions=$({{AWK}} "$cache" 2>/dev/null)
+                    if [[ "${completions:0:1}" == "=" ]]; then
+                        completions="${completions:1}"
+                    else
+                        completions=$(pm --complete -- "$COMP_CWORD" "${COMP_WORDS[@]}" 2>/dev/null)
+                    fi
                     COMPREPLY=($(compgen -W "$completions" -- "${COMP_WORDS[COMP_CWORD]}"))
                 }
                 complete -o default -F _pm_completions pm
-                """;
+                """, shellQuoted());
     }
 
     /**
@@ -37,14 +62,27 @@ public final class CompletionScripts {
      * <p>Setup: {@code eval "$(pm completions zsh)"}
      */
     public static String zsh() {
-        return """
+        return fill("""
                 _pm() {
                     local -a completions
-                    completions=("${(@f)$(pm --complete -- $((CURRENT - 1)) "${words[@]}" 2>/dev/null)}")
+                    local cache="${PM_COMPLETION_CACHE:-{{CACHE}}}"
+                    local cword=$((CURRENT - 1)) key wild result i
+                    key=$cword
+                    wild=$cword
+                    for ((i = 2; i < CURRENT; i++)); do
+                        key+=" ${words[i]}"
+                        if ((i == 3)); then wild+=" *"; else wild+=" ${words[i]}"; fi
+                    done
+                    [[ -r "$cache" ]] && result=$({{AWK}} "$cache" 2>/dev/null)
+                    if [[ "${result:0:1}" == "=" ]]; then
+                        completions=(${=${result:1}})
+                    else
+                        completions=("${(@f)$(pm --complete -- $((CURRENT - 1)) "${words[@]}" 2>/dev/null)}")
+                    fi
                     compadd -a completions
                 }
                 compdef _pm pm
-                """;
+                """, shellQuoted());
     }
 
     /**
@@ -53,15 +91,35 @@ public final class CompletionScripts {
      * <p>Setup: {@code pm completions fish > ~/.config/fish/completions/pm.fish}
      */
     public static String fish() {
-        return """
+        return fill("""
                 function __pm_completions
                     set -l tokens (commandline -opc)
                     set -l current (commandline -ct)
                     set -l count (count $tokens)
-                    pm --complete -- $count $tokens "$current" 2>/dev/null
+                    set -l cache "{{CACHE}}"
+                    set -q PM_COMPLETION_CACHE; and set cache $PM_COMPLETION_CACHE
+                    set -l key $count
+                    set -l wild $count
+                    if test $count -gt 1
+                        for i in (seq 2 $count)
+                            set key "$key $tokens[$i]"
+                            if test $i -eq 3
+                                set wild "$wild *"
+                            else
+                                set wild "$wild $tokens[$i]"
+                            end
+                        end
+                    end
+                    set -l result
+                    test -r "$cache"; and set result ({{AWK}} "$cache" 2>/dev/null)
+                    if string match -q -- '=*' "$result"
+                        string split -n ' ' -- (string sub -s 2 -- "$result")
+                    else
+                        pm --complete -- $count $tokens "$current" 2>/dev/null
+                    end
                 end
                 complete -c pm -f -a '(__pm_completions)'
-                """;
+                """, shellQuoted());
     }
 
     /**
@@ -70,19 +128,61 @@ public final class CompletionScripts {
      * <p>Setup: {@code pm completions powershell | Out-String | Invoke-Expression}
      */
     public static String powershell() {
+        String cache = Constants.COMPLETION_CACHE_FILE.toString().replace("'", "''");
         return """
                 Register-ArgumentCompleter -Native -CommandName pm -ScriptBlock {
                     param($wordToComplete, $commandAst, $cursorPosition)
-                    $tokens = $commandAst.ToString().Split()
-                    $cword = $tokens.Length
-                    if ($wordToComplete -eq '') { $cword = $cword + 1 }
-                    $args = @('--complete', '--', $cword) + $tokens
-                    pm @args 2>$null | ForEach-Object {
+                    $tokens = @($commandAst.ToString().Split(' ', [System.StringSplitOptions]::RemoveEmptyEntries))
+                    if ($wordToComplete -ne '') { $tokens = @($tokens | Select-Object -SkipLast 1) }
+                    $cword = $tokens.Count
+                    $cache = if ($env:PM_COMPLETION_CACHE) { $env:PM_COMPLETION_CACHE } else { '{{CACHE}}' }
+                    $candidates = $null
+                    if (Test-Path -LiteralPath $cache) {
+                        $typed = @($tokens | Select-Object -Skip 1)
+                        $key = (@("$cword") + $typed) -join ' '
+                        $wild = $key
+                        if ($typed.Count -ge 2) { $w = $typed.Clone(); $w[1] = '*'; $wild = (@("$cword") + $w) -join ' ' }
+                        $names = ''; $exact = $null; $fallback = $null
+                        foreach ($line in [System.IO.File]::ReadLines($cache)) {
+                            $parts = $line.Split("`t", 2)
+                            if ($parts.Count -lt 2) { continue }
+                            if ($parts[0] -ceq 'names') { $names = $parts[1] }
+                            elseif ($parts[0] -ceq $key) { $exact = $parts[1] }
+                            elseif ($parts[0] -ceq $wild) { $fallback = $parts[1] }
+                        }
+                        $value = if ($null -ne $exact) { $exact } else { $fallback }
+                        if ($null -ne $value) {
+                            $candidates = $value.Replace('@names', $names).Split(' ', [System.StringSplitOptions]::RemoveEmptyEntries)
+                        }
+                    }
+                    if ($null -eq $candidates) {
+                        $pmArgs = @('--complete', '--', $cword) + $tokens + @($wordToComplete)
+                        $candidates = pm @pmArgs 2>$null
+                    }
+                    $candidates | Where-Object { $_ -like "$wordToComplete*" } | ForEach-Object {
                         [System.Management.Automation.CompletionResult]::new(
                             $_, $_, 'ParameterValue', $_
                         )
                     }
                 }
-                """;
+                """.replace("{{CACHE}}", cache);
+    }
+
+    private static String fill(String template, String cachePath) {
+        return template.replace("{{AWK}}", AWK_LOOKUP).replace("{{CACHE}}", cachePath);
+    }
+
+    /**
+     * Cache path escaped for use inside double quotes in POSIX shells and fish.
+     */
+    private static String shellQuoted() {
+        StringBuilder sb = new StringBuilder();
+        for (char c : Constants.COMPLETION_CACHE_FILE.toString().toCharArray()) {
+            if (c == '\\' || c == '"' || c == '$' || c == '`') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.toString();
     }
 }
@@ -0,0 +1,142 @@
+package pm.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * Thin client that forwards a command to a running {@link DaemonServer}.
+ *
+ * <p>Every method fails soft: if there is no daemon, it is unreachable or it
+ * refuses the request, the caller gets an empty result and runs the command
+ * in its own JVM as usual.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class DaemonClient {
+
+    private DaemonClient() {
+        throw new AssertionError("DaemonClient cannot be instantiated");
+    }
+
+    /**
+     * Forwards a command to the daemon and copies its output to the given streams.
+     *
+     * @param socketFile path of the daemon socket
+     * @param version    version of this client
+     * @param args       command-line arguments
+     * @param workingDir current directory
+     * @param env        environment to forward
+     * @param stdout     destination of the command's standard output
+     * @param stderr     destination of the command's standard error
+     * @return the command's exit status, or empty if the daemon did not run it
+     */
+    public static OptionalInt forward(Path socketFile, String version, String[] args, Path workingDir,
+                                      Map<String, String> env, OutputStream stdout, OutputStream stderr) {
+        if (!Files.exists(socketFile)) {
+            return OptionalInt.empty();
+        }
+
+        boolean started = false;
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socketFile));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            DaemonProtocol.writeRequest(out, new DaemonProtocol.Request(
+                    version, stdoutCharset(), workingDir, Arrays.asList(args), env));
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            while (true) {
+                byte kind = in.readByte();
+                switch (kind) {
+                    case DaemonProtocol.OUT, DaemonProtocol.ERR -> {
+                        started = true;
+                        int length = in.readInt();
+                        OutputStream target = kind == DaemonProtocol.OUT ? stdout : stderr;
+                        target.write(in.readNBytes(length));
+                        target.flush();
+                    }
+                    case DaemonProtocol.EXIT -> {
+                        return OptionalInt.of(in.readInt());
+                    }
+                    case DaemonProtocol.REFUSED -> {
+                        return OptionalInt.empty();
+                    }
+                    default -> throw new IOException("Unexpected daemon frame: " + kind);
+                }
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            // Daemon gone or broken. If the command already started, report failure
+            // rather than letting the caller run it a second time.
+            return started ? OptionalInt.of(1) : OptionalInt.empty();
+        }
+    }
+
+    /**
+     * Charset of this JVM's standard output, so the daemon encodes text the way
+     * a local run would.
+     */
+    private static String stdoutCharset() {
+        String charset = System.getProperty("stdout.encoding", System.getProperty("sun.stdout.encoding"));
+        return charset != null ? charset : Charset.defaultCharset().name();
+    }
+
+    /**
+     * Asks the daemon for a short status line.
+     *
+     * @param socketFile path of the daemon socket
+     * @return status description, or null if no daemon answers
+     */
+    public static String ping(Path socketFile) {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socketFile));
+            DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel));
+            out.writeInt(DaemonProtocol.MAGIC);
+            out.writeByte(DaemonProtocol.PING);
+            out.flush();
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            if (in.readByte() != DaemonProtocol.INFO) {
+                return null;
+            }
+            return DaemonProtocol.readString(in);
+        } catch (IOException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Asks the daemon to shut down.
+     *
+     * @param socketFile path of the daemon socket
+     * @return true if a daemon acknowledged the request
+     */
+    public static boolean stop(Path socketFile) {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socketFile));
+            DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel));
+            out.writeInt(DaemonProtocol.MAGIC);
+            out.writeByte(DaemonProtocol.STOP);
+            out.flush();
+
+            DataInputStream in = new DataInputStream(Channels.newInputStream(channel));
+            return in.readByte() == DaemonProtocol.EXIT;
+        } catch (IOException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package pm.daemon;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wire format spoken over the daemon socket.
+ *
+ * <p>The client sends one request and then only reads:
+ * <pre>
+ * int    MAGIC
+ * byte   RUN | PING | STOP
+ * (RUN only)
+ * string client version
+ * string charset of the client's standard output
+ * string working directory
+ * int    argument count, then one string per argument
+ * int    environment size, then key and value strings
+ * </pre>
+ *
+ * <p>The daemon answers with frames of {@code byte kind} followed by a payload:
+ * {@code OUT}/{@code ERR} carry an {@code int} length and raw bytes,
+ * {@code INFO}/{@code REFUSED} carry a string, and {@code EXIT} carries the
+ * {@code int} exit status and ends the response.
+ *
+ * <p>Strings are written as an {@code int} byte length followed by UTF-8 bytes.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+final class DaemonProtocol {
+
+    static final int MAGIC = 0x706d6431; // "pmd1"
+
+    // Request types
+    static final byte RUN = 1;
+    static final byte PING = 2;
+    static final byte STOP = 3;
+
+    // Response frames
+    static final byte OUT = 1;
+    static final byte ERR = 2;
+    static final byte EXIT = 3;
+    static final byte REFUSED = 4;
+    static final byte INFO = 5;
+
+    /** Upper bound for a single string, to reject garbage instead of allocating it. */
+    private static final int MAX_STRING_BYTES = 1 << 20;
+
+    private DaemonProtocol() {
+        throw new AssertionError("DaemonProtocol cannot be instantiated");
+    }
+
+    /**
+     * A command forwarded by a client.
+     *
+     * @param version    version of the client
+     * @param charset    charset the client's standard output uses
+     * @param workingDir directory the client was started in
+     * @param args       command-line arguments
+     * @param env        environment of the client
+     */
+    record Request(String version, String charset, Path workingDir, List<String> args, Map<String, String> env) {}
+
+    static void writeRequest(DataOutputStream out, Request request) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(RUN);
+        writeString(out, request.version());
+        writeString(out, request.charset());
+        writeString(out, request.workingDir().toString());
+        out.writeInt(request.args().size());
+        for (String arg : request.args()) {
+            writeString(out, arg);
+        }
+        out.writeInt(request.env().size());
+        for (Map.Entry<String, String> entry : request.env().entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads the body of a RUN request (after the type byte).
+     */
+    static Request readRunBody(DataInputStream in) throws IOException {
+        String version = readString(in);
+        String charset = readString(in);
+        Path workingDir = Path.of(readString(in));
+
+        int argCount = readCount(in);
+        List<String> args = new ArrayList<>(argCount);
+        for (int i = 0; i < argCount; i++) {
+            args.add(readString(in));
+        }
+
+        int envCount = readCount(in);
+        Map<String, String> env = new LinkedHashMap<>();
+        for (int i = 0; i < envCount; i++) {
+            env.put(readString(in), readString(in));
+        }
+
+        return new Request(version, charset, workingDir, args, env);
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_STRING_BYTES) {
+            throw new IOException("Invalid string length in daemon message: " + length);
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > 100_000) {
+            throw new IOException("Invalid count in daemon message: " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Output stream that sends everything written to it as {@code OUT} or
+     * {@code ERR} frames. Both streams of a request share one lock so frames
+     * never interleave.
+     */
+    static final class FrameOutputStream extends OutputStream {
+        private final DataOutputStream out;
+        private final byte kind;
+
+        FrameOutputStream(DataOutputStream out, byte kind) {
+            this.out = out;
+            this.kind = kind;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return;
+            }
+            synchronized (out) {
+                out.writeByte(kind);
+                out.writeInt(len);
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (out) {
+                out.flush();
+            }
+        }
+    }
+}
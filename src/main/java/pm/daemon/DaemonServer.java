@@ -0,0 +1,260 @@
+package pm.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Resident server behind {@code pm daemon}: runs commands forwarded by
+ * {@link DaemonClient} inside one long-lived JVM, so they skip JVM startup,
+ * class loading and cold caches.
+ *
+ * <p>Requests are served one at a time on the accepting thread. While a request
+ * runs, {@code System.out} and {@code System.err} are redirected to the client,
+ * which is why commands cannot run concurrently; other clients wait in the
+ * socket backlog.
+ *
+ * <p>A client of a different version is refused and the daemon shuts down, so
+ * an upgraded installation never talks to an old daemon for long.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * DaemonServer server = new DaemonServer(Constants.DAEMON_SOCKET, Constants.VERSION, handler);
+ * server.serve();   // blocks until a client sends STOP or stop() is called
+ * }</pre>
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class DaemonServer {
+
+    private final Path socketFile;
+    private final String version;
+    private final Handler handler;
+    private final Instant startedAt = Instant.now();
+
+    private volatile ServerSocketChannel server;
+    private volatile boolean stopping;
+    private long served;
+
+    /**
+     * Runs the commands received by the daemon.
+     */
+    public interface Handler {
+
+        /**
+         * Decides whether the daemon can run a request. Refused requests are
+         * run by the client itself.
+         *
+         * @param workingDir directory the client was started in
+         * @param env        environment of the client
+         * @return reason for refusing, or null to accept
+         */
+        String refusal(Path workingDir, Map<String, String> env);
+
+        /**
+         * Runs a command with {@code System.out}/{@code System.err} connected to the client.
+         *
+         * @param args       command-line arguments
+         * @param workingDir directory the client was started in
+         * @return exit status for the client
+         */
+        int run(String[] args, Path workingDir);
+    }
+
+    /**
+     * Creates a server for the given socket.
+     *
+     * @param socketFile path of the Unix domain socket
+     * @param version    version of this installation; clients must match it
+     * @param handler    runs accepted commands
+     */
+    public DaemonServer(Path socketFile, String version, Handler handler) {
+        this.socketFile = socketFile;
+        this.version = version;
+        this.handler = handler;
+    }
+
+    /**
+     * Binds the socket and serves requests until stopped.
+     *
+     * @throws IOException if the socket cannot be bound (e.g. a daemon is already running)
+     */
+    public void serve() throws IOException {
+        bind();
+        try {
+            while (!stopping) {
+                SocketChannel client;
+                try {
+                    client = server.accept();
+                } catch (ClosedChannelException e) {
+                    break;
+                }
+                try (client) {
+                    handle(client);
+                } catch (IOException e) {
+                    // Client went away mid-request; keep serving others
+                }
+            }
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Stops serving after the current request and removes the socket file.
+     */
+    public void stop() {
+        stopping = true;
+        close();
+    }
+
+    // ============================================================
+    // INTERNAL
+    // ============================================================
+
+    private void bind() throws IOException {
+        Files.createDirectories(socketFile.getParent());
+        if (Files.exists(socketFile)) {
+            if (DaemonClient.ping(socketFile) != null) {
+                throw new IOException("A daemon is already listening on " + socketFile);
+            }
+            // Left behind by a daemon that did not shut down cleanly
+            Files.delete(socketFile);
+        }
+
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socketFile));
+        try {
+            Files.setPosixFilePermissions(socketFile, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system (Windows); the socket lives in the user's home
+        }
+    }
+
+    private void close() {
+        ServerSocketChannel channel = server;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+        try {
+            Files.deleteIfExists(socketFile);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void handle(SocketChannel client) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(client)));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(client)));
+
+        if (in.readInt() != DaemonProtocol.MAGIC) {
+            return;
+        }
+
+        switch (in.readByte()) {
+            case DaemonProtocol.RUN -> run(DaemonProtocol.readRunBody(in), out);
+            case DaemonProtocol.PING -> {
+                out.writeByte(DaemonProtocol.INFO);
+                DaemonProtocol.writeString(out, describe());
+                exit(out, 0);
+            }
+            case DaemonProtocol.STOP -> {
+                stopping = true;
+                exit(out, 0);
+                close();
+            }
+            default -> {
+                // Unknown request type: just hang up
+            }
+        }
+    }
+
+    private void run(DaemonProtocol.Request request, DataOutputStream out) throws IOException {
+        String refusal;
+        if (!version.equals(request.version())) {
+            refusal = "daemon runs version " + version + "; shutting down";
+            stopping = true;
+        } else {
+            refusal = handler.refusal(request.workingDir(), request.env());
+        }
+        if (refusal != null) {
+            out.writeByte(DaemonProtocol.REFUSED);
+            DaemonProtocol.writeString(out, refusal);
+            out.flush();
+            if (stopping) {
+                close();
+            }
+            return;
+        }
+
+        Charset charset = charsetOf(request);
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+        PrintStream clientOut = new PrintStream(
+                new DaemonProtocol.FrameOutputStream(out, DaemonProtocol.OUT), true, charset);
+        PrintStream clientErr = new PrintStream(
+                new DaemonProtocol.FrameOutputStream(out, DaemonProtocol.ERR), true, charset);
+
+        int status;
+        System.setOut(clientOut);
+        System.setErr(clientErr);
+        try {
+            status = handler.run(request.args().toArray(new String[0]), request.workingDir());
+        } catch (RuntimeException e) {
+            clientErr.println("Daemon error: " + e);
+            status = 1;
+        } finally {
+            clientOut.flush();
+            clientErr.flush();
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+        }
+
+        served++;
+        exit(out, status);
+    }
+
+    private static Charset charsetOf(DaemonProtocol.Request request) {
+        try {
+            return Charset.forName(request.charset());
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private static void exit(DataOutputStream out, int status) throws IOException {
+        synchronized (out) {
+            out.writeByte(DaemonProtocol.EXIT);
+            out.writeInt(status);
+            out.flush();
+        }
+    }
+
+    private String describe() {
+        Duration uptime = Duration.between(startedAt, Instant.now());
+        return "pid " + ProcessHandle.current().pid()
+                + ", up " + uptime.toMinutes() + " min"
+                + ", " + served + " command(s) served";
+    }
+}
@@ -0,0 +1,293 @@
+package pm.detector;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Persistent cache of project type detection, so checking whether a
+ * registered type is outdated costs one {@code stat} instead of a directory
+ * scan.
+ *
+ * <p>Each result is stored with the modification time of the project root
+ * and of every marker file present (see {@link ProjectTypeDetector#isMarker}):
+ * <ul>
+ * <li>{@link #type(Path)}, used on the hot path before {@code build},
+ *     {@code run}, {@code test} and {@code info}, only compares the root's
+ *     modification time. Detection depends only on which markers exist, and
+ *     creating, deleting or renaming one changes the root's time.</li>
+ * <li>{@link #detect(Path)}, used by {@code add} and {@code refresh}, also
+ *     compares each marker's time, which catches markers that are symbolic
+ *     links to files replaced elsewhere.</li>
+ * </ul>
+ *
+ * <p>New detections are kept in memory until {@link #flush()}, which merges
+ * them into the file in one write.
+ *
+ * <p>A result is not trusted while the root's modification time is within
+ * {@link #RACY_WINDOW_MS} of the detection: a change in the same clock tick
+ * would not move the time (the same "racy" rule git applies to its index).
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class DetectionCache {
+
+    /** Root modification times this close to the detection are re-checked (covers 2 s FAT/HFS+ granularity). */
+    static final long RACY_WINDOW_MS = 2000;
+
+    /** Entries kept; the least recently detected are dropped beyond this. */
+    static final int MAX_ENTRIES = 1000;
+
+    private static final Gson GSON = new Gson();
+
+    private final Path file;
+    private final Function<DirectorySnapshot, Detection> detector;
+    private Map<String, Entry> entries;
+    /** Modification time of the file when {@link #entries} was read (-1 if missing). */
+    private long loadedModified;
+    /** Detections made since the last {@link #flush()}. */
+    private final Map<String, Entry> pending = new HashMap<>();
+
+    /**
+     * Result of detecting a project directory.
+     *
+     * @param type     primary type (UNKNOWN if none matched)
+     * @param allTypes every matching type in priority order, including the primary one
+     */
+    public record Detection(ProjectType type, List<ProjectType> allTypes) {}
+
+    /**
+     * A cached detection.
+     *
+     * @param rootModified modification time of the project root, in epoch millis
+     * @param markers      modification time of each marker file present, by name
+     * @param type         primary type
+     * @param allTypes     every matching type
+     * @param detectedAt   epoch millis of the detection
+     */
+    record Entry(long rootModified, Map<String, Long> markers, ProjectType type,
+                 List<ProjectType> allTypes, long detectedAt) {}
+
+    /**
+     * On-disk layout of the cache file.
+     */
+    private record CacheFile(Map<String, Entry> projects) {}
+
+    /**
+     * Creates a cache backed by the given file. The file is read on first use.
+     *
+     * @param file cache file (e.g. {@link pm.util.Constants#DETECTION_CACHE_FILE})
+     */
+    public DetectionCache(Path file) {
+        this(file, DetectionCache::detectNow);
+    }
+
+    DetectionCache(Path file, Function<DirectorySnapshot, Detection> detector) {
+        this.file = file;
+        this.detector = detector;
+    }
+
+    /**
+     * Gets a project's primary type, detecting it only if the root directory
+     * changed since the cached detection.
+     *
+     * @param root project directory
+     * @return the primary type, or null if the directory does not exist
+     */
+    public ProjectType type(Path root) {
+        Detection detection = lookup(root, false, System.currentTimeMillis());
+        return detection != null ? detection.type() : null;
+    }
+
+    /**
+     * Gets a project's primary and secondary types, detecting them only if
+     * the root directory or one of its marker files changed.
+     *
+     * @param root project directory
+     * @return the detection, or null if the directory does not exist
+     */
+    public Detection detect(Path root) {
+        return lookup(root, true, System.currentTimeMillis());
+    }
+
+    /**
+     * Looks up a detection at an explicit time.
+     */
+    Detection lookup(Path root, boolean checkMarkers, long now) {
+        String key = root.toAbsolutePath().normalize().toString();
+        long rootModified = modifiedTime(root);
+        if (rootModified < 0) {
+            return null;
+        }
+
+        Entry cached = get(key);
+        if (cached != null && isFresh(cached, rootModified, checkMarkers, root)) {
+            return new Detection(cached.type(), cached.allTypes());
+        }
+
+        DirectorySnapshot snapshot = DirectorySnapshot.of(root);
+        Detection detection = detector.apply(snapshot);
+        put(key, new Entry(rootModified, markerTimes(snapshot), detection.type(), detection.allTypes(), now));
+        return detection;
+    }
+
+    private static boolean isFresh(Entry entry, long rootModified, boolean checkMarkers, Path root) {
+        if (entry.rootModified() != rootModified || entry.detectedAt() - rootModified < RACY_WINDOW_MS) {
+            return false;
+        }
+        if (checkMarkers && entry.markers() != null) {
+            for (Map.Entry<String, Long> marker : entry.markers().entrySet()) {
+                if (modifiedTime(root.resolve(marker.getKey())) != marker.getValue()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Detection detectNow(DirectorySnapshot root) {
+        return new Detection(ProjectTypeDetector.detect(root), ProjectTypeDetector.detectAll(root));
+    }
+
+    private static Map<String, Long> markerTimes(DirectorySnapshot root) {
+        Map<String, Long> markers = new TreeMap<>();
+        for (String name : root.names()) {
+            if (ProjectTypeDetector.isMarker(name)) {
+                markers.put(name, root.attributes(name).lastModifiedTime().toMillis());
+            }
+        }
+        return markers;
+    }
+
+    private static long modifiedTime(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    // ============================================================
+    // PERSISTENCE
+    // ============================================================
+
+    private synchronized Entry get(String key) {
+        load();
+        return entries.get(key);
+    }
+
+    private synchronized void put(String key, Entry entry) {
+        load();
+        entries.put(key, entry);
+        pending.put(key, entry);
+        evictOldest(entries);
+    }
+
+    /**
+     * Reads the file on first use, and again whenever another pm process has
+     * rewritten it (a long-running daemon would otherwise never see those
+     * entries). Detections not yet flushed are kept on top.
+     */
+    private void load() {
+        long modified = modifiedTime(file);
+        if (entries != null && modified == loadedModified) {
+            return;
+        }
+        entries = read(file);
+        entries.putAll(pending);
+        loadedModified = modified;
+    }
+
+    /**
+     * Writes the detections made since the last flush, merged into the
+     * current file so entries written meanwhile by other pm processes are
+     * kept. Callers flush once per command or batch rather than per
+     * detection, so a batch of N projects costs one file write, not N.
+     */
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, Entry> merged = read(file);
+        merged.putAll(pending);
+        evictOldest(merged);
+        try {
+            write(file, merged);
+            entries = merged;
+            loadedModified = modifiedTime(file);
+        } catch (IOException e) {
+            // Non-critical — the projects are simply detected again next time
+        }
+        pending.clear();
+    }
+
+    private static void evictOldest(Map<String, Entry> entries) {
+        while (entries.size() > MAX_ENTRIES) {
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().detectedAt()))
+                    .ifPresent(oldest -> entries.remove(oldest.getKey()));
+        }
+    }
+
+    /**
+     * Reads the cache file.
+     *
+     * @return cached detections, or an empty map if the file is missing or unreadable
+     */
+    static Map<String, Entry> read(Path file) {
+        if (!Files.exists(file)) {
+            return new HashMap<>();
+        }
+        try {
+            CacheFile cache = GSON.fromJson(Files.readString(file, StandardCharsets.UTF_8), CacheFile.class);
+            Map<String, Entry> result = new HashMap<>();
+            if (cache != null && cache.projects() != null) {
+                cache.projects().forEach((key, entry) -> {
+                    // Types renamed or removed in a newer version read back as null
+                    if (entry != null && entry.type() != null && entry.allTypes() != null
+                            && !entry.allTypes().contains(null)) {
+                        result.put(key, entry);
+                    }
+                });
+            }
+            return result;
+        } catch (IOException | JsonParseException e) {
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Writes the cache file atomically (temp file + move).
+     * Each write uses its own temp file, so concurrent pm processes never write into the same one.
+     */
+    private static void write(Path file, Map<String, Entry> entries) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tempFile = Files.createTempFile(file.getParent(), file.getFileName() + ".", ".tmp");
+        try {
+            Files.writeString(tempFile, GSON.toJson(new CacheFile(new LinkedHashMap<>(entries))), StandardCharsets.UTF_8);
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            // Only left behind when the write or move failed
+            Files.deleteIfExists(tempFile);
+        }
+    }
+}
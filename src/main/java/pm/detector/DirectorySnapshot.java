@@ -0,0 +1,251 @@
+package pm.detector;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * One listing of a project root, shared by every detector in a command.
+ *
+ * <p>Detectors used to probe the same root over and over: type detection
+ * alone checks about fifteen marker files, and {@code pm doctor} or
+ * {@code pm info} add directory listings for lint, format, README, env and
+ * config files. A snapshot lists the root once with
+ * {@link Files#newDirectoryStream(Path)} and keeps each entry's
+ * {@link BasicFileAttributes}, so those checks become map lookups.
+ *
+ * <p>Lookups follow symbolic links, like {@link Files#isRegularFile(Path,
+ * LinkOption...)}: a link to a file counts as a file, and a broken link
+ * does not exist. {@link #isSymbolicLink(String)} tells links apart, for
+ * callers that must not follow them.
+ *
+ * <p>Paths below the root (such as {@code .github/workflows}) are only
+ * checked on disk when their first segment is a directory in the snapshot,
+ * so a missing {@code .github} costs nothing.
+ *
+ * <p>A snapshot is a point-in-time view: create one per command and do not
+ * keep it across changes to the directory.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class DirectorySnapshot {
+
+    /** Whether the default file system ignores case (Windows, macOS), so "Dockerfile" finds "dockerfile". */
+    private static final boolean CASE_INSENSITIVE_FS = isCaseInsensitive(System.getProperty("os.name", ""));
+
+    private final Path root;
+    private final boolean listed;
+    private final Map<String, BasicFileAttributes> entries;
+    private final Map<String, String> namesIgnoringCase;
+    private final Set<String> symbolicLinks;
+
+    private DirectorySnapshot(Path root, boolean listed, Map<String, BasicFileAttributes> entries,
+                              Set<String> symbolicLinks) {
+        this.root = root;
+        this.listed = listed;
+        this.entries = entries;
+        this.symbolicLinks = symbolicLinks;
+        this.namesIgnoringCase = new HashMap<>();
+        for (String name : entries.keySet()) {
+            namesIgnoringCase.putIfAbsent(name.toLowerCase(Locale.ROOT), name);
+        }
+    }
+
+    /**
+     * Lists a directory. Never throws: a missing or unreadable directory
+     * gives an empty snapshot whose {@link #isListed()} is false.
+     *
+     * @param root directory to list
+     * @return the snapshot
+     */
+    public static DirectorySnapshot of(Path root) {
+        Map<String, BasicFileAttributes> entries = new TreeMap<>();
+        Set<String> symbolicLinks = new HashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root)) {
+            for (Path entry : stream) {
+                String name = entry.getFileName().toString();
+                BasicFileAttributes attributes = readAttributes(entry);
+                if (attributes != null && attributes.isSymbolicLink()) {
+                    symbolicLinks.add(name);
+                    attributes = readTargetAttributes(entry);
+                }
+                if (attributes != null) {
+                    entries.put(name, attributes);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return new DirectorySnapshot(root, false, Collections.emptyMap(), Set.of());
+        }
+        return new DirectorySnapshot(root, true, entries, symbolicLinks);
+    }
+
+    /**
+     * Reads an entry without following links: one {@code lstat}, and a second
+     * call only for the rare entry that turns out to be a link.
+     */
+    private static BasicFileAttributes readAttributes(Path entry) {
+        try {
+            return Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (IOException e) {
+            // Deleted while listing
+            return null;
+        }
+    }
+
+    private static BasicFileAttributes readTargetAttributes(Path entry) {
+        try {
+            return Files.readAttributes(entry, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // Broken symbolic link, or deleted while listing
+            return null;
+        }
+    }
+
+    static boolean isCaseInsensitive(String osName) {
+        String os = osName.toLowerCase(Locale.ROOT);
+        return os.contains("win") || os.contains("mac");
+    }
+
+    /**
+     * Gets the listed directory.
+     *
+     * @return the root path
+     */
+    public Path root() {
+        return root;
+    }
+
+    /**
+     * Checks whether the root could be listed, i.e. it exists and is a readable directory.
+     *
+     * @return true if the listing succeeded
+     */
+    public boolean isListed() {
+        return listed;
+    }
+
+    /**
+     * Gets the names of all entries in the root, sorted.
+     *
+     * @return entry names
+     */
+    public List<String> names() {
+        return List.copyOf(entries.keySet());
+    }
+
+    /**
+     * Gets the cached attributes of an entry in the root.
+     *
+     * @param name entry name
+     * @return its attributes, or null if there is no such entry
+     */
+    public BasicFileAttributes attributes(String name) {
+        BasicFileAttributes attributes = entries.get(name);
+        if (attributes == null && CASE_INSENSITIVE_FS) {
+            String actual = namesIgnoringCase.get(name.toLowerCase(Locale.ROOT));
+            attributes = actual != null ? entries.get(actual) : null;
+        }
+        return attributes;
+    }
+
+    /**
+     * Checks whether an entry of any kind exists.
+     *
+     * @param relative entry name, or a '/'-separated path below the root
+     * @return true if it exists
+     */
+    public boolean exists(String relative) {
+        int slash = relative.indexOf('/');
+        if (slash < 0) {
+            return attributes(relative) != null;
+        }
+        return isDirectory(relative.substring(0, slash)) && Files.exists(root.resolve(relative));
+    }
+
+    /**
+     * Checks whether a regular file exists.
+     *
+     * @param relative file name, or a '/'-separated path below the root
+     * @return true if it is a regular file
+     */
+    public boolean isFile(String relative) {
+        int slash = relative.indexOf('/');
+        if (slash < 0) {
+            BasicFileAttributes attributes = attributes(relative);
+            return attributes != null && attributes.isRegularFile();
+        }
+        return isDirectory(relative.substring(0, slash)) && Files.isRegularFile(root.resolve(relative));
+    }
+
+    /**
+     * Checks whether a directory exists.
+     *
+     * @param relative directory name, or a '/'-separated path below the root
+     * @return true if it is a directory
+     */
+    public boolean isDirectory(String relative) {
+        int slash = relative.indexOf('/');
+        if (slash < 0) {
+            BasicFileAttributes attributes = attributes(relative);
+            return attributes != null && attributes.isDirectory();
+        }
+        return isDirectory(relative.substring(0, slash)) && Files.isDirectory(root.resolve(relative));
+    }
+
+    /**
+     * Checks whether an entry is a symbolic link (to anything that exists).
+     *
+     * @param name entry name
+     * @return true if the entry is a link; its other lookups describe the target
+     */
+    public boolean isSymbolicLink(String name) {
+        return symbolicLinks.contains(name);
+    }
+
+    /**
+     * Checks whether an entry exists with this name in any case, on any file system.
+     *
+     * @param name entry name
+     * @return true if an entry matches ignoring case
+     */
+    public boolean existsIgnoreCase(String name) {
+        return namesIgnoringCase.containsKey(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Checks whether any regular file's name matches.
+     *
+     * @param nameFilter test on the file name
+     * @return true if at least one file matches
+     */
+    public boolean anyFile(Predicate<String> nameFilter) {
+        return !files(nameFilter).isEmpty();
+    }
+
+    /**
+     * Lists the regular files whose names match, sorted by name.
+     *
+     * @param nameFilter test on the file name
+     * @return matching file paths
+     */
+    public List<Path> files(Predicate<String> nameFilter) {
+        return entries.entrySet().stream()
+                .filter(e -> e.getValue().isRegularFile() && nameFilter.test(e.getKey()))
+                .map(e -> root.resolve(e.getKey()))
+                .toList();
+    }
+}
@@ -0,0 +1,176 @@
+package pm.detector;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finds projects below one or more root directories, for {@code pm add --scan}.
+ *
+ * <p>The walk runs on a {@link ForkJoinPool}: each directory is one task that
+ * lists the directory once ({@link DirectorySnapshot}), runs
+ * {@link ProjectTypeDetector#detectAll(DirectorySnapshot)} on that listing,
+ * and forks a task per subdirectory. Work stealing keeps every thread busy
+ * on lopsided trees, where one checkout holds most of the directories.
+ *
+ * <p>The walk is pruned so that large trees stay fast:
+ * <ul>
+ * <li>a directory with a recognized type is a project, and nothing below it
+ *     is visited (modules of a monorepo are not registered separately);</li>
+ * <li>dependency, build output and hidden directories ({@code node_modules},
+ *     {@code target}, {@code build}, {@code vendor}, {@code .git}, ...) are
+ *     never entered;</li>
+ * <li>symbolic links to directories are not followed, so link cycles cannot
+ *     trap the walk;</li>
+ * <li>directories deeper than the maximum depth are not listed.</li>
+ * </ul>
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class ProjectDiscovery {
+
+    /** Levels below each root that are searched (a root's children are depth 1). */
+    public static final int DEFAULT_MAX_DEPTH = 4;
+
+    /** Directory names never entered, besides hidden ones. Compared in lower case. */
+    static final Set<String> PRUNED_DIRECTORIES = Set.of(
+            "node_modules", "bower_components", "target", "build", "dist", "out",
+            "vendor", "bin", "obj", "venv", "__pycache__", "site-packages");
+
+    private ProjectDiscovery() {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * A directory recognized as a project.
+     *
+     * @param path     absolute, normalized project directory
+     * @param type     primary type
+     * @param allTypes every matching type in priority order, including the primary one
+     */
+    public record Found(Path path, ProjectType type, List<ProjectType> allTypes) {}
+
+    /**
+     * Outcome of a discovery walk.
+     *
+     * @param projects    projects found, sorted by path, without duplicates from overlapping roots
+     * @param directories directories listed
+     * @param unreadable  directories that could not be listed (missing or permission denied)
+     */
+    public record Result(List<Found> projects, long directories, long unreadable) {}
+
+    /**
+     * Walks the given roots.
+     *
+     * @param roots       directories to search; a root that is itself a project is reported as one
+     * @param maxDepth    levels below each root to search (0 checks only the roots)
+     * @param parallelism number of threads listing directories
+     * @return projects found and walk statistics
+     */
+    public static Result discover(List<Path> roots, int maxDepth, int parallelism) {
+        ConcurrentLinkedQueue<Found> found = new ConcurrentLinkedQueue<>();
+        LongAdder directories = new LongAdder();
+        LongAdder unreadable = new LongAdder();
+
+        List<DirectoryTask> tasks = new ArrayList<>();
+        for (Path root : roots) {
+            tasks.add(new DirectoryTask(root.toAbsolutePath().normalize(), 0, maxDepth,
+                    found, directories, unreadable));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+
+        // Overlapping roots (e.g. ~/code and ~/code/work) reach the same directory twice
+        Map<Path, Found> unique = new TreeMap<>(Comparator.comparing(Path::toString));
+        for (Found project : found) {
+            unique.putIfAbsent(project.path(), project);
+        }
+        return new Result(List.copyOf(unique.values()), directories.sum(), unreadable.sum());
+    }
+
+    /**
+     * Checks whether the walk skips a directory by name. Also used by
+     * {@link pm.workspace.ModuleWalker#isHeavy(String)} to stay out of the same heavy directories.
+     *
+     * @param name directory name
+     * @return true for hidden, dependency and build output directories
+     */
+    public static boolean isPruned(String name) {
+        return name.startsWith(".") || PRUNED_DIRECTORIES.contains(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Lists one directory, records it if it is a project, and otherwise forks
+     * a task for each subdirectory.
+     */
+    private static final class DirectoryTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Path directory;
+        private final int depth;
+        private final int maxDepth;
+        private final ConcurrentLinkedQueue<Found> found;
+        private final LongAdder directories;
+        private final LongAdder unreadable;
+
+        DirectoryTask(Path directory, int depth, int maxDepth, ConcurrentLinkedQueue<Found> found,
+                      LongAdder directories, LongAdder unreadable) {
+            this.directory = directory;
+            this.depth = depth;
+            this.maxDepth = maxDepth;
+            this.found = found;
+            this.directories = directories;
+            this.unreadable = unreadable;
+        }
+
+        @Override
+        protected void compute() {
+            DirectorySnapshot snapshot = DirectorySnapshot.of(directory);
+            directories.increment();
+            if (!snapshot.isListed()) {
+                unreadable.increment();
+                return;
+            }
+
+            List<ProjectType> types = ProjectTypeDetector.detectAll(snapshot);
+            if (!types.isEmpty()) {
+                found.add(new Found(directory, ProjectTypeDetector.detect(snapshot), types));
+                return;
+            }
+            if (depth >= maxDepth) {
+                return;
+            }
+
+            List<DirectoryTask> children = new ArrayList<>();
+            for (String name : snapshot.names()) {
+                if (snapshot.isDirectory(name) && !snapshot.isSymbolicLink(name) && !isPruned(name)) {
+                    children.add(new DirectoryTask(directory.resolve(name), depth + 1, maxDepth,
+                            found, directories, unreadable));
+                }
+            }
+            invokeAll(children);
+        }
+    }
+}
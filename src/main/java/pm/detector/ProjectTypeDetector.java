@@ -2,12 +2,11 @@ package pm.detector;
 
 import pm.util.Constants;
 
-import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Set;
 
 /**
  * Automatically detects the project type by analyzing files.
@@ -55,69 +54,80 @@ public class ProjectTypeDetector {
             throw new IllegalArgumentException("Project path is not a directory: " + projectPath);
         }
 
+        return detect(DirectorySnapshot.of(projectPath));
+    }
+
+    /**
+     * Detects the project type from an existing listing of the project root.
+     *
+     * @param root snapshot of the project directory
+     * @return detected project type (never null, returns UNKNOWN if not detected
+     *         or if the directory could not be listed)
+     */
+    public static ProjectType detect(DirectorySnapshot root) {
         // Detect in priority order
 
         // 1. Gradle (build.gradle or build.gradle.kts)
-        if (fileExists(projectPath, Constants.FILE_BUILD_GRADLE) ||
-                fileExists(projectPath, Constants.FILE_BUILD_GRADLE_KTS)) {
+        if (fileExists(root, Constants.FILE_BUILD_GRADLE) ||
+                fileExists(root, Constants.FILE_BUILD_GRADLE_KTS)) {
             return ProjectType.GRADLE;
         }
 
         // 2. Maven (pom.xml)
-        if (fileExists(projectPath, Constants.FILE_POM_XML)) {
+        if (fileExists(root, Constants.FILE_POM_XML)) {
             return ProjectType.MAVEN;
         }
 
         // 3. Rust (Cargo.toml)
-        if (fileExists(projectPath, Constants.FILE_CARGO_TOML)) {
+        if (fileExists(root, Constants.FILE_CARGO_TOML)) {
             return ProjectType.RUST;
         }
 
         // 4. Go (go.mod)
-        if (fileExists(projectPath, Constants.FILE_GO_MOD)) {
+        if (fileExists(root, Constants.FILE_GO_MOD)) {
             return ProjectType.GO;
         }
 
         // 5. Flutter (pubspec.yaml)
-        if (fileExists(projectPath, Constants.FILE_PUBSPEC_YAML)) {
+        if (fileExists(root, Constants.FILE_PUBSPEC_YAML)) {
             return ProjectType.FLUTTER;
         }
 
         // 6. pnpm (pnpm-lock.yaml + package.json)
-        if (fileExists(projectPath, Constants.FILE_PNPM_LOCK)) {
+        if (fileExists(root, Constants.FILE_PNPM_LOCK)) {
             return ProjectType.PNPM;
         }
 
         // 7. Bun (bun.lockb or bun.lock)
-        if (fileExists(projectPath, Constants.FILE_BUN_LOCKB) ||
-                fileExists(projectPath, Constants.FILE_BUN_LOCK)) {
+        if (fileExists(root, Constants.FILE_BUN_LOCKB) ||
+                fileExists(root, Constants.FILE_BUN_LOCK)) {
             return ProjectType.BUN;
         }
 
         // 8. Yarn (yarn.lock)
-        if (fileExists(projectPath, Constants.FILE_YARN_LOCK)) {
+        if (fileExists(root, Constants.FILE_YARN_LOCK)) {
             return ProjectType.YARN;
         }
 
         // 9. Node.js (package.json - fallback for JS/TS without specific lock file)
-        if (fileExists(projectPath, Constants.FILE_PACKAGE_JSON)) {
+        if (fileExists(root, Constants.FILE_PACKAGE_JSON)) {
             return ProjectType.NODEJS;
         }
 
         // 10. .NET (*.csproj o *.fsproj)
-        if (hasCsprojFile(projectPath)) {
+        if (hasCsprojFile(root)) {
             return ProjectType.DOTNET;
         }
 
         // 11. Python (requirements.txt o setup.py)
-        if (fileExists(projectPath, Constants.FILE_REQUIREMENTS_TXT) ||
-                fileExists(projectPath, "setup.py")) {
+        if (fileExists(root, Constants.FILE_REQUIREMENTS_TXT) ||
+                fileExists(root, "setup.py")) {
             return ProjectType.PYTHON;
         }
 
         // 12. Docker (docker-compose.yml or docker-compose.yaml)
-        if (fileExists(projectPath, Constants.FILE_DOCKER_COMPOSE_YML) ||
-                fileExists(projectPath, Constants.FILE_DOCKER_COMPOSE_YAML)) {
+        if (fileExists(root, Constants.FILE_DOCKER_COMPOSE_YML) ||
+                fileExists(root, Constants.FILE_DOCKER_COMPOSE_YAML)) {
             return ProjectType.DOCKER;
         }
 
@@ -145,62 +155,91 @@ public class ProjectTypeDetector {
             throw new IllegalArgumentException("Project path is not a directory: " + projectPath);
         }
 
+        return detectAll(DirectorySnapshot.of(projectPath));
+    }
+
+    /**
+     * Detects ALL project types from an existing listing of the project root.
+     *
+     * @param root snapshot of the project directory
+     * @return list of all detected types (may be empty, never contains UNKNOWN)
+     */
+    public static List<ProjectType> detectAll(DirectorySnapshot root) {
         List<ProjectType> types = new ArrayList<>();
 
-        if (fileExists(projectPath, Constants.FILE_BUILD_GRADLE) ||
-                fileExists(projectPath, Constants.FILE_BUILD_GRADLE_KTS)) {
+        if (fileExists(root, Constants.FILE_BUILD_GRADLE) ||
+                fileExists(root, Constants.FILE_BUILD_GRADLE_KTS)) {
             types.add(ProjectType.GRADLE);
         }
-        if (fileExists(projectPath, Constants.FILE_POM_XML)) {
+        if (fileExists(root, Constants.FILE_POM_XML)) {
             types.add(ProjectType.MAVEN);
         }
-        if (fileExists(projectPath, Constants.FILE_CARGO_TOML)) {
+        if (fileExists(root, Constants.FILE_CARGO_TOML)) {
             types.add(ProjectType.RUST);
         }
-        if (fileExists(projectPath, Constants.FILE_GO_MOD)) {
+        if (fileExists(root, Constants.FILE_GO_MOD)) {
             types.add(ProjectType.GO);
         }
-        if (fileExists(projectPath, Constants.FILE_PUBSPEC_YAML)) {
+        if (fileExists(root, Constants.FILE_PUBSPEC_YAML)) {
             types.add(ProjectType.FLUTTER);
         }
-        if (fileExists(projectPath, Constants.FILE_PNPM_LOCK)) {
+        if (fileExists(root, Constants.FILE_PNPM_LOCK)) {
             types.add(ProjectType.PNPM);
         }
-        if (fileExists(projectPath, Constants.FILE_BUN_LOCKB) ||
-                fileExists(projectPath, Constants.FILE_BUN_LOCK)) {
+        if (fileExists(root, Constants.FILE_BUN_LOCKB) ||
+                fileExists(root, Constants.FILE_BUN_LOCK)) {
             types.add(ProjectType.BUN);
         }
-        if (fileExists(projectPath, Constants.FILE_YARN_LOCK)) {
+        if (fileExists(root, Constants.FILE_YARN_LOCK)) {
             types.add(ProjectType.YARN);
         }
-        if (fileExists(projectPath, Constants.FILE_PACKAGE_JSON)) {
+        if (fileExists(root, Constants.FILE_PACKAGE_JSON)) {
             types.add(ProjectType.NODEJS);
         }
-        if (hasCsprojFile(projectPath)) {
+        if (hasCsprojFile(root)) {
             types.add(ProjectType.DOTNET);
         }
-        if (fileExists(projectPath, Constants.FILE_REQUIREMENTS_TXT) ||
-                fileExists(projectPath, "setup.py")) {
+        if (fileExists(root, Constants.FILE_REQUIREMENTS_TXT) ||
+                fileExists(root, "setup.py")) {
             types.add(ProjectType.PYTHON);
         }
-        if (fileExists(projectPath, Constants.FILE_DOCKER_COMPOSE_YML) ||
-                fileExists(projectPath, Constants.FILE_DOCKER_COMPOSE_YAML)) {
+        if (fileExists(root, Constants.FILE_DOCKER_COMPOSE_YML) ||
+                fileExists(root, Constants.FILE_DOCKER_COMPOSE_YAML)) {
             types.add(ProjectType.DOCKER);
         }
 
         return types;
     }
 
+    /** Files whose presence decides the detected types (besides .NET project files). */
+    private static final Set<String> MARKER_FILES = Set.of(
+            Constants.FILE_BUILD_GRADLE, Constants.FILE_BUILD_GRADLE_KTS, Constants.FILE_POM_XML,
+            Constants.FILE_CARGO_TOML, Constants.FILE_GO_MOD, Constants.FILE_PUBSPEC_YAML,
+            Constants.FILE_PNPM_LOCK, Constants.FILE_BUN_LOCKB, Constants.FILE_BUN_LOCK,
+            Constants.FILE_YARN_LOCK, Constants.FILE_PACKAGE_JSON, Constants.FILE_REQUIREMENTS_TXT,
+            "setup.py", Constants.FILE_DOCKER_COMPOSE_YML, Constants.FILE_DOCKER_COMPOSE_YAML
+    );
+
+    /**
+     * Checks whether a file in the project root takes part in detection.
+     *
+     * @param fileName name of a file in the project root
+     * @return true for build manifests, lock files and .NET project files
+     */
+    public static boolean isMarker(String fileName) {
+        String lower = fileName.toLowerCase();
+        return MARKER_FILES.contains(fileName) || lower.endsWith(".csproj") || lower.endsWith(".fsproj");
+    }
+
     /**
      * Checks if a file with a specific name exists in the directory.
      *
-     * @param directory directory to search in
+     * @param root listing of the directory to search in
      * @param fileName name of the file to search for
      * @return true if the file exists, false otherwise
      */
-    private static boolean fileExists(Path directory, String fileName) {
-        Path filePath = directory.resolve(fileName);
-        return Files.exists(filePath) && Files.isRegularFile(filePath);
+    private static boolean fileExists(DirectorySnapshot root, String fileName) {
+        return root.isFile(fileName);
     }
 
     /**
@@ -208,18 +247,13 @@ public class ProjectTypeDetector {
      *
      * <p>Searches for files ending in .csproj or .fsproj (C# and F#).
      *
-     * @param directory directory to search in
+     * @param root listing of the directory to search in
      * @return true if at least one .NET project file is found
      */
-    private static boolean hasCsprojFile(Path directory) {
-        try (Stream<Path> files = Files.list(directory)) {
-            return files.anyMatch(path -> {
-                String name = path.getFileName().toString().toLowerCase();
-                return name.endsWith(".csproj") || name.endsWith(".fsproj");
-            });
-        } catch (IOException e) {
-            // Si falla la lectura del directorio, asumir que no hay .csproj
-            return false;
-        }
+    private static boolean hasCsprojFile(DirectorySnapshot root) {
+        return root.anyFile(name -> {
+            String lower = name.toLowerCase();
+            return lower.endsWith(".csproj") || lower.endsWith(".fsproj");
+        });
     }
-}
\ No newline at end of file
+}
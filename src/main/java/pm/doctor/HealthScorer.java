@@ -2,14 +2,11 @@ package pm.doctor;
 
 import pm.cli.OutputFormatter;
 import pm.core.Project;
+import pm.detector.DirectorySnapshot;
 import pm.detector.ProjectType;
 import pm.scanner.SecretFinding;
 import pm.scanner.SecretScanner;
 
-import java.io.IOException;
-import java.nio.file.DirectoryStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -41,7 +38,17 @@ public final class HealthScorer {
      * @return list of check results (always 6 items)
      */
     public static List<HealthCheck> evaluate(Project project) {
-        Path root = project.path();
+        return evaluate(project, DirectorySnapshot.of(project.path()));
+    }
+
+    /**
+     * Runs all health checks on a project from an existing listing of its root.
+     *
+     * @param project project to evaluate
+     * @param root    snapshot of the project directory
+     * @return list of check results (always 6 items)
+     */
+    public static List<HealthCheck> evaluate(Project project, DirectorySnapshot root) {
         List<HealthCheck> checks = new ArrayList<>();
 
         checks.add(checkGitignore(root));
@@ -89,8 +96,8 @@ public final class HealthScorer {
     // INDIVIDUAL CHECKS
     // ============================================================
 
-    private static HealthCheck checkGitignore(Path root) {
-        boolean exists = Files.exists(root.resolve(".gitignore"));
+    private static HealthCheck checkGitignore(DirectorySnapshot root) {
+        boolean exists = root.exists(".gitignore");
         return new HealthCheck(
                 "gitignore",
                 exists,
@@ -99,9 +106,9 @@ public final class HealthScorer {
         );
     }
 
-    private static HealthCheck checkReadme(Path root) {
-        boolean exists = hasFileIgnoreCase(root, "readme.md")
-                || hasFileIgnoreCase(root, "readme");
+    private static HealthCheck checkReadme(DirectorySnapshot root) {
+        boolean exists = root.existsIgnoreCase("readme.md")
+                || root.existsIgnoreCase("readme");
         return new HealthCheck(
                 "readme",
                 exists,
@@ -120,10 +127,10 @@ public final class HealthScorer {
         );
     }
 
-    private static HealthCheck checkCI(Path root) {
-        boolean detected = Files.isDirectory(root.resolve(".github").resolve("workflows"))
-                || Files.exists(root.resolve(".gitlab-ci.yml"))
-                || Files.exists(root.resolve("Jenkinsfile"));
+    private static HealthCheck checkCI(DirectorySnapshot root) {
+        boolean detected = root.isDirectory(".github/workflows")
+                || root.exists(".gitlab-ci.yml")
+                || root.exists("Jenkinsfile");
         return new HealthCheck(
                 "ci",
                 detected,
@@ -132,17 +139,17 @@ public final class HealthScorer {
         );
     }
 
-    private static HealthCheck checkLockfile(Path root, ProjectType type) {
+    private static HealthCheck checkLockfile(DirectorySnapshot root, ProjectType type) {
         boolean exists = switch (type) {
-            case NODEJS -> Files.exists(root.resolve("package-lock.json"));
-            case PNPM -> Files.exists(root.resolve("pnpm-lock.yaml"));
-            case BUN -> Files.exists(root.resolve("bun.lockb"))
-                    || Files.exists(root.resolve("bun.lock"));
-            case YARN -> Files.exists(root.resolve("yarn.lock"));
-            case RUST -> Files.exists(root.resolve("Cargo.lock"));
-            case GO -> Files.exists(root.resolve("go.sum"));
-            case FLUTTER -> Files.exists(root.resolve("pubspec.lock"));
-            case DOTNET -> Files.exists(root.resolve("packages.lock.json"));
+            case NODEJS -> root.exists("package-lock.json");
+            case PNPM -> root.exists("pnpm-lock.yaml");
+            case BUN -> root.exists("bun.lockb")
+                    || root.exists("bun.lock");
+            case YARN -> root.exists("yarn.lock");
+            case RUST -> root.exists("Cargo.lock");
+            case GO -> root.exists("go.sum");
+            case FLUTTER -> root.exists("pubspec.lock");
+            case DOTNET -> root.exists("packages.lock.json");
             // Maven (pom.xml), Gradle (build.gradle), Python (requirements.txt), Docker
             // always pass — the detection file IS the dependency manifest
             case MAVEN, GRADLE, PYTHON, DOCKER, UNKNOWN -> true;
@@ -155,7 +162,7 @@ public final class HealthScorer {
         );
     }
 
-    private static HealthCheck checkNoExposedSecrets(Path root) {
+    private static HealthCheck checkNoExposedSecrets(DirectorySnapshot root) {
         List<SecretFinding> findings = SecretScanner.scan(root);
         return new HealthCheck(
                 "secrets",
@@ -164,27 +171,4 @@ public final class HealthScorer {
                 "Hardcoded secrets found in .env files — use environment injection or a vault"
         );
     }
-
-    // ============================================================
-    // UTILITIES
-    // ============================================================
-
-    /**
-     * Checks if a file exists in the directory, case-insensitive.
-     */
-    private static boolean hasFileIgnoreCase(Path dir, String filename) {
-        if (!Files.isDirectory(dir)) {
-            return false;
-        }
-        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
-            for (Path entry : stream) {
-                if (entry.getFileName().toString().equalsIgnoreCase(filename)) {
-                    return true;
-                }
-            }
-        } catch (IOException e) {
-            // Cannot list directory — treat as not found
-        }
-        return false;
-    }
 }
@@ -0,0 +1,47 @@
+package pm.executor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An {@link OutputSink} that takes raw output bytes.
+ *
+ * <p>When a process only has byte sinks, {@link OutputPump} forwards the
+ * bytes exactly as the process wrote them, in large chunks: nothing is
+ * decoded, no {@code String} is created per line, and the sink is flushed
+ * once per chunk instead of once per line. Only line-oriented sinks (a
+ * parser, a {@link LineBuffer}) make the pump decode the output.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public interface ByteSink extends OutputSink {
+
+    /**
+     * Receives a chunk of output, which may end in the middle of a line.
+     *
+     * @param bytes  buffer holding the chunk (only valid during the call)
+     * @param offset start of the chunk in the buffer
+     * @param length number of bytes
+     * @throws IOException if the sink cannot store the bytes
+     */
+    void write(byte[] bytes, int offset, int length) throws IOException;
+
+    /**
+     * Called after each chunk, so forwarded output shows up while the process runs.
+     *
+     * @throws IOException if the sink cannot be flushed
+     */
+    default void flush() throws IOException {
+    }
+
+    /**
+     * Writes a line as UTF-8 followed by a newline, for callers that feed lines directly.
+     */
+    @Override
+    default void line(String line) throws IOException {
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        write(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,220 @@
+package pm.executor;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A {@link ByteSink} that captures output within a fixed memory budget.
+ *
+ * <p>The first half of the budget keeps the head of the output and the
+ * second half is a ring buffer holding the most recent bytes; whatever falls
+ * between them is dropped and counted. A chatty process therefore costs at
+ * most {@code maxBytes} of heap, while both the start (banners, the opening
+ * of a JSON document) and the end (the error) of its output stay visible.
+ *
+ * <p>With a spill directory, output that outgrows the budget is also written
+ * in full to a temporary file there, so callers can stream-parse large
+ * output (e.g. {@code npm audit --json} of a big monorepo) instead of
+ * holding it in memory. The file is only created once the budget is
+ * exceeded; small outputs never touch the disk. If the file cannot be
+ * written, the capture carries on in memory without it.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class CaptureBuffer implements ByteSink {
+
+    private static final byte NEWLINE = '\n';
+
+    private final byte[] head;
+    private int headLength;
+    private final byte[] tail;
+    /** Bytes ever written to the tail ring; the byte at index i sits at {@code i % tail.length}. */
+    private long tailWritten;
+    private long totalBytes;
+
+    private final Path spillDirectory;
+    private Path spillFile;
+    private OutputStream spill;
+
+    /**
+     * Creates a bounded buffer that does not spill.
+     *
+     * @param maxBytes memory budget in bytes, split evenly between head and tail
+     * @throws IllegalArgumentException if maxBytes is less than 2
+     */
+    public CaptureBuffer(int maxBytes) {
+        this(maxBytes, null);
+    }
+
+    /**
+     * Creates a bounded buffer that spills the full output to a temporary file once it outgrows the budget.
+     *
+     * @param maxBytes       memory budget in bytes, split evenly between head and tail
+     * @param spillDirectory directory for the spill file (created if missing), or null to never spill
+     * @throws IllegalArgumentException if maxBytes is less than 2
+     */
+    public CaptureBuffer(int maxBytes, Path spillDirectory) {
+        if (maxBytes < 2) {
+            throw new IllegalArgumentException("Capture budget must be at least 2 bytes");
+        }
+        this.head = new byte[maxBytes / 2];
+        this.tail = new byte[maxBytes - head.length];
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public synchronized void write(byte[] bytes, int offset, int length) {
+        totalBytes += length;
+
+        int toHead = Math.min(length, head.length - headLength);
+        System.arraycopy(bytes, offset, head, headLength, toHead);
+        headLength += toHead;
+        offset += toHead;
+        length -= toHead;
+        if (length == 0) {
+            return;
+        }
+
+        // Before the ring overwrites anything, head + tail still hold the whole output
+        if (spill == null && spillDirectory != null && tailWritten + length > tail.length) {
+            startSpill();
+        }
+        if (spill != null) {
+            try {
+                spill.write(bytes, offset, length);
+            } catch (IOException e) {
+                abandonSpill();
+            }
+        }
+
+        // Only the last tail.length bytes of the chunk can survive in the ring
+        int kept = Math.min(length, tail.length);
+        long firstIndex = tailWritten + length - kept;
+        int position = (int) (firstIndex % tail.length);
+        int first = Math.min(kept, tail.length - position);
+        System.arraycopy(bytes, offset + length - kept, tail, position, first);
+        System.arraycopy(bytes, offset + length - kept + first, tail, 0, kept - first);
+        tailWritten += length;
+    }
+
+    private void startSpill() {
+        try {
+            Files.createDirectories(spillDirectory);
+            spillFile = Files.createTempFile(spillDirectory, "capture-", ".out");
+            spill = new BufferedOutputStream(Files.newOutputStream(spillFile));
+            spill.write(head, 0, headLength);
+            spill.write(tailBytes());
+        } catch (IOException e) {
+            abandonSpill();
+        }
+    }
+
+    /**
+     * Gives up on the spill file after an I/O error; the in-memory capture goes on.
+     */
+    private void abandonSpill() {
+        try {
+            if (spill != null) {
+                spill.close();
+            }
+            if (spillFile != null) {
+                Files.deleteIfExists(spillFile);
+            }
+        } catch (IOException ignored) {
+            // Best effort: the capture itself is still valid
+        }
+        spill = null;
+        spillFile = null;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (spill != null) {
+            spill.close();
+        }
+    }
+
+    /**
+     * Gets the bytes held by the tail ring, oldest first.
+     */
+    private byte[] tailBytes() {
+        int held = (int) Math.min(tailWritten, tail.length);
+        byte[] bytes = new byte[held];
+        if (tailWritten <= tail.length) {
+            System.arraycopy(tail, 0, bytes, 0, held);
+        } else {
+            int start = (int) (tailWritten % tail.length);
+            System.arraycopy(tail, start, bytes, 0, tail.length - start);
+            System.arraycopy(tail, 0, bytes, tail.length - start, start);
+        }
+        return bytes;
+    }
+
+    /**
+     * Gets the captured output as text.
+     *
+     * <p>When bytes were dropped, the head and tail are cut back to whole
+     * lines and joined by a {@code [... N bytes omitted ...]} line, where N
+     * also counts the partial lines cut away.
+     *
+     * @return the output, decoded as UTF-8
+     */
+    public synchronized String text() {
+        byte[] tailBytes = tailBytes();
+        if (droppedBytes() == 0) {
+            return new String(head, 0, headLength, StandardCharsets.UTF_8)
+                    + new String(tailBytes, StandardCharsets.UTF_8);
+        }
+
+        int headEnd = headLength;
+        while (headEnd > 0 && head[headEnd - 1] != NEWLINE) {
+            headEnd--;
+        }
+        int tailStart = 0;
+        while (tailStart < tailBytes.length && tailBytes[tailStart] != NEWLINE) {
+            tailStart++;
+        }
+        tailStart = Math.min(tailStart + 1, tailBytes.length);
+
+        long shown = headEnd + (tailBytes.length - tailStart);
+        return new String(head, 0, headEnd, StandardCharsets.UTF_8)
+                + "[... " + (totalBytes - shown) + " bytes omitted ...]\n"
+                + new String(tailBytes, tailStart, tailBytes.length - tailStart, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the number of bytes received.
+     *
+     * @return total output size
+     */
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Gets the number of bytes that did not fit in memory.
+     *
+     * @return bytes between head and tail that were discarded (0 if nothing was)
+     */
+    public synchronized long droppedBytes() {
+        return totalBytes - headLength - Math.min(tailWritten, tail.length);
+    }
+
+    /**
+     * Gets the file holding the full output, if the buffer spilled.
+     *
+     * <p>The file belongs to the caller, who should delete it when done
+     * (see {@link CommandExecutor.CapturedOutput#close()}).
+     *
+     * @return the spill file, or null if the output fit in memory or spilling was off or failed
+     */
+    public synchronized Path spillFile() {
+        return spillFile;
+    }
+}
@@ -1,10 +1,13 @@
 package pm.executor;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,113 +22,129 @@ import java.util.Map;
  * <li>Handle timeouts for long-running commands</li>
  * </ul>
  *
+ * <p>{@link #start} is the non-blocking core: it returns a {@link RunningCommand}
+ * handle at once and streams the output to any number of {@link OutputSink}s.
+ * The blocking methods ({@link #execute}, {@link #executeWithInheritedIO},
+ * {@link #captureOutput}) start a command and wait for its result.
+ *
  * @author SoftDryzz
- * @version 1.3.8
+ * @version 2.1.0
  * @since 1.0.0
  */
 public class CommandExecutor {
 
+    /** How long a timed-out or cancelled process tree gets to exit after SIGTERM before it is killed. */
+    public static final long DEFAULT_TERMINATE_GRACE_MS = 5000;
+
+    private final long terminateGraceMs;
+
+    /**
+     * Creates an executor with the default termination grace period.
+     */
+    public CommandExecutor() {
+        this(DEFAULT_TERMINATE_GRACE_MS);
+    }
+
+    /**
+     * Creates an executor with a custom termination grace period.
+     *
+     * @param terminateGraceMs milliseconds between SIGTERM and SIGKILL when stopping a process tree (0 = kill at once)
+     *
+     * @since 2.1.0
+     */
+    public CommandExecutor(long terminateGraceMs) {
+        this.terminateGraceMs = terminateGraceMs;
+    }
+
     /**
-     * Executes a system command.
+     * Starts a command without waiting for it.
+     *
+     * <p>Stderr is merged into stdout, and every line is handed to each sink
+     * in order. With no sinks, the output is discarded.
      *
      * @param command command to execute (e.g., "gradle build")
      * @param workingDirectory directory where to execute
      * @param timeoutSeconds timeout in seconds (0 = no timeout)
-     * @return execution result
-     * @throws IOException if execution fails
-     * @throws InterruptedException if the process is interrupted
+     * @param envVars additional environment variables (may be null)
+     * @param sinks where the output goes
+     * @return handle of the running command
+     * @throws IOException if the directory is invalid or the process cannot be started
+     *
+     * @since 2.1.0
      */
-    public ExecutionResult execute(String command, Path workingDirectory, long timeoutSeconds)
-            throws IOException, InterruptedException {
+    public RunningCommand start(String command, Path workingDirectory, long timeoutSeconds,
+                                Map<String, String> envVars, List<OutputSink> sinks) throws IOException {
+        ProcessBuilder processBuilder = processBuilder(command, workingDirectory, envVars);
+        processBuilder.redirectErrorStream(true);
+        if (sinks.isEmpty()) {
+            processBuilder.redirectOutput(Redirect.DISCARD);
+        }
 
-        // Validate parameters
+        long startTime = System.currentTimeMillis();
+        Process process = processBuilder.start();
+        return RunningCommand.watch(process, startTime, sinks.isEmpty() ? null : List.copyOf(sinks),
+                timeoutSeconds, terminateGraceMs);
+    }
+
+    /**
+     * Starts a command with inherited IO without waiting for it.
+     *
+     * <p>Stdin, stdout and stderr are connected directly to the user's
+     * terminal, so interactive prompts work; pm sees none of the output.
+     *
+     * @param command command to execute
+     * @param workingDirectory directory where to execute
+     * @param timeoutSeconds timeout in seconds (0 = no timeout)
+     * @param envVars additional environment variables (may be null)
+     * @return handle of the running command
+     * @throws IOException if the directory is invalid or the process cannot be started
+     *
+     * @since 2.1.0
+     */
+    public RunningCommand startWithInheritedIO(String command, Path workingDirectory, long timeoutSeconds,
+                                               Map<String, String> envVars) throws IOException {
+        ProcessBuilder processBuilder = processBuilder(command, workingDirectory, envVars);
+        processBuilder.inheritIO();
+
+        long startTime = System.currentTimeMillis();
+        Process process = processBuilder.start();
+        return RunningCommand.watch(process, startTime, null, timeoutSeconds, terminateGraceMs);
+    }
+
+    /**
+     * Validates the parameters and prepares the shell process.
+     */
+    private ProcessBuilder processBuilder(String command, Path workingDirectory, Map<String, String> envVars)
+            throws IOException {
         if (command == null || command.isBlank()) {
             throw new IllegalArgumentException("Command cannot be null or blank");
         }
-
         if (workingDirectory == null) {
             throw new IllegalArgumentException("Working directory cannot be null");
         }
-
         validateWorkingDirectory(workingDirectory);
 
-        // Detect operating system to use the correct shell
-        String[] shellCommand = getShellCommand(command);
-
-        // Create ProcessBuilder
-        ProcessBuilder processBuilder = new ProcessBuilder(shellCommand);
-
-        // Set working directory
-                processBuilder.directory(workingDirectory.toFile());
-
-        // Redirect stderr to stdout to capture all output
-                processBuilder.redirectErrorStream(true);
-
-        // Start process
-        long startTime = System.currentTimeMillis();
-        Process process = processBuilder.start();
-
-        // Create thread to read output in real-time
-        Thread outputReader = new Thread(() -> {
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream()))) {
-
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    // Mostrar output en tiempo real
-                    System.out.println(line);
-                }
-            } catch (IOException e) {
-                System.err.println("Error reading process output: " + e.getMessage());
-            }
-        });
-
-        // Start output reading
-        outputReader.start();
-
-        // Variable to store the exit code
-        int exitCode;
-        boolean finished;
-
-        // Wait for process to finish (with timeout if specified)
-        if (timeoutSeconds > 0) {
-            finished = process.waitFor(timeoutSeconds, TimeUnit.SECONDS);
-
-            if (!finished) {
-                // Timeout reached, forcibly kill process
-                process.destroyForcibly();
-                outputReader.interrupt();
-
-                long duration = System.currentTimeMillis() - startTime;
-                return new ExecutionResult(
-                        false,
-                        -1,
-                        duration,
-                        "Process timed out after " + timeoutSeconds + " seconds"
-                );
-            }
-
-            // Process finished, get exit code
-            exitCode = process.waitFor();
-        } else {
-            // No timeout, wait indefinitely and get exit code
-            exitCode = process.waitFor();
-            finished = true;
+        ProcessBuilder processBuilder = new ProcessBuilder(getShellCommand(command));
+        processBuilder.directory(workingDirectory.toFile());
+        if (envVars != null && !envVars.isEmpty()) {
+            processBuilder.environment().putAll(envVars);
         }
+        return processBuilder;
+    }
 
-        // Wait for output reading to finish
-        outputReader.join(1000); // Max 1 segundo
-
-        // Calculate duration
-        long duration = System.currentTimeMillis() - startTime;
-
-        // Create result
-        return new ExecutionResult(
-                exitCode == 0,  // success si exitCode es 0
-                exitCode,
-                duration,
-                exitCode == 0 ? "Command completed successfully" : "Command failed"
-        );
+    /**
+     * Executes a system command, printing its output in real-time.
+     *
+     * @param command command to execute (e.g., "gradle build")
+     * @param workingDirectory directory where to execute
+     * @param timeoutSeconds timeout in seconds (0 = no timeout)
+     * @return execution result
+     * @throws IOException if execution fails
+     * @throws InterruptedException if the process is interrupted
+     */
+    public ExecutionResult execute(String command, Path workingDirectory, long timeoutSeconds)
+            throws IOException, InterruptedException {
+        return execute(command, workingDirectory, timeoutSeconds, null);
     }
 
     /**
@@ -142,6 +161,22 @@ public class CommandExecutor {
         return execute(command, workingDirectory, 0);
     }
 
+    /**
+     * Executes a system command with custom environment variables.
+     *
+     * @param command command to execute
+     * @param workingDirectory directory where to execute
+     * @param timeoutSeconds timeout in seconds (0 = no timeout)
+     * @param envVars additional environment variables
+     * @return execution result
+     * @throws IOException if execution fails
+     * @throws InterruptedException if the process is interrupted
+     */
+    public ExecutionResult execute(String command, Path workingDirectory, long timeoutSeconds, Map<String, String> envVars)
+            throws IOException, InterruptedException {
+        return start(command, workingDirectory, timeoutSeconds, envVars, List.of(OutputSink.console())).await();
+    }
+
     /**
      * Executes a system command with inherited IO (interactive mode).
      *
@@ -177,73 +212,7 @@ public class CommandExecutor {
      */
     public ExecutionResult executeWithInheritedIO(String command, Path workingDirectory, long timeoutSeconds, Map<String, String> envVars)
             throws IOException, InterruptedException {
-
-        // Validate parameters
-        if (command == null || command.isBlank()) {
-            throw new IllegalArgumentException("Command cannot be null or blank");
-        }
-
-        if (workingDirectory == null) {
-            throw new IllegalArgumentException("Working directory cannot be null");
-        }
-
-        validateWorkingDirectory(workingDirectory);
-
-        // Detect operating system to use the correct shell
-        String[] shellCommand = getShellCommand(command);
-
-        // Create ProcessBuilder
-        ProcessBuilder processBuilder = new ProcessBuilder(shellCommand);
-
-        // Set working directory
-        processBuilder.directory(workingDirectory.toFile());
-
-        // Add custom environment variables
-        if (envVars != null && !envVars.isEmpty()) {
-            processBuilder.environment().putAll(envVars);
-        }
-
-        // Inherit terminal IO — stdin, stdout, stderr connect directly to user's terminal
-        processBuilder.inheritIO();
-
-        // Start process
-        long startTime = System.currentTimeMillis();
-        Process process = processBuilder.start();
-
-        // Variable to store the exit code
-        int exitCode;
-
-        // Wait for process to finish (with timeout if specified)
-        if (timeoutSeconds > 0) {
-            boolean finished = process.waitFor(timeoutSeconds, TimeUnit.SECONDS);
-
-            if (!finished) {
-                process.destroyForcibly();
-
-                long duration = System.currentTimeMillis() - startTime;
-                return new ExecutionResult(
-                        false,
-                        -1,
-                        duration,
-                        "Process timed out after " + timeoutSeconds + " seconds"
-                );
-            }
-
-            exitCode = process.waitFor();
-        } else {
-            exitCode = process.waitFor();
-        }
-
-        // Calculate duration
-        long duration = System.currentTimeMillis() - startTime;
-
-        // Create result
-        return new ExecutionResult(
-                exitCode == 0,
-                exitCode,
-                duration,
-                exitCode == 0 ? "Command completed successfully" : "Command failed"
-        );
+        return startWithInheritedIO(command, workingDirectory, timeoutSeconds, envVars).await();
     }
 
     /**
@@ -283,185 +252,79 @@ public class CommandExecutor {
             return new String[]{"sh", "-c", command};
         }
     }
+
     /**
-     * Executes a system command with custom environment variables.
+     * Executes a command and captures its stdout as a String.
+     *
+     * <p>Unlike {@link #execute}, this method does NOT print output to the console.
+     * All stdout is collected into a {@link LineBuffer} and returned in the result.
+     * Stderr is merged into stdout via {@code redirectErrorStream(true)}.
      *
      * @param command command to execute
      * @param workingDirectory directory where to execute
      * @param timeoutSeconds timeout in seconds (0 = no timeout)
-     * @param envVars additional environment variables
-     * @return execution result
+     * @return captured output result
      * @throws IOException if execution fails
      * @throws InterruptedException if the process is interrupted
+     *
+     * @since 1.6.3
      */
-    public ExecutionResult execute(String command, Path workingDirectory, long timeoutSeconds, Map<String, String> envVars)
+    public CapturedOutput captureOutput(String command, Path workingDirectory, long timeoutSeconds)
             throws IOException, InterruptedException {
-
-        // Validate parameters
-        if (command == null || command.isBlank()) {
-            throw new IllegalArgumentException("Command cannot be null or blank");
-        }
-
-        if (workingDirectory == null) {
-            throw new IllegalArgumentException("Working directory cannot be null");
-        }
-
-        validateWorkingDirectory(workingDirectory);
-
-        // Detect operating system to use the correct shell
-        String[] shellCommand = getShellCommand(command);
-
-        // Create ProcessBuilder
-        ProcessBuilder processBuilder = new ProcessBuilder(shellCommand);
-
-        // Set working directory
-        processBuilder.directory(workingDirectory.toFile());
-
-        // Add custom environment variables
-        if (envVars != null && !envVars.isEmpty()) {
-            Map<String, String> environment = processBuilder.environment();
-            environment.putAll(envVars);
-        }
-
-        // Redirect stderr to stdout to capture all output
-        processBuilder.redirectErrorStream(true);
-
-        // Start process
-        long startTime = System.currentTimeMillis();
-        Process process = processBuilder.start();
-
-        // Create thread to read output in real-time
-        Thread outputReader = new Thread(() -> {
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream()))) {
-
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    // Show output in real-time
-                    System.out.println(line);
-                }
-            } catch (IOException e) {
-                System.err.println("Error reading process output: " + e.getMessage());
-            }
-        });
-
-        // Start output reading
-        outputReader.start();
-
-        // Variable to store the exit code
-        int exitCode;
-        boolean finished;
-
-        // Wait for process to finish (with timeout if specified)
-        if (timeoutSeconds > 0) {
-            finished = process.waitFor(timeoutSeconds, TimeUnit.SECONDS);
-
-            if (!finished) {
-                // Timeout reached, forcibly kill process
-                process.destroyForcibly();
-                outputReader.interrupt();
-
-                long duration = System.currentTimeMillis() - startTime;
-                return new ExecutionResult(
-                        false,
-                        -1,
-                        duration,
-                        "Process timed out after " + timeoutSeconds + " seconds"
-                );
-            }
-
-            // Process finished, get exit code
-            exitCode = process.waitFor();
-        } else {
-            // No timeout, wait indefinitely and get exit code
-            exitCode = process.waitFor();
-            finished = true;
-        }
-
-        // Wait for output reading to finish
-        outputReader.join(1000); // Max 1 segundo
-
-        // Calculate duration
-        long duration = System.currentTimeMillis() - startTime;
-
-        // Create result
-        return new ExecutionResult(
-                exitCode == 0,  // success si exitCode es 0
-                exitCode,
-                duration,
-                exitCode == 0 ? "Command completed successfully" : "Command failed"
-        );
+        return captureOutput(command, workingDirectory, timeoutSeconds, null);
     }
 
     /**
-     * Executes a command and captures its stdout as a String.
+     * Executes a command with custom environment variables and captures its stdout as a String.
      *
-     * <p>Unlike {@link #execute}, this method does NOT print output to the console.
-     * All stdout is collected into a {@code StringBuilder} and returned in the result.
-     * Stderr is merged into stdout via {@code redirectErrorStream(true)}.
+     * <p>If the calling thread is interrupted while waiting (e.g., a cancelled
+     * parallel build), the process is destroyed before the
+     * {@link InterruptedException} is rethrown, so cancelled work does not
+     * leave processes running in the background.
      *
      * @param command command to execute
      * @param workingDirectory directory where to execute
      * @param timeoutSeconds timeout in seconds (0 = no timeout)
+     * @param envVars additional environment variables (may be null)
      * @return captured output result
      * @throws IOException if execution fails
      * @throws InterruptedException if the process is interrupted
      *
-     * @since 1.6.3
+     * @since 2.1.0
      */
-    public CapturedOutput captureOutput(String command, Path workingDirectory, long timeoutSeconds)
+    public CapturedOutput captureOutput(String command, Path workingDirectory, long timeoutSeconds,
+                                        Map<String, String> envVars)
             throws IOException, InterruptedException {
+        LineBuffer output = LineBuffer.unbounded();
+        ExecutionResult result = start(command, workingDirectory, timeoutSeconds, envVars, List.of(output)).await();
+        return new CapturedOutput(result.exitCode(), output.text(), result.durationMs());
+    }
 
-        if (command == null || command.isBlank()) {
-            throw new IllegalArgumentException("Command cannot be null or blank");
-        }
-        if (workingDirectory == null) {
-            throw new IllegalArgumentException("Working directory cannot be null");
-        }
-        validateWorkingDirectory(workingDirectory);
-
-        String[] shellCommand = getShellCommand(command);
-
-        ProcessBuilder processBuilder = new ProcessBuilder(shellCommand);
-        processBuilder.directory(workingDirectory.toFile());
-        processBuilder.redirectErrorStream(true);
-
-        long startTime = System.currentTimeMillis();
-        Process process = processBuilder.start();
-
-        StringBuilder output = new StringBuilder();
-        Thread outputReader = new Thread(() -> {
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    output.append(line).append("\n");
-                }
-            } catch (IOException e) {
-                // Silently ignore read errors during capture
-            }
-        });
-
-        outputReader.start();
-
-        int exitCode;
-        if (timeoutSeconds > 0) {
-            boolean finished = process.waitFor(timeoutSeconds, TimeUnit.SECONDS);
-            if (!finished) {
-                process.destroyForcibly();
-                outputReader.interrupt();
-                long duration = System.currentTimeMillis() - startTime;
-                return new CapturedOutput(-1, output.toString(), duration);
-            }
-            exitCode = process.waitFor();
-        } else {
-            exitCode = process.waitFor();
-        }
-
-        outputReader.join(1000);
-        long duration = System.currentTimeMillis() - startTime;
-
-        return new CapturedOutput(exitCode, output.toString(), duration);
+    /**
+     * Executes a command and captures its output within a memory budget.
+     *
+     * <p>Output beyond the buffer's budget is dropped from the middle, keeping
+     * the head and tail; a spilling buffer also keeps the full output in a
+     * temporary file, available through {@link CapturedOutput#reader()}.
+     * Close the result (try-with-resources) to delete that file.
+     *
+     * @param command command to execute
+     * @param workingDirectory directory where to execute
+     * @param timeoutSeconds timeout in seconds (0 = no timeout)
+     * @param envVars additional environment variables (may be null)
+     * @param buffer a fresh buffer that receives the output
+     * @return captured output result
+     * @throws IOException if execution fails
+     * @throws InterruptedException if the process is interrupted
+     *
+     * @since 2.1.0
+     */
+    public CapturedOutput captureOutput(String command, Path workingDirectory, long timeoutSeconds,
+                                        Map<String, String> envVars, CaptureBuffer buffer)
+            throws IOException, InterruptedException {
+        ExecutionResult result = start(command, workingDirectory, timeoutSeconds, envVars, List.of(buffer)).await();
+        return new CapturedOutput(result.exitCode(), buffer.text(), result.durationMs(),
+                buffer.droppedBytes(), buffer.spillFile());
     }
 
     /**
@@ -469,18 +332,79 @@ public class CommandExecutor {
      *
      * <p>Used by {@link #captureOutput} for silent command execution
      * where the output needs to be parsed (e.g., JSON from audit tools).
+     * With a {@link CaptureBuffer}, {@code stdout} may be only the head and
+     * tail of the output; the full output is then in {@code spillFile} if the
+     * buffer spilled. Closing the result deletes that file.
      *
      * @param exitCode process exit code
      * @param stdout captured standard output
      * @param durationMs duration in milliseconds
+     * @param droppedBytes bytes left out of {@code stdout} to stay within the capture budget
+     * @param spillFile file holding the full output, or null
      *
      * @since 1.6.3
      */
     public record CapturedOutput(
             int exitCode,
             String stdout,
-            long durationMs
-    ) {}
+            long durationMs,
+            long droppedBytes,
+            Path spillFile
+    ) implements AutoCloseable {
+
+        /**
+         * Creates a result whose output was captured in full.
+         *
+         * @param exitCode process exit code
+         * @param stdout captured standard output
+         * @param durationMs duration in milliseconds
+         */
+        public CapturedOutput(int exitCode, String stdout, long durationMs) {
+            this(exitCode, stdout, durationMs, 0, null);
+        }
+
+        /**
+         * Checks whether part of the output is missing from {@code stdout}.
+         *
+         * @return true if bytes were dropped
+         *
+         * @since 2.1.0
+         */
+        public boolean truncated() {
+            return droppedBytes > 0;
+        }
+
+        /**
+         * Opens the complete output for streaming: the spill file if there
+         * is one, otherwise {@code stdout}.
+         *
+         * @return a reader over the output
+         * @throws IOException if the spill file cannot be opened
+         *
+         * @since 2.1.0
+         */
+        public Reader reader() throws IOException {
+            return spillFile != null
+                    ? Files.newBufferedReader(spillFile, StandardCharsets.UTF_8)
+                    : new StringReader(stdout);
+        }
+
+        /**
+         * Deletes the spill file, if any.
+         *
+         * @since 2.1.0
+         */
+        @Override
+        public void close() {
+            if (spillFile != null) {
+                try {
+                    Files.deleteIfExists(spillFile);
+                } catch (IOException ignored) {
+                    // A leftover file in the cache directory is harmless
+                }
+            }
+        }
+    }
 
     /**
      * Result of a command execution.
@@ -491,19 +415,51 @@ public class CommandExecutor {
      * <li>exitCode - process exit code</li>
      * <li>durationMs - duration in milliseconds</li>
      * <li>message - descriptive message</li>
+     * <li>reapedProcesses - descendant processes terminated when the command was stopped</li>
+     * <li>usage - CPU, memory and I/O of the command and its descendants</li>
      * </ul>
      *
      * @param success true if exitCode == 0
      * @param exitCode process exit code
      * @param durationMs duration in milliseconds
      * @param message descriptive message
+     * @param reapedProcesses child processes (and their children) that pm terminated
+     *                        on timeout or cancellation, which would otherwise have kept running
+     * @param usage resources used by the process tree, or null where they cannot be measured (no /proc)
      */
     public record ExecutionResult(
             boolean success,
             int exitCode,
             long durationMs,
-            String message
+            String message,
+            int reapedProcesses,
+            ResourceUsage usage
     ) {
+        /**
+         * Creates a result for a command that was not stopped by pm.
+         *
+         * @param success true if exitCode == 0
+         * @param exitCode process exit code
+         * @param durationMs duration in milliseconds
+         * @param message descriptive message
+         */
+        public ExecutionResult(boolean success, int exitCode, long durationMs, String message) {
+            this(success, exitCode, durationMs, message, 0);
+        }
+
+        /**
+         * Creates a result without resource usage.
+         *
+         * @param success true if exitCode == 0
+         * @param exitCode process exit code
+         * @param durationMs duration in milliseconds
+         * @param message descriptive message
+         * @param reapedProcesses child processes that pm terminated
+         */
+        public ExecutionResult(boolean success, int exitCode, long durationMs, String message, int reapedProcesses) {
+            this(success, exitCode, durationMs, message, reapedProcesses, null);
+        }
+
         /**
          * Gets the duration in seconds.
          *
@@ -0,0 +1,85 @@
+package pm.executor;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * An {@link OutputSink} that keeps output lines in memory.
+ *
+ * <p>With a limit, only the most recent lines are kept and the older ones are
+ * counted as dropped, which bounds memory for long-running or chatty
+ * processes (e.g. keeping the tail of a build log for an error report).
+ * Lines can be read while the process is still writing.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class LineBuffer implements OutputSink {
+
+    private final int maxLines;
+    private final ArrayDeque<String> lines = new ArrayDeque<>();
+    private long dropped;
+
+    /**
+     * Creates a buffer.
+     *
+     * @param maxLines most recent lines to keep (0 = keep everything)
+     * @throws IllegalArgumentException if maxLines is negative
+     */
+    public LineBuffer(int maxLines) {
+        if (maxLines < 0) {
+            throw new IllegalArgumentException("Line limit cannot be negative");
+        }
+        this.maxLines = maxLines;
+    }
+
+    /**
+     * Creates a buffer that keeps every line.
+     *
+     * @return an unbounded buffer
+     */
+    public static LineBuffer unbounded() {
+        return new LineBuffer(0);
+    }
+
+    @Override
+    public synchronized void line(String line) {
+        if (maxLines > 0 && lines.size() == maxLines) {
+            lines.removeFirst();
+            dropped++;
+        }
+        lines.addLast(line);
+    }
+
+    /**
+     * Gets the kept lines.
+     *
+     * @return a copy of the lines, oldest first
+     */
+    public synchronized List<String> lines() {
+        return List.copyOf(lines);
+    }
+
+    /**
+     * Gets the kept lines as text.
+     *
+     * @return every kept line followed by a newline
+     */
+    public synchronized String text() {
+        StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            text.append(line).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Gets how many lines were discarded because of the limit.
+     *
+     * @return number of dropped lines
+     */
+    public synchronized long droppedLines() {
+        return dropped;
+    }
+}
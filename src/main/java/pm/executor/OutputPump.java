@@ -0,0 +1,208 @@
+package pm.executor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Copies a process's output to its {@link OutputSink}s.
+ *
+ * <p>The output is read in chunks of up to {@link #CHUNK_SIZE} bytes and
+ * handed to {@link ByteSink}s as is. It is only decoded (with the platform
+ * charset) and split into lines when a line-oriented sink is attached, so
+ * forwarding a build's output to the console or a file costs one copy per
+ * chunk rather than a decode, a {@code String} and a flush per line.
+ *
+ * <p>Pumps run on one shared pool of daemon threads instead of a new thread
+ * per process: idle threads are reused by the next process and retired after
+ * a minute, so running many commands in a row or side by side does not keep
+ * creating threads.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+final class OutputPump {
+
+    /**
+     * Read size. Process streams are buffered with 8 KiB, but a read at least
+     * that large bypasses the buffer and takes whatever the pipe holds (64 KiB on Linux).
+     */
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final ExecutorService THREADS =
+            Executors.newCachedThreadPool(new DaemonThreadFactory("pm-output"));
+
+    private OutputPump() {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Starts pumping a stream until it ends.
+     *
+     * @param stream  process output
+     * @param sinks   where the output goes
+     * @param stopped whether the process was stopped on purpose, in which case read errors are expected
+     * @return a future completed once the stream has ended and every sink is closed
+     */
+    static CompletableFuture<Void> start(InputStream stream, List<OutputSink> sinks, BooleanSupplier stopped) {
+        return CompletableFuture.runAsync(() -> pump(stream, sinks, stopped), THREADS);
+    }
+
+    /**
+     * Copies a stream to sinks on the calling thread.
+     *
+     * @param stream  stream to drain; closed at the end
+     * @param sinks   where the output goes; closed at the end
+     * @param stopped whether read errors are expected
+     */
+    static void pump(InputStream stream, List<OutputSink> sinks, BooleanSupplier stopped) {
+        List<ByteSink> byteSinks = new ArrayList<>();
+        List<OutputSink> lineSinks = new ArrayList<>();
+        for (OutputSink sink : sinks) {
+            if (sink instanceof ByteSink byteSink) {
+                byteSinks.add(byteSink);
+            } else {
+                lineSinks.add(sink);
+            }
+        }
+        LineSplitter lines = lineSinks.isEmpty() ? null : new LineSplitter(Charset.defaultCharset());
+
+        try (stream) {
+            byte[] chunk = new byte[CHUNK_SIZE];
+            int read;
+            while ((read = stream.read(chunk)) >= 0) {
+                deliver(byteSinks, chunk, read);
+                if (lines != null) {
+                    lines.feed(chunk, read, line -> deliver(lineSinks, line));
+                }
+            }
+            if (lines != null) {
+                lines.finish(line -> deliver(lineSinks, line));
+            }
+        } catch (IOException e) {
+            if (!stopped.getAsBoolean()) {
+                System.err.println("Error reading process output: " + e.getMessage());
+            }
+        } finally {
+            closeAll(byteSinks);
+            closeAll(lineSinks);
+        }
+    }
+
+    /**
+     * Hands a chunk to every byte sink, detaching any sink that fails.
+     */
+    private static void deliver(List<ByteSink> active, byte[] chunk, int length) {
+        for (Iterator<ByteSink> it = active.iterator(); it.hasNext(); ) {
+            ByteSink sink = it.next();
+            try {
+                sink.write(chunk, 0, length);
+                sink.flush();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error writing process output: " + e.getMessage());
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Hands a line to every line sink, detaching any sink that fails.
+     */
+    private static void deliver(List<OutputSink> active, String line) {
+        for (Iterator<OutputSink> it = active.iterator(); it.hasNext(); ) {
+            OutputSink sink = it.next();
+            try {
+                sink.line(line);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error writing process output: " + e.getMessage());
+                it.remove();
+            }
+        }
+    }
+
+    private static void closeAll(List<? extends OutputSink> sinks) {
+        for (OutputSink sink : sinks) {
+            try {
+                sink.close();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error closing process output: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Receives decoded lines.
+     */
+    @FunctionalInterface
+    interface LineConsumer {
+        void accept(String line);
+    }
+
+    /**
+     * Splits chunks into lines on {@code \n}, dropping a {@code \r} before it
+     * as {@link java.io.BufferedReader#readLine()} does. A line split across
+     * chunks is carried over to the next one.
+     */
+    static final class LineSplitter {
+
+        private final Charset charset;
+        private byte[] pending = new byte[256];
+        private int pendingLength;
+
+        LineSplitter(Charset charset) {
+            this.charset = charset;
+        }
+
+        void feed(byte[] chunk, int length, LineConsumer consumer) {
+            int start = 0;
+            for (int i = 0; i < length; i++) {
+                if (chunk[i] != '\n') {
+                    continue;
+                }
+                if (pendingLength == 0) {
+                    consumer.accept(decode(chunk, start, i));
+                } else {
+                    append(chunk, start, i - start);
+                    consumer.accept(decode(pending, 0, pendingLength));
+                    pendingLength = 0;
+                }
+                start = i + 1;
+            }
+            append(chunk, start, length - start);
+        }
+
+        /**
+         * Emits a last line that has no line terminator.
+         */
+        void finish(LineConsumer consumer) {
+            if (pendingLength > 0) {
+                consumer.accept(decode(pending, 0, pendingLength));
+                pendingLength = 0;
+            }
+        }
+
+        private String decode(byte[] bytes, int start, int end) {
+            if (end > start && bytes[end - 1] == '\r') {
+                end--;
+            }
+            return new String(bytes, start, end - start, charset);
+        }
+
+        private void append(byte[] bytes, int offset, int length) {
+            if (pendingLength + length > pending.length) {
+                pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+            }
+            System.arraycopy(bytes, offset, pending, pendingLength, length);
+            pendingLength += length;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package pm.executor;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Receives the output of a process started with {@link CommandExecutor#start}.
+ *
+ * <p>A process can have several sinks; each line is handed to every sink in
+ * the order they were given, on the thread that pumps the process output.
+ * A sink that throws is reported once and detached, so it cannot stop the
+ * others from receiving output. Any lambda can be a sink, e.g. a parser:
+ * <pre>{@code
+ * executor.start(command, dir, 300, env,
+ *         List.of(OutputSink.console(), line -> { if (line.contains("FAILED")) failures++; }));
+ * }</pre>
+ *
+ * <p>Sinks that can take raw bytes implement {@link ByteSink} instead, which
+ * spares the pump from decoding the output into lines at all.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+@FunctionalInterface
+public interface OutputSink {
+
+    /**
+     * Receives one line of output.
+     *
+     * @param line the line, without its line terminator
+     * @throws IOException if the sink cannot store the line
+     */
+    void line(String line) throws IOException;
+
+    /**
+     * Called once after the last line, when the process output has ended.
+     *
+     * @throws IOException if the sink cannot be flushed or closed
+     */
+    default void close() throws IOException {
+    }
+
+    /**
+     * Forwards the output to standard output as it arrives, byte for byte.
+     *
+     * @return a console sink
+     */
+    static ByteSink console() {
+        return new ByteSink() {
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                System.out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() {
+                System.out.flush();
+            }
+        };
+    }
+
+    /**
+     * Writes the output to a file byte for byte, replacing any previous content.
+     *
+     * @param file file to write (its parent directory must exist)
+     * @return a sink that closes the file when the output ends
+     * @throws IOException if the file cannot be opened
+     */
+    static ByteSink file(Path file) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+        return new ByteSink() {
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.close();
+            }
+        };
+    }
+}
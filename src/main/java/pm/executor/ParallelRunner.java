@@ -0,0 +1,196 @@
+package pm.executor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Runs independent tasks on a bounded pool of worker threads.
+ *
+ * <p>Used by the {@code --all} variants of commands to process several
+ * projects at once. Finished results are handed back to the calling thread
+ * in completion order, so callers can print each project's buffered output
+ * as a single block without any extra locking.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * ParallelRunner runner = new ParallelRunner(4);
+ * Map<Project, Boolean> results = runner.runAll(projects,
+ *         project -> build(project),
+ *         (project, ok) -> System.out.println(project.name() + ": " + ok),
+ *         ok -> !ok);   // fail-fast: cancel the rest on first failure
+ * }</pre>
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class ParallelRunner {
+
+    /** How long to wait for cancelled workers to clean up (kill processes) before returning. */
+    private static final long SHUTDOWN_GRACE_SECONDS = 5;
+
+    private final int jobs;
+
+    /**
+     * Creates a runner with the given concurrency limit.
+     *
+     * @param jobs maximum number of tasks running at the same time (must be at least 1)
+     * @throws IllegalArgumentException if jobs is less than 1
+     */
+    public ParallelRunner(int jobs) {
+        if (jobs < 1) {
+            throw new IllegalArgumentException("Number of jobs must be at least 1");
+        }
+        this.jobs = jobs;
+    }
+
+    /**
+     * Default concurrency: one job per available processor.
+     *
+     * @return number of available processors (at least 1)
+     */
+    public static int defaultJobs() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Gets the concurrency limit of this runner.
+     *
+     * @return maximum number of concurrent tasks
+     */
+    public int jobs() {
+        return jobs;
+    }
+
+    /**
+     * Runs a task for every item and waits until all of them have finished.
+     *
+     * <p>Tasks are expected to handle their own errors and report them through
+     * their result. When {@code stopWhen} matches a result, all tasks that have
+     * not finished yet are cancelled: queued tasks never start, and running ones
+     * are interrupted (which makes {@link CommandExecutor} destroy their process).
+     *
+     * @param items      items to process
+     * @param task       work to run for each item (on a worker thread)
+     * @param onComplete callback invoked on the calling thread as each item finishes (may be null)
+     * @param stopWhen   condition that cancels remaining work when matched (may be null)
+     * @param <T>        item type
+     * @param <R>        result type
+     * @return results of the items that finished, in input order; cancelled items are absent
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public <T, R> Map<T, R> runAll(List<T> items, Task<T, R> task,
+                                   Listener<T, R> onComplete, Predicate<R> stopWhen)
+            throws InterruptedException {
+
+        Map<T, R> results = new LinkedHashMap<>();
+        if (items.isEmpty()) {
+            return results;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(
+                Math.min(jobs, items.size()), new DaemonThreadFactory("pm-worker"));
+        CompletionService<Completed<R>> completion = new ExecutorCompletionService<>(pool);
+
+        List<Future<Completed<R>>> futures = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            final int index = i;
+            futures.add(completion.submit(() -> new Completed<>(index, task.run(items.get(index)))));
+        }
+
+        Object[] finished = new Object[items.size()];
+        boolean[] done = new boolean[items.size()];
+
+        try {
+            // Every submitted future is queued exactly once, whether it completes or is cancelled
+            for (int received = 0; received < items.size(); received++) {
+                Future<Completed<R>> future = completion.take();
+
+                Completed<R> completed;
+                try {
+                    completed = future.get();
+                } catch (CancellationException e) {
+                    continue;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException re) {
+                        throw re;
+                    }
+                    throw new IllegalStateException("Parallel task failed: " + cause, cause);
+                }
+
+                finished[completed.index()] = completed.result();
+                done[completed.index()] = true;
+
+                if (onComplete != null) {
+                    onComplete.onComplete(items.get(completed.index()), completed.result());
+                }
+
+                if (stopWhen != null && stopWhen.test(completed.result())) {
+                    futures.forEach(f -> f.cancel(true));
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS);
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            if (done[i]) {
+                @SuppressWarnings("unchecked")
+                R result = (R) finished[i];
+                results.put(items.get(i), result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Work performed for a single item.
+     *
+     * @param <T> item type
+     * @param <R> result type
+     */
+    @FunctionalInterface
+    public interface Task<T, R> {
+        /**
+         * Processes one item.
+         *
+         * @param item the item to process
+         * @return the result for this item
+         * @throws Exception if the task fails unexpectedly
+         */
+        R run(T item) throws Exception;
+    }
+
+    /**
+     * Callback invoked on the calling thread when an item finishes.
+     *
+     * @param <T> item type
+     * @param <R> result type
+     */
+    @FunctionalInterface
+    public interface Listener<T, R> {
+        /**
+         * Called once per finished item, in completion order.
+         *
+         * @param item   the item that finished
+         * @param result its result
+         */
+        void onComplete(T item, R result);
+    }
+
+    /** Result of a task tagged with the index of its item. */
+    private record Completed<R>(int index, R result) {}
+}
@@ -0,0 +1,91 @@
+package pm.executor;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Finds the processes that hold a command's output pipe open, through {@code /proc} (Linux only).
+ *
+ * <p>A process that a command detached from its own tree (a double fork,
+ * {@code setsid}) is not among the command's descendants anymore, but it
+ * still writes to the command's stdout. As long as it runs, a read on that
+ * pipe never reaches end-of-file, and closing the stream from another thread
+ * does not wake a blocked read either. The only way to release the output
+ * pump is to end those processes.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+final class PipeHolders {
+
+    private static final Path PROC = Path.of("/proc");
+
+    private PipeHolders() {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Identifies a process's stdout pipe.
+     *
+     * @param pid process id, read right after start
+     * @return the pipe's identity (e.g. {@code pipe:[123456]}), or null if stdout is not a pipe or there is no /proc
+     */
+    static String stdoutPipe(long pid) {
+        try {
+            String target = Files.readSymbolicLink(PROC.resolve(Long.toString(pid)).resolve("fd").resolve("1")).toString();
+            return target.startsWith("pipe:") ? target : null;
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lists the processes, other than pm itself, that have the pipe open.
+     *
+     * @param pipe pipe identity from {@link #stdoutPipe(long)}
+     * @return live processes holding it (only the user's own processes are visible)
+     */
+    static List<ProcessHandle> of(String pipe) {
+        long self = ProcessHandle.current().pid();
+        List<ProcessHandle> holders = new ArrayList<>();
+        try (DirectoryStream<Path> processes = Files.newDirectoryStream(PROC, "[0-9]*")) {
+            for (Path process : processes) {
+                long pid = Long.parseLong(process.getFileName().toString());
+                if (pid != self && holdsPipe(process, pipe)) {
+                    ProcessHandle.of(pid).ifPresent(holders::add);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // No /proc or a listing race: report what was found
+        }
+        return holders;
+    }
+
+    private static boolean holdsPipe(Path process, String pipe) {
+        try (DirectoryStream<Path> descriptors = Files.newDirectoryStream(process.resolve("fd"))) {
+            for (Path descriptor : descriptors) {
+                Optional<String> target = readLink(descriptor);
+                if (target.isPresent() && target.get().equals(pipe)) {
+                    return true;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Another user's process, or it exited while being read
+        }
+        return false;
+    }
+
+    private static Optional<String> readLink(Path descriptor) {
+        try {
+            return Optional.of(Files.readSymbolicLink(descriptor).toString());
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package pm.executor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link ResourceUsage} of a process tree through {@code /proc} (Linux only).
+ *
+ * <p>The entries of a process vanish as soon as it has been collected, so the
+ * tree is sampled while it runs: first after {@link #FIRST_INTERVAL_MS}, then
+ * at doubling intervals up to {@link #MAX_INTERVAL_MS}. Short commands are
+ * still seen, and a long build costs one sample per second. Each sample walks
+ * the tree with {@link ProcessHandle#descendants()} and reads
+ * {@code stat} (CPU ticks, parent), {@code status} (resident memory) and
+ * {@code io} (storage bytes) of every process in it.
+ *
+ * <p>When a process collects an exited child, the kernel adds the child's
+ * CPU time ({@code cutime}/{@code cstime}) and I/O to the parent's. The
+ * total for a process is therefore its own usage plus the larger of what it
+ * has collected and what its sampled children add up to, which counts
+ * children that ran between two samples without counting anyone twice.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+final class ResourceSampler {
+
+    static final long FIRST_INTERVAL_MS = 20;
+    static final long MAX_INTERVAL_MS = 1000;
+
+    /** Clock ticks per second of the CPU times in {@code /proc/<pid>/stat} (USER_HZ, 100 on Linux). */
+    private static final long TICKS_PER_SECOND = 100;
+
+    private static final Path PROC = Path.of("/proc");
+    private static final boolean SUPPORTED = Files.isReadable(PROC.resolve("self").resolve("stat"));
+
+    private final Process process;
+    private final ScheduledExecutorService timer;
+    /** Last sample of every process seen, by pid; kept after the process is gone. */
+    private final Map<Long, Sample> samples = new HashMap<>();
+    private long peakTreeRssKb;
+    private long interval = FIRST_INTERVAL_MS;
+    private ScheduledFuture<?> next;
+    private boolean stopped;
+
+    private ResourceSampler(Process process, ScheduledExecutorService timer) {
+        this.process = process;
+        this.timer = timer;
+    }
+
+    /**
+     * Starts sampling a process tree.
+     *
+     * @param process the root of the tree
+     * @param timer   timer that runs the samples
+     * @return the sampler, or null where {@code /proc} is not available
+     */
+    static ResourceSampler start(Process process, ScheduledExecutorService timer) {
+        if (!SUPPORTED) {
+            return null;
+        }
+        ResourceSampler sampler = new ResourceSampler(process, timer);
+        sampler.scheduleNext();
+        return sampler;
+    }
+
+    /**
+     * Takes a sample and schedules the next one.
+     */
+    private synchronized void sample() {
+        if (stopped) {
+            return;
+        }
+        sampleTree();
+        scheduleNext();
+    }
+
+    private synchronized void scheduleNext() {
+        next = timer.schedule(this::sample, interval, TimeUnit.MILLISECONDS);
+        interval = Math.min(interval * 2, MAX_INTERVAL_MS);
+    }
+
+    /**
+     * Stops sampling, after a last sample of whatever is still running.
+     */
+    synchronized void stop() {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+        if (next != null) {
+            next.cancel(false);
+        }
+        sampleTree();
+    }
+
+    private void sampleTree() {
+        List<Long> pids = new ArrayList<>();
+        pids.add(process.pid());
+        process.descendants().forEach(handle -> pids.add(handle.pid()));
+
+        long treeRssKb = 0;
+        for (long pid : pids) {
+            Sample sample = read(pid);
+            if (sample != null) {
+                samples.put(pid, sample);
+                treeRssKb += sample.rssKb();
+            }
+        }
+        peakTreeRssKb = Math.max(peakTreeRssKb, treeRssKb);
+    }
+
+    /**
+     * Sums up the samples taken so far.
+     *
+     * @return usage of the tree
+     */
+    synchronized ResourceUsage usage() {
+        Map<Long, List<Sample>> children = new HashMap<>();
+        for (Sample sample : samples.values()) {
+            children.computeIfAbsent(sample.ppid(), k -> new ArrayList<>()).add(sample);
+        }
+
+        // Processes re-parented away from the tree are roots of their own
+        long[] total = new long[4];
+        long peakProcessKb = 0;
+        for (Sample sample : samples.values()) {
+            peakProcessKb = Math.max(peakProcessKb, sample.hwmKb());
+            if (!samples.containsKey(sample.ppid())) {
+                long[] subtree = total(sample, children);
+                for (int i = 0; i < total.length; i++) {
+                    total[i] += subtree[i];
+                }
+            }
+        }
+
+        return new ResourceUsage(
+                total[0] * 1000 / TICKS_PER_SECOND,
+                total[1] * 1000 / TICKS_PER_SECOND,
+                Math.max(peakTreeRssKb, peakProcessKb) * 1024,
+                total[2],
+                total[3]);
+    }
+
+    /**
+     * Gets user ticks, system ticks, read bytes and written bytes of a process and its descendants.
+     */
+    private static long[] total(Sample sample, Map<Long, List<Sample>> children) {
+        long[] sampled = new long[4];
+        for (Sample child : children.getOrDefault(sample.pid(), List.of())) {
+            long[] subtree = total(child, children);
+            for (int i = 0; i < sampled.length; i++) {
+                sampled[i] += subtree[i];
+            }
+        }
+        // The io counters already include collected children; the CPU ticks keep them apart
+        return new long[] {
+                sample.userTicks() + Math.max(sample.childUserTicks(), sampled[0]),
+                sample.systemTicks() + Math.max(sample.childSystemTicks(), sampled[1]),
+                Math.max(sample.readBytes(), sampled[2]),
+                Math.max(sample.writeBytes(), sampled[3])
+        };
+    }
+
+    /**
+     * Reads one process, or returns null if it is gone or not readable.
+     */
+    private static Sample read(long pid) {
+        Path dir = PROC.resolve(Long.toString(pid));
+        String stat;
+        try {
+            stat = Files.readString(dir.resolve("stat"));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+        Map<String, Long> status = readKeyValues(dir.resolve("status"));
+        Map<String, Long> io = readKeyValues(dir.resolve("io"));
+        try {
+            // The command name is in parentheses and may itself contain spaces or parentheses
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).trim().split(" ");
+            return new Sample(
+                    pid,
+                    Long.parseLong(fields[1]),
+                    Long.parseLong(fields[11]),
+                    Long.parseLong(fields[12]),
+                    Long.parseLong(fields[13]),
+                    Long.parseLong(fields[14]),
+                    status.getOrDefault("VmRSS", 0L),
+                    status.getOrDefault("VmHWM", 0L),
+                    io.getOrDefault("read_bytes", 0L),
+                    io.getOrDefault("write_bytes", 0L));
+        } catch (RuntimeException e) {
+            // Unexpected format
+            return null;
+        }
+    }
+
+    /**
+     * Reads the numeric {@code Key: value [unit]} lines of a /proc file.
+     * A file that cannot be read (e.g. {@code io} of another user's process) yields an empty map.
+     */
+    private static Map<String, Long> readKeyValues(Path file) {
+        Map<String, Long> values = new HashMap<>();
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file);
+        } catch (IOException | RuntimeException e) {
+            return values;
+        }
+        for (String line : lines) {
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String value = line.substring(colon + 1).trim();
+            int space = value.indexOf(' ');
+            try {
+                values.put(line.substring(0, colon), Long.parseLong(space < 0 ? value : value.substring(0, space)));
+            } catch (NumberFormatException e) {
+                // Not a number (e.g. the State line)
+            }
+        }
+        return values;
+    }
+
+    /**
+     * One reading of a process; CPU times in clock ticks, memory in KiB.
+     */
+    private record Sample(
+            long pid,
+            long ppid,
+            long userTicks,
+            long systemTicks,
+            long childUserTicks,
+            long childSystemTicks,
+            long rssKb,
+            long hwmKb,
+            long readBytes,
+            long writeBytes
+    ) {
+    }
+}
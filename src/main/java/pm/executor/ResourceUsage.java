@@ -0,0 +1,53 @@
+package pm.executor;
+
+import java.util.Locale;
+
+/**
+ * Resources used by a command and its descendants.
+ *
+ * <p>Measured from {@code /proc} while the command runs (Linux only, see
+ * {@link ResourceSampler}). Processes are sampled periodically, so the
+ * figures are lower bounds: work done by a process between its last sample
+ * and its exit is only counted once its parent has collected it.
+ *
+ * @param cpuUserMs    CPU time spent in user mode, in milliseconds
+ * @param cpuSystemMs  CPU time spent in the kernel, in milliseconds
+ * @param peakRssBytes highest resident memory of the process tree at any one time, in bytes
+ * @param readBytes    bytes read from storage
+ * @param writeBytes   bytes written to storage
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public record ResourceUsage(
+        long cpuUserMs,
+        long cpuSystemMs,
+        long peakRssBytes,
+        long readBytes,
+        long writeBytes
+) {
+
+    /**
+     * Gets the total CPU time.
+     *
+     * @return user plus system time, in milliseconds
+     */
+    public long cpuMs() {
+        return cpuUserMs + cpuSystemMs;
+    }
+
+    /**
+     * Formats a CPU time in a readable way.
+     *
+     * @param ms CPU time in milliseconds
+     * @return string with format "X.Ys" or "Xm Ys"
+     */
+    public static String formatCpu(long ms) {
+        if (ms < 60_000) {
+            return String.format(Locale.ROOT, "%.1fs", ms / 1000.0);
+        }
+        long seconds = ms / 1000;
+        return (seconds / 60) + "m " + (seconds % 60) + "s";
+    }
+}
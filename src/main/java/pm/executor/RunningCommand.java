@@ -0,0 +1,297 @@
+package pm.executor;
+
+import pm.executor.CommandExecutor.ExecutionResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A command started by {@link CommandExecutor#start}, still running or finished.
+ *
+ * <p>The result future completes once the process has exited and its output
+ * has been delivered to every sink. Nothing blocks while the command runs:
+ * the exit is observed through {@link Process#onExit()}, timeouts are
+ * scheduled on one shared timer thread, and output is pumped by
+ * {@link OutputPump}.
+ *
+ * <p>Stopping a command (timeout, {@link #cancel()}, {@link #kill()})
+ * stops its whole process tree, not only the shell that pm started: the
+ * tool it runs ({@code gradle}, {@code npm}, {@code cargo}) and anything
+ * that tool spawned are signalled too. A graceful stop sends SIGTERM to the
+ * tree and SIGKILL to whatever is still alive after a grace period. If the
+ * output pump is still blocked afterwards, a detached grandchild that left
+ * the tree holds the output pipe open; on Linux those processes are found
+ * through {@code /proc} ({@link PipeHolders}) and killed as well, so the pump
+ * thread is released. All of them are counted in
+ * {@link ExecutionResult#reapedProcesses()}.
+ *
+ * <p>On Linux the tree is also sampled through {@code /proc} while it runs
+ * ({@link ResourceSampler}), and the result carries its CPU time, peak
+ * resident memory and storage I/O ({@link ExecutionResult#usage()}).
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * RunningCommand build = executor.start("gradle build", dir, 300, env, List.of(OutputSink.console()));
+ * build.result().thenAccept(result -> System.out.println(result.message()));
+ * ...
+ * build.cancel();   // graceful stop; kill() if it does not exit
+ * }</pre>
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class RunningCommand {
+
+    /** How long to wait for remaining output after the process has exited. */
+    static final long OUTPUT_GRACE_MS = 1000;
+
+    private final Process process;
+    private final long startTime;
+    private final long terminateGraceMs;
+    private final CompletableFuture<ExecutionResult> result;
+    private final AtomicReference<String> stopReason = new AtomicReference<>();
+    /** Measures the tree's CPU, memory and I/O; null where /proc is not available. */
+    private final ResourceSampler sampler;
+    /** Descendants seen while stopping, by pid; kept because they outlive the shell. */
+    private final Map<Long, ProcessHandle> descendants = new ConcurrentHashMap<>();
+
+    /**
+     * Shared timer for timeouts; cancelled timeouts are removed right away.
+     */
+    private static final class Timer {
+        static final ScheduledThreadPoolExecutor INSTANCE = create();
+
+        private static ScheduledThreadPoolExecutor create() {
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("pm-timeout"));
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
+        }
+    }
+
+    private RunningCommand(Process process, long startTime, long terminateGraceMs) {
+        this.process = process;
+        this.startTime = startTime;
+        this.terminateGraceMs = terminateGraceMs;
+        this.result = new CompletableFuture<>();
+        this.sampler = ResourceSampler.start(process, Timer.INSTANCE);
+    }
+
+    /**
+     * Wraps a started process, pumping its output and arming its timeout.
+     *
+     * @param process        the process
+     * @param startTime      when it was started, in epoch milliseconds
+     * @param sinks          where its output goes, or null if the output is not piped to pm
+     * @param timeoutSeconds seconds after which it is stopped (0 = no timeout)
+     * @param terminateGraceMs how long a graceful stop waits before killing what is left
+     * @return the running command
+     */
+    static RunningCommand watch(Process process, long startTime, List<OutputSink> sinks, long timeoutSeconds,
+                                long terminateGraceMs) {
+        RunningCommand command = new RunningCommand(process, startTime, terminateGraceMs);
+        String outputPipe = sinks == null ? null : PipeHolders.stdoutPipe(process.pid());
+        CompletableFuture<Void> output = sinks == null
+                ? CompletableFuture.completedFuture(null)
+                : OutputPump.start(process.getInputStream(), sinks, command::wasStopped);
+
+        ScheduledFuture<?> timeout = timeoutSeconds > 0
+                ? Timer.INSTANCE.schedule(
+                        () -> command.stop("Process timed out after " + timeoutSeconds + " seconds", false),
+                        timeoutSeconds, TimeUnit.SECONDS)
+                : null;
+
+        process.onExit()
+                .thenCompose(exited -> {
+                    if (command.sampler != null) {
+                        command.sampler.stop();
+                    }
+                    return drained(output);
+                })
+                .thenCompose(done -> done || outputPipe == null || !command.wasStopped()
+                        ? CompletableFuture.completedFuture(done)
+                        : command.releaseOutput(outputPipe, output))
+                .whenComplete((ignored, error) -> {
+                    if (timeout != null) {
+                        timeout.cancel(false);
+                    }
+                    command.result.complete(command.toResult());
+                });
+        return command;
+    }
+
+    /**
+     * Waits up to {@link #OUTPUT_GRACE_MS} for the output pump.
+     *
+     * @return a future of whether the pump finished in time
+     */
+    private static CompletableFuture<Boolean> drained(CompletableFuture<Void> output) {
+        return output.handle((ignored, error) -> true)
+                .completeOnTimeout(false, OUTPUT_GRACE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Kills the detached processes that keep a stopped command's output pipe
+     * open, so its pump reaches end-of-file and its thread is released.
+     */
+    private CompletableFuture<Boolean> releaseOutput(String pipe, CompletableFuture<Void> output) {
+        for (ProcessHandle holder : PipeHolders.of(pipe)) {
+            descendants.putIfAbsent(holder.pid(), holder);
+            holder.destroyForcibly();
+        }
+        return drained(output);
+    }
+
+    /**
+     * Gets the result, completed when the command has finished.
+     *
+     * @return future of the execution result
+     */
+    public CompletableFuture<ExecutionResult> result() {
+        return result;
+    }
+
+    /**
+     * Waits for the command to finish.
+     *
+     * <p>If the calling thread is interrupted (e.g., a cancelled parallel
+     * build), the process is killed before the {@link InterruptedException}
+     * is rethrown, so cancelled work does not leave processes running.
+     *
+     * @return the execution result
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public ExecutionResult await() throws InterruptedException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            kill();
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Command failed unexpectedly: " + e.getCause(), e.getCause());
+        }
+    }
+
+    /**
+     * Asks the process tree to stop (SIGTERM on Unix), letting it clean up;
+     * whatever is still running after the grace period is killed.
+     *
+     * @return true if the process was still running
+     */
+    public boolean cancel() {
+        return stop("Process was cancelled", false);
+    }
+
+    /**
+     * Stops the process tree immediately (SIGKILL on Unix).
+     *
+     * @return true if the process was still running
+     */
+    public boolean kill() {
+        return stop("Process was killed", true);
+    }
+
+    /**
+     * Checks whether the process is still running.
+     *
+     * @return true until the process has exited
+     */
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    /**
+     * Gets the operating system process id.
+     *
+     * @return the process id
+     */
+    public long pid() {
+        return process.pid();
+    }
+
+    /**
+     * Checks whether the command was stopped by a timeout, cancel or kill.
+     *
+     * @return true if it did not end on its own
+     */
+    boolean wasStopped() {
+        return stopReason.get() != null;
+    }
+
+    /**
+     * Stops the process tree; the first reason given becomes the result message.
+     */
+    private boolean stop(String reason, boolean force) {
+        if (!process.isAlive()) {
+            return false;
+        }
+        stopReason.compareAndSet(null, reason);
+        if (force || terminateGraceMs <= 0) {
+            signalTree(true);
+        } else {
+            signalTree(false);
+            Timer.INSTANCE.schedule(() -> signalTree(true), terminateGraceMs, TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    /**
+     * Signals every live process of the tree, descendants before the shell.
+     *
+     * <p>Descendants are looked up on every call and remembered: once the
+     * shell is gone its children are re-parented and can no longer be found
+     * through it, but the forced pass must still reach them.
+     */
+    private void signalTree(boolean force) {
+        process.descendants().forEach(handle -> descendants.putIfAbsent(handle.pid(), handle));
+        for (ProcessHandle known : List.copyOf(descendants.values())) {
+            if (known.isAlive()) {
+                known.descendants().forEach(handle -> descendants.putIfAbsent(handle.pid(), handle));
+            }
+        }
+
+        for (ProcessHandle handle : descendants.values()) {
+            if (handle.isAlive()) {
+                if (force) {
+                    handle.destroyForcibly();
+                } else {
+                    handle.destroy();
+                }
+            }
+        }
+        if (force) {
+            process.destroyForcibly();
+        } else {
+            process.destroy();
+        }
+    }
+
+    private ExecutionResult toResult() {
+        long duration = System.currentTimeMillis() - startTime;
+        ResourceUsage usage = sampler == null ? null : sampler.usage();
+        String reason = stopReason.get();
+        if (reason != null) {
+            int reaped = descendants.size();
+            if (reaped > 0) {
+                reason += " (" + reaped + " child process" + (reaped == 1 ? "" : "es") + " terminated)";
+            }
+            return new ExecutionResult(false, -1, duration, reason, reaped, usage);
+        }
+        int exitCode = process.exitValue();
+        return new ExecutionResult(
+                exitCode == 0,
+                exitCode,
+                duration,
+                exitCode == 0 ? "Command completed successfully" : "Command failed",
+                0,
+                usage
+        );
+    }
+}
@@ -130,40 +130,44 @@ public final class ProjectExporter {
         }
 
         JsonObject projectsJson = root.getAsJsonObject("projects");
-        Map<String, Project> existingProjects = store.load();
 
-        int imported = 0;
         List<String> skipped = new ArrayList<>();
         List<String> warnings = new ArrayList<>();
 
-        for (Map.Entry<String, JsonElement> entry : projectsJson.entrySet()) {
-            String key = entry.getKey();
+        // All imported projects are committed in a single registry write
+        int imported = store.update(existingProjects -> {
+            int count = 0;
 
-            if (existingProjects.containsKey(key)) {
-                skipped.add(key);
-                continue;
-            }
-
-            try {
-                JsonObject projJson = entry.getValue().getAsJsonObject();
-                Project project = jsonToProject(key, projJson, warnings);
+            for (Map.Entry<String, JsonElement> entry : projectsJson.entrySet()) {
+                String key = entry.getKey();
 
-                if (project == null) {
+                if (existingProjects.containsKey(key)) {
+                    skipped.add(key);
                     continue;
                 }
 
-                if (!Files.exists(project.path())) {
-                    warnings.add("'" + key + "' path does not exist: " + project.path());
-                }
+                try {
+                    JsonObject projJson = entry.getValue().getAsJsonObject();
+                    Project project = jsonToProject(key, projJson, warnings);
+
+                    if (project == null) {
+                        continue;
+                    }
 
-                store.saveProject(project);
-                existingProjects.put(key, project);
-                imported++;
+                    if (!Files.exists(project.path())) {
+                        warnings.add("'" + key + "' path does not exist: " + project.path());
+                    }
+
+                    existingProjects.put(key, project);
+                    count++;
 
-            } catch (Exception e) {
-                warnings.add("Skipped '" + key + "': " + e.getMessage());
+                } catch (Exception e) {
+                    warnings.add("Skipped '" + key + "': " + e.getMessage());
+                }
             }
-        }
+
+            return count;
+        });
 
         return new ImportResult(imported, skipped, warnings);
     }
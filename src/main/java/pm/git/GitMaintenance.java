@@ -0,0 +1,262 @@
+package pm.git;
+
+import pm.util.GitIntegration;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reports and improves the health of a repository for faster {@code git status}.
+ *
+ * <p>{@link #run} reads {@link RepoHealth} and times {@code git status}, then,
+ * if any {@link Task}s were requested, runs them one git call at a time and
+ * measures again, so the effect of each maintenance pass is visible.
+ *
+ * <p>Tasks run in a fixed order regardless of how they were requested: loose
+ * objects are packed before packs are consolidated, and the commit-graph is
+ * written last so it covers everything.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class GitMaintenance {
+
+    /** Timed {@code git status} runs per measurement; the median is reported. */
+    static final int STATUS_SAMPLES = 3;
+
+    /**
+     * Maintenance task, in execution order.
+     */
+    public enum Task {
+        /** Pack loose objects and delete the ones already packed. */
+        LOOSE_OBJECTS("loose-objects"),
+        /** Consolidate small packs behind a multi-pack-index. */
+        INCREMENTAL_REPACK("incremental-repack"),
+        /** Turn on {@code core.untrackedCache} and build the cache. Changes repository config. */
+        UNTRACKED_CACHE("untracked-cache"),
+        /** Turn on {@code feature.manyFiles} (index v4, untracked cache). Changes repository config. */
+        MANY_FILES("many-files"),
+        /** Write a commit-graph with changed-path filters. */
+        COMMIT_GRAPH("commit-graph");
+
+        /** Tasks run by {@code --run}: object storage only, no config changes. */
+        public static final Set<Task> DEFAULTS = EnumSet.of(LOOSE_OBJECTS, INCREMENTAL_REPACK, COMMIT_GRAPH);
+
+        private final String id;
+
+        Task(String id) {
+            this.id = id;
+        }
+
+        /**
+         * Gets the name used on the command line.
+         *
+         * @return e.g. "commit-graph"
+         */
+        public String id() {
+            return id;
+        }
+
+        /**
+         * Finds a task by its command-line name.
+         *
+         * @param id task name, case-insensitive
+         * @return the task, or null if unknown
+         */
+        public static Task fromId(String id) {
+            for (Task task : values()) {
+                if (task.id.equalsIgnoreCase(id.trim())) {
+                    return task;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Lists all task names, for help and error messages.
+         *
+         * @return comma-separated names
+         */
+        public static String ids() {
+            return String.join(", ", Arrays.stream(values()).map(Task::id).toList());
+        }
+    }
+
+    private GitMaintenance() {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Reports a repository's health and runs the requested tasks. Never
+     * throws: problems are reported through {@link MaintenanceResult#state()}.
+     *
+     * @param name      project name
+     * @param path      project path
+     * @param tasks     tasks to run; empty to only report
+     * @param timeoutMs maximum time for each git call, or 0 for no limit
+     * @return the outcome
+     */
+    public static MaintenanceResult run(String name, Path path, Set<Task> tasks, long timeoutMs) {
+        if (!Files.isDirectory(path)) {
+            return MaintenanceResult.skipped(name, path, "path not found");
+        }
+        if (!GitIntegration.isGitRepository(path)) {
+            return MaintenanceResult.skipped(name, path, "not a git repository");
+        }
+
+        // Kept when a git call times out, so the result shows how far the run got
+        RepoHealth before = null;
+        long statusBefore = -1;
+        List<TaskOutcome> outcomes = new ArrayList<>();
+        try {
+            before = RepoHealth.collect(path, timeoutMs);
+            if (before == null) {
+                return MaintenanceResult.failed(name, path, null, -1, List.of(), "git count-objects failed");
+            }
+            statusBefore = timeStatus(path, timeoutMs);
+            if (tasks.isEmpty()) {
+                return new MaintenanceResult(name, path, MaintenanceResult.State.OK,
+                        before, null, statusBefore, -1, List.of(), null);
+            }
+
+            for (Task task : EnumSet.copyOf(tasks)) {
+                long start = System.nanoTime();
+                try {
+                    outcomes.add(runTask(task, path, timeoutMs));
+                } catch (TimeoutException e) {
+                    outcomes.add(new TaskOutcome(task, false, elapsedMs(start), "timed out"));
+                    throw e;
+                }
+            }
+
+            // Timing runs with optional locks off and never writes the index, so one
+            // plain status fills the caches the tasks enabled (e.g. the untracked cache)
+            GitIntegration.run(path, timeoutMs, "status", "--porcelain");
+
+            RepoHealth after = RepoHealth.collect(path, timeoutMs);
+            long statusAfter = timeStatus(path, timeoutMs);
+            boolean allOk = outcomes.stream().allMatch(TaskOutcome::success);
+            return new MaintenanceResult(name, path,
+                    allOk ? MaintenanceResult.State.OK : MaintenanceResult.State.FAILED,
+                    before, after, statusBefore, statusAfter, outcomes, null);
+
+        } catch (TimeoutException e) {
+            return new MaintenanceResult(name, path, MaintenanceResult.State.TIMED_OUT,
+                    before, null, statusBefore, -1, List.copyOf(outcomes), null);
+        }
+    }
+
+    /**
+     * Runs one task as one or more git calls, stopping at the first failure.
+     */
+    static TaskOutcome runTask(Task task, Path path, long timeoutMs) throws TimeoutException {
+        long start = System.nanoTime();
+        for (String[] command : commands(task, path, timeoutMs)) {
+            GitIntegration.GitResult result = GitIntegration.run(path, timeoutMs, command);
+            if (result == null || !result.success()) {
+                String message = result != null
+                        ? RemoteSync.errorMessage(result.output())
+                        : "git could not be started";
+                return new TaskOutcome(task, false, elapsedMs(start), message);
+            }
+        }
+        return new TaskOutcome(task, true, elapsedMs(start), null);
+    }
+
+    /**
+     * Git calls for a task. Incremental repack is skipped (no calls) when
+     * there are no packs yet, since git fails to index an empty pack directory.
+     */
+    static List<String[]> commands(Task task, Path path, long timeoutMs) throws TimeoutException {
+        return switch (task) {
+            case LOOSE_OBJECTS -> List.of(
+                    new String[]{"maintenance", "run", "--task=loose-objects"},
+                    new String[]{"prune-packed", "--quiet"});
+            case INCREMENTAL_REPACK -> hasPacks(path, timeoutMs)
+                    ? List.<String[]>of(new String[]{"maintenance", "run", "--task=incremental-repack"})
+                    : List.of();
+            case UNTRACKED_CACHE -> List.of(
+                    new String[]{"config", "core.untrackedCache", "true"},
+                    new String[]{"update-index", "--untracked-cache"});
+            case MANY_FILES -> List.of(
+                    new String[]{"config", "feature.manyFiles", "true"},
+                    new String[]{"update-index", "--index-version", "4"});
+            case COMMIT_GRAPH -> List.<String[]>of(
+                    new String[]{"commit-graph", "write", "--reachable", "--changed-paths"});
+        };
+    }
+
+    private static boolean hasPacks(Path path, long timeoutMs) throws TimeoutException {
+        GitIntegration.GitResult result = GitIntegration.run(path, timeoutMs, "count-objects", "-v");
+        return result != null && RepoHealth.parseCountObjects(result.output()).getOrDefault("packs", 0L) > 0;
+    }
+
+    /**
+     * Times {@code git status} the way {@code pm status} runs it: one warm-up
+     * run, then the median of {@link #STATUS_SAMPLES} runs. Like
+     * {@code pm status}, these runs do not take optional locks, so they never
+     * write the index or the caches stored in it.
+     *
+     * @param path      repository path
+     * @param timeoutMs maximum time per run, or 0 for no limit
+     * @return median duration in milliseconds, or -1 if git status failed
+     * @throws TimeoutException if a run exceeded the timeout
+     */
+    static long timeStatus(Path path, long timeoutMs) throws TimeoutException {
+        if (GitIntegration.snapshot(path, timeoutMs) == null) {
+            return -1;
+        }
+        long[] samples = new long[STATUS_SAMPLES];
+        for (int i = 0; i < STATUS_SAMPLES; i++) {
+            long start = System.nanoTime();
+            GitIntegration.snapshot(path, timeoutMs);
+            samples[i] = elapsedMs(start);
+        }
+        Arrays.sort(samples);
+        return samples[STATUS_SAMPLES / 2];
+    }
+
+    /**
+     * Parses a comma-separated task list.
+     *
+     * @param value e.g. "commit-graph,untracked-cache"
+     * @return the tasks
+     * @throws IllegalArgumentException naming the first unknown task
+     */
+    public static Set<Task> parseTasks(String value) {
+        Set<Task> tasks = EnumSet.noneOf(Task.class);
+        for (String id : value.split(",")) {
+            if (id.isBlank()) {
+                continue;
+            }
+            Task task = Task.fromId(id);
+            if (task == null) {
+                throw new IllegalArgumentException("Unknown maintenance task: " + id.trim().toLowerCase(Locale.ROOT));
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Outcome of one maintenance task.
+     *
+     * @param task       the task
+     * @param success    whether all of its git calls succeeded
+     * @param durationMs time spent
+     * @param message    git's error message, or null on success
+     */
+    public record TaskOutcome(Task task, boolean success, long durationMs, String message) {}
+}
@@ -0,0 +1,61 @@
+package pm.git;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Outcome of {@link GitMaintenance#run} for one project.
+ *
+ * @param name           project name
+ * @param path           project path
+ * @param state          what happened
+ * @param before         health before any task ran; null if it could not be read
+ * @param after          health after the tasks; null when only reporting
+ * @param statusBeforeMs median {@code git status} time before the tasks, or -1
+ * @param statusAfterMs  median {@code git status} time after the tasks, or -1
+ * @param tasks          tasks that ran, in execution order
+ * @param message        skip reason or error; null otherwise
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public record MaintenanceResult(String name, Path path, State state, RepoHealth before, RepoHealth after,
+                                long statusBeforeMs, long statusAfterMs,
+                                List<GitMaintenance.TaskOutcome> tasks, String message) {
+
+    /**
+     * Outcome of maintaining a project.
+     */
+    public enum State {
+        /** Health was read and every requested task succeeded. */
+        OK,
+        /** Health could not be read or a task failed. */
+        FAILED,
+        /** A git call did not finish within the timeout; what was measured and run until then is kept. */
+        TIMED_OUT,
+        /** Missing path or not a repository. */
+        SKIPPED
+    }
+
+    /**
+     * Relative change in {@code git status} time.
+     *
+     * @return e.g. -0.4 for 40% faster, or NaN if either time is missing
+     */
+    public double statusChange() {
+        if (statusBeforeMs <= 0 || statusAfterMs < 0) {
+            return Double.NaN;
+        }
+        return (statusAfterMs - statusBeforeMs) / (double) statusBeforeMs;
+    }
+
+    static MaintenanceResult skipped(String name, Path path, String reason) {
+        return new MaintenanceResult(name, path, State.SKIPPED, null, null, -1, -1, List.of(), reason);
+    }
+
+    static MaintenanceResult failed(String name, Path path, RepoHealth before, long statusBeforeMs,
+                                    List<GitMaintenance.TaskOutcome> tasks, String message) {
+        return new MaintenanceResult(name, path, State.FAILED, before, null, statusBeforeMs, -1, tasks, message);
+    }
+}
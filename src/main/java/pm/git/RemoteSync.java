@@ -0,0 +1,339 @@
+package pm.git;
+
+import pm.util.GitIntegration;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Fetches or fast-forward pulls projects from their remotes, limiting how
+ * many run against the same host at once.
+ *
+ * <p>One instance is shared by all workers of a {@code pm fetch --all} or
+ * {@code pm pull --all} run: {@link #sync(String, Path)} is thread-safe and
+ * blocks while the project's host already has {@code perHost} operations in
+ * flight. Callers should order projects with {@link #interleaveByHost} so
+ * workers rarely wait on a busy host while other hosts are idle.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * RemoteSync sync = new RemoteSync(RemoteSync.Mode.FETCH, 4, 120_000);
+ * SyncResult result = sync.sync("api", Path.of("/projects/api"));
+ * }</pre>
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class RemoteSync {
+
+    /** Host key for remotes that are paths or {@code file://} URLs. */
+    public static final String LOCAL_HOST = "local";
+
+    /**
+     * Operation to run in each repository.
+     */
+    public enum Mode {
+        /** {@code git fetch <remote>}: update remote-tracking refs only. */
+        FETCH("fetch"),
+        /** {@code git pull --ff-only}: fetch and fast-forward the current branch. */
+        PULL("pull");
+
+        private final String command;
+
+        Mode(String command) {
+            this.command = command;
+        }
+
+        /**
+         * Gets the pm command name, also used as the stats key.
+         *
+         * @return "fetch" or "pull"
+         */
+        public String command() {
+            return command;
+        }
+    }
+
+    private final Mode mode;
+    private final int perHost;
+    private final long timeoutMs;
+    private final Map<String, Semaphore> hostSlots = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a sync run.
+     *
+     * @param mode      fetch or pull
+     * @param perHost   maximum operations against the same host at the same time (at least 1)
+     * @param timeoutMs maximum time for each git call, or 0 for no limit
+     * @throws IllegalArgumentException if perHost is less than 1
+     */
+    public RemoteSync(Mode mode, int perHost, long timeoutMs) {
+        if (perHost < 1) {
+            throw new IllegalArgumentException("Operations per host must be at least 1");
+        }
+        this.mode = mode;
+        this.perHost = perHost;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Fetches or pulls one project. Never throws: problems are reported
+     * through {@link SyncResult#state()}.
+     *
+     * @param name project name
+     * @param path project path
+     * @return the outcome
+     * @throws InterruptedException if interrupted while waiting for a host slot
+     */
+    public SyncResult sync(String name, Path path) throws InterruptedException {
+        if (!Files.isDirectory(path)) {
+            return SyncResult.skipped(name, path, null, null, "path not found");
+        }
+        if (!GitIntegration.isGitRepository(path)) {
+            return SyncResult.skipped(name, path, null, null, "not a git repository");
+        }
+        String remote = GitIntegration.getDefaultRemote(path);
+        if (remote == null) {
+            return SyncResult.skipped(name, path, null, null, "no remote");
+        }
+
+        String[] args;
+        if (mode == Mode.PULL) {
+            String branch = GitIntegration.getCurrentBranch(path);
+            if (branch == null || branch.equals("HEAD")) {
+                return SyncResult.skipped(name, path, remote, hostOf(path, remote), "detached HEAD");
+            }
+            // git pull talks to the branch's upstream remote, not necessarily the default one
+            String upstreamRemote = GitIntegration.getUpstreamRemote(path);
+            if (upstreamRemote == null) {
+                return SyncResult.skipped(name, path, remote, hostOf(path, remote), "no upstream for " + branch);
+            }
+            remote = upstreamRemote;
+            args = new String[]{"pull", "--ff-only"};
+        } else {
+            args = new String[]{"fetch", remote};
+        }
+        String host = hostOf(path, remote);
+
+        Semaphore slots = hostSlots.computeIfAbsent(host, h -> new Semaphore(perHost));
+        slots.acquire();
+        try {
+            return run(name, path, remote, host, args);
+        } finally {
+            slots.release();
+        }
+    }
+
+    private SyncResult run(String name, Path path, String remote, String host, String[] args) {
+        long sizeBefore = GitIntegration.getObjectStoreSize(path);
+        String headBefore = GitIntegration.getHeadCommit(path);
+        long start = System.nanoTime();
+
+        GitIntegration.GitResult result;
+        try {
+            result = GitIntegration.run(path, timeoutMs, args);
+        } catch (TimeoutException e) {
+            return new SyncResult(name, path, SyncResult.State.TIMED_OUT, remote, host,
+                    elapsedMs(start), 0, 0, null);
+        }
+        long durationMs = elapsedMs(start);
+
+        if (result == null) {
+            return new SyncResult(name, path, SyncResult.State.FAILED, remote, host,
+                    durationMs, 0, 0, "git could not be started");
+        }
+
+        // Auto gc after a fetch may shrink the store: never report negative growth
+        long bytes = Math.max(0, GitIntegration.getObjectStoreSize(path) - sizeBefore);
+        int refs = countUpdatedRefs(result.output());
+
+        if (!result.success()) {
+            return new SyncResult(name, path, SyncResult.State.FAILED, remote, host,
+                    durationMs, bytes, refs, errorMessage(result.output()));
+        }
+
+        boolean updated = refs > 0
+                || (mode == Mode.PULL && !Objects.equals(headBefore, GitIntegration.getHeadCommit(path)));
+        return new SyncResult(name, path, updated ? SyncResult.State.UPDATED : SyncResult.State.UP_TO_DATE,
+                remote, host, durationMs, bytes, refs, null);
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    // ============================================================
+    // HOSTS
+    // ============================================================
+
+    /**
+     * Gets the host this run talks to for a project: the host of the
+     * default remote for a fetch, and of the current branch's upstream
+     * remote for a pull.
+     *
+     * @param projectPath project path
+     * @return the host, or {@link #LOCAL_HOST} for local or missing remotes
+     */
+    public String projectHost(Path projectPath) {
+        String remote = mode == Mode.PULL
+                ? GitIntegration.getUpstreamRemote(projectPath)
+                : GitIntegration.getDefaultRemote(projectPath);
+        return hostOf(projectPath, remote);
+    }
+
+    /**
+     * Gets the host of a project's remote; "." (the repository itself) is local.
+     */
+    private static String hostOf(Path projectPath, String remote) {
+        return remote != null && !remote.equals(".")
+                ? hostOf(GitIntegration.getRemoteUrl(projectPath, remote))
+                : LOCAL_HOST;
+    }
+
+    /**
+     * Extracts the host of a remote URL, lower-cased.
+     *
+     * <p>Handles {@code scheme://[user@]host[:port]/path} and scp-like
+     * {@code [user@]host:path}. Local paths, {@code file://} URLs and Windows
+     * drive paths map to {@link #LOCAL_HOST}.
+     *
+     * @param url remote URL (may be null)
+     * @return the host, or {@link #LOCAL_HOST}
+     */
+    public static String hostOf(String url) {
+        if (url == null || url.isBlank()) {
+            return LOCAL_HOST;
+        }
+
+        int scheme = url.indexOf("://");
+        if (scheme >= 0) {
+            if (url.regionMatches(true, 0, "file", 0, scheme)) {
+                return LOCAL_HOST;
+            }
+            String authority = url.substring(scheme + 3);
+            int slash = authority.indexOf('/');
+            if (slash >= 0) {
+                authority = authority.substring(0, slash);
+            }
+            return normalizeHost(authority);
+        }
+
+        // scp-like syntax: a colon before the first slash
+        int colon = url.indexOf(':');
+        int slash = url.indexOf('/');
+        if (colon > 0 && (slash < 0 || colon < slash)) {
+            String authority = url.substring(0, colon);
+            // "C:" is a Windows drive, not a host
+            if (authority.length() == 1) {
+                return LOCAL_HOST;
+            }
+            return normalizeHost(authority);
+        }
+        return LOCAL_HOST;
+    }
+
+    /** Strips user info, port and IPv6 brackets. */
+    private static String normalizeHost(String authority) {
+        String host = authority.substring(authority.lastIndexOf('@') + 1);
+        if (host.startsWith("[")) {
+            int end = host.indexOf(']');
+            host = end > 0 ? host.substring(1, end) : host.substring(1);
+        } else {
+            int port = host.indexOf(':');
+            if (port >= 0) {
+                host = host.substring(0, port);
+            }
+        }
+        return host.isEmpty() ? LOCAL_HOST : host.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Orders items round-robin across hosts, keeping each host's items in
+     * their original order. With a worker pool working through the result,
+     * every host gets work early instead of one host's repositories filling
+     * all workers while they wait for host slots.
+     *
+     * @param items  items to order
+     * @param hostOf host of each item
+     * @param <T>    item type
+     * @return a new list with the same items
+     */
+    public static <T> List<T> interleaveByHost(List<T> items, Function<T, String> hostOf) {
+        Map<String, Deque<T>> byHost = new LinkedHashMap<>();
+        for (T item : items) {
+            byHost.computeIfAbsent(hostOf.apply(item), h -> new ArrayDeque<>()).add(item);
+        }
+
+        List<T> ordered = new ArrayList<>(items.size());
+        while (ordered.size() < items.size()) {
+            for (Deque<T> queue : byHost.values()) {
+                T item = queue.poll();
+                if (item != null) {
+                    ordered.add(item);
+                }
+            }
+        }
+        return ordered;
+    }
+
+    // ============================================================
+    // OUTPUT PARSING
+    // ============================================================
+
+    /**
+     * Counts ref update lines in fetch output, such as
+     * {@code "   1a2b..3c4d  main  -> origin/main"} or
+     * {@code " * [new branch]  feature -> origin/feature"}.
+     * Rejected ({@code !}) and unchanged ({@code =}) refs are not counted.
+     *
+     * @param output git's combined output
+     * @return number of refs created, updated or deleted
+     */
+    static int countUpdatedRefs(String output) {
+        int count = 0;
+        for (String line : output.split("[\r\n]+")) {
+            if (line.length() > 3 && line.charAt(0) == ' ' && line.charAt(2) == ' '
+                    && " +*t-".indexOf(line.charAt(1)) >= 0 && line.contains(" -> ")) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Picks the most useful line of a failed git command: the last
+     * {@code fatal:} or {@code error:} line, else the last non-empty line.
+     *
+     * @param output git's combined output
+     * @return a single-line message
+     */
+    static String errorMessage(String output) {
+        String last = null;
+        String error = null;
+        for (String line : output.split("[\r\n]+")) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            last = trimmed;
+            if (trimmed.startsWith("fatal:") || trimmed.startsWith("error:")) {
+                error = trimmed;
+            }
+        }
+        String message = error != null ? error : last;
+        return message != null ? message : "git exited with an error";
+    }
+}
@@ -0,0 +1,181 @@
+package pm.git;
+
+import pm.util.GitIntegration;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Storage and configuration facts about a repository that drive
+ * {@code git status} and history-walk latency.
+ *
+ * @param looseObjects   objects stored one file each
+ * @param looseBytes     disk size of loose objects
+ * @param packs          number of pack files
+ * @param packBytes      disk size of pack files
+ * @param prunePackable  loose objects that are also in a pack (safe to delete)
+ * @param indexBytes     size of {@code .git/index}
+ * @param commitGraph    whether a commit-graph file exists
+ * @param untrackedCache state of {@code core.untrackedCache} (turned on directly or through {@code feature.manyFiles})
+ * @param manyFiles      whether {@code feature.manyFiles} is on
+ * @param fsmonitor      whether {@code core.fsmonitor} is set
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public record RepoHealth(long looseObjects, long looseBytes, long packs, long packBytes, long prunePackable,
+                         long indexBytes, boolean commitGraph,
+                         UntrackedCache untrackedCache, boolean manyFiles, boolean fsmonitor) {
+
+    /**
+     * Setting of {@code core.untrackedCache}.
+     */
+    public enum UntrackedCache {
+        /** Git adds the cache to the index and keeps it up to date. */
+        ON,
+        /** {@code keep}: git uses a cache already in the index, but neither adds nor removes it. */
+        KEEP,
+        /** Git removes the cache from the index (also the default when unset). */
+        OFF
+    }
+
+    /** Loose objects above which {@code git gc --auto} would repack (git's {@code gc.auto} default). */
+    static final long LOOSE_OBJECTS_LIMIT = 6700;
+
+    /** Packs above which {@code git gc --auto} would consolidate (git's {@code gc.autoPackLimit} default). */
+    static final long PACKS_LIMIT = 50;
+
+    /**
+     * Reads a repository's health with two git calls ({@code count-objects}
+     * and {@code config}) plus metadata file checks.
+     *
+     * @param path      repository path
+     * @param timeoutMs maximum time for each git call, or 0 for no limit
+     * @return the health, or null if git failed
+     * @throws TimeoutException if a git call exceeded the timeout
+     */
+    public static RepoHealth collect(Path path, long timeoutMs) throws TimeoutException {
+        GitIntegration.GitResult objects = GitIntegration.run(path, timeoutMs, "count-objects", "-v");
+        if (objects == null || !objects.success()) {
+            return null;
+        }
+        Map<String, Long> counts = parseCountObjects(objects.output());
+
+        // Exit code 1 just means none of the keys is set
+        GitIntegration.GitResult config = GitIntegration.run(path, timeoutMs, "config", "--get-regexp",
+                "^(core\\.untrackedcache|core\\.fsmonitor|feature\\.manyfiles)$");
+        Map<String, String> settings = config != null ? parseConfigList(config.output()) : Map.of();
+
+        boolean manyFiles = isTrue(settings.get("feature.manyfiles"));
+        String untrackedCache = settings.get("core.untrackedcache");
+        String fsmonitor = settings.get("core.fsmonitor");
+
+        return new RepoHealth(
+                counts.getOrDefault("count", 0L),
+                counts.getOrDefault("size", 0L) * 1024,
+                counts.getOrDefault("packs", 0L),
+                counts.getOrDefault("size-pack", 0L) * 1024,
+                counts.getOrDefault("prune-packable", 0L),
+                GitIntegration.getIndexSize(path),
+                GitIntegration.hasCommitGraph(path),
+                parseUntrackedCache(untrackedCache, manyFiles),
+                manyFiles,
+                fsmonitor != null && !fsmonitor.isEmpty() && !isFalse(fsmonitor));
+    }
+
+    /**
+     * Parses {@code git count-objects -v} output ("key: value" lines; sizes in KiB).
+     *
+     * @param output command output
+     * @return values by key; unparsable lines are skipped
+     */
+    static Map<String, Long> parseCountObjects(String output) {
+        Map<String, Long> values = new HashMap<>();
+        for (String line : output.split("\n")) {
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            try {
+                values.put(line.substring(0, colon).trim(), Long.parseLong(line.substring(colon + 1).trim()));
+            } catch (NumberFormatException ignored) {
+                // Not a count: skip
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Parses {@code git config --get-regexp} output ("key value" lines).
+     * Later lines win, as git's last-one-wins rule for single-valued keys.
+     */
+    static Map<String, String> parseConfigList(String output) {
+        Map<String, String> values = new HashMap<>();
+        for (String line : output.split("\n")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            int space = line.indexOf(' ');
+            String key = (space < 0 ? line : line.substring(0, space)).toLowerCase(Locale.ROOT);
+            // A key without a value is boolean true in git config
+            values.put(key, space < 0 ? "true" : line.substring(space + 1).trim());
+        }
+        return values;
+    }
+
+    /**
+     * Reads {@code core.untrackedCache}; when unset, {@code feature.manyFiles} turns it on.
+     *
+     * @param value     configured value, or null if unset
+     * @param manyFiles whether {@code feature.manyFiles} is on
+     * @return the setting in effect
+     */
+    static UntrackedCache parseUntrackedCache(String value, boolean manyFiles) {
+        if (value == null) {
+            return manyFiles ? UntrackedCache.ON : UntrackedCache.OFF;
+        }
+        if (value.equalsIgnoreCase("keep")) {
+            return UntrackedCache.KEEP;
+        }
+        return isTrue(value) ? UntrackedCache.ON : UntrackedCache.OFF;
+    }
+
+    private static boolean isTrue(String value) {
+        if (value == null) {
+            return false;
+        }
+        String v = value.toLowerCase(Locale.ROOT);
+        return v.equals("true") || v.equals("yes") || v.equals("on") || v.equals("1");
+    }
+
+    private static boolean isFalse(String value) {
+        String v = value.toLowerCase(Locale.ROOT);
+        return v.equals("false") || v.equals("no") || v.equals("off") || v.equals("0");
+    }
+
+    /**
+     * Lists what maintenance would improve, in the words shown to the user.
+     *
+     * @return problems found; empty for a healthy repository
+     */
+    public List<String> issues() {
+        List<String> issues = new ArrayList<>();
+        // An empty repository has no commits to put in a graph
+        if (!commitGraph && (looseObjects > 0 || packs > 0)) {
+            issues.add("no commit-graph");
+        }
+        if (looseObjects > LOOSE_OBJECTS_LIMIT) {
+            issues.add(looseObjects + " loose objects");
+        }
+        if (packs > PACKS_LIMIT) {
+            issues.add(packs + " packs");
+        }
+        return issues;
+    }
+}
@@ -0,0 +1,199 @@
+package pm.git;
+
+import com.google.gson.stream.JsonWriter;
+import pm.util.GitIntegration;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Git state of one registered project, as shown by {@code pm status}.
+ *
+ * <p>Collected with a single {@code git status} call per repository (see
+ * {@link GitIntegration#snapshot(Path, long)}), so many of these can be
+ * gathered concurrently.
+ *
+ * @param name       project name
+ * @param path       project path
+ * @param state      whether the repository could be read
+ * @param git        branch, upstream and working tree details; null unless {@code state} is OK
+ * @param durationMs time spent reading the repository
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public record RepoStatus(String name, Path path, State state, GitIntegration.GitSnapshot git, long durationMs) {
+
+    /**
+     * Outcome of reading a project's repository.
+     */
+    public enum State {
+        /** Repository read successfully. */
+        OK,
+        /** Project directory has no .git. */
+        NOT_A_REPOSITORY,
+        /** Project directory does not exist. */
+        PATH_NOT_FOUND,
+        /** git did not answer within the per-repository timeout. */
+        TIMED_OUT,
+        /** git failed (not installed, corrupt repository, ...). */
+        FAILED
+    }
+
+    /**
+     * Reads the Git state of a project. Never throws: problems are reported
+     * through {@link #state()}.
+     *
+     * @param name      project name
+     * @param path      project path
+     * @param timeoutMs maximum time for the git call, or 0 for no limit
+     * @return the project's status
+     */
+    public static RepoStatus collect(String name, Path path, long timeoutMs) {
+        long start = System.nanoTime();
+        if (!Files.isDirectory(path)) {
+            return new RepoStatus(name, path, State.PATH_NOT_FOUND, null, 0);
+        }
+        if (!GitIntegration.isGitRepository(path)) {
+            return new RepoStatus(name, path, State.NOT_A_REPOSITORY, null, 0);
+        }
+
+        try {
+            GitIntegration.GitSnapshot git = GitIntegration.snapshot(path, timeoutMs);
+            return new RepoStatus(name, path, git != null ? State.OK : State.FAILED, git, elapsedMs(start));
+        } catch (TimeoutException e) {
+            return new RepoStatus(name, path, State.TIMED_OUT, null, elapsedMs(start));
+        }
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Whether the repository needs a look: local changes, commits to push or
+     * pull, conflicts, or it could not be read at all.
+     *
+     * @return false only for readable, clean repositories in sync with their upstream
+     */
+    public boolean needsAttention() {
+        if (state != State.OK) {
+            return state != State.NOT_A_REPOSITORY;
+        }
+        return !git.isClean() || git.ahead() > 0 || git.behind() > 0;
+    }
+
+    /**
+     * Short summary of the working tree: "clean", or counts such as
+     * "+2 ~3 ?1 !1" (staged, modified, untracked, conflicted).
+     *
+     * @return the summary, or an empty string if the repository was not read
+     */
+    public String changesSummary() {
+        if (git == null) {
+            return "";
+        }
+        if (git.isClean()) {
+            return "clean";
+        }
+        StringBuilder summary = new StringBuilder();
+        appendCount(summary, '+', git.staged());
+        appendCount(summary, '~', git.modified());
+        appendCount(summary, '?', git.untracked());
+        appendCount(summary, '!', git.conflicted());
+        return summary.toString();
+    }
+
+    /**
+     * Short summary of the upstream: "↑2 ↓1", "=" when in sync, or
+     * "no upstream".
+     *
+     * @return the summary, or an empty string if the repository was not read
+     */
+    public String syncSummary() {
+        if (git == null) {
+            return "";
+        }
+        if (!git.hasUpstream()) {
+            return git.upstream() != null ? "upstream gone" : "no upstream";
+        }
+        if (git.ahead() == 0 && git.behind() == 0) {
+            return "=";
+        }
+        StringBuilder summary = new StringBuilder();
+        if (git.ahead() > 0) {
+            summary.append('↑').append(git.ahead());
+        }
+        if (git.behind() > 0) {
+            if (!summary.isEmpty()) summary.append(' ');
+            summary.append('↓').append(git.behind());
+        }
+        return summary.toString();
+    }
+
+    private static void appendCount(StringBuilder summary, char symbol, int count) {
+        if (count > 0) {
+            if (!summary.isEmpty()) summary.append(' ');
+            summary.append(symbol).append(count);
+        }
+    }
+
+    // ============================================================
+    // JSON
+    // ============================================================
+
+    /**
+     * Writes statuses as a JSON array, one object per project.
+     *
+     * <p>Fields: {@code name}, {@code path}, {@code state}, {@code durationMs},
+     * and for readable repositories {@code branch} (null when detached),
+     * {@code commit}, {@code upstream}, {@code ahead}, {@code behind},
+     * {@code staged}, {@code modified}, {@code untracked}, {@code conflicted},
+     * {@code stashes} and {@code clean}.
+     *
+     * @param statuses statuses in output order
+     * @param out      destination
+     * @throws IOException if writing fails
+     */
+    public static void writeJson(List<RepoStatus> statuses, Writer out) throws IOException {
+        JsonWriter json = new JsonWriter(out);
+        json.setIndent("  ");
+        json.setSerializeNulls(true);
+        json.beginArray();
+        for (RepoStatus status : statuses) {
+            json.beginObject();
+            json.name("name").value(status.name());
+            json.name("path").value(status.path().toString());
+            json.name("state").value(status.state().name());
+            json.name("durationMs").value(status.durationMs());
+
+            GitIntegration.GitSnapshot git = status.git();
+            if (git != null) {
+                json.name("branch").value(git.branch());
+                json.name("commit").value(git.commit());
+                json.name("upstream").value(git.upstream());
+                if (git.hasUpstream()) {
+                    json.name("ahead").value(git.ahead());
+                    json.name("behind").value(git.behind());
+                } else {
+                    json.name("ahead").nullValue();
+                    json.name("behind").nullValue();
+                }
+                json.name("staged").value(git.staged());
+                json.name("modified").value(git.modified());
+                json.name("untracked").value(git.untracked());
+                json.name("conflicted").value(git.conflicted());
+                json.name("stashes").value(git.stashes());
+                json.name("clean").value(git.isClean());
+            }
+            json.endObject();
+        }
+        json.endArray();
+        json.flush();
+    }
+}
@@ -0,0 +1,62 @@
+package pm.git;
+
+import java.nio.file.Path;
+
+/**
+ * Outcome of fetching or pulling one project with {@link RemoteSync}.
+ *
+ * @param name          project name
+ * @param path          project path
+ * @param state         what happened
+ * @param remote        remote that was contacted, or null if skipped before choosing one
+ * @param host          remote host used for throttling ("local" for path remotes), or null
+ * @param durationMs    time git ran, excluding time spent waiting for a host slot
+ * @param bytesReceived growth of the object store, in bytes
+ * @param refsUpdated   remote-tracking refs created, moved or deleted
+ * @param message       skip reason or git's error message; null otherwise
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public record SyncResult(String name, Path path, State state, String remote, String host,
+                         long durationMs, long bytesReceived, int refsUpdated, String message) {
+
+    /**
+     * Outcome of a fetch or pull.
+     */
+    public enum State {
+        /** New commits or refs were received (pull: the branch was fast-forwarded). */
+        UPDATED,
+        /** The remote had nothing new. */
+        UP_TO_DATE,
+        /** git failed; see {@link SyncResult#message()}. */
+        FAILED,
+        /** git did not finish within the timeout and was killed. */
+        TIMED_OUT,
+        /** Nothing to do: missing path, not a repository, no remote or upstream. */
+        SKIPPED
+    }
+
+    /**
+     * Whether git ran, so the duration is worth recording.
+     *
+     * @return false for skipped projects
+     */
+    public boolean ran() {
+        return state != State.SKIPPED;
+    }
+
+    /**
+     * Whether git ran and succeeded.
+     *
+     * @return true if updated or already up to date
+     */
+    public boolean success() {
+        return state == State.UPDATED || state == State.UP_TO_DATE;
+    }
+
+    static SyncResult skipped(String name, Path path, String remote, String host, String reason) {
+        return new SyncResult(name, path, State.SKIPPED, remote, host, 0, 0, 0, reason);
+    }
+}
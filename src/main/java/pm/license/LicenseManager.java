@@ -130,6 +130,16 @@ public final class LicenseManager {
         return cachedResult;
     }
 
+    /**
+     * Forgets the cached license so the next check reads it from disk again.
+     * Used by the daemon, which outlives a single command.
+     *
+     * @since 2.1.0
+     */
+    public static void invalidate() {
+        reset();
+    }
+
     /**
      * Resets license state (for testing).
      */
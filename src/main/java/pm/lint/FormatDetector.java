@@ -1,15 +1,14 @@
 package pm.lint;
 
+import pm.detector.DirectorySnapshot;
 import pm.detector.ProjectType;
 import pm.util.RuntimeChecker;
 
-import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Stream;
 
 /**
  * Detects available formatting tools for a project based on its type and root directory.
@@ -38,22 +37,37 @@ public final class FormatDetector {
         if (type == null || projectRoot == null || !Files.isDirectory(projectRoot)) {
             return List.of();
         }
+        return detect(type, DirectorySnapshot.of(projectRoot));
+    }
+
+    /**
+     * Detects all available formatting tools from an existing listing of the project root.
+     *
+     * @param type the project type
+     * @param root snapshot of the project root directory
+     * @return list of detected formatting tools (may be empty, never null)
+     */
+    public static List<FormatTool> detect(ProjectType type, DirectorySnapshot root) {
+        if (type == null || !root.isListed()) {
+            return List.of();
+        }
+        Path projectRoot = root.root();
 
         List<FormatTool> tools = new ArrayList<>();
 
         switch (type) {
             case NODEJS, PNPM, BUN, YARN -> {
-                if (hasPrettierConfig(projectRoot)) {
+                if (hasPrettierConfig(root)) {
                     tools.add(FormatTool.PRETTIER);
                 }
             }
             case RUST -> tools.add(FormatTool.CARGO_FMT);
             case GO -> tools.add(FormatTool.GOFMT);
             case PYTHON -> {
-                if (RuntimeChecker.getVersion("ruff", "--version") != null) {
+                if (RuntimeChecker.isCommandAvailable("ruff", "--version")) {
                     tools.add(FormatTool.RUFF_FORMAT);
                 }
-                if (RuntimeChecker.getVersion("black", "--version") != null) {
+                if (RuntimeChecker.isCommandAvailable("black", "--version")) {
                     tools.add(FormatTool.BLACK);
                 }
             }
@@ -79,12 +93,10 @@ public final class FormatDetector {
      * Checks if the project root contains any Prettier configuration file.
      */
     static boolean hasPrettierConfig(Path projectRoot) {
-        try (Stream<Path> files = Files.list(projectRoot)) {
-            return files
-                    .map(p -> p.getFileName().toString())
-                    .anyMatch(PRETTIER_CONFIG_FILES::contains);
-        } catch (IOException e) {
-            return false;
-        }
+        return hasPrettierConfig(DirectorySnapshot.of(projectRoot));
+    }
+
+    static boolean hasPrettierConfig(DirectorySnapshot root) {
+        return root.names().stream().anyMatch(PRETTIER_CONFIG_FILES::contains);
     }
 }
@@ -1,5 +1,6 @@
 package pm.lint;
 
+import pm.detector.DirectorySnapshot;
 import pm.detector.ProjectType;
 import pm.util.RuntimeChecker;
 
@@ -9,7 +10,6 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Stream;
 
 /**
  * Detects available lint tools for a project based on its type and root directory.
@@ -44,27 +44,42 @@ public final class LintDetector {
         if (type == null || projectRoot == null || !Files.isDirectory(projectRoot)) {
             return List.of();
         }
+        return detect(type, DirectorySnapshot.of(projectRoot));
+    }
+
+    /**
+     * Detects all available lint tools from an existing listing of the project root.
+     *
+     * @param type the project type
+     * @param root snapshot of the project root directory
+     * @return list of detected lint tools (may be empty, never null)
+     */
+    public static List<LintTool> detect(ProjectType type, DirectorySnapshot root) {
+        if (type == null || !root.isListed()) {
+            return List.of();
+        }
+        Path projectRoot = root.root();
 
         List<LintTool> tools = new ArrayList<>();
 
         switch (type) {
             case NODEJS, PNPM, BUN, YARN -> {
-                if (hasEslintConfig(projectRoot)) {
+                if (hasEslintConfig(root)) {
                     tools.add(LintTool.ESLINT);
                 }
             }
             case RUST -> tools.add(LintTool.CLIPPY);
             case GO -> {
                 tools.add(LintTool.GO_VET);
-                if (RuntimeChecker.getVersion("golangci-lint", "--version") != null) {
+                if (RuntimeChecker.isCommandAvailable("golangci-lint", "--version")) {
                     tools.add(LintTool.GOLANGCI_LINT);
                 }
             }
             case PYTHON -> {
-                if (RuntimeChecker.getVersion("ruff", "--version") != null) {
+                if (RuntimeChecker.isCommandAvailable("ruff", "--version")) {
                     tools.add(LintTool.RUFF_CHECK);
                 }
-                if (RuntimeChecker.getVersion("flake8", "--version") != null) {
+                if (RuntimeChecker.isCommandAvailable("flake8", "--version")) {
                     tools.add(LintTool.FLAKE8);
                 }
             }
@@ -90,13 +105,11 @@ public final class LintDetector {
      * Checks if the project root contains any ESLint configuration file.
      */
     static boolean hasEslintConfig(Path projectRoot) {
-        try (Stream<Path> files = Files.list(projectRoot)) {
-            return files
-                    .map(p -> p.getFileName().toString())
-                    .anyMatch(ESLINT_CONFIG_PREFIXES::contains);
-        } catch (IOException e) {
-            return false;
-        }
+        return hasEslintConfig(DirectorySnapshot.of(projectRoot));
+    }
+
+    static boolean hasEslintConfig(DirectorySnapshot root) {
+        return root.names().stream().anyMatch(ESLINT_CONFIG_PREFIXES::contains);
     }
 
     /**
@@ -1,5 +1,6 @@
 package pm.migration;
 
+import pm.detector.DirectorySnapshot;
 import pm.util.Constants;
 
 import java.nio.file.Files;
@@ -30,37 +31,47 @@ public final class MigrationDetector {
             return Collections.emptyList();
         }
 
+        return detect(DirectorySnapshot.of(projectRoot));
+    }
+
+    /**
+     * Detects all migration tools from an existing listing of the project root.
+     *
+     * @param root snapshot of the project directory
+     * @return list of detected tools, empty if none found
+     */
+    public static List<MigrationTool> detect(DirectorySnapshot root) {
         List<MigrationTool> tools = new ArrayList<>();
 
         // Prisma: prisma/schema.prisma
-        if (Files.exists(projectRoot.resolve("prisma").resolve("schema.prisma"))) {
+        if (root.exists("prisma/schema.prisma")) {
             tools.add(MigrationTool.PRISMA);
         }
 
         // Alembic: alembic.ini or alembic/ directory
-        if (Files.exists(projectRoot.resolve(Constants.FILE_ALEMBIC_INI))
-                || Files.isDirectory(projectRoot.resolve("alembic"))) {
+        if (root.exists(Constants.FILE_ALEMBIC_INI)
+                || root.isDirectory("alembic")) {
             tools.add(MigrationTool.ALEMBIC);
         }
 
         // Diesel: diesel.toml
-        if (Files.exists(projectRoot.resolve(Constants.FILE_DIESEL_TOML))) {
+        if (root.exists(Constants.FILE_DIESEL_TOML)) {
             tools.add(MigrationTool.DIESEL);
         }
 
         // Flyway: flyway.conf or flyway.toml
-        if (Files.exists(projectRoot.resolve(Constants.FILE_FLYWAY_CONF))
-                || Files.exists(projectRoot.resolve(Constants.FILE_FLYWAY_TOML))) {
+        if (root.exists(Constants.FILE_FLYWAY_CONF)
+                || root.exists(Constants.FILE_FLYWAY_TOML)) {
             tools.add(MigrationTool.FLYWAY);
         }
 
         // Liquibase: liquibase.properties
-        if (Files.exists(projectRoot.resolve(Constants.FILE_LIQUIBASE_PROPERTIES))) {
+        if (root.exists(Constants.FILE_LIQUIBASE_PROPERTIES)) {
             tools.add(MigrationTool.LIQUIBASE);
         }
 
         // SQLx: .sqlx/ directory
-        if (Files.isDirectory(projectRoot.resolve(".sqlx"))) {
+        if (root.isDirectory(".sqlx")) {
             tools.add(MigrationTool.SQLX);
         }
 
@@ -1,7 +1,8 @@
 package pm.scanner;
 
+import pm.detector.DirectorySnapshot;
+
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -38,19 +39,17 @@ public final class EnvFileDetector {
             return Collections.emptyList();
         }
 
-        List<Path> envFiles = new ArrayList<>();
-        try (DirectoryStream<Path> stream = Files.newDirectoryStream(projectRoot, ".env*")) {
-            for (Path entry : stream) {
-                if (Files.isRegularFile(entry)) {
-                    envFiles.add(entry);
-                }
-            }
-        } catch (IOException e) {
-            return Collections.emptyList();
-        }
+        return detectEnvFiles(DirectorySnapshot.of(projectRoot));
+    }
 
-        envFiles.sort((a, b) -> a.getFileName().toString().compareTo(b.getFileName().toString()));
-        return envFiles;
+    /**
+     * Lists all .env* files from an existing listing of the project root.
+     *
+     * @param root snapshot of the project directory
+     * @return sorted list of .env file paths, empty if none found
+     */
+    public static List<Path> detectEnvFiles(DirectorySnapshot root) {
+        return root.files(name -> name.startsWith(".env"));
     }
 
     /**
@@ -1,5 +1,7 @@
 package pm.scanner;
 
+import pm.detector.DirectorySnapshot;
+
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -39,8 +41,17 @@ public final class SecretScanner {
         if (projectRoot == null) {
             return Collections.emptyList();
         }
+        return scan(DirectorySnapshot.of(projectRoot));
+    }
 
-        List<Path> envFiles = EnvFileDetector.detectEnvFiles(projectRoot);
+    /**
+     * Scans all .env files found in an existing listing of the project root.
+     *
+     * @param root snapshot of the project directory
+     * @return list of findings, empty if clean
+     */
+    public static List<SecretFinding> scan(DirectorySnapshot root) {
+        List<Path> envFiles = EnvFileDetector.detectEnvFiles(root);
         if (envFiles.isEmpty()) {
             return Collections.emptyList();
         }
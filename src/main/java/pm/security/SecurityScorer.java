@@ -1,6 +1,7 @@
 package pm.security;
 
 import pm.core.Project;
+import pm.detector.DirectorySnapshot;
 import pm.detector.ProjectType;
 import pm.scanner.EnvFileDetector;
 import pm.scanner.SecretFinding;
@@ -8,7 +9,6 @@ import pm.scanner.SecretScanner;
 import pm.util.RuntimeChecker;
 
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -45,7 +45,17 @@ public final class SecurityScorer {
      * @return list of check results (always 7 items)
      */
     public static List<SecurityCheck> evaluate(Project project) {
-        Path root = project.path();
+        return evaluate(project, DirectorySnapshot.of(project.path()));
+    }
+
+    /**
+     * Runs all security checks on a project from an existing listing of its root.
+     *
+     * @param project project to evaluate
+     * @param root    snapshot of the project directory
+     * @return list of check results (always 7 items)
+     */
+    public static List<SecurityCheck> evaluate(Project project, DirectorySnapshot root) {
         List<SecurityCheck> checks = new ArrayList<>();
 
         checks.add(checkDockerfileRoot(root));
@@ -66,8 +76,19 @@ public final class SecurityScorer {
      * @return list of human-readable actions taken (empty if nothing to fix)
      */
     public static List<String> fix(Project project) {
-        Path root = project.path();
-        List<SecurityCheck> checks = evaluate(project);
+        return fix(project, DirectorySnapshot.of(project.path()));
+    }
+
+    /**
+     * Applies auto-fixes using an existing listing of the project root,
+     * taken before the fixes.
+     *
+     * @param project project to fix
+     * @param root    snapshot of the project directory
+     * @return list of human-readable actions taken (empty if nothing to fix)
+     */
+    public static List<String> fix(Project project, DirectorySnapshot root) {
+        List<SecurityCheck> checks = evaluate(project, root);
         List<String> actions = new ArrayList<>();
 
         boolean needsEnvFix = false;
@@ -87,7 +108,7 @@ public final class SecurityScorer {
             return actions;
         }
 
-        Path gitignorePath = root.resolve(".gitignore");
+        Path gitignorePath = project.path().resolve(".gitignore");
         Set<String> existingEntries = parseGitignore(gitignorePath);
         StringBuilder toAppend = new StringBuilder();
 
@@ -135,8 +156,12 @@ public final class SecurityScorer {
     // ============================================================
 
     static SecurityCheck checkDockerfileRoot(Path root) {
-        Path dockerfile = root.resolve("Dockerfile");
-        if (!Files.exists(dockerfile)) {
+        return checkDockerfileRoot(DirectorySnapshot.of(root));
+    }
+
+    static SecurityCheck checkDockerfileRoot(DirectorySnapshot root) {
+        Path dockerfile = root.root().resolve("Dockerfile");
+        if (!root.exists("Dockerfile")) {
             return new SecurityCheck(
                     "dockerfile-root",
                     true,
@@ -176,8 +201,12 @@ public final class SecurityScorer {
     }
 
     static SecurityCheck checkEnvInGitignore(Path root) {
-        Path gitignore = root.resolve(".gitignore");
-        if (!Files.exists(gitignore)) {
+        return checkEnvInGitignore(DirectorySnapshot.of(root));
+    }
+
+    static SecurityCheck checkEnvInGitignore(DirectorySnapshot root) {
+        Path gitignore = root.root().resolve(".gitignore");
+        if (!root.exists(".gitignore")) {
             return new SecurityCheck(
                     "env-gitignore",
                     false,
@@ -202,33 +231,23 @@ public final class SecurityScorer {
     }
 
     static SecurityCheck checkHttpUrls(Path root) {
-        if (!Files.isDirectory(root)) {
-            return new SecurityCheck(
-                    "https-only",
-                    true,
-                    "HTTPS only",
-                    "",
-                    false
-            );
-        }
+        return checkHttpUrls(DirectorySnapshot.of(root));
+    }
 
+    static SecurityCheck checkHttpUrls(DirectorySnapshot root) {
         Set<String> configExtensions = Set.of(
                 ".yml", ".yaml", ".properties", ".json", ".toml",
                 ".xml", ".conf", ".cfg", ".ini"
         );
 
-        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root)) {
-            for (Path entry : stream) {
-                if (!Files.isRegularFile(entry)) continue;
-
-                String name = entry.getFileName().toString().toLowerCase();
-                boolean isConfig = configExtensions.stream().anyMatch(name::endsWith)
-                        || name.startsWith(".env");
-
-                if (!isConfig) continue;
+        List<Path> configFiles = root.files(name -> {
+            String lower = name.toLowerCase();
+            return configExtensions.stream().anyMatch(lower::endsWith) || lower.startsWith(".env");
+        });
 
-                String content = Files.readString(entry);
-                if (containsInsecureHttp(content)) {
+        for (Path file : configFiles) {
+            try {
+                if (containsInsecureHttp(Files.readString(file))) {
                     return new SecurityCheck(
                             "https-only",
                             false,
@@ -237,9 +256,9 @@ public final class SecurityScorer {
                             false
                     );
                 }
+            } catch (IOException e) {
+                // Cannot read file — assume OK
             }
-        } catch (IOException e) {
-            // Cannot scan directory — assume OK
         }
 
         return new SecurityCheck(
@@ -252,8 +271,12 @@ public final class SecurityScorer {
     }
 
     static SecurityCheck checkSensitiveFilesInGitignore(Path root) {
-        Path gitignore = root.resolve(".gitignore");
-        if (!Files.exists(gitignore)) {
+        return checkSensitiveFilesInGitignore(DirectorySnapshot.of(root));
+    }
+
+    static SecurityCheck checkSensitiveFilesInGitignore(DirectorySnapshot root) {
+        Path gitignore = root.root().resolve(".gitignore");
+        if (!root.exists(".gitignore")) {
             return new SecurityCheck(
                     "sensitive-files",
                     false,
@@ -277,16 +300,20 @@ public final class SecurityScorer {
     }
 
     static SecurityCheck checkLockfile(Path root, ProjectType type) {
+        return checkLockfile(DirectorySnapshot.of(root), type);
+    }
+
+    static SecurityCheck checkLockfile(DirectorySnapshot root, ProjectType type) {
         boolean exists = switch (type) {
-            case NODEJS -> Files.exists(root.resolve("package-lock.json"));
-            case PNPM -> Files.exists(root.resolve("pnpm-lock.yaml"));
-            case BUN -> Files.exists(root.resolve("bun.lockb"))
-                    || Files.exists(root.resolve("bun.lock"));
-            case YARN -> Files.exists(root.resolve("yarn.lock"));
-            case RUST -> Files.exists(root.resolve("Cargo.lock"));
-            case GO -> Files.exists(root.resolve("go.sum"));
-            case FLUTTER -> Files.exists(root.resolve("pubspec.lock"));
-            case DOTNET -> Files.exists(root.resolve("packages.lock.json"));
+            case NODEJS -> root.exists("package-lock.json");
+            case PNPM -> root.exists("pnpm-lock.yaml");
+            case BUN -> root.exists("bun.lockb")
+                    || root.exists("bun.lock");
+            case YARN -> root.exists("yarn.lock");
+            case RUST -> root.exists("Cargo.lock");
+            case GO -> root.exists("go.sum");
+            case FLUTTER -> root.exists("pubspec.lock");
+            case DOTNET -> root.exists("packages.lock.json");
             case MAVEN, GRADLE, PYTHON, DOCKER, UNKNOWN -> true;
         };
         return new SecurityCheck(
@@ -299,6 +326,10 @@ public final class SecurityScorer {
     }
 
     static SecurityCheck checkSecretPatterns(Path root) {
+        return checkSecretPatterns(DirectorySnapshot.of(root));
+    }
+
+    static SecurityCheck checkSecretPatterns(DirectorySnapshot root) {
         List<SecretFinding> findings = SecretScanner.scan(root);
         if (findings.isEmpty()) {
             return new SecurityCheck(
@@ -314,6 +345,10 @@ public final class SecurityScorer {
     }
 
     static SecurityCheck checkVaultic(Path root) {
+        return checkVaultic(DirectorySnapshot.of(root));
+    }
+
+    static SecurityCheck checkVaultic(DirectorySnapshot root) {
         List<Path> envFiles = EnvFileDetector.detectEnvFiles(root);
         if (envFiles.isEmpty()) {
             return new SecurityCheck(
@@ -323,7 +358,7 @@ public final class SecurityScorer {
         }
 
         boolean installed = RuntimeChecker.isCommandAvailable("vaultic", "--version");
-        boolean initialized = Files.isDirectory(root.resolve(".vaultic"));
+        boolean initialized = root.isDirectory(".vaultic");
 
         if (installed && initialized) {
             return new SecurityCheck(
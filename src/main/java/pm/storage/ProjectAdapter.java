@@ -0,0 +1,265 @@
+package pm.storage;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import pm.core.Project;
+import pm.detector.ProjectType;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming Gson adapter that reads and writes {@link Project} objects directly,
+ * without binding an intermediate DTO through reflection.
+ *
+ * <p>The JSON layout is the same one {@code projects.json} has always used:
+ * <pre>{@code
+ * {
+ *   "name": "web",
+ *   "path": "/home/user/web",
+ *   "type": "NODEJS",
+ *   "commands": { "build": "npm run build" },
+ *   "lastModified": "2025-01-01T00:00:00Z",
+ *   "envVars": { "NODE_ENV": "production" },
+ *   "hooks": { "pre-build": ["npm ci"] },
+ *   "secondaryTypes": ["DOCKER"]
+ * }
+ * }</pre>
+ *
+ * <p>Reading is lenient about content, like {@code ProjectDTO.toProjectSafe()}:
+ * a missing name falls back to the registry key, a missing or unknown type
+ * becomes {@link ProjectType#UNKNOWN}, unknown fields are ignored, and an entry
+ * without a path is skipped. Each of these adds a message to the warnings list.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class ProjectAdapter extends TypeAdapter<Project> {
+
+    private final List<String> warnings;
+
+    /**
+     * Creates an adapter that discards warnings.
+     */
+    public ProjectAdapter() {
+        this(new ArrayList<>());
+    }
+
+    /**
+     * Creates an adapter that collects non-fatal problems found while reading.
+     *
+     * @param warnings list to accumulate warnings into
+     */
+    public ProjectAdapter(List<String> warnings) {
+        this.warnings = warnings;
+    }
+
+    @Override
+    public void write(JsonWriter out, Project project) throws IOException {
+        if (project == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("name").value(project.name());
+        out.name("path").value(project.path().toString());
+        out.name("type").value(project.type().name());
+
+        out.name("commands");
+        writeStringMap(out, project.commands());
+
+        out.name("lastModified").value(project.lastModified().toString());
+
+        out.name("envVars");
+        writeStringMap(out, project.envVars());
+
+        out.name("hooks").beginObject();
+        for (Map.Entry<String, List<String>> entry : project.hooks().entrySet()) {
+            out.name(entry.getKey()).beginArray();
+            for (String script : entry.getValue()) {
+                out.value(script);
+            }
+            out.endArray();
+        }
+        out.endObject();
+
+        out.name("secondaryTypes").beginArray();
+        for (ProjectType type : project.secondaryTypes()) {
+            out.value(type.name());
+        }
+        out.endArray();
+
+        out.endObject();
+    }
+
+    @Override
+    public Project read(JsonReader in) throws IOException {
+        return read(in, null);
+    }
+
+    /**
+     * Reads one project object.
+     *
+     * @param in  reader positioned at the project object
+     * @param key registry key of the entry (fallback name; may be null)
+     * @return the project, or null if the value is null or the entry is fatally invalid
+     * @throws IOException if the JSON is malformed
+     */
+    public Project read(JsonReader in, String key) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String name = null;
+        String path = null;
+        String type = null;
+        Map<String, String> commands = null;
+        Map<String, String> envVars = null;
+        Map<String, List<String>> hooks = null;
+        List<String> secondaryTypes = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String field = in.nextName();
+            switch (field) {
+                case "name" -> name = readString(in);
+                case "path" -> path = readString(in);
+                case "type" -> type = readString(in);
+                case "commands" -> commands = readStringMap(in);
+                case "envVars" -> envVars = readStringMap(in);
+                case "hooks" -> hooks = readHooks(in);
+                case "secondaryTypes" -> secondaryTypes = readStringList(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        String safeName = (name != null && !name.isBlank()) ? name : key;
+
+        if (path == null || path.isBlank()) {
+            warnings.add("Skipped project '" + safeName + "': missing path");
+            return null;
+        }
+
+        ProjectType projectType;
+        if (type == null || type.isBlank()) {
+            warnings.add("Project '" + safeName + "': missing type, defaulting to UNKNOWN");
+            projectType = ProjectType.UNKNOWN;
+        } else {
+            try {
+                projectType = ProjectType.valueOf(type);
+            } catch (IllegalArgumentException e) {
+                warnings.add("Project '" + safeName + "': unknown type '" + type + "', defaulting to UNKNOWN");
+                projectType = ProjectType.UNKNOWN;
+            }
+        }
+
+        Project project = new Project(safeName, Paths.get(path), projectType);
+
+        if (commands != null) {
+            commands.forEach(project::addCommand);
+        }
+
+        if (envVars != null) {
+            envVars.forEach(project::addEnvVar);
+        }
+
+        if (hooks != null) {
+            hooks.forEach((slot, scripts) -> scripts.forEach(script -> project.addHook(slot, script)));
+        }
+
+        if (secondaryTypes != null) {
+            for (String st : secondaryTypes) {
+                try {
+                    project.addSecondaryType(ProjectType.valueOf(st));
+                } catch (IllegalArgumentException e) {
+                    warnings.add("Project '" + safeName + "': unknown secondary type '" + st + "', skipped");
+                }
+            }
+        }
+
+        return project;
+    }
+
+    // ============================================================
+    // INTERNAL: Field readers/writers
+    // ============================================================
+
+    private static void writeStringMap(JsonWriter out, Map<String, String> map) throws IOException {
+        out.beginObject();
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            out.name(entry.getKey()).value(entry.getValue());
+        }
+        out.endObject();
+    }
+
+    private static String readString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    private static Map<String, String> readStringMap(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Map<String, String> map = new LinkedHashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            String key = in.nextName();
+            String value = readString(in);
+            if (value != null) {
+                map.put(key, value);
+            }
+        }
+        in.endObject();
+        return map;
+    }
+
+    private static List<String> readStringList(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<String> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            String value = readString(in);
+            if (value != null) {
+                list.add(value);
+            }
+        }
+        in.endArray();
+        return list;
+    }
+
+    private static Map<String, List<String>> readHooks(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Map<String, List<String>> hooks = new LinkedHashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            String slot = in.nextName();
+            List<String> scripts = readStringList(in);
+            if (scripts != null) {
+                hooks.put(slot, scripts);
+            }
+        }
+        in.endObject();
+        return hooks;
+    }
+}
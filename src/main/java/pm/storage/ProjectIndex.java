@@ -0,0 +1,234 @@
+package pm.storage;
+
+import pm.core.Project;
+import pm.detector.ProjectType;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lightweight sidecar index of the project registry ({@code projects.index}).
+ *
+ * <p>Holds only what shell completion and the short project list need: name,
+ * type, path, command names and hook slots. It is a plain text file with one
+ * project per line, so reading it needs no JSON parsing and no {@link Project}
+ * objects:
+ * <pre>
+ * # pm project index v1
+ * web&lt;TAB&gt;NODEJS&lt;TAB&gt;/home/user/web&lt;TAB&gt;build,test,run&lt;TAB&gt;pre-build
+ * </pre>
+ *
+ * <p>Backslash, tab, line breaks and commas inside values are escaped with a backslash.
+ * The index is maintained by {@link ProjectStore}; use {@link ProjectStore#loadIndex()}
+ * to read it.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class ProjectIndex {
+
+    private static final String HEADER = "# pm project index v1";
+
+    private ProjectIndex() {
+        throw new AssertionError("ProjectIndex cannot be instantiated");
+    }
+
+    /**
+     * Summary of one registered project.
+     *
+     * @param name      project name
+     * @param type      primary project type
+     * @param path      project directory
+     * @param commands  configured command names
+     * @param hookSlots slots that have at least one hook
+     */
+    public record Entry(String name, ProjectType type, String path,
+                        List<String> commands, List<String> hookSlots) {
+
+        /**
+         * Builds the index entry for a project.
+         *
+         * @param project the project to summarize
+         * @return its index entry
+         */
+        public static Entry from(Project project) {
+            return new Entry(project.name(), project.type(), project.path().toString(),
+                    new ArrayList<>(project.commands().keySet()),
+                    new ArrayList<>(project.hooks().keySet()));
+        }
+    }
+
+    /**
+     * Reads an index file.
+     *
+     * @param file index file
+     * @return entries by project name, in file order
+     * @throws IOException if the file cannot be read or is not an index
+     */
+    public static Map<String, Entry> read(Path file) throws IOException {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                throw new IOException("Not a project index: " + file);
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                List<String> fields = split(line, '\t');
+                if (fields.size() != 5) {
+                    throw new IOException("Malformed project index line: " + line);
+                }
+                Entry entry = new Entry(
+                        unescape(fields.get(0)),
+                        parseType(unescape(fields.get(1))),
+                        unescape(fields.get(2)),
+                        parseList(fields.get(3)),
+                        parseList(fields.get(4)));
+                entries.put(entry.name(), entry);
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Writes an index file atomically (temp file + rename).
+     *
+     * @param file    index file
+     * @param entries entries to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, Collection<Entry> entries) throws IOException {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (Entry entry : entries) {
+                writer.write(escape(entry.name()));
+                writer.write('\t');
+                writer.write(escape(entry.type().name()));
+                writer.write('\t');
+                writer.write(escape(entry.path()));
+                writer.write('\t');
+                writer.write(joinList(entry.commands()));
+                writer.write('\t');
+                writer.write(joinList(entry.hookSlots()));
+                writer.newLine();
+            }
+        }
+
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // ============================================================
+    // INTERNAL: Escaping
+    // ============================================================
+
+    private static ProjectType parseType(String name) {
+        try {
+            return ProjectType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return ProjectType.UNKNOWN;
+        }
+    }
+
+    private static List<String> parseList(String raw) {
+        List<String> items = new ArrayList<>();
+        if (raw.isEmpty()) {
+            return items;
+        }
+        for (String item : split(raw, ',')) {
+            items.add(unescape(item));
+        }
+        return items;
+    }
+
+    private static String joinList(List<String> items) {
+        StringBuilder sb = new StringBuilder();
+        for (String item : items) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(escape(item));
+        }
+        return sb.toString();
+    }
+
+    static String escape(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '\t' -> sb.append("\\t");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case ',' -> sb.append("\\,");
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    static String unescape(String raw) {
+        if (raw.indexOf('\\') < 0) {
+            return raw;
+        }
+        StringBuilder sb = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '\\' && i + 1 < raw.length()) {
+                char next = raw.charAt(++i);
+                sb.append(switch (next) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> next;
+                });
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Splits on unescaped separators, keeping escape sequences in the pieces.
+     */
+    private static List<String> split(String raw, char separator) {
+        List<String> pieces = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == separator) {
+                pieces.add(raw.substring(start, i));
+                start = i + 1;
+            }
+        }
+        pieces.add(raw.substring(start));
+        return pieces;
+    }
+}
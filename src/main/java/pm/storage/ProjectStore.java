@@ -1,37 +1,71 @@
 package pm.storage;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 import pm.cli.OutputFormatter;
+import pm.completion.CompletionCache;
 import pm.core.Project;
 import pm.detector.ProjectType;
 
+import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
-import static pm.util.Constants.CONFIG_DIR;
+import static pm.util.Constants.CACHE_DIR;
+import static pm.util.Constants.COMPLETION_CACHE_FILE;
 import static pm.util.Constants.PROJECTS_FILE;
 
 /**
  * Project persistence manager using JSON.
  *
- * <p>Provides atomic writes, automatic backup, and recovery from corrupted data.
+ * <p>The registry is stored as a snapshot ({@code projects.json}) plus an
+ * append-only journal ({@code projects.journal}). Each change appends one small
+ * JSON record per affected project to the journal instead of rewriting the whole
+ * registry, and {@link #load()} replays the journal on top of the snapshot.
+ *
+ * <p>Once the journal grows past a size threshold it is compacted: the current
+ * state is written as a new snapshot and the journal is deleted. Appends and
+ * snapshot writes hold an exclusive lock on {@code projects.lock}, so another
+ * pm process cannot append between the snapshot being written and the
+ * journal being deleted.
  *
  * <p>Write safety strategy:
- * <ol>
- * <li>Backup current {@code projects.json} → {@code projects.json.bak}</li>
- * <li>Write new data to {@code projects.json.tmp}</li>
- * <li>Atomically rename {@code .tmp} → {@code projects.json}</li>
- * </ol>
+ * <ul>
+ * <li>Journal records are only appended; a record torn by a crash is skipped on replay</li>
+ * <li>Snapshots are written to {@code projects.json.tmp}, copied to
+ *     {@code projects.json.bak} and atomically renamed</li>
+ * <li>The journal is deleted only after the new snapshot is in place; replaying
+ *     it twice is harmless because every record carries the full project</li>
+ * </ul>
+ *
+ * <p>If the snapshot itself is corrupted (e.g. edited by hand), the copy kept
+ * in the backup is restored and the journal is replayed on top of it; the
+ * backup always matches the last snapshot pm wrote, so no change is lost.
  *
- * <p>If the JSON file is corrupted on load, the backup is automatically restored.
+ * <p>Bulk operations should use {@link #update(Mutation)}, which loads the registry
+ * once, applies any number of changes in memory, and commits them in a single write.
  *
  * @author SoftDryzz
  * @version 1.3.7
@@ -39,100 +73,316 @@ import static pm.util.Constants.PROJECTS_FILE;
  */
 public class ProjectStore {
 
-    private static final Path BACKUP_FILE = CONFIG_DIR.resolve("projects.json.bak");
-    private static final Path TEMP_FILE = CONFIG_DIR.resolve("projects.json.tmp");
+    /** Journal size above which it is folded into a new snapshot. */
+    static final long DEFAULT_COMPACT_THRESHOLD = 64 * 1024;
 
-    private final Gson gson;
+    private static final String OP_PUT = "put";
+    private static final String OP_REMOVE = "remove";
+
+    /**
+     * File locks are held per JVM: a second lock on the same file from this
+     * process fails instead of waiting, so stores in one JVM queue here first.
+     */
+    private static final Object REGISTRY_LOCK = new Object();
+
+    private final Path projectsFile;
+    private final Path backupFile;
+    private final Path tempFile;
+    private final Path journalFile;
+    private final Path lockFile;
+    private final Path indexFile;
+    private final Path completionCacheFile;
+    private final long compactThreshold;
+
+    // In-memory copy of the last load, see enableLoadCache()
+    private boolean loadCacheEnabled;
+    private List<Object> cachedStamp;
+    private Map<String, Project> cachedProjects;
 
     public ProjectStore() {
-        this.gson = new GsonBuilder()
-                .setPrettyPrinting()
-                .create();
+        this(PROJECTS_FILE);
+    }
+
+    /**
+     * Creates a store backed by a specific registry file.
+     * The journal, index, backup and temp files are kept next to it.
+     *
+     * @param projectsFile path of the registry JSON file
+     * @since 2.1.0
+     */
+    public ProjectStore(Path projectsFile) {
+        this(projectsFile, DEFAULT_COMPACT_THRESHOLD);
+    }
+
+    /**
+     * Gets the journal kept next to a registry file ({@code projects.json} → {@code projects.journal}).
+     *
+     * @param projectsFile path of the registry JSON file
+     * @return path of its journal
+     */
+    static Path journalFileFor(Path projectsFile) {
+        String fileName = projectsFile.getFileName().toString();
+        String baseName = fileName.endsWith(".json")
+                ? fileName.substring(0, fileName.length() - ".json".length())
+                : fileName;
+        return projectsFile.resolveSibling(baseName + ".journal");
     }
 
     /**
-     * Saves all projects to JSON using atomic write with backup.
+     * Creates a store with a custom compaction threshold (used by tests).
+     *
+     * @param projectsFile     path of the registry JSON file
+     * @param compactThreshold journal size in bytes that triggers compaction
+     */
+    ProjectStore(Path projectsFile, long compactThreshold) {
+        String fileName = projectsFile.getFileName().toString();
+        String baseName = fileName.endsWith(".json")
+                ? fileName.substring(0, fileName.length() - ".json".length())
+                : fileName;
+
+        this.projectsFile = projectsFile;
+        this.backupFile = projectsFile.resolveSibling(fileName + ".bak");
+        this.tempFile = projectsFile.resolveSibling(fileName + ".tmp");
+        this.journalFile = journalFileFor(projectsFile);
+        this.lockFile = projectsFile.resolveSibling(baseName + ".lock");
+        this.indexFile = projectsFile.resolveSibling(baseName + ".index");
+        this.completionCacheFile = projectsFile.resolveSibling(CACHE_DIR.getFileName().toString())
+                .resolve(COMPLETION_CACHE_FILE.getFileName().toString());
+        this.compactThreshold = compactThreshold;
+    }
+
+    /**
+     * Writes all projects as a new snapshot and clears the journal.
      *
      * <p>Steps:
      * <ol>
-     * <li>Convert projects to DTOs</li>
-     * <li>Backup current file (if it exists)</li>
-     * <li>Write JSON to temp file</li>
+     * <li>Stream JSON to temp file</li>
+     * <li>Copy it to the backup</li>
      * <li>Atomically move temp file to projects.json</li>
+     * <li>Delete the journal, which is now part of the snapshot</li>
+     * <li>Rewrite the name index ({@link ProjectIndex}) and the shell completion cache</li>
      * </ol>
      *
+     * <p>Single changes should go through {@link #saveProject(Project)},
+     * {@link #removeProject(String)} or {@link #update(Mutation)}, which only
+     * append to the journal.
+     *
      * @param projects map of projects to save
      * @throws IOException if backup, write, or rename fails
      */
-    public void save(Map<String, Project> projects) throws IOException {
+    public synchronized void save(Map<String, Project> projects) throws IOException {
         ensureConfigDirExists();
 
-        // Convert Projects to DTOs
-        Map<String, ProjectDTO> dtos = new HashMap<>();
-        for (Map.Entry<String, Project> entry : projects.entrySet()) {
-            dtos.put(entry.getKey(), ProjectDTO.fromProject(entry.getValue()));
-        }
+        withRegistryLock(() -> writeSnapshot(projects));
 
-        String json = gson.toJson(dtos);
+        // 5. Keep the completion/list index in sync
+        writeIndex(projects);
+    }
 
-        // 1. Backup current file before writing
-        backupCurrentFile();
+    /**
+     * Replaces the snapshot and deletes the journal (steps 1-4 of {@link #save(Map)}).
+     * Must be called with the registry lock held.
+     */
+    private void writeSnapshot(Map<String, Project> projects) throws IOException {
+        // 1. Stream to temp file first
+        try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8);
+             JsonWriter json = new JsonWriter(writer)) {
+            json.setIndent("  ");
+            writeProjects(json, projects);
+        }
 
-        // 2. Write to temp file first
-        Files.writeString(TEMP_FILE, json);
+        // 2. Keep a copy for recovery from manual edits; the journal covers every later change
+        Files.copy(tempFile, backupFile, StandardCopyOption.REPLACE_EXISTING);
 
         // 3. Atomic move: temp → projects.json
         try {
-            Files.move(TEMP_FILE, PROJECTS_FILE,
+            Files.move(tempFile, projectsFile,
                     StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         } catch (AtomicMoveNotSupportedException e) {
             // Fallback: non-atomic move (some Windows filesystems)
-            Files.move(TEMP_FILE, PROJECTS_FILE, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFile, projectsFile, StandardCopyOption.REPLACE_EXISTING);
         }
+
+        // 4. The snapshot now contains every journaled change
+        Files.deleteIfExists(journalFile);
     }
 
     /**
-     * Loads all projects from JSON with automatic recovery from corruption.
+     * Loads all projects: the snapshot plus every change recorded in the journal.
      *
-     * <p>If the main file is corrupted, attempts to load from the backup.
+     * <p>If the snapshot is corrupted, the backup is used instead.
      * Invalid entries (null fields, unknown types) are skipped with warnings.
      *
      * @return map of valid projects
-     * @throws IOException if both main and backup files are unreadable
+     * @throws IOException if both snapshots are unreadable
      */
     public Map<String, Project> load() throws IOException {
-        if (!Files.exists(PROJECTS_FILE)) {
-            return new HashMap<>();
+        synchronized (this) {
+            if (loadCacheEnabled) {
+                return loadCached();
+            }
+        }
+        return loadFromDisk();
+    }
+
+    /**
+     * Keeps the last loaded registry in memory. While {@code projects.json} and the
+     * journal are unchanged on disk (same modification time, size and file identity),
+     * {@link #load()} returns a copy of it instead of parsing the files again; any
+     * change on disk, by this store or another process, is picked up on the next load.
+     *
+     * <p>Meant for the long-lived daemon ({@code pm daemon}); a normal invocation
+     * loads the registry once and gains nothing from it.
+     *
+     * @since 2.1.0
+     */
+    public synchronized void enableLoadCache() {
+        loadCacheEnabled = true;
+    }
+
+    private Map<String, Project> loadFromDisk() throws IOException {
+        Map<String, Project> projects = loadSnapshot();
+        replayJournal(projects);
+        return projects;
+    }
+
+    private Map<String, Project> loadCached() throws IOException {
+        // Stamp first: a write racing with the read leaves an outdated stamp, never an outdated map
+        List<Object> stamp = List.of(fileStamp(projectsFile), fileStamp(journalFile));
+        if (cachedProjects == null || !stamp.equals(cachedStamp)) {
+            cachedProjects = copyOf(loadFromDisk());
+            cachedStamp = stamp;
         }
+        return copyOf(cachedProjects);
+    }
 
-        // Try loading main file
+    private static Object fileStamp(Path file) throws IOException {
         try {
-            String json = Files.readString(PROJECTS_FILE);
-            return parseProjects(json);
-        } catch (JsonSyntaxException e) {
-            // Main file is corrupted — try backup
-            return recoverFromBackup(e);
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            return Arrays.asList(attrs.lastModifiedTime(), attrs.size(), attrs.fileKey());
+        } catch (NoSuchFileException e) {
+            return "missing";
         }
     }
 
     /**
-     * Saves a specific project.
+     * Copies projects the same way loading builds them, so callers can modify
+     * the result without touching the cached registry.
+     */
+    private static Map<String, Project> copyOf(Map<String, Project> projects) {
+        Map<String, Project> copy = new HashMap<>();
+        for (Map.Entry<String, Project> entry : projects.entrySet()) {
+            Project source = entry.getValue();
+            Project project = new Project(source.name(), source.path(), source.type());
+            source.commands().forEach(project::addCommand);
+            source.envVars().forEach(project::addEnvVar);
+            source.hooks().forEach((slot, scripts) -> scripts.forEach(script -> project.addHook(slot, script)));
+            source.secondaryTypes().forEach(project::addSecondaryType);
+            copy.put(entry.getKey(), project);
+        }
+        return copy;
+    }
+
+    /**
+     * Loads the lightweight project index (name, type, path, command names, hook slots).
+     *
+     * <p>Much cheaper than {@link #load()}: no JSON is parsed and no {@link Project}
+     * objects are built. If the index is missing or older than the registry files
+     * (e.g. written by an older version), it is rebuilt from a full load.
+     *
+     * @return index entries by project name
+     * @throws IOException if the index has to be rebuilt and the registry cannot be loaded
+     * @since 2.1.0
      */
-    public void saveProject(Project project) throws IOException {
+    public Map<String, ProjectIndex.Entry> loadIndex() throws IOException {
+        Map<String, ProjectIndex.Entry> index = readFreshIndex();
+        if (index != null) {
+            return index;
+        }
         Map<String, Project> projects = load();
-        projects.put(project.name(), project);
-        save(projects);
+        writeIndex(projects);
+        return toIndex(projects);
+    }
+
+    /**
+     * Applies a batch of changes to the registry in a single load/write cycle.
+     *
+     * <p>The registry is loaded once and passed to {@code mutation} as a mutable map.
+     * After the mutation returns, only the projects it added, replaced, changed or
+     * removed are appended to the journal, in a single write.
+     * If the mutation throws, nothing is written.
+     *
+     * <p>Usage example:
+     * <pre>{@code
+     * int imported = store.update(projects -> {
+     *     for (Project p : incoming) {
+     *         projects.putIfAbsent(p.name(), p);
+     *     }
+     *     return incoming.size();
+     * });
+     * }</pre>
+     *
+     * @param mutation changes to apply to the loaded projects
+     * @param <T>      type of the value returned by the mutation
+     * @return the value returned by the mutation
+     * @throws IOException if the registry cannot be loaded or saved
+     * @since 2.1.0
+     */
+    public synchronized <T> T update(Mutation<T> mutation) throws IOException {
+        Map<String, Project> projects = load();
+
+        Map<String, ProjectDTO> before = new HashMap<>();
+        projects.forEach((name, project) -> before.put(name, ProjectDTO.fromProject(project)));
+
+        T result = mutation.apply(projects);
+
+        StringBuilder records = new StringBuilder();
+        for (Map.Entry<String, Project> entry : projects.entrySet()) {
+            ProjectDTO dto = ProjectDTO.fromProject(entry.getValue());
+            if (!dto.sameContent(before.get(entry.getKey()))) {
+                records.append(putRecord(entry.getKey(), entry.getValue()));
+            }
+        }
+        for (String name : before.keySet()) {
+            if (!projects.containsKey(name)) {
+                records.append(removeRecord(name));
+            }
+        }
+
+        if (records.length() > 0) {
+            appendToJournal(records.toString());
+            writeIndex(projects);
+        }
+        return result;
+    }
+
+    /**
+     * Saves a specific project.
+     */
+    public synchronized void saveProject(Project project) throws IOException {
+        Map<String, ProjectIndex.Entry> index = readFreshIndex();
+
+        appendToJournal(putRecord(project.name(), project));
+
+        if (index != null) {
+            index.put(project.name(), ProjectIndex.Entry.from(project));
+            writeIndexEntries(index);
+        } else {
+            writeIndex(load());
+        }
     }
 
     /**
      * Deletes a project.
      */
-    public boolean removeProject(String projectName) throws IOException {
+    public synchronized boolean removeProject(String projectName) throws IOException {
         Map<String, Project> projects = load();
-        boolean removed = projects.remove(projectName) != null;
+        boolean removed = projects.containsKey(projectName);
 
         if (removed) {
-            save(projects);
+            appendToJournal(removeRecord(projectName));
+            projects.remove(projectName);
+            writeIndex(projects);
         }
 
         return removed;
@@ -154,7 +404,7 @@ public class ProjectStore {
      * @return the renamed project, or null if oldName not found
      * @throws IllegalArgumentException if newName already exists
      */
-    public Project renameProject(String oldName, String newName) throws IOException {
+    public synchronized Project renameProject(String oldName, String newName) throws IOException {
         Map<String, Project> projects = load();
 
         Project existing = projects.get(oldName);
@@ -173,49 +423,317 @@ public class ProjectStore {
         existing.hooks().forEach((slot, scripts) ->
                 scripts.forEach(script -> renamed.addHook(slot, script)));
 
+        // Put before remove: a crash between the two records leaves both entries, never neither
+        appendToJournal(putRecord(newName, renamed) + removeRecord(oldName));
         projects.remove(oldName);
         projects.put(newName, renamed);
-        save(projects);
+        writeIndex(projects);
 
         return renamed;
     }
 
+    /**
+     * A batch of changes applied to the loaded registry by {@link #update(Mutation)}.
+     *
+     * @param <T> type of the value returned to the caller
+     * @since 2.1.0
+     */
+    @FunctionalInterface
+    public interface Mutation<T> {
+        /**
+         * Applies changes to the registry.
+         *
+         * @param projects mutable map of all projects (name → project)
+         * @return any value the caller needs back (may be null)
+         * @throws IOException to abort the batch without writing
+         */
+        T apply(Map<String, Project> projects) throws IOException;
+    }
+
+    // ============================================================
+    // INTERNAL: Journal
+    // ============================================================
+
+    /**
+     * Appends records to the journal and compacts it if it grew past the threshold.
+     *
+     * <p>If the journal ends with a record torn by an earlier crash, a line break is
+     * written first so the new records are not glued to it. The append is forced
+     * to disk before returning, so a change that was reported as saved survives
+     * a crash or power loss.
+     *
+     * @param records one or more newline-terminated JSON records
+     */
+    private void appendToJournal(String records) throws IOException {
+        ensureConfigDirExists();
+
+        withRegistryLock(() -> {
+            String data = journalHasTornTail() ? "\n" + records : records;
+            ByteBuffer buffer = ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8));
+            long size;
+
+            try (FileChannel channel = FileChannel.open(journalFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+                size = channel.size();
+            }
+
+            if (size > compactThreshold) {
+                compact();
+            }
+        });
+    }
+
+    /**
+     * Folds the journal into a new snapshot. Runs under the registry lock taken
+     * for the append, so no other process can append between the journal
+     * being read and it being deleted.
+     */
+    private void compact() throws IOException {
+        writeSnapshot(loadFromDisk());
+    }
+
+    /**
+     * Runs an action while holding the registry lock, across threads and processes.
+     */
+    private void withRegistryLock(LockedAction action) throws IOException {
+        synchronized (REGISTRY_LOCK) {
+            try (FileChannel channel = FileChannel.open(lockFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                action.run();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface LockedAction {
+        void run() throws IOException;
+    }
+
+    /**
+     * Checks whether the journal ends with an unterminated record.
+     */
+    private boolean journalHasTornTail() throws IOException {
+        if (!Files.exists(journalFile)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                return false;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, channel.size() - 1);
+            return last.get(0) != '\n';
+        }
+    }
+
+    /**
+     * Applies every journal record, in order, on top of the loaded snapshot.
+     *
+     * <p>Lines that cannot be parsed are records torn by a crash while they were
+     * being appended. Their change was never confirmed to the user, so they are
+     * skipped silently; the next compaction removes them.
+     *
+     * @param projects projects loaded from the snapshot (modified in place)
+     */
+    private void replayJournal(Map<String, Project> projects) throws IOException {
+        if (!Files.exists(journalFile)) {
+            return;
+        }
+
+        List<String> warnings = new ArrayList<>();
+        ProjectAdapter adapter = new ProjectAdapter(warnings);
+
+        try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    applyRecord(new JsonReader(new StringReader(line)), adapter, projects);
+                } catch (IOException | IllegalStateException | NumberFormatException e) {
+                    // Torn record
+                }
+            }
+        }
+
+        for (String warning : warnings) {
+            OutputFormatter.warning(warning);
+        }
+    }
+
+    /**
+     * Parses one journal record and applies it.
+     * The record is only applied once it has been read completely.
+     */
+    private static void applyRecord(JsonReader json, ProjectAdapter adapter,
+                                    Map<String, Project> projects) throws IOException {
+        String op = null;
+        String key = null;
+        Project project = null;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "op" -> op = json.nextString();
+                case "key" -> key = json.nextString();
+                case "project" -> project = adapter.read(json, key);
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+
+        if (key == null) {
+            return;
+        }
+        if (OP_REMOVE.equals(op)) {
+            projects.remove(key);
+        } else if (OP_PUT.equals(op) && project != null) {
+            projects.put(key, project);
+        }
+    }
+
+    private static String putRecord(String key, Project project) throws IOException {
+        StringWriter out = new StringWriter();
+        JsonWriter json = new JsonWriter(out);
+        json.beginObject();
+        json.name("op").value(OP_PUT);
+        json.name("key").value(key);
+        json.name("project");
+        new ProjectAdapter().write(json, project);
+        json.endObject();
+        return out + "\n";
+    }
+
+    private static String removeRecord(String key) throws IOException {
+        StringWriter out = new StringWriter();
+        JsonWriter json = new JsonWriter(out);
+        json.beginObject();
+        json.name("op").value(OP_REMOVE);
+        json.name("key").value(key);
+        json.endObject();
+        return out + "\n";
+    }
+
+    // ============================================================
+    // INTERNAL: Index
+    // ============================================================
+
+    /**
+     * Reads the index if it is at least as recent as the snapshot and the journal.
+     *
+     * @return the index, or null if it is missing, stale or unreadable
+     */
+    private Map<String, ProjectIndex.Entry> readFreshIndex() {
+        try {
+            if (!Files.exists(indexFile)) {
+                return Files.exists(projectsFile) || Files.exists(journalFile) ? null : new HashMap<>();
+            }
+            FileTime indexTime = Files.getLastModifiedTime(indexFile);
+            for (Path source : List.of(projectsFile, journalFile)) {
+                if (Files.exists(source) && Files.getLastModifiedTime(source).compareTo(indexTime) > 0) {
+                    return null;
+                }
+            }
+            return ProjectIndex.read(indexFile);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeIndex(Map<String, Project> projects) {
+        writeIndexEntries(toIndex(projects));
+    }
+
+    /**
+     * Writes the index and regenerates the shell completion cache from it.
+     * Both are only caches of the registry, so failures are ignored: a missing or
+     * outdated index is detected and rebuilt on the next read, and the completion
+     * scripts fall back to {@code pm --complete} without a cache.
+     */
+    private void writeIndexEntries(Map<String, ProjectIndex.Entry> index) {
+        try {
+            ensureConfigDirExists();
+            ProjectIndex.write(indexFile, index.values());
+        } catch (IOException e) {
+            // Non-critical
+        }
+        try {
+            CompletionCache.write(completionCacheFile, index);
+        } catch (IOException e) {
+            // Non-critical
+        }
+    }
+
+    /**
+     * Regenerates the shell completion cache even if the registry did not change
+     * (e.g. after an upgrade added new commands).
+     *
+     * @throws IOException if the index cannot be loaded
+     * @since 2.1.0
+     */
+    public void refreshCompletionCache() throws IOException {
+        writeIndexEntries(loadIndex());
+    }
+
+    private static Map<String, ProjectIndex.Entry> toIndex(Map<String, Project> projects) {
+        Map<String, ProjectIndex.Entry> index = new TreeMap<>();
+        projects.forEach((name, project) -> index.put(name, ProjectIndex.Entry.from(project)));
+        return index;
+    }
+
     // ============================================================
     // INTERNAL: Backup, Recovery, Validation
     // ============================================================
 
     /**
-     * Creates a backup of the current projects.json file.
-     * Does nothing if the file doesn't exist yet.
+     * Loads the snapshot, falling back to the backup if it is corrupted.
      */
-    private void backupCurrentFile() throws IOException {
-        if (Files.exists(PROJECTS_FILE)) {
-            Files.copy(PROJECTS_FILE, BACKUP_FILE, StandardCopyOption.REPLACE_EXISTING);
+    private Map<String, Project> loadSnapshot() throws IOException {
+        if (!Files.exists(projectsFile)) {
+            return new HashMap<>();
+        }
+
+        try {
+            return parseProjects(projectsFile);
+        } catch (JsonSyntaxException e) {
+            // Snapshot is corrupted — try the backup
+            return recoverFromBackup(e);
         }
     }
 
     /**
-     * Attempts to recover projects from the backup file after the main file is corrupted.
+     * Attempts to recover projects from the backup after the main file is corrupted.
+     *
+     * <p>Crashes cannot corrupt the snapshot (it is only ever replaced by an atomic
+     * rename, and interrupted changes live in the journal), so this only handles
+     * files damaged by hand. The backup holds the last snapshot pm wrote, and
+     * {@link #load()} replays the journal, which holds every change since, on
+     * top of it.
      *
      * @param originalError the error from parsing the main file
      * @return recovered projects map
      * @throws IOException if backup is also unreadable or doesn't exist
      */
     private Map<String, Project> recoverFromBackup(JsonSyntaxException originalError) throws IOException {
-        if (!Files.exists(BACKUP_FILE)) {
+        if (!Files.exists(backupFile)) {
             throw new IOException(
                     "projects.json is corrupted and no backup was found.\n" +
                     "  The file may have been manually edited with invalid JSON.\n" +
-                    "  Location: " + PROJECTS_FILE + "\n" +
+                    "  Location: " + projectsFile + "\n" +
                     "  Error: " + originalError.getMessage());
         }
 
         try {
-            String backupJson = Files.readString(BACKUP_FILE);
-            Map<String, Project> recovered = parseProjects(backupJson);
+            Map<String, Project> recovered = parseProjects(backupFile);
 
             // Restore backup → main file
-            Files.copy(BACKUP_FILE, PROJECTS_FILE, StandardCopyOption.REPLACE_EXISTING);
+            Files.copy(backupFile, projectsFile, StandardCopyOption.REPLACE_EXISTING);
 
             OutputFormatter.warning("projects.json was corrupted — restored from backup (" +
                     recovered.size() + " project" + (recovered.size() != 1 ? "s" : "") + " recovered)");
@@ -226,44 +744,59 @@ public class ProjectStore {
             throw new IOException(
                     "Both projects.json and its backup are corrupted.\n" +
                     "  You may need to delete them and re-register your projects.\n" +
-                    "  Main file: " + PROJECTS_FILE + "\n" +
-                    "  Backup: " + BACKUP_FILE);
+                    "  Main file: " + projectsFile + "\n" +
+                    "  Backup: " + backupFile);
         }
     }
 
     /**
-     * Parses JSON into a map of Projects, validating each entry.
+     * Streams a registry file into a map of Projects, validating each entry.
      * Invalid entries are skipped with a warning instead of failing the entire load.
      *
-     * @param json raw JSON string
+     * @param file registry file to read
      * @return map of valid projects
+     * @throws JsonSyntaxException if the file is not a valid registry
      */
-    private Map<String, Project> parseProjects(String json) {
-        TypeToken<Map<String, ProjectDTO>> typeToken =
-                new TypeToken<Map<String, ProjectDTO>>() {};
-
-        Map<String, ProjectDTO> dtos = gson.fromJson(json, typeToken.getType());
+    private Map<String, Project> parseProjects(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return readProjects(new JsonReader(reader));
+        } catch (MalformedJsonException | EOFException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
 
+    /**
+     * Reads a registry object (name → project) and prints any warnings.
+     * An empty document or a top-level {@code null} is an empty registry.
+     *
+     * @param json reader positioned at the start of the document
+     * @return map of valid projects
+     */
+    static Map<String, Project> readProjects(JsonReader json) throws IOException {
         Map<String, Project> projects = new HashMap<>();
-        if (dtos == null) {
+
+        JsonToken first;
+        try {
+            first = json.peek();
+        } catch (EOFException e) {
+            return projects;
+        }
+        if (first == JsonToken.NULL) {
             return projects;
         }
 
         List<String> warnings = new ArrayList<>();
-
-        for (Map.Entry<String, ProjectDTO> entry : dtos.entrySet()) {
-            String key = entry.getKey();
-            ProjectDTO dto = entry.getValue();
-
-            try {
-                Project project = dto.toProjectSafe(key, warnings);
-                if (project != null) {
-                    projects.put(key, project);
-                }
-            } catch (Exception e) {
-                warnings.add("Skipped project '" + key + "': " + e.getMessage());
+        ProjectAdapter adapter = new ProjectAdapter(warnings);
+
+        json.beginObject();
+        while (json.hasNext()) {
+            String key = json.nextName();
+            Project project = adapter.read(json, key);
+            if (project != null) {
+                projects.put(key, project);
             }
         }
+        json.endObject();
 
         // Print warnings after loading (if any)
         for (String warning : warnings) {
@@ -273,18 +806,38 @@ public class ProjectStore {
         return projects;
     }
 
+    /**
+     * Writes a registry object (name → project).
+     *
+     * @param json     destination writer
+     * @param projects projects to write
+     */
+    static void writeProjects(JsonWriter json, Map<String, Project> projects) throws IOException {
+        ProjectAdapter adapter = new ProjectAdapter();
+        json.beginObject();
+        for (Map.Entry<String, Project> entry : projects.entrySet()) {
+            json.name(entry.getKey());
+            adapter.write(json, entry.getValue());
+        }
+        json.endObject();
+    }
+
     /**
      * Creates the configuration directory if it does not exist.
      */
     private void ensureConfigDirExists() throws IOException {
-        if (!Files.exists(CONFIG_DIR)) {
-            Files.createDirectories(CONFIG_DIR);
+        Path configDir = projectsFile.getParent();
+        if (configDir != null && !Files.exists(configDir)) {
+            Files.createDirectories(configDir);
         }
     }
 
     /**
-     * DTO (Data Transfer Object) for JSON serialization.
-     * Uses simple types that Gson can handle without issues.
+     * DTO (Data Transfer Object) snapshot of a project's persisted fields.
+     *
+     * <p>No longer used for reading or writing files ({@link ProjectAdapter} streams
+     * projects directly); {@link #update(Mutation)} uses it to detect which projects
+     * a mutation changed.
      */
     static class ProjectDTO {
         String name;
@@ -316,6 +869,24 @@ public class ProjectStore {
             return dto;
         }
 
+        /**
+         * Compares everything except {@code lastModified}, which is not persisted
+         * across loads and would make every project look changed.
+         *
+         * @param other DTO to compare with (may be null)
+         * @return true if both describe the same project
+         */
+        boolean sameContent(ProjectDTO other) {
+            return other != null
+                    && Objects.equals(name, other.name)
+                    && Objects.equals(path, other.path)
+                    && Objects.equals(type, other.type)
+                    && Objects.equals(commands, other.commands)
+                    && Objects.equals(envVars, other.envVars)
+                    && Objects.equals(hooks, other.hooks)
+                    && Objects.equals(secondaryTypes, other.secondaryTypes);
+        }
+
         /**
          * Converts a DTO to Project with validation and graceful error handling.
          *
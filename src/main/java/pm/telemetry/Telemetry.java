@@ -5,6 +5,7 @@ import com.google.gson.reflect.TypeToken;
 import pm.util.Constants;
 
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -142,7 +143,7 @@ public final class Telemetry {
 
     /**
      * Counts registered projects without depending on ProjectStore.
-     * Reads projects.json directly and counts top-level keys.
+     * Reads projects.json and its journal directly and counts top-level keys.
      */
     private static int getProjectCount() {
         try {
@@ -171,18 +172,52 @@ public final class Telemetry {
 
     private static Map<String, Map<String, Object>> loadProjectsMap() {
         try {
-            if (!Files.exists(Constants.PROJECTS_FILE)) {
-                return Map.of();
+            Map<String, Map<String, Object>> projects = new HashMap<>();
+            if (Files.exists(Constants.PROJECTS_FILE)) {
+                String json = Files.readString(Constants.PROJECTS_FILE);
+                Map<String, Map<String, Object>> snapshot = new Gson().fromJson(json,
+                        new TypeToken<Map<String, Map<String, Object>>>() {}.getType());
+                if (snapshot != null) {
+                    projects.putAll(snapshot);
+                }
             }
-            String json = Files.readString(Constants.PROJECTS_FILE);
-            Map<String, Map<String, Object>> projects = new Gson().fromJson(json,
-                    new TypeToken<Map<String, Map<String, Object>>>() {}.getType());
-            return projects != null ? projects : Map.of();
+            replayJournal(projects);
+            return projects;
         } catch (Exception e) {
             return Map.of();
         }
     }
 
+    /**
+     * Applies the changes recorded in the journal that are not yet in projects.json.
+     *
+     * <p>Only the fields telemetry needs are read from ProjectStore's records:
+     * {@code op} ({@code put} or {@code remove}), {@code key} and {@code project}.
+     */
+    @SuppressWarnings("unchecked")
+    private static void replayJournal(Map<String, Map<String, Object>> projects) throws Exception {
+        Path journal = Constants.PROJECTS_JOURNAL_FILE;
+        if (!Files.exists(journal)) {
+            return;
+        }
+        Gson gson = new Gson();
+        for (String line : Files.readAllLines(journal)) {
+            try {
+                Map<String, Object> record = gson.fromJson(line, new TypeToken<Map<String, Object>>() {}.getType());
+                if (record == null || !(record.get("key") instanceof String key)) {
+                    continue;
+                }
+                if ("remove".equals(record.get("op"))) {
+                    projects.remove(key);
+                } else if (record.get("project") instanceof Map<?, ?> project) {
+                    projects.put(key, (Map<String, Object>) project);
+                }
+            } catch (Exception e) {
+                // Torn record from an interrupted write — ignore
+            }
+        }
+    }
+
     /**
      * Waits for any pending telemetry event to be sent.
      * Call at the end of main() to ensure delivery before JVM exit.
@@ -1,17 +1,32 @@
 package pm.tracking;
 
+import pm.executor.ResourceUsage;
+
 /**
  * A single execution time record for a command.
  *
  * @param durationMs execution time in milliseconds
  * @param success    whether the command exited with code 0
  * @param timestamp  ISO-8601 UTC timestamp of the execution
+ * @param usage      CPU, memory and I/O of the command, or null if not measured
+ *                   (records from before v2.1.0, git syncs, systems without /proc)
  *
  * @author SoftDryzz
  * @version 2.0.0
  * @since 2.0.0
  */
-public record StatsRecord(long durationMs, boolean success, String timestamp) {
+public record StatsRecord(long durationMs, boolean success, String timestamp, ResourceUsage usage) {
+
+    /**
+     * Creates a record without resource usage.
+     *
+     * @param durationMs execution time in milliseconds
+     * @param success    whether the command exited with code 0
+     * @param timestamp  ISO-8601 UTC timestamp of the execution
+     */
+    public StatsRecord(long durationMs, boolean success, String timestamp) {
+        this(durationMs, success, timestamp, null);
+    }
 
     /**
      * Formats the duration in a readable way.
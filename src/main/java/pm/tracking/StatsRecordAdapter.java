@@ -0,0 +1,109 @@
+package pm.tracking;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import pm.executor.ResourceUsage;
+
+import java.io.IOException;
+
+/**
+ * Streaming Gson adapter for {@link StatsRecord}.
+ *
+ * <p>Reads and writes {@code {"durationMs": 1234, "success": true, "timestamp": "..."}}
+ * directly, without reflection. Unknown fields are ignored.
+ *
+ * <p>Resource usage is stored as flat optional fields ({@code cpuUserMs},
+ * {@code cpuSystemMs}, {@code peakRssBytes}, {@code readBytes},
+ * {@code writeBytes}), written only when measured. Records without them,
+ * such as those written by older versions, read back with no usage.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class StatsRecordAdapter extends TypeAdapter<StatsRecord> {
+
+    @Override
+    public void write(JsonWriter out, StatsRecord record) throws IOException {
+        if (record == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("durationMs").value(record.durationMs());
+        out.name("success").value(record.success());
+        if (record.timestamp() != null) {
+            out.name("timestamp").value(record.timestamp());
+        }
+        ResourceUsage usage = record.usage();
+        if (usage != null) {
+            out.name("cpuUserMs").value(usage.cpuUserMs());
+            out.name("cpuSystemMs").value(usage.cpuSystemMs());
+            out.name("peakRssBytes").value(usage.peakRssBytes());
+            out.name("readBytes").value(usage.readBytes());
+            out.name("writeBytes").value(usage.writeBytes());
+        }
+        out.endObject();
+    }
+
+    @Override
+    public StatsRecord read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        long durationMs = 0;
+        boolean success = false;
+        String timestamp = null;
+        boolean measured = false;
+        long cpuUserMs = 0;
+        long cpuSystemMs = 0;
+        long peakRssBytes = 0;
+        long readBytes = 0;
+        long writeBytes = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String field = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (field) {
+                case "durationMs" -> durationMs = in.nextLong();
+                case "success" -> success = in.nextBoolean();
+                case "timestamp" -> timestamp = in.nextString();
+                case "cpuUserMs" -> {
+                    cpuUserMs = in.nextLong();
+                    measured = true;
+                }
+                case "cpuSystemMs" -> {
+                    cpuSystemMs = in.nextLong();
+                    measured = true;
+                }
+                case "peakRssBytes" -> {
+                    peakRssBytes = in.nextLong();
+                    measured = true;
+                }
+                case "readBytes" -> {
+                    readBytes = in.nextLong();
+                    measured = true;
+                }
+                case "writeBytes" -> {
+                    writeBytes = in.nextLong();
+                    measured = true;
+                }
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        ResourceUsage usage = measured
+                ? new ResourceUsage(cpuUserMs, cpuSystemMs, peakRssBytes, readBytes, writeBytes)
+                : null;
+        return new StatsRecord(durationMs, success, timestamp, usage);
+    }
+}
@@ -1,13 +1,16 @@
 package pm.tracking;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonSyntaxException;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import pm.executor.ResourceUsage;
 import pm.util.Constants;
 
+import java.io.EOFException;
 import java.io.IOException;
-import java.lang.reflect.Type;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -19,6 +22,9 @@ import java.util.*;
  * Persists command execution stats to stats.json.
  * Thread-safe for single-JVM usage (synchronized methods).
  *
+ * <p>The file is streamed with {@link StatsRecordAdapter}, so loading never
+ * holds the whole JSON document in memory as a String.
+ *
  * @author SoftDryzz
  * @version 2.0.0
  * @since 2.0.0
@@ -27,10 +33,7 @@ public class StatsStore {
 
     private final Path statsFile;
     private final Path tempFile;
-    private final Gson gson;
-
-    private static final Type STATS_TYPE =
-            new TypeToken<Map<String, Map<String, List<StatsRecord>>>>() {}.getType();
+    private final StatsRecordAdapter adapter = new StatsRecordAdapter();
 
     public StatsStore() {
         this(Constants.STATS_FILE);
@@ -39,7 +42,6 @@ public class StatsStore {
     public StatsStore(Path statsFile) {
         this.statsFile = statsFile;
         this.tempFile = statsFile.resolveSibling("stats.json.tmp");
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
     }
 
     /**
@@ -51,18 +53,49 @@ public class StatsStore {
      * @param success     whether the command succeeded
      */
     public synchronized void record(String projectName, String command, long durationMs, boolean success) {
+        record(projectName, command, durationMs, success, null);
+    }
+
+    /**
+     * Record a command execution with the resources it used.
+     *
+     * @param projectName the project name
+     * @param command     the command type (build, test, run)
+     * @param durationMs  execution time in milliseconds
+     * @param success     whether the command succeeded
+     * @param usage       CPU, memory and I/O of the command, or null if not measured
+     */
+    public synchronized void record(String projectName, String command, long durationMs, boolean success,
+                                    ResourceUsage usage) {
+        recordAll(command, Map.of(projectName,
+                new StatsRecord(durationMs, success, Instant.now().toString(), usage)));
+    }
+
+    /**
+     * Record one execution of the same command for several projects, with a
+     * single write of the stats file.
+     *
+     * @param command the command type (e.g. fetch)
+     * @param records record to add per project name
+     */
+    public synchronized void recordAll(String command, Map<String, StatsRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
         try {
             Map<String, Map<String, List<StatsRecord>>> allStats = load();
 
-            Map<String, List<StatsRecord>> projectStats =
-                    allStats.computeIfAbsent(projectName, k -> new HashMap<>());
-            List<StatsRecord> records =
-                    projectStats.computeIfAbsent(command, k -> new ArrayList<>());
+            for (Map.Entry<String, StatsRecord> entry : records.entrySet()) {
+                Map<String, List<StatsRecord>> projectStats =
+                        allStats.computeIfAbsent(entry.getKey(), k -> new HashMap<>());
+                List<StatsRecord> commandRecords =
+                        projectStats.computeIfAbsent(command, k -> new ArrayList<>());
 
-            records.add(new StatsRecord(durationMs, success, Instant.now().toString()));
+                commandRecords.add(entry.getValue());
 
-            while (records.size() > Constants.STATS_MAX_ENTRIES) {
-                records.remove(0);
+                while (commandRecords.size() > Constants.STATS_MAX_ENTRIES) {
+                    commandRecords.remove(0);
+                }
             }
 
             save(allStats);
@@ -95,16 +128,58 @@ public class StatsStore {
         if (!Files.exists(statsFile)) {
             return new HashMap<>();
         }
+        try (Reader reader = Files.newBufferedReader(statsFile, StandardCharsets.UTF_8)) {
+            return readStats(new JsonReader(reader));
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Reads the nested project → command → records structure.
+     * An empty document or a top-level {@code null} yields an empty map.
+     */
+    private Map<String, Map<String, List<StatsRecord>>> readStats(JsonReader in) throws IOException {
+        Map<String, Map<String, List<StatsRecord>>> allStats = new HashMap<>();
+
+        JsonToken first;
         try {
-            String json = Files.readString(statsFile);
-            if (json == null || json.isBlank()) {
-                return new HashMap<>();
+            first = in.peek();
+        } catch (EOFException e) {
+            return allStats;
+        }
+        if (first == JsonToken.NULL) {
+            return allStats;
+        }
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String projectName = in.nextName();
+            Map<String, List<StatsRecord>> projectStats = new HashMap<>();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String command = in.nextName();
+                List<StatsRecord> records = new ArrayList<>();
+
+                in.beginArray();
+                while (in.hasNext()) {
+                    StatsRecord record = adapter.read(in);
+                    if (record != null) {
+                        records.add(record);
+                    }
+                }
+                in.endArray();
+
+                projectStats.put(command, records);
             }
-            Map<String, Map<String, List<StatsRecord>>> result = gson.fromJson(json, STATS_TYPE);
-            return result != null ? result : new HashMap<>();
-        } catch (IOException | JsonSyntaxException e) {
-            return new HashMap<>();
+            in.endObject();
+
+            allStats.put(projectName, projectStats);
         }
+        in.endObject();
+
+        return allStats;
     }
 
     private void save(Map<String, Map<String, List<StatsRecord>>> allStats) throws IOException {
@@ -113,8 +188,23 @@ public class StatsStore {
             Files.createDirectories(parent);
         }
 
-        String json = gson.toJson(allStats, STATS_TYPE);
-        Files.writeString(tempFile, json);
+        try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8);
+             JsonWriter out = new JsonWriter(writer)) {
+            out.setIndent("  ");
+            out.beginObject();
+            for (Map.Entry<String, Map<String, List<StatsRecord>>> project : allStats.entrySet()) {
+                out.name(project.getKey()).beginObject();
+                for (Map.Entry<String, List<StatsRecord>> command : project.getValue().entrySet()) {
+                    out.name(command.getKey()).beginArray();
+                    for (StatsRecord record : command.getValue()) {
+                        adapter.write(out, record);
+                    }
+                    out.endArray();
+                }
+                out.endObject();
+            }
+            out.endObject();
+        }
 
         try {
             Files.move(tempFile, statsFile,
@@ -87,6 +87,13 @@ public final class Constants {
      * }
      */
     public static final Path PROJECTS_FILE = CONFIG_DIR.resolve("projects.json");
+
+    /**
+     * Journal of registry changes not yet folded into {@link #PROJECTS_FILE}.
+     * Written by ProjectStore, and read directly by Telemetry, which does not
+     * depend on ProjectStore.
+     */
+    public static final Path PROJECTS_JOURNAL_FILE = CONFIG_DIR.resolve("projects.journal");
     /**
      * Cache directory to store scanning results.
      * Path: ~/.projectmanager/cache/
@@ -95,6 +102,46 @@ public final class Constants {
      */
     public static final Path CACHE_DIR = CONFIG_DIR.resolve("cache");
 
+    /**
+     * Precomputed shell completions, read directly by the completion scripts.
+     * Path: ~/.projectmanager/cache/completions.txt
+     *
+     * Regenerated whenever the project registry changes.
+     */
+    public static final Path COMPLETION_CACHE_FILE = CACHE_DIR.resolve("completions.txt");
+
+    /**
+     * Result of the last update check, used to show the update notice without
+     * waiting on the network.
+     * Path: ~/.projectmanager/cache/update-check.json
+     */
+    public static final Path UPDATE_CHECK_FILE = CACHE_DIR.resolve("update-check.json");
+
+    /**
+     * Cached runtime probes ({@code <tool> --version}), keyed by tool and PATH.
+     * Path: ~/.projectmanager/cache/runtime-probes.json
+     */
+    public static final Path RUNTIME_PROBE_FILE = CACHE_DIR.resolve("runtime-probes.json");
+
+    /**
+     * Cached project type detections, keyed by project path and invalidated
+     * by the modification times of the project root and its marker files.
+     * Path: ~/.projectmanager/cache/detection.json
+     */
+    public static final Path DETECTION_CACHE_FILE = CACHE_DIR.resolve("detection.json");
+
+    /**
+     * Unix domain socket of the optional background daemon ({@code pm daemon start}).
+     * Path: ~/.projectmanager/daemon.sock
+     */
+    public static final Path DAEMON_SOCKET = CONFIG_DIR.resolve("daemon.sock");
+
+    /**
+     * Output of the background daemon.
+     * Path: ~/.projectmanager/cache/daemon.log
+     */
+    public static final Path DAEMON_LOG = CACHE_DIR.resolve("daemon.log");
+
     // ============================================================
     // CONFIGURATION FILE
     // ============================================================
@@ -411,6 +458,9 @@ public final class Constants {
     /** pnpm lock file. */
     public static final String FILE_PNPM_LOCK = "pnpm-lock.yaml";
 
+    /** pnpm workspace definition (takes precedence over package.json "workspaces"). */
+    public static final String FILE_PNPM_WORKSPACE = "pnpm-workspace.yaml";
+
     /** Bun lock file (binary format). */
     public static final String FILE_BUN_LOCKB = "bun.lockb";
 
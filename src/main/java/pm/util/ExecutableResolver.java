@@ -0,0 +1,155 @@
+package pm.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Finds executables on {@code PATH} without starting a process, the way a
+ * shell would look them up.
+ *
+ * <p>On Windows the {@code PATHEXT} extensions are tried in order (".COM",
+ * ".EXE", ".BAT", ".CMD" by default), and a file only has to exist. Elsewhere
+ * the file must have its executable bit set.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * Path gradle = ExecutableResolver.find("gradle");   // null if not installed
+ * }</pre>
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class ExecutableResolver {
+
+    private static final String DEFAULT_PATHEXT = ".COM;.EXE;.BAT;.CMD";
+
+    private ExecutableResolver() {
+        throw new AssertionError("ExecutableResolver cannot be instantiated");
+    }
+
+    /**
+     * Finds a command on this process's {@code PATH}.
+     *
+     * @param command command name (e.g. "node") or a path to an executable
+     * @return the executable's path, or null if not found
+     */
+    public static Path find(String command) {
+        return find(command, System.getenv("PATH"), System.getenv("PATHEXT"), isWindows());
+    }
+
+    /**
+     * Finds a command on an explicit {@code PATH}.
+     *
+     * @param command command name or path
+     * @param pathEnv value of {@code PATH} (may be null)
+     * @param pathExt value of {@code PATHEXT} (may be null; only used on Windows)
+     * @param windows whether to apply Windows lookup rules
+     * @return the executable's path, or null if not found
+     */
+    static Path find(String command, String pathEnv, String pathExt, boolean windows) {
+        if (command == null || command.isBlank()) {
+            return null;
+        }
+        String[] extensions = extensions(command, pathExt, windows);
+
+        // A command containing a separator is not looked up on PATH
+        if (command.indexOf('/') >= 0 || (windows && command.indexOf('\\') >= 0)) {
+            for (String extension : extensions) {
+                Path candidate = candidate(null, command + extension);
+                if (isExecutable(candidate, windows)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        for (String dir : splitPath(pathEnv)) {
+            for (String extension : extensions) {
+                Path candidate = candidate(dir, command + extension);
+                if (isExecutable(candidate, windows)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Splits a {@code PATH} value into its non-empty entries.
+     *
+     * @param pathEnv value of {@code PATH} (may be null)
+     * @return the directories, in lookup order
+     */
+    public static String[] splitPath(String pathEnv) {
+        if (pathEnv == null || pathEnv.isEmpty()) {
+            return new String[0];
+        }
+        return Arrays.stream(pathEnv.split(File.pathSeparator))
+                .map(dir -> dir.length() > 1 && dir.startsWith("\"") && dir.endsWith("\"")
+                        ? dir.substring(1, dir.length() - 1)
+                        : dir)
+                .filter(dir -> !dir.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    // ============================================================
+    // INTERNAL
+    // ============================================================
+
+    /**
+     * Extensions to try: none on Unix; on Windows the bare name only if it
+     * already has one of the PATHEXT extensions, then each PATHEXT extension.
+     */
+    private static String[] extensions(String command, String pathExt, boolean windows) {
+        if (!windows) {
+            return new String[]{""};
+        }
+        String[] exts = Arrays.stream((pathExt != null && !pathExt.isBlank() ? pathExt : DEFAULT_PATHEXT).split(";"))
+                .filter(ext -> !ext.isBlank())
+                .toArray(String[]::new);
+        String lower = command.toLowerCase(Locale.ROOT);
+        for (String ext : exts) {
+            if (lower.endsWith(ext.toLowerCase(Locale.ROOT))) {
+                String[] withBare = new String[exts.length + 1];
+                withBare[0] = "";
+                System.arraycopy(exts, 0, withBare, 1, exts.length);
+                return withBare;
+            }
+        }
+        return exts;
+    }
+
+    private static Path candidate(String dir, String name) {
+        try {
+            return dir == null ? Path.of(name) : Path.of(dir, name);
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    private static boolean isExecutable(Path candidate, boolean windows) {
+        if (candidate == null || !Files.isRegularFile(candidate)) {
+            return false;
+        }
+        if (!windows) {
+            return Files.isExecutable(candidate);
+        }
+        // Empty files are App Execution Aliases (e.g. the Microsoft Store "python.exe"
+        // stub), which open the Store instead of running a tool
+        try {
+            return Files.size(candidate) > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    static boolean isWindows() {
+        return System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("windows");
+    }
+}
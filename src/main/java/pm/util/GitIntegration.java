@@ -2,9 +2,19 @@ package pm.util;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Utility to obtain Git information from a project.
@@ -16,30 +26,49 @@ import java.nio.file.Path;
  * <li>Commits pending push</li>
  * </ul>
  *
+ * <p>Branch, HEAD, upstream and remote lookups read the repository's metadata
+ * files directly ({@link GitMetadata}); only working tree status and commit
+ * counts start {@code git}. {@link #snapshot(Path)} gathers branch, status and
+ * upstream counts from a single {@code git status} call and is preferred when
+ * more than one piece is needed.
+ *
  * @author SoftDryzz
- * @version 1.3.3
+ * @version 2.1.0
  * @since 1.0.0
  */
 public class GitIntegration {
 
+    private static ExecutorService outputReaders;
+
     /**
      * Checks if a directory is a Git repository.
      *
      * @param projectPath project path
-     * @return true if the .git folder exists
+     * @return true if the .git folder exists, or a .git file links to one (worktrees, submodules)
      */
     public static boolean isGitRepository(Path projectPath) {
         Path gitDir = projectPath.resolve(".git");
-        return Files.exists(gitDir) && Files.isDirectory(gitDir);
+        if (Files.isDirectory(gitDir)) {
+            return true;
+        }
+        return Files.isRegularFile(gitDir) && GitMetadata.readGitFile(gitDir) != null;
     }
 
     /**
      * Gets the name of the current branch.
+     * Read from {@code .git/HEAD} without starting git.
      *
      * @param projectPath project path
-     * @return branch name or null if it fails
+     * @return branch name, "HEAD" when detached, or null if it fails
      */
     public static String getCurrentBranch(Path projectPath) {
+        GitMetadata git = GitMetadata.discover(projectPath);
+        if (git == null) {
+            return null;
+        }
+        if (git.isSupported()) {
+            return git.isDetached() ? "HEAD" : git.currentBranch();
+        }
         try {
             String output = executeGitCommand(projectPath, "git", "rev-parse", "--abbrev-ref", "HEAD");
             return output != null ? output.trim() : null;
@@ -48,6 +77,61 @@ public class GitIntegration {
         }
     }
 
+    /**
+     * Gets the commit HEAD points to.
+     * Read from {@code .git/HEAD}, loose refs and {@code packed-refs} without starting git.
+     *
+     * @param projectPath project path
+     * @return full commit id, or null before the first commit or if it fails
+     */
+    public static String getHeadCommit(Path projectPath) {
+        GitMetadata git = GitMetadata.discover(projectPath);
+        if (git == null) {
+            return null;
+        }
+        if (git.isSupported()) {
+            return git.headCommit();
+        }
+        String output = executeGitCommand(projectPath, "git", "rev-parse", "HEAD");
+        return output != null ? output.trim() : null;
+    }
+
+    /**
+     * Gets the upstream of the current branch.
+     * Read from {@code .git/config} without starting git.
+     *
+     * @param projectPath project path
+     * @return upstream such as "origin/main", or null if none is configured
+     */
+    public static String getUpstream(Path projectPath) {
+        GitMetadata git = GitMetadata.discover(projectPath);
+        if (git == null) {
+            return null;
+        }
+        if (git.isSupported()) {
+            return git.upstream(git.currentBranch());
+        }
+        String output = executeGitCommand(projectPath, "git", "rev-parse", "--abbrev-ref", "@{u}");
+        return output != null ? output.trim() : null;
+    }
+
+    /**
+     * Gets the remote the current branch pulls from ({@code branch.<name>.remote}),
+     * which may differ from the remote a plain fetch uses.
+     * Read from {@code .git/config} without starting git.
+     *
+     * @param projectPath project path
+     * @return remote name ("." when the upstream is a local branch), or null if none is configured
+     */
+    public static String getUpstreamRemote(Path projectPath) {
+        GitMetadata git = GitMetadata.discover(projectPath);
+        if (git == null) {
+            return null;
+        }
+        String branch = getCurrentBranch(projectPath);
+        return git.upstreamRemote("HEAD".equals(branch) ? null : branch);
+    }
+
     /**
      * Gets the repository status (modified files, untracked, etc.).
      *
@@ -104,6 +188,11 @@ public class GitIntegration {
      * @return number of commits or -1 if it fails
      */
     public static int getCommitsAhead(Path projectPath) {
+        GitMetadata git = GitMetadata.discover(projectPath);
+        if (git == null || (git.isSupported() && git.upstream(git.currentBranch()) == null)) {
+            // Not a repository, or no upstream: nothing to count, no need to start git
+            return -1;
+        }
         try {
             String output = executeGitCommand(projectPath, "git", "rev-list", "--count", "@{u}..");
 
@@ -118,17 +207,234 @@ public class GitIntegration {
         }
     }
 
+    /**
+     * Reads branch, upstream, working tree and stash information with a single
+     * {@code git status --porcelain=v2 --branch --show-stash -z} call.
+     *
+     * <p>Runs with {@code GIT_OPTIONAL_LOCKS=0}, so it never takes the index
+     * lock and can run next to other git commands in the same repository.
+     *
+     * @param projectPath project path
+     * @return the snapshot, or null if git is missing or the path is not a repository
+     */
+    public static GitSnapshot snapshot(Path projectPath) {
+        try {
+            return snapshot(projectPath, 0);
+        } catch (TimeoutException e) {
+            return null; // unreachable without a timeout
+        }
+    }
+
+    /**
+     * Like {@link #snapshot(Path)}, but gives up after a timeout so one huge
+     * repository cannot stall a multi-repository view. On timeout the git
+     * process is killed.
+     *
+     * @param projectPath project path
+     * @param timeoutMs   maximum time for the git call, or 0 for no limit
+     * @return the snapshot, or null if git is missing or the path is not a repository
+     * @throws TimeoutException if git did not finish in time
+     */
+    public static GitSnapshot snapshot(Path projectPath, long timeoutMs) throws TimeoutException {
+        ProcessBuilder pb = new ProcessBuilder("git", "status", "--porcelain=v2", "--branch", "--show-stash", "-z");
+        pb.directory(projectPath.toFile());
+        pb.environment().put("GIT_OPTIONAL_LOCKS", "0");
+        byte[] output = runForOutput(pb, timeoutMs);
+        return output != null ? parseSnapshot(output) : null;
+    }
+
+    /**
+     * Parses the NUL-separated output of {@code git status --porcelain=v2 --branch -z}.
+     *
+     * <p>Records are scanned in place: only header values are decoded to
+     * strings, file entries are classified by their first bytes.
+     *
+     * @param output raw command output
+     * @return the parsed snapshot
+     */
+    static GitSnapshot parseSnapshot(byte[] output) {
+        String branch = null;
+        String commit = null;
+        String upstream = null;
+        int ahead = -1;
+        int behind = -1;
+        int stashes = 0;
+        int staged = 0;
+        int modified = 0;
+        int untracked = 0;
+        int conflicted = 0;
+
+        int pos = 0;
+        while (pos < output.length) {
+            int end = indexOf(output, (byte) 0, pos);
+            int length = end - pos;
+
+            if (length > 0) {
+                switch (output[pos]) {
+                    case '#' -> {
+                        String header = new String(output, pos, length, StandardCharsets.UTF_8);
+                        if (header.startsWith("# branch.oid ")) {
+                            String oid = header.substring("# branch.oid ".length());
+                            commit = oid.equals("(initial)") ? null : oid;
+                        } else if (header.startsWith("# branch.head ")) {
+                            String head = header.substring("# branch.head ".length());
+                            branch = head.equals("(detached)") ? null : head;
+                        } else if (header.startsWith("# branch.upstream ")) {
+                            upstream = header.substring("# branch.upstream ".length());
+                        } else if (header.startsWith("# branch.ab ")) {
+                            // "# branch.ab +<ahead> -<behind>"
+                            int space = header.indexOf(' ', "# branch.ab ".length());
+                            ahead = Integer.parseInt(header, "# branch.ab +".length(), space, 10);
+                            behind = Integer.parseInt(header, space + 2, header.length(), 10);
+                        } else if (header.startsWith("# stash ")) {
+                            stashes = Integer.parseInt(header.substring("# stash ".length()));
+                        }
+                    }
+                    case '1', '2' -> {
+                        // "<type> <X><Y> ..." where '.' means unchanged
+                        if (length > 3 && output[pos + 2] != '.') staged++;
+                        if (length > 3 && output[pos + 3] != '.') modified++;
+                        if (output[pos] == '2') {
+                            // Renames and copies carry the original path as an extra record
+                            end = indexOf(output, (byte) 0, end + 1);
+                        }
+                    }
+                    case 'u' -> conflicted++;
+                    case '?' -> untracked++;
+                    default -> {
+                        // '!' (ignored) and anything newer git versions add
+                    }
+                }
+            }
+            pos = end + 1;
+        }
+
+        return new GitSnapshot(branch, commit, upstream, ahead, behind,
+                staged, modified, untracked, conflicted, stashes);
+    }
+
+    private static int indexOf(byte[] bytes, byte value, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return bytes.length;
+    }
+
     /**
      * Gets the remote URL of the origin remote.
+     * Read from {@code .git/config} without starting git.
      *
      * @param projectPath project path
      * @return the remote URL or null if not available
      */
     public static String getRemoteUrl(Path projectPath) {
+        GitMetadata git = GitMetadata.discover(projectPath);
+        if (git == null) {
+            return null;
+        }
+        if (git.isSupported()) {
+            return git.remoteUrl("origin");
+        }
         String url = executeGitCommand(projectPath, "git", "remote", "get-url", "origin");
         return url != null ? url.trim() : null;
     }
 
+    /**
+     * Gets the URL of a remote.
+     * Read from {@code .git/config} without starting git.
+     *
+     * @param projectPath project path
+     * @param remote      remote name
+     * @return the remote URL or null if not available
+     */
+    public static String getRemoteUrl(Path projectPath, String remote) {
+        GitMetadata git = GitMetadata.discover(projectPath);
+        return git != null ? git.remoteUrl(remote) : null;
+    }
+
+    /**
+     * Gets the remote a plain {@code git fetch} would use: the current
+     * branch's remote, else "origin", else the first remote by name.
+     * Read from {@code .git/config} without starting git.
+     *
+     * @param projectPath project path
+     * @return remote name, or null if the repository has no remotes
+     */
+    public static String getDefaultRemote(Path projectPath) {
+        GitMetadata git = GitMetadata.discover(projectPath);
+        if (git == null) {
+            return null;
+        }
+        String branch = getCurrentBranch(projectPath);
+        return git.defaultRemote("HEAD".equals(branch) ? null : branch);
+    }
+
+    /**
+     * Gets the disk size of the repository's object store (packs and loose
+     * objects). Comparing it before and after a fetch gives the amount of
+     * data the fetch added.
+     *
+     * @param projectPath project path
+     * @return size in bytes, or 0 if not a repository
+     */
+    public static long getObjectStoreSize(Path projectPath) {
+        GitMetadata git = GitMetadata.discover(projectPath);
+        return git != null ? git.objectStoreSize() : 0;
+    }
+
+    /**
+     * Gets the size of the repository's index ({@code .git/index}), which
+     * every {@code git status} reads in full.
+     *
+     * @param projectPath project path
+     * @return size in bytes, or 0 if there is no index
+     */
+    public static long getIndexSize(Path projectPath) {
+        GitMetadata git = GitMetadata.discover(projectPath);
+        return git != null ? git.indexSize() : 0;
+    }
+
+    /**
+     * Checks whether the repository has a commit-graph, which speeds up
+     * history walks such as ahead/behind counts.
+     *
+     * @param projectPath project path
+     * @return true if a commit-graph file exists
+     */
+    public static boolean hasCommitGraph(Path projectPath) {
+        GitMetadata git = GitMetadata.discover(projectPath);
+        return git != null && git.hasCommitGraph();
+    }
+
+    /**
+     * Runs a git command with a timeout and returns its exit code and output
+     * (stdout and stderr merged). Terminal prompts are disabled, so a remote
+     * asking for credentials fails instead of waiting for input.
+     *
+     * @param projectPath directory to run in
+     * @param timeoutMs   maximum run time, or 0 for no limit
+     * @param args        git arguments (without "git")
+     * @return the result, or null if git could not be started
+     * @throws TimeoutException if git was killed for exceeding the timeout
+     */
+    public static GitResult run(Path projectPath, long timeoutMs, String... args) throws TimeoutException {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+
+        ProcessBuilder pb = new ProcessBuilder(command);
+        pb.directory(projectPath.toFile());
+        pb.redirectErrorStream(true);
+        pb.environment().put("GIT_TERMINAL_PROMPT", "0");
+
+        ProcessOutput result = runProcess(pb, timeoutMs);
+        return result != null
+                ? new GitResult(result.exitCode(), new String(result.output(), StandardCharsets.UTF_8))
+                : null;
+    }
+
     /**
      * Executes a Git command and returns the output.
      *
@@ -167,6 +473,100 @@ public class GitIntegration {
         }
     }
 
+    /**
+     * Runs a process and returns its raw standard output, killing it if it
+     * exceeds the timeout. Standard error is discarded.
+     *
+     * @param pb        configured process
+     * @param timeoutMs maximum run time, or 0 for no limit
+     * @return output, or null if the process could not start or exited non-zero
+     * @throws TimeoutException if the process was killed for exceeding the timeout
+     */
+    static byte[] runForOutput(ProcessBuilder pb, long timeoutMs) throws TimeoutException {
+        ProcessOutput result = runProcess(pb.redirectError(ProcessBuilder.Redirect.DISCARD), timeoutMs);
+        return result != null && result.exitCode() == 0 ? result.output() : null;
+    }
+
+    /**
+     * Runs a process to completion, killing it if it exceeds the timeout.
+     *
+     * <p>The output is drained on a separate thread. Children of git (ssh,
+     * git-remote-https) share its output pipe, and a read on that pipe only
+     * ends once every one of them has closed it; on timeout the whole tree is
+     * killed, and the caller stops waiting for the output in any case.
+     *
+     * @return exit code and standard output, or null if the process could not
+     *         start, its output could not be read, or the thread was interrupted
+     */
+    private static ProcessOutput runProcess(ProcessBuilder pb, long timeoutMs) throws TimeoutException {
+        Process process;
+        try {
+            process = pb.start();
+        } catch (IOException e) {
+            return null;
+        }
+
+        CompletableFuture<byte[]> output = CompletableFuture.supplyAsync(() -> {
+            try (InputStream in = process.getInputStream()) {
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, outputReaders());
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        try {
+            if (timeoutMs <= 0) {
+                return new ProcessOutput(process.waitFor(), output.get());
+            }
+            if (!process.waitFor(timeoutMs, TimeUnit.MILLISECONDS)) {
+                destroyTree(process);
+                throw new TimeoutException("git did not finish within " + timeoutMs + " ms");
+            }
+            // A process detached from git may still hold the pipe
+            long remainingNs = Math.max(0, deadline - System.nanoTime());
+            try {
+                return new ProcessOutput(process.exitValue(), output.get(remainingNs, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                throw new TimeoutException("git output was not closed within " + timeoutMs + " ms");
+            }
+
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            destroyTree(process);
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Kills a process and all of its descendants.
+     */
+    private static void destroyTree(Process process) {
+        // Listed before the kill: once git is gone, its children are re-parented away
+        List<ProcessHandle> descendants = process.descendants().toList();
+        process.destroyForcibly();
+        descendants.forEach(ProcessHandle::destroyForcibly);
+    }
+
+    private record ProcessOutput(int exitCode, byte[] output) {}
+
+    /**
+     * Shared pool of threads that drain git output. Its threads are daemons so
+     * a read held open by a stray process never keeps the JVM alive.
+     */
+    private static synchronized ExecutorService outputReaders() {
+        if (outputReaders == null) {
+            outputReaders = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "pm-git-output");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return outputReaders;
+    }
+
     /**
      * Class to represent the Git status.
      */
@@ -207,4 +607,56 @@ public class GitIntegration {
             return result;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Everything {@code pm info} shows about a repository, read in one git call.
+     *
+     * @param branch     current branch, or null when HEAD is detached
+     * @param commit     full hash of HEAD, or null before the first commit
+     * @param upstream   upstream branch (e.g. "origin/main"), or null if none is set
+     * @param ahead      commits not yet pushed, or -1 if there is no (existing) upstream
+     * @param behind     commits not yet pulled, or -1 if there is no (existing) upstream
+     * @param staged     entries with changes in the index
+     * @param modified   entries with changes in the working tree
+     * @param untracked  untracked files and directories
+     * @param conflicted entries with unresolved merge conflicts
+     * @param stashes    number of stash entries (0 on git versions before 2.35)
+     */
+    public record GitSnapshot(String branch, String commit, String upstream, int ahead, int behind,
+                              int staged, int modified, int untracked, int conflicted, int stashes) {
+
+        /** Whether HEAD is detached. */
+        public boolean isDetached() {
+            return branch == null;
+        }
+
+        /** Whether the branch has an upstream that still exists. */
+        public boolean hasUpstream() {
+            return upstream != null && ahead >= 0;
+        }
+
+        /** Whether there are no staged, modified, untracked or conflicted entries. */
+        public boolean isClean() {
+            return staged == 0 && modified == 0 && untracked == 0 && conflicted == 0;
+        }
+
+        /** Working tree counts in the shape returned by {@link #getStatus(Path)}. */
+        public GitStatus status() {
+            return new GitStatus(modified, untracked, staged, isClean());
+        }
+    }
+
+    /**
+     * Exit code and combined output of a git command run with {@link #run}.
+     *
+     * @param exitCode git's exit code
+     * @param output   stdout and stderr, interleaved as written
+     */
+    public record GitResult(int exitCode, String output) {
+
+        /** Whether git exited with code 0. */
+        public boolean success() {
+            return exitCode == 0;
+        }
+    }
+}
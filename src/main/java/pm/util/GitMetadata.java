@@ -0,0 +1,585 @@
+package pm.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Read-only view of a repository's metadata files, so branch, HEAD and remote
+ * lookups need no {@code git} process.
+ *
+ * <p>Reads:
+ * <ul>
+ * <li>{@code HEAD} of the repository or linked worktree</li>
+ * <li>loose refs under {@code refs/} and {@code packed-refs}</li>
+ * <li>the repository {@code config} (remotes, upstreams, {@code insteadOf})</li>
+ * </ul>
+ *
+ * <p>Linked worktrees and submodules, whose {@code .git} is a file pointing at
+ * the real directory ({@code gitdir: ...}), are followed, and shared data is read
+ * from the {@code commondir}. Repositories using the reftable ref format are
+ * reported by {@link #isSupported()} so callers can fall back to the
+ * {@code git} binary.
+ *
+ * <p>Config {@code include}/{@code includeIf} files and the user's global
+ * config are not read; only {@code url.*.insteadOf} rewrites defined in the
+ * repository config are applied.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+final class GitMetadata {
+
+    /** Maximum symbolic ref hops, as in git. */
+    private static final int MAX_SYMREF_DEPTH = 5;
+
+    private final Path gitDir;
+    private final Path commonDir;
+    private Map<String, List<String>> config;
+    private Map<String, String> packedRefs;
+
+    private GitMetadata(Path gitDir, Path commonDir) {
+        this.gitDir = gitDir;
+        this.commonDir = commonDir;
+    }
+
+    /**
+     * Finds the repository containing a directory, walking up like git does.
+     *
+     * @param start directory inside the working tree
+     * @return the repository metadata, or null if the directory is not inside a repository
+     */
+    static GitMetadata discover(Path start) {
+        Path dir;
+        try {
+            dir = start.toAbsolutePath().normalize();
+        } catch (InvalidPathException e) {
+            return null;
+        }
+        for (; dir != null; dir = dir.getParent()) {
+            Path dotGit = dir.resolve(".git");
+            Path gitDir = null;
+            if (Files.isDirectory(dotGit)) {
+                gitDir = dotGit;
+            } else if (Files.isRegularFile(dotGit)) {
+                gitDir = readGitFile(dotGit);
+            }
+            if (gitDir != null && Files.isRegularFile(gitDir.resolve("HEAD"))) {
+                return open(gitDir);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the target of a {@code .git} file ({@code gitdir: <path>}).
+     *
+     * @param dotGit the {@code .git} file
+     * @return the git directory it points to, or null if the file is not a gitdir link
+     */
+    static Path readGitFile(Path dotGit) {
+        String content = readTrimmed(dotGit);
+        if (content == null || !content.startsWith("gitdir:")) {
+            return null;
+        }
+        try {
+            return dotGit.getParent().resolve(content.substring("gitdir:".length()).trim()).normalize();
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    private static GitMetadata open(Path gitDir) {
+        Path commonDir = gitDir;
+        String common = readTrimmed(gitDir.resolve("commondir"));
+        if (common != null && !common.isEmpty()) {
+            try {
+                commonDir = gitDir.resolve(common).normalize();
+            } catch (InvalidPathException e) {
+                return null;
+            }
+        }
+        return new GitMetadata(gitDir, commonDir);
+    }
+
+    /**
+     * Whether the refs are stored in files this class understands.
+     *
+     * @return false for the reftable format, which needs the {@code git} binary
+     */
+    boolean isSupported() {
+        String refStorage = configValue("extensions", null, "refstorage");
+        return refStorage == null || refStorage.equals("files");
+    }
+
+    // ============================================================
+    // HEAD AND REFS
+    // ============================================================
+
+    /**
+     * Gets the branch HEAD points to.
+     *
+     * @return short branch name (e.g. "main"), or null if HEAD is detached or unreadable
+     */
+    String currentBranch() {
+        String head = readTrimmed(gitDir.resolve("HEAD"));
+        if (head == null || !head.startsWith("ref:")) {
+            return null;
+        }
+        String ref = head.substring("ref:".length()).trim();
+        return ref.startsWith("refs/heads/") ? ref.substring("refs/heads/".length()) : ref;
+    }
+
+    /**
+     * Whether HEAD holds a commit id instead of a branch.
+     */
+    boolean isDetached() {
+        String head = readTrimmed(gitDir.resolve("HEAD"));
+        return head != null && !head.startsWith("ref:");
+    }
+
+    /**
+     * Resolves HEAD to a commit id.
+     *
+     * @return full object id, or null before the first commit or if unreadable
+     */
+    String headCommit() {
+        return resolve("HEAD");
+    }
+
+    /**
+     * Resolves a ref name (e.g. "HEAD", "refs/heads/main") to an object id,
+     * following symbolic refs.
+     *
+     * @param refName full ref name
+     * @return object id, or null if the ref does not exist
+     */
+    String resolve(String refName) {
+        String name = refName;
+        for (int depth = 0; depth <= MAX_SYMREF_DEPTH; depth++) {
+            String value = readLooseRef(name);
+            if (value == null) {
+                return packedRefs().get(name);
+            }
+            if (!value.startsWith("ref:")) {
+                return isObjectId(value) ? value : null;
+            }
+            name = value.substring("ref:".length()).trim();
+        }
+        return null;
+    }
+
+    private String readLooseRef(String name) {
+        if (name.contains("..")) {
+            return null;
+        }
+        return readTrimmed(refDir(name).resolve(name));
+    }
+
+    /**
+     * HEAD and a few ref namespaces belong to each worktree; everything else
+     * is shared in the common directory.
+     */
+    private Path refDir(String name) {
+        boolean perWorktree = !name.startsWith("refs/")
+                || name.startsWith("refs/bisect/")
+                || name.startsWith("refs/worktree/")
+                || name.startsWith("refs/rewritten/");
+        return perWorktree ? gitDir : commonDir;
+    }
+
+    private Map<String, String> packedRefs() {
+        if (packedRefs == null) {
+            packedRefs = new HashMap<>();
+            try {
+                for (String line : Files.readAllLines(commonDir.resolve("packed-refs"), StandardCharsets.UTF_8)) {
+                    // "<oid> <refname>"; '#' is the header, '^' the peeled id of the tag above
+                    if (line.isEmpty() || line.charAt(0) == '#' || line.charAt(0) == '^') {
+                        continue;
+                    }
+                    int space = line.indexOf(' ');
+                    if (space > 0) {
+                        packedRefs.put(line.substring(space + 1).trim(), line.substring(0, space));
+                    }
+                }
+            } catch (IOException e) {
+                // No packed-refs file: every ref is loose
+            }
+        }
+        return packedRefs;
+    }
+
+    private static boolean isObjectId(String value) {
+        return (value.length() == 40 || value.length() == 64) && isHex(value);
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ============================================================
+    // REMOTES AND UPSTREAM
+    // ============================================================
+
+    /**
+     * Gets the upstream of a branch as configured by {@code branch.<name>.remote}
+     * and {@code branch.<name>.merge}.
+     *
+     * @param branch short branch name
+     * @return upstream in {@code git status} form (e.g. "origin/main"), or null if none
+     */
+    String upstream(String branch) {
+        if (branch == null) {
+            return null;
+        }
+        String remote = configValue("branch", branch, "remote");
+        String merge = configValue("branch", branch, "merge");
+        if (remote == null || merge == null) {
+            return null;
+        }
+        String shortMerge = merge.startsWith("refs/heads/") ? merge.substring("refs/heads/".length()) : merge;
+        return remote.equals(".") ? shortMerge : remote + "/" + shortMerge;
+    }
+
+    /**
+     * Gets the remote a branch pulls from, as configured by {@code branch.<name>.remote}.
+     *
+     * @param branch short branch name
+     * @return remote name ("." for a local upstream branch), or null if the branch has no upstream
+     */
+    String upstreamRemote(String branch) {
+        if (branch == null || configValue("branch", branch, "merge") == null) {
+            return null;
+        }
+        return configValue("branch", branch, "remote");
+    }
+
+    /**
+     * Gets the fetch URL of a remote, with {@code url.<base>.insteadOf}
+     * rewrites applied like {@code git remote get-url}.
+     *
+     * @param remote remote name (e.g. "origin")
+     * @return the URL, or null if the remote has none
+     */
+    String remoteUrl(String remote) {
+        String url = configValue("remote", remote, "url");
+        return url != null ? rewriteUrl(url) : null;
+    }
+
+    /**
+     * Gets the remote {@code git fetch} uses when none is given: the branch's
+     * configured remote, else "origin", else the first remote by name.
+     *
+     * @param branch short branch name, or null when detached
+     * @return remote name, or null if the repository has no remotes
+     */
+    String defaultRemote(String branch) {
+        if (branch != null) {
+            String remote = configValue("branch", branch, "remote");
+            if (remote != null && !remote.equals(".")) {
+                return remote;
+            }
+        }
+        if (configValue("remote", "origin", "url") != null) {
+            return "origin";
+        }
+        String first = null;
+        for (String key : config().keySet()) {
+            if (key.startsWith("remote.") && key.endsWith(".url")) {
+                String name = key.substring("remote.".length(), key.length() - ".url".length());
+                if (first == null || name.compareTo(first) < 0) {
+                    first = name;
+                }
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Applies the longest matching {@code insteadOf} prefix.
+     */
+    private String rewriteUrl(String url) {
+        String bestBase = null;
+        String bestPrefix = "";
+        for (Map.Entry<String, List<String>> entry : config().entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith("url.") || !key.endsWith(".insteadof")) {
+                continue;
+            }
+            String base = key.substring("url.".length(), key.length() - ".insteadof".length());
+            for (String prefix : entry.getValue()) {
+                if (url.startsWith(prefix) && prefix.length() > bestPrefix.length()) {
+                    bestBase = base;
+                    bestPrefix = prefix;
+                }
+            }
+        }
+        return bestBase != null ? bestBase + url.substring(bestPrefix.length()) : url;
+    }
+
+    // ============================================================
+    // OBJECTS
+    // ============================================================
+
+    /**
+     * Gets the disk size of the object store: pack files plus loose objects.
+     * Alternates are not included.
+     *
+     * @return size in bytes (0 if the object directory cannot be read)
+     */
+    long objectStoreSize() {
+        Path objects = commonDir.resolve("objects");
+        long total = 0;
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(objects)) {
+            for (Path dir : dirs) {
+                String name = dir.getFileName().toString();
+                boolean loose = name.length() == 2 && isHex(name);
+                if (!loose && !name.equals("pack")) {
+                    continue;
+                }
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                    for (Path file : files) {
+                        if (loose || file.getFileName().toString().endsWith(".pack")) {
+                            total += Files.size(file);
+                        }
+                    }
+                } catch (IOException e) {
+                    // Removed by a concurrent gc: skip
+                }
+            }
+        } catch (IOException e) {
+            return total;
+        }
+        return total;
+    }
+
+    /**
+     * Whether a commit-graph file (single or split chain) exists.
+     *
+     * @return true if {@code objects/info} holds a commit-graph
+     */
+    boolean hasCommitGraph() {
+        Path info = commonDir.resolve("objects/info");
+        return Files.isRegularFile(info.resolve("commit-graph"))
+                || Files.isRegularFile(info.resolve("commit-graphs/commit-graph-chain"));
+    }
+
+    /**
+     * Gets the size of the index of this repository or worktree.
+     *
+     * @return size in bytes, or 0 if there is no index
+     */
+    long indexSize() {
+        try {
+            return Files.size(gitDir.resolve("index"));
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    // ============================================================
+    // CONFIG
+    // ============================================================
+
+    /**
+     * Gets the last value of a config variable, as git does for single-valued keys.
+     *
+     * @param section    section name (case-insensitive)
+     * @param subsection subsection name (case-sensitive), or null
+     * @param key        variable name (case-insensitive)
+     * @return the value, or null if not set
+     */
+    String configValue(String section, String subsection, String key) {
+        String name = section.toLowerCase(Locale.ROOT)
+                + (subsection != null ? "." + subsection : "")
+                + "." + key.toLowerCase(Locale.ROOT);
+        List<String> values = config().get(name);
+        return values != null && !values.isEmpty() ? values.get(values.size() - 1) : null;
+    }
+
+    private Map<String, List<String>> config() {
+        if (config == null) {
+            try {
+                config = parseConfig(Files.readString(commonDir.resolve("config"), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                config = new HashMap<>();
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Parses git config syntax into {@code section[.subsection].key -> values}.
+     * Section and key names are lower-cased; subsections keep their case.
+     *
+     * @param text config file content
+     * @return all variables in file order
+     */
+    static Map<String, List<String>> parseConfig(String text) {
+        Map<String, List<String>> result = new HashMap<>();
+        String section = null;
+        int pos = 0;
+        int length = text.length();
+
+        while (pos < length) {
+            pos = skipBlanks(text, pos);
+            if (pos >= length) {
+                break;
+            }
+            char c = text.charAt(pos);
+
+            if (c == '\n' || c == '#' || c == ';') {
+                pos = lineEnd(text, pos) + 1;
+            } else if (c == '[') {
+                int close = text.indexOf(']', pos);
+                if (close < 0) {
+                    break;
+                }
+                section = parseSectionHeader(text.substring(pos + 1, close));
+                pos = close + 1;
+            } else {
+                int nameEnd = pos;
+                while (nameEnd < length && (Character.isLetterOrDigit(text.charAt(nameEnd)) || text.charAt(nameEnd) == '-')) {
+                    nameEnd++;
+                }
+                String key = text.substring(pos, nameEnd).toLowerCase(Locale.ROOT);
+                pos = skipBlanks(text, nameEnd);
+
+                String value;
+                if (pos < length && text.charAt(pos) == '=') {
+                    StringBuilder out = new StringBuilder();
+                    pos = parseValue(text, pos + 1, out);
+                    value = out.toString();
+                } else {
+                    // "key" alone means true
+                    value = "true";
+                    pos = lineEnd(text, pos) + 1;
+                }
+
+                if (section != null && !key.isEmpty()) {
+                    result.computeIfAbsent(section + "." + key, k -> new ArrayList<>()).add(value);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Parses {@code section "subsection"} or the legacy {@code section.subsection}.
+     */
+    private static String parseSectionHeader(String header) {
+        int quote = header.indexOf('"');
+        if (quote < 0) {
+            int dot = header.indexOf('.');
+            return dot < 0
+                    ? header.trim().toLowerCase(Locale.ROOT)
+                    : header.substring(0, dot).trim().toLowerCase(Locale.ROOT) + "." + header.substring(dot + 1).trim();
+        }
+        StringBuilder subsection = new StringBuilder();
+        for (int i = quote + 1; i < header.length() && header.charAt(i) != '"'; i++) {
+            char c = header.charAt(i);
+            if (c == '\\' && i + 1 < header.length()) {
+                c = header.charAt(++i);
+            }
+            subsection.append(c);
+        }
+        return header.substring(0, quote).trim().toLowerCase(Locale.ROOT) + "." + subsection;
+    }
+
+    /**
+     * Parses a value up to the end of its (possibly continued) line, handling
+     * quotes, escapes and trailing comments.
+     *
+     * @return position after the value's line
+     */
+    private static int parseValue(String text, int pos, StringBuilder out) {
+        boolean quoted = false;
+        int pendingSpaces = 0;
+        pos = skipBlanks(text, pos);
+
+        while (pos < text.length()) {
+            char c = text.charAt(pos++);
+            if (c == '\n') {
+                break;
+            }
+            if (c == '\r') {
+                continue;
+            }
+            if (!quoted && (c == '#' || c == ';')) {
+                pos = lineEnd(text, pos) + 1;
+                break;
+            }
+            if (c == ' ' || c == '\t') {
+                if (quoted) {
+                    out.append(c);
+                } else if (!out.isEmpty()) {
+                    pendingSpaces++;
+                }
+                continue;
+            }
+            if (pendingSpaces > 0) {
+                out.append(" ".repeat(pendingSpaces));
+                pendingSpaces = 0;
+            }
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == '\\' && pos < text.length()) {
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case '\n' -> { }                   // line continuation
+                    case '\r' -> {
+                        if (pos < text.length() && text.charAt(pos) == '\n') pos++;
+                    }
+                    case 'n' -> out.append('\n');
+                    case 't' -> out.append('\t');
+                    case 'b' -> {
+                        if (!out.isEmpty()) out.setLength(out.length() - 1);
+                    }
+                    default -> out.append(escaped);   // \" and \\
+                }
+            } else {
+                out.append(c);
+            }
+        }
+        return pos;
+    }
+
+    private static int skipBlanks(String text, int pos) {
+        while (pos < text.length()) {
+            char c = text.charAt(pos);
+            if (c != ' ' && c != '\t' && c != '\r') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int lineEnd(String text, int pos) {
+        int end = text.indexOf('\n', pos);
+        return end < 0 ? text.length() : end;
+    }
+
+    private static String readTrimmed(Path file) {
+        try {
+            return Files.readString(file, StandardCharsets.UTF_8).trim();
+        } catch (IOException | InvalidPathException e) {
+            return null;
+        }
+    }
+}
@@ -20,12 +20,19 @@ import java.io.InputStreamReader;
  *
  * <p>If the runtime is not found, displays a friendly error with install instructions.
  *
+ * <p>Availability is answered by looking the tool up on PATH, without starting
+ * it. Version probes are only run when a version is displayed ({@code pm doctor})
+ * and are cached in {@link Constants#RUNTIME_PROBE_FILE} until PATH or the
+ * tool's binary changes (see {@link RuntimeProbeCache}).
+ *
  * @author SoftDryzz
- * @version 1.3.3
+ * @version 2.1.0
  * @since 1.1.0
  */
 public final class RuntimeChecker {
 
+    private static final RuntimeProbeCache PROBE_CACHE = new RuntimeProbeCache(Constants.RUNTIME_PROBE_FILE);
+
     private RuntimeChecker() {
         throw new AssertionError("RuntimeChecker cannot be instantiated");
     }
@@ -212,11 +219,20 @@ public final class RuntimeChecker {
      * Gets the version string of a command.
      * Returns null if the command is not available.
      *
+     * <p>Served from the probe cache while PATH and the binary are unchanged.
+     *
      * @param command the command to check (e.g., "java", "node")
      * @param versionFlag the flag to get version (e.g., "-version", "--version")
      * @return version output string, or null if not available
      */
     public static String getVersion(String command, String versionFlag) {
+        return PROBE_CACHE.get(command, versionFlag, () -> probeVersion(command, versionFlag));
+    }
+
+    /**
+     * Runs {@code <command> <versionFlag>} and returns the first line of its output.
+     */
+    static String probeVersion(String command, String versionFlag) {
         try {
             String os = System.getProperty("os.name").toLowerCase();
             String[] cmd;
@@ -254,12 +270,15 @@ public final class RuntimeChecker {
     /**
      * Checks if a command is available in the system PATH.
      *
+     * <p>Resolved in Java ({@link ExecutableResolver}) without starting the tool;
+     * use {@link #getVersion(String, String)} when the version is actually shown.
+     *
      * @param command the command to check
-     * @param versionFlag the flag to test with
-     * @return true if the command executes successfully
+     * @param versionFlag the flag {@link #getVersion(String, String)} would use (not run)
+     * @return true if an executable with that name is on PATH
      */
     public static boolean isCommandAvailable(String command, String versionFlag) {
-        return getVersion(command, versionFlag) != null;
+        return ExecutableResolver.find(command) != null;
     }
 
     /**
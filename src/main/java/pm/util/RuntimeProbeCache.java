@@ -0,0 +1,223 @@
+package pm.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Persistent cache of runtime probes ({@code <tool> --version}), so repeated
+ * checks cost a few file stats instead of a process launch.
+ *
+ * <p>Each result is stored with a fingerprint of:
+ * <ul>
+ * <li>every {@code PATH} entry and its modification time (installing or
+ *     removing a tool in a {@code PATH} directory changes it)</li>
+ * <li>the resolved binary's real path, modification time and size (an
+ *     in-place upgrade changes it)</li>
+ * </ul>
+ * A result is reused only while the fingerprint matches and it is younger
+ * than {@link #MAX_AGE_MS}, which bounds staleness for version managers whose
+ * shims pick the version at run time.
+ *
+ * <p>Negative results (tool not found) are cached the same way.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class RuntimeProbeCache {
+
+    /** Results older than this are probed again even if nothing changed on disk (24 hours). */
+    static final long MAX_AGE_MS = 24 * 60 * 60 * 1000L;
+
+    private static final Gson GSON = new Gson();
+
+    private final Path file;
+    private Map<String, Probe> probes;
+
+    /**
+     * A cached probe result.
+     *
+     * @param fingerprint fingerprint of PATH and the binary when probed
+     * @param output      first line of the probe's output, or null if the tool was not available
+     * @param probedAt    epoch millis of the probe
+     */
+    record Probe(String fingerprint, String output, long probedAt) {}
+
+    /**
+     * On-disk layout of the cache file.
+     */
+    private record CacheFile(Map<String, Probe> probes) {}
+
+    /**
+     * Creates a cache backed by the given file. The file is read on first use.
+     *
+     * @param file cache file (e.g. {@link Constants#RUNTIME_PROBE_FILE})
+     */
+    public RuntimeProbeCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the cached result for a probe, running it if the cache has no
+     * valid entry.
+     *
+     * @param command the command probed (e.g. "gradle")
+     * @param flag    the flag passed to it (e.g. "--version")
+     * @param probe   runs the probe; returns its output or null if unavailable
+     * @return the probe's output, or null if the tool is not available
+     */
+    public String get(String command, String flag, Supplier<String> probe) {
+        return get(command, flag, System.getenv("PATH"), System.currentTimeMillis(), probe);
+    }
+
+    /**
+     * Returns the cached result for a probe against an explicit PATH and time.
+     */
+    String get(String command, String flag, String pathEnv, long now, Supplier<String> probe) {
+        String key = command + " " + flag;
+        String fingerprint = fingerprint(command, pathEnv);
+
+        Probe cached = lookup(key);
+        if (cached != null && cached.fingerprint().equals(fingerprint)
+                && now - cached.probedAt() >= 0 && now - cached.probedAt() < MAX_AGE_MS) {
+            return cached.output();
+        }
+
+        String output = probe.get();
+        store(key, new Probe(fingerprint, output, now));
+        return output;
+    }
+
+    // ============================================================
+    // FINGERPRINT
+    // ============================================================
+
+    /**
+     * Fingerprints the PATH directories and the binary a command resolves to.
+     *
+     * @param command command name
+     * @param pathEnv value of the PATH environment variable (may be null)
+     * @return hex digest; changes whenever a PATH directory or the binary changes
+     */
+    static String fingerprint(String command, String pathEnv) {
+        StringBuilder state = new StringBuilder();
+        for (String dir : ExecutableResolver.splitPath(pathEnv)) {
+            state.append(dir).append('=').append(stamp(dir)).append('\n');
+        }
+
+        Path binary = ExecutableResolver.find(command, pathEnv, System.getenv("PATHEXT"),
+                ExecutableResolver.isWindows());
+        if (binary != null) {
+            try {
+                Path real = binary.toRealPath();
+                state.append("binary=").append(real).append('=').append(stamp(real.toString()));
+            } catch (IOException e) {
+                state.append("binary=").append(binary).append("=unreadable");
+            }
+        } else {
+            state.append("binary=none");
+        }
+
+        return digest(state.toString());
+    }
+
+    private static String stamp(String path) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(Path.of(path), BasicFileAttributes.class);
+            return attrs.lastModifiedTime().toMillis() + ":" + attrs.size();
+        } catch (IOException | InvalidPathException e) {
+            return "missing";
+        }
+    }
+
+    private static String digest(String state) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(state.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", hash[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM ships SHA-256; fall back to the raw state just in case
+            return state;
+        }
+    }
+
+    // ============================================================
+    // PERSISTENCE
+    // ============================================================
+
+    private synchronized Probe lookup(String key) {
+        if (probes == null) {
+            probes = read(file);
+        }
+        return probes.get(key);
+    }
+
+    private synchronized void store(String key, Probe probe) {
+        if (probes == null) {
+            probes = read(file);
+        }
+        probes.put(key, probe);
+        try {
+            write(file, probes);
+        } catch (IOException e) {
+            // Non-critical — the tool is simply probed again next time
+        }
+    }
+
+    /**
+     * Reads the cache file.
+     *
+     * @return cached probes, or an empty map if the file is missing or unreadable
+     */
+    static Map<String, Probe> read(Path file) {
+        if (!Files.exists(file)) {
+            return new HashMap<>();
+        }
+        try {
+            CacheFile cache = GSON.fromJson(Files.readString(file, StandardCharsets.UTF_8), CacheFile.class);
+            Map<String, Probe> result = new HashMap<>();
+            if (cache != null && cache.probes() != null) {
+                cache.probes().forEach((key, probe) -> {
+                    if (probe != null && probe.fingerprint() != null) {
+                        result.put(key, probe);
+                    }
+                });
+            }
+            return result;
+        } catch (IOException | JsonParseException e) {
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Writes the cache file atomically (temp file + move).
+     */
+    private static void write(Path file, Map<String, Probe> probes) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(tempFile, GSON.toJson(new CacheFile(new LinkedHashMap<>(probes))), StandardCharsets.UTF_8);
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
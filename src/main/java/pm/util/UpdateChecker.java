@@ -1,5 +1,7 @@
 package pm.util;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import pm.cli.OutputFormatter;
 
 import java.io.*;
@@ -8,6 +10,8 @@ import java.net.HttpURLConnection;
 import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -22,6 +26,12 @@ import javax.net.ssl.SSLException;
  * <li>{@link #performUpdate()} - Downloads and installs the latest JAR</li>
  * </ul>
  *
+ * <p>Since v2.1.0 the startup check never waits on the network. The notice is
+ * printed from the result cached in {@code ~/.projectmanager/cache/update-check.json},
+ * and once that result is older than {@value #CHECK_TTL_MS} ms it is revalidated on a
+ * background daemon thread with a conditional request ({@code If-None-Match}), so
+ * a new release shows up on the next run.
+ *
  * <p>Uses the GitHub API to query the latest release:
  * {@code https://api.github.com/repos/SoftDryzz/ProjectManager/releases/latest}
  *
@@ -33,7 +43,7 @@ import javax.net.ssl.SSLException;
  * </ul>
  *
  * @author SoftDryzz
- * @version 1.3.9
+ * @version 2.1.0
  * @since 1.2.0
  */
 public final class UpdateChecker {
@@ -53,6 +63,20 @@ public final class UpdateChecker {
     /** Maximum number of HTTP redirects to follow before aborting. */
     private static final int MAX_REDIRECTS = 5;
 
+    /** How long a cached check result is used before it is revalidated (24 hours). */
+    static final long CHECK_TTL_MS = 24L * 60 * 60 * 1000;
+
+    /** When a check is cut short by the JVM exiting, retry it after this long (1 hour). */
+    static final long RETRY_AFTER_MS = 60L * 60 * 1000;
+
+    /** How long to wait at exit for a background check that is still running. */
+    private static final long EXIT_GRACE_MS = 500;
+
+    private static final Gson GSON = new Gson();
+
+    /** Background revalidation started by the last startup check, if any. */
+    private static volatile Thread backgroundCheck;
+
     private UpdateChecker() {
         throw new AssertionError("UpdateChecker cannot be instantiated");
     }
@@ -69,38 +93,96 @@ public final class UpdateChecker {
      */
     record ReleaseInfo(String version, long expectedSize) {}
 
+    /**
+     * Response of a (possibly conditional) request for the latest release.
+     *
+     * @param release      release info, or null if not modified or unparseable
+     * @param etag         ETag sent by the server, or null
+     * @param notModified  true if the server answered 304 Not Modified
+     */
+    record FetchResult(ReleaseInfo release, String etag, boolean notModified) {}
+
+    /**
+     * Result of the last update check, persisted between runs.
+     *
+     * @param checkedAt     when the check was last attempted (epoch millis)
+     * @param etag          ETag of the last successful response, or null
+     * @param latestVersion latest released version, or null if never fetched
+     * @param expectedSize  expected JAR size of that release, or -1
+     */
+    record CachedCheck(long checkedAt, String etag, String latestVersion, long expectedSize) {
+
+        /**
+         * Checks whether this result is recent enough to skip revalidation.
+         *
+         * @param now current time (epoch millis)
+         * @return true if checked within the TTL
+         */
+        boolean isFresh(long now) {
+            long age = now - checkedAt;
+            return age >= 0 && age < CHECK_TTL_MS;
+        }
+
+        CachedCheck checkedAgainAt(long now) {
+            return new CachedCheck(now, etag, latestVersion, expectedSize);
+        }
+    }
+
     // ============================================================
     // PUBLIC API
     // ============================================================
 
     /**
      * Checks if a newer version is available on GitHub.
-     * Designed to be fast and non-blocking — if anything fails, it silently returns.
-     * Called automatically at startup.
+     * Called automatically at startup; never blocks on the network.
      *
-     * <p>Since v1.3.9: shows a brief message when offline instead of failing silently.
+     * <p>Since v2.1.0: prints the notice from the cached result of a previous check
+     * and, if that result is missing or older than the TTL, revalidates it on a
+     * background daemon thread. Network failures are recorded silently and retried
+     * after the TTL.
      */
     public static void checkForUpdates() {
-        try {
-            ReleaseInfo release = fetchLatestVersion(CHECK_TIMEOUT_MS);
-            if (release == null) {
-                return;
-            }
+        checkForUpdates(API_URL, Constants.UPDATE_CHECK_FILE, System.currentTimeMillis());
+    }
 
-            if (isNewerVersion(release.version(), Constants.VERSION)) {
-                System.out.println("  " + OutputFormatter.YELLOW + "Update available: " +
-                        Constants.VERSION + " -> " + release.version() + OutputFormatter.RESET);
-                System.out.println("  Run: " + OutputFormatter.CYAN + "pm update" +
-                        OutputFormatter.RESET + " to update");
-                System.out.println();
+    /**
+     * Startup check against a given API endpoint and cache file.
+     *
+     * @param apiUrl    URL of the "latest release" API endpoint
+     * @param cacheFile file holding the cached check result
+     * @param now       current time (epoch millis)
+     * @return the background revalidation thread, or null if the cache is fresh
+     */
+    static Thread checkForUpdates(String apiUrl, Path cacheFile, long now) {
+        CachedCheck cached = readCache(cacheFile);
+        if (cached != null) {
+            printUpdateNotice(cached.latestVersion());
+            if (cached.isFresh(now)) {
+                return null;
             }
-        } catch (UnknownHostException e) {
-            // Brief offline notification — non-blocking, does not interrupt user's command
-            System.out.println("  " + OutputFormatter.YELLOW +
-                    "Update check skipped (no internet connection)" + OutputFormatter.RESET);
-            System.out.println();
-        } catch (Exception e) {
-            // Silently ignore other errors — never block the user's command
+        }
+
+        Thread thread = new Thread(() -> revalidate(apiUrl, cacheFile, cached, now), "pm-update-check");
+        thread.setDaemon(true);
+        thread.start();
+        backgroundCheck = thread;
+        return thread;
+    }
+
+    /**
+     * Gives a background check started at startup a short grace period to
+     * finish and save its result before the JVM exits. Called once the command
+     * has completed, so it never delays the command itself.
+     */
+    public static void awaitBackgroundCheck() {
+        Thread thread = backgroundCheck;
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(EXIT_GRACE_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -183,10 +265,10 @@ public final class UpdateChecker {
             OutputFormatter.success("Update downloaded! Version " + release.version() + " will be active on next run.");
             System.out.println();
             System.out.println("  Downloaded: " + pendingJar);
-            System.out.println("  Size: " + formatFileSize(fileSize));
+            System.out.println("  Size: " + OutputFormatter.formatFileSize(fileSize));
             if (release.expectedSize() > 0) {
                 System.out.println("  Integrity: " + OutputFormatter.GREEN + "verified" + OutputFormatter.RESET +
-                        " (size matches expected " + formatFileSize(release.expectedSize()) + ")");
+                        " (size matches expected " + OutputFormatter.formatFileSize(release.expectedSize()) + ")");
             }
             System.out.println();
             System.out.println("  " + OutputFormatter.YELLOW + "Run any pm command to use the new version." + OutputFormatter.RESET);
@@ -205,6 +287,100 @@ public final class UpdateChecker {
         }
     }
 
+    // ============================================================
+    // CACHED CHECK
+    // ============================================================
+
+    /**
+     * Prints the "update available" notice if the given version is newer.
+     */
+    private static void printUpdateNotice(String latestVersion) {
+        if (isNewerVersion(latestVersion, Constants.VERSION)) {
+            System.out.println("  " + OutputFormatter.YELLOW + "Update available: " +
+                    Constants.VERSION + " -> " + latestVersion + OutputFormatter.RESET);
+            System.out.println("  Run: " + OutputFormatter.CYAN + "pm update" +
+                    OutputFormatter.RESET + " to update");
+            System.out.println();
+        }
+    }
+
+    /**
+     * Asks the API for the latest release and saves the result to the cache.
+     * Sends the cached ETag so an unchanged release costs a 304 with no body.
+     * Never throws: on failure the previous result is kept and retried after the TTL.
+     *
+     * <p>The attempt is recorded before the request is sent, so a check that is cut
+     * short by the JVM exiting is retried after {@value #RETRY_AFTER_MS} ms rather than
+     * on every run.
+     *
+     * @param apiUrl    URL of the "latest release" API endpoint
+     * @param cacheFile file holding the cached check result
+     * @param cached    previous result, or null
+     * @param now       current time (epoch millis)
+     * @return the result that was saved
+     */
+    static CachedCheck revalidate(String apiUrl, Path cacheFile, CachedCheck cached, long now) {
+        CachedCheck previous = cached != null ? cached : new CachedCheck(now, null, null, -1);
+        try {
+            writeCache(cacheFile, previous.checkedAgainAt(now - CHECK_TTL_MS + RETRY_AFTER_MS));
+        } catch (IOException e) {
+            // Non-critical — the check simply runs again next time
+        }
+
+        CachedCheck updated;
+        try {
+            FetchResult result = fetchRelease(apiUrl, CHECK_TIMEOUT_MS, previous.etag());
+            ReleaseInfo release = result.release();
+            if (release != null) {
+                updated = new CachedCheck(now, result.etag(), release.version(), release.expectedSize());
+            } else {
+                // 304 Not Modified or unparseable body: keep what we knew
+                updated = previous.checkedAgainAt(now);
+            }
+        } catch (Exception e) {
+            // Offline or API unavailable: keep what we knew and try again after the TTL
+            updated = previous.checkedAgainAt(now);
+        }
+
+        try {
+            writeCache(cacheFile, updated);
+        } catch (IOException e) {
+            // Non-critical — the check simply runs again next time
+        }
+        return updated;
+    }
+
+    /**
+     * Reads the cached check result.
+     *
+     * @param cacheFile file holding the cached check result
+     * @return the cached result, or null if missing or unreadable
+     */
+    static CachedCheck readCache(Path cacheFile) {
+        if (!Files.exists(cacheFile)) {
+            return null;
+        }
+        try {
+            return GSON.fromJson(Files.readString(cacheFile, StandardCharsets.UTF_8), CachedCheck.class);
+        } catch (IOException | JsonParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the cached check result atomically (temp file + move).
+     */
+    private static void writeCache(Path cacheFile, CachedCheck check) throws IOException {
+        Files.createDirectories(cacheFile.getParent());
+        Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+        Files.writeString(tempFile, GSON.toJson(check), StandardCharsets.UTF_8);
+        try {
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     // ============================================================
     // NETWORK OPERATIONS
     // ============================================================
@@ -217,32 +393,52 @@ public final class UpdateChecker {
      * @throws IOException if the network request fails
      */
     static ReleaseInfo fetchLatestVersion(int timeoutMs) throws IOException {
+        return fetchRelease(API_URL, timeoutMs, null).release();
+    }
+
+    /**
+     * Requests the latest release, optionally as a conditional request.
+     *
+     * @param apiUrl    URL of the "latest release" API endpoint
+     * @param timeoutMs connection timeout in milliseconds
+     * @param etag      ETag from a previous response to send as {@code If-None-Match}, or null
+     * @return the response; {@code notModified} is set when the server answered 304
+     * @throws IOException if the network request fails
+     */
+    static FetchResult fetchRelease(String apiUrl, int timeoutMs, String etag) throws IOException {
         HttpURLConnection conn = null;
         try {
-            conn = (HttpURLConnection) URI.create(API_URL).toURL().openConnection();
+            conn = (HttpURLConnection) URI.create(apiUrl).toURL().openConnection();
             conn.setRequestMethod("GET");
             conn.setRequestProperty("Accept", "application/vnd.github+json");
             conn.setRequestProperty("User-Agent", "ProjectManager/" + Constants.VERSION);
+            if (etag != null && !etag.isBlank()) {
+                conn.setRequestProperty("If-None-Match", etag);
+            }
             conn.setConnectTimeout(timeoutMs);
             conn.setReadTimeout(timeoutMs);
 
             int responseCode = conn.getResponseCode();
+            if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                return new FetchResult(null, etag, true);
+            }
             if (responseCode != 200) {
                 throw new IOException("GitHub API returned HTTP " + responseCode);
             }
 
             // Read response and extract tag_name + asset size manually (no JSON library dependency)
             String body = readStream(conn.getInputStream());
+            String responseEtag = conn.getHeaderField("ETag");
             String version = extractTagName(body);
 
             if (version == null) {
-                return null;
+                return new FetchResult(null, responseEtag, false);
             }
 
             String jarFileName = String.format(JAR_NAME, version);
             long expectedSize = extractAssetSize(body, jarFileName);
 
-            return new ReleaseInfo(version, expectedSize);
+            return new FetchResult(new ReleaseInfo(version, expectedSize), responseEtag, false);
 
         } finally {
             if (conn != null) {
@@ -331,15 +527,15 @@ public final class UpdateChecker {
 
         // Validate against expected size from GitHub API
         if (expectedSize > 0 && actualSize != expectedSize) {
-            return "Download size mismatch: got " + formatFileSize(actualSize) +
-                    " but expected " + formatFileSize(expectedSize) +
+            return "Download size mismatch: got " + OutputFormatter.formatFileSize(actualSize) +
+                    " but expected " + OutputFormatter.formatFileSize(expectedSize) +
                     ". The file may be incomplete or corrupted.";
         }
 
         // Validate against Content-Length from HTTP response
         if (contentLength > 0 && actualSize != contentLength) {
-            return "Download incomplete: got " + formatFileSize(actualSize) +
-                    " but server reported " + formatFileSize(contentLength) +
+            return "Download incomplete: got " + OutputFormatter.formatFileSize(actualSize) +
+                    " but server reported " + OutputFormatter.formatFileSize(contentLength) +
                     ". The connection may have been interrupted.";
         }
 
@@ -582,13 +778,4 @@ public final class UpdateChecker {
             return sb.toString();
         }
     }
-
-    /**
-     * Formats a file size in human-readable format.
-     */
-    static String formatFileSize(long bytes) {
-        if (bytes < 1024) return bytes + " B";
-        if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024.0);
-        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
-    }
 }
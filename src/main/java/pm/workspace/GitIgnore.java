@@ -0,0 +1,159 @@
+package pm.workspace;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code .gitignore} rules in effect for one directory of a walk.
+ *
+ * <p>Each instance holds the rules of one file plus a link to the rules
+ * inherited from parent directories, following git's precedence: a deeper
+ * file overrides its parents, and within a file the last matching line
+ * wins. Supported syntax:
+ * <ul>
+ * <li>blank lines and {@code #} comments are skipped; {@code \#} and
+ *     {@code \!} escape a leading character;</li>
+ * <li>{@code !pattern} re-includes what an earlier rule excluded;</li>
+ * <li>a trailing {@code /} only matches directories;</li>
+ * <li>a pattern with a {@code /} at the start or in the middle is relative to
+ *     the {@code .gitignore}'s directory; otherwise it matches a name at any
+ *     depth below it;</li>
+ * <li>wildcards as in {@link PathGlob}, including {@code **}.</li>
+ * </ul>
+ *
+ * <p>Instances are immutable and can be shared between threads.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class GitIgnore {
+
+    /** No rules at all. */
+    public static final GitIgnore NONE = new GitIgnore("", List.of(), null);
+
+    private final String base;
+    private final List<Rule> rules;
+    private final GitIgnore parent;
+
+    /**
+     * One line of a {@code .gitignore}.
+     */
+    private record Rule(PathGlob glob, boolean negated, boolean directoryOnly) {}
+
+    private GitIgnore(String base, List<Rule> rules, GitIgnore parent) {
+        this.base = base;
+        this.rules = rules;
+        this.parent = parent;
+    }
+
+    /**
+     * Adds the rules of a {@code .gitignore} file on top of these.
+     *
+     * @param relativeDirectory '/'-separated directory of the file, relative to the walk root ("" for the root)
+     * @param file              the ignore file; a missing or unreadable file adds nothing
+     * @return the combined rules, or this instance if the file has no rules
+     */
+    public GitIgnore withFile(String relativeDirectory, Path file) {
+        try {
+            return withRules(relativeDirectory, Files.readString(file, StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            return this;
+        }
+    }
+
+    /**
+     * Adds rules, given as the text of an ignore file, on top of these.
+     *
+     * @param relativeDirectory '/'-separated directory the rules are relative to
+     * @param content           ignore file content
+     * @return the combined rules, or this instance if the content has no rules
+     */
+    public GitIgnore withRules(String relativeDirectory, String content) {
+        List<Rule> parsed = parse(content);
+        if (parsed.isEmpty()) {
+            return this;
+        }
+        return new GitIgnore(relativeDirectory, parsed, this == NONE ? null : this);
+    }
+
+    private static List<Rule> parse(String content) {
+        List<Rule> rules = new ArrayList<>();
+        for (String rawLine : content.split("\\r?\\n")) {
+            String line = stripTrailingSpaces(rawLine);
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            boolean negated = false;
+            if (line.startsWith("!")) {
+                negated = true;
+                line = line.substring(1);
+            } else if (line.startsWith("\\!") || line.startsWith("\\#")) {
+                line = line.substring(1);
+            }
+
+            boolean directoryOnly = line.endsWith("/");
+            if (directoryOnly) {
+                line = line.substring(0, line.length() - 1);
+            }
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            // "name" matches at any depth; "a/b" and "/name" are anchored to the file's directory
+            boolean anchored = line.indexOf('/') >= 0;
+            rules.add(new Rule(PathGlob.compile(anchored ? line : "**/" + line), negated, directoryOnly));
+        }
+        return rules;
+    }
+
+    private static String stripTrailingSpaces(String line) {
+        int end = line.length();
+        while (end > 0 && line.charAt(end - 1) == ' ' && (end < 2 || line.charAt(end - 2) != '\\')) {
+            end--;
+        }
+        return line.substring(0, end);
+    }
+
+    /**
+     * Checks whether a path is ignored.
+     *
+     * @param relativePath '/'-separated path relative to the walk root
+     * @param directory    whether the path is a directory
+     * @return true if the last matching rule excludes it
+     */
+    public boolean isIgnored(String relativePath, boolean directory) {
+        for (GitIgnore file = this; file != null; file = file.parent) {
+            String local = file.relativize(relativePath);
+            if (local == null) {
+                continue;
+            }
+            for (int i = file.rules.size() - 1; i >= 0; i--) {
+                Rule rule = file.rules.get(i);
+                if ((!rule.directoryOnly() || directory) && rule.glob().matches(local)) {
+                    return !rule.negated();
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Makes a path relative to this file's directory, or null if it is outside it.
+     */
+    private String relativize(String relativePath) {
+        if (base.isEmpty()) {
+            return relativePath;
+        }
+        if (relativePath.startsWith(base) && relativePath.length() > base.length()
+                && relativePath.charAt(base.length()) == '/') {
+            return relativePath.substring(base.length() + 1);
+        }
+        return null;
+    }
+}
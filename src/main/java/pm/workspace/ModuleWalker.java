@@ -0,0 +1,197 @@
+package pm.workspace;
+
+import pm.detector.DirectorySnapshot;
+import pm.detector.ProjectDiscovery;
+import pm.detector.ProjectType;
+import pm.detector.ProjectTypeDetector;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Parallel directory walker for finding workspace modules inside a project.
+ *
+ * <p>Each directory is listed once ({@link DirectorySnapshot}) by a
+ * fork/join task, which also detects the directory's type from that listing,
+ * so type detection costs no extra file-system calls and runs in parallel.
+ * The walk never enters:
+ * <ul>
+ * <li>directories excluded by {@code .gitignore} files (the root's, nested
+ *     ones, and {@code .git/info/exclude}), see {@link GitIgnore};</li>
+ * <li>symbolic links to directories;</li>
+ * <li>directories the caller's {@code descend} test rejects, such as paths
+ *     no workspace glob can match, or heavy directories ({@link #isHeavy(String)})
+ *     where nothing declares them explicitly.</li>
+ * </ul>
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class ModuleWalker {
+
+    private ModuleWalker() {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * A directory accepted by a walk.
+     *
+     * @param relativePath '/'-separated path from the walk root
+     * @param path         the directory
+     * @param type         its primary type (UNKNOWN if none)
+     */
+    public record Match(String relativePath, Path path, ProjectType type) {}
+
+    /**
+     * Shared pool; listing is I/O-bound, so it has at least four threads even on small machines.
+     */
+    private static final class Pool {
+        static final ForkJoinPool INSTANCE =
+                new ForkJoinPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Checks whether a directory is hidden, a dependency or a build output
+     * directory, by the same names {@link ProjectDiscovery#isPruned(String)} skips.
+     *
+     * @param relativePath '/'-separated path from the walk root
+     * @return true if its last segment names a heavy directory
+     */
+    public static boolean isHeavy(String relativePath) {
+        return ProjectDiscovery.isPruned(relativePath.substring(relativePath.lastIndexOf('/') + 1));
+    }
+
+    /**
+     * Walks a project directory.
+     *
+     * @param root     directory to walk (its own relative path is "" and it is never a match)
+     * @param maxDepth levels below the root to visit
+     * @param descend  whether to list a subdirectory, by relative path
+     * @param accept   whether a listed directory is a match, by relative path and listing
+     * @return matches sorted by relative path
+     */
+    public static List<Match> walk(Path root, int maxDepth, Predicate<String> descend,
+                                   BiPredicate<String, DirectorySnapshot> accept) {
+        ConcurrentLinkedQueue<Match> matches = new ConcurrentLinkedQueue<>();
+        Pool.INSTANCE.invoke(new DirectoryTask(root, "", 0, maxDepth, rootIgnore(root), descend, accept, matches));
+
+        List<Match> sorted = new ArrayList<>(matches);
+        sorted.sort(Comparator.comparing(Match::relativePath));
+        return sorted;
+    }
+
+    /**
+     * Detects the type of known directories in parallel, e.g. members listed
+     * literally in a workspace file.
+     *
+     * @param root          project directory
+     * @param relativePaths '/'-separated member paths
+     * @return a match for each path that is a directory, in input order
+     */
+    public static List<Match> detect(Path root, List<String> relativePaths) {
+        List<RecursiveTask<Match>> tasks = new ArrayList<>();
+        for (String relativePath : relativePaths) {
+            tasks.add(new RecursiveTask<>() {
+                @Override
+                protected Match compute() {
+                    Path dir = root.resolve(relativePath);
+                    DirectorySnapshot snapshot = DirectorySnapshot.of(dir);
+                    return snapshot.isListed() ? new Match(relativePath, dir, ProjectTypeDetector.detect(snapshot)) : null;
+                }
+            });
+        }
+
+        Pool.INSTANCE.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        List<Match> matches = new ArrayList<>();
+        for (RecursiveTask<Match> task : tasks) {
+            if (task.getRawResult() != null) {
+                matches.add(task.getRawResult());
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Rules from {@code .git/info/exclude}, which apply like a root {@code .gitignore}.
+     */
+    private static GitIgnore rootIgnore(Path root) {
+        return GitIgnore.NONE.withFile("", root.resolve(".git").resolve("info").resolve("exclude"));
+    }
+
+    /**
+     * Lists one directory, records it if accepted, and forks a task per subdirectory to visit.
+     */
+    private static final class DirectoryTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Path directory;
+        private final String relativePath;
+        private final int depth;
+        private final int maxDepth;
+        private final GitIgnore inherited;
+        private final Predicate<String> descend;
+        private final BiPredicate<String, DirectorySnapshot> accept;
+        private final ConcurrentLinkedQueue<Match> matches;
+
+        DirectoryTask(Path directory, String relativePath, int depth, int maxDepth, GitIgnore inherited,
+                      Predicate<String> descend, BiPredicate<String, DirectorySnapshot> accept,
+                      ConcurrentLinkedQueue<Match> matches) {
+            this.directory = directory;
+            this.relativePath = relativePath;
+            this.depth = depth;
+            this.maxDepth = maxDepth;
+            this.inherited = inherited;
+            this.descend = descend;
+            this.accept = accept;
+            this.matches = matches;
+        }
+
+        @Override
+        protected void compute() {
+            DirectorySnapshot snapshot = DirectorySnapshot.of(directory);
+            if (!snapshot.isListed()) {
+                return;
+            }
+
+            if (!relativePath.isEmpty() && accept.test(relativePath, snapshot)) {
+                matches.add(new Match(relativePath, directory, ProjectTypeDetector.detect(snapshot)));
+            }
+            if (depth >= maxDepth) {
+                return;
+            }
+
+            GitIgnore ignore = snapshot.isFile(".gitignore")
+                    ? inherited.withFile(relativePath, directory.resolve(".gitignore"))
+                    : inherited;
+
+            List<DirectoryTask> children = new ArrayList<>();
+            for (String name : snapshot.names()) {
+                if (!snapshot.isDirectory(name) || snapshot.isSymbolicLink(name)) {
+                    continue;
+                }
+                String child = relativePath.isEmpty() ? name : relativePath + "/" + name;
+                if (!ignore.isIgnored(child, true) && descend.test(child)) {
+                    children.add(new DirectoryTask(directory.resolve(name), child, depth + 1, maxDepth,
+                            ignore, descend, accept, matches));
+                }
+            }
+            invokeAll(children);
+        }
+    }
+}
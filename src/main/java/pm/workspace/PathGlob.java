@@ -0,0 +1,220 @@
+package pm.workspace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A glob over '/'-separated relative paths, as used by workspace
+ * declarations ({@code packages/*}, {@code apps/**}) and {@code .gitignore}.
+ *
+ * <p>Matching is done segment by segment:
+ * <ul>
+ * <li>{@code *} matches any run of characters within one segment,
+ *     {@code ?} one character, and {@code [a-z]} / {@code [!a-z]} a class;</li>
+ * <li>{@code {a,b}} matches either alternative;</li>
+ * <li>a {@code **} segment matches zero or more whole segments, except at
+ *     the end, where it matches one or more (everything inside).</li>
+ * </ul>
+ * A leading {@code ./} or {@code /} and a trailing {@code /} are ignored.
+ *
+ * @author SoftDryzz
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class PathGlob {
+
+    private static final String ANY_SEGMENTS = "**";
+
+    private final String pattern;
+    /** One entry per segment: a compiled pattern, or null for {@code **}. */
+    private final List<Pattern> segments;
+
+    private PathGlob(String pattern, List<Pattern> segments) {
+        this.pattern = pattern;
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles a glob.
+     *
+     * @param glob pattern such as {@code packages/*} or {@code **}{@code /test}
+     * @return the compiled glob
+     */
+    public static PathGlob compile(String glob) {
+        String normalized = normalize(glob);
+        List<Pattern> segments = new ArrayList<>();
+        for (String segment : normalized.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            // Consecutive ** segments are equivalent to one
+            if (segment.equals(ANY_SEGMENTS)) {
+                if (segments.isEmpty() || segments.get(segments.size() - 1) != null) {
+                    segments.add(null);
+                }
+            } else {
+                segments.add(Pattern.compile(toRegex(segment)));
+            }
+        }
+        return new PathGlob(normalized, segments);
+    }
+
+    private static String normalize(String glob) {
+        String normalized = glob.trim();
+        while (normalized.startsWith("./")) {
+            normalized = normalized.substring(2);
+        }
+        if (normalized.startsWith("/")) {
+            normalized = normalized.substring(1);
+        }
+        if (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    /**
+     * Translates one segment to a regular expression.
+     */
+    static String toRegex(String segment) {
+        StringBuilder regex = new StringBuilder();
+        int braces = 0;
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            switch (c) {
+                case '*' -> regex.append("[^/]*");
+                case '?' -> regex.append("[^/]");
+                case '[' -> {
+                    int close = segment.indexOf(']', i + 2);
+                    if (close < 0) {
+                        regex.append("\\[");
+                        break;
+                    }
+                    String body = segment.substring(i + 1, close);
+                    if (body.startsWith("!")) {
+                        body = "^" + body.substring(1);
+                    }
+                    regex.append('[').append(body.replace("\\", "\\\\").replace("[", "\\[")).append(']');
+                    i = close;
+                }
+                case '{' -> {
+                    braces++;
+                    regex.append("(?:");
+                }
+                case '}' -> {
+                    if (braces > 0) {
+                        braces--;
+                        regex.append(')');
+                    } else {
+                        regex.append("\\}");
+                    }
+                }
+                case ',' -> regex.append(braces > 0 ? "|" : ",");
+                case '\\' -> {
+                    if (i + 1 < segment.length()) {
+                        regex.append(Pattern.quote(String.valueOf(segment.charAt(++i))));
+                    }
+                }
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        regex.append(")".repeat(braces));
+        return regex.toString();
+    }
+
+    /**
+     * Gets the pattern as written, without leading {@code ./} and trailing {@code /}.
+     *
+     * @return the normalized pattern
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Checks whether the glob contains any wildcard, i.e. it is not a plain path.
+     *
+     * @return true if it needs a directory walk to expand
+     */
+    public boolean hasWildcards() {
+        return pattern.chars().anyMatch(c -> c == '*' || c == '?' || c == '[' || c == '{');
+    }
+
+    /**
+     * Checks whether the glob can match paths of any depth (it contains {@code **}).
+     *
+     * @return true if it is recursive
+     */
+    public boolean isRecursive() {
+        return segments.contains(null);
+    }
+
+    /**
+     * Matches a relative path.
+     *
+     * @param relativePath '/'-separated path, e.g. {@code packages/ui}
+     * @return true if the whole path matches
+     */
+    public boolean matches(String relativePath) {
+        return match(split(relativePath), 0, 0, false);
+    }
+
+    /**
+     * Checks whether a path below the given directory could match, so a walk
+     * can skip directories that cannot lead to a match.
+     *
+     * @param relativeDirectory '/'-separated directory path ("" for the root)
+     * @return true if some path inside it may match
+     */
+    public boolean couldMatchBelow(String relativeDirectory) {
+        return match(split(relativeDirectory), 0, 0, true);
+    }
+
+    private boolean match(List<String> path, int p, int g, boolean prefix) {
+        while (p < path.size()) {
+            if (g == segments.size()) {
+                return false;
+            }
+            Pattern segment = segments.get(g);
+            if (segment == null) {
+                // ** absorbs zero or more segments; with nothing after it, it matches the rest
+                if (g == segments.size() - 1) {
+                    return true;
+                }
+                for (int skip = p; skip <= path.size(); skip++) {
+                    if (match(path, skip, g + 1, prefix)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            if (!segment.matcher(path.get(p)).matches()) {
+                return false;
+            }
+            p++;
+            g++;
+        }
+        if (prefix) {
+            // Something of the glob is left to match inside the directory
+            return g < segments.size();
+        }
+        // A trailing ** needs at least one segment: "dist/**" is what is inside dist, not dist itself
+        return g == segments.size();
+    }
+
+    private static List<String> split(String relativePath) {
+        List<String> parts = new ArrayList<>();
+        for (String part : relativePath.replace('\\', '/').split("/")) {
+            if (!part.isEmpty() && !part.equals(".")) {
+                parts.add(part);
+            }
+        }
+        return parts;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -5,26 +5,38 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import pm.detector.ProjectType;
-import pm.detector.ProjectTypeDetector;
 import pm.util.Constants;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Stream;
 
 /**
  * Detects workspace/monorepo modules within a project.
  * Supports Cargo workspaces, npm/pnpm/yarn workspaces, Gradle multi-project, and Go multi-module.
+ *
+ * <p>Member globs ({@code packages/*}, {@code apps/**}, {@code !**}{@code /test/**})
+ * are expanded with one {@link ModuleWalker} walk, which skips ignored and
+ * heavy directories and detects module types in parallel.
  */
 public final class WorkspaceDetector {
 
     private static final Gson GSON = new Gson();
 
+    /** Deepest level a member glob is expanded to, as a guard for {@code **}. */
+    static final int MAX_GLOB_DEPTH = 8;
+
+    /** Levels below the root searched for Go sub-modules. */
+    static final int GO_MODULE_DEPTH = 3;
+
     private WorkspaceDetector() {
         throw new AssertionError("Utility class");
     }
@@ -70,19 +82,11 @@ public final class WorkspaceDetector {
                 return List.of();
             }
 
-            List<String> members = parseCargoMembers(content);
-            List<WorkspaceModule> modules = new ArrayList<>();
-
-            for (String member : members) {
-                Path memberPath = projectRoot.resolve(member);
-                if (Files.isDirectory(memberPath)) {
-                    String name = memberPath.getFileName().toString();
-                    ProjectType type = safeDetect(memberPath);
-                    modules.add(new WorkspaceModule(name, member, type));
-                }
+            List<String> members = new ArrayList<>(parseCargoMembers(content));
+            for (String excluded : parseTomlArray(content, "exclude")) {
+                members.add("!" + excluded);
             }
-
-            return modules;
+            return expandMembers(projectRoot, members, Constants.FILE_CARGO_TOML);
         } catch (IOException e) {
             return List.of();
         }
@@ -93,8 +97,15 @@ public final class WorkspaceDetector {
      * Handles: members = ["app", "lib", "tools/helper"]
      */
     static List<String> parseCargoMembers(String content) {
+        return parseTomlArray(content, "members");
+    }
+
+    /**
+     * Parses a string array such as {@code exclude = ["a", "b"]} from TOML content.
+     */
+    private static List<String> parseTomlArray(String content, String key) {
         List<String> members = new ArrayList<>();
-        Pattern pattern = Pattern.compile("members\\s*=\\s*\\[([^]]*)]", Pattern.DOTALL);
+        Pattern pattern = Pattern.compile("(?m)^\\s*" + key + "\\s*=\\s*\\[([^]]*)]", Pattern.DOTALL);
         Matcher matcher = pattern.matcher(content);
 
         if (matcher.find()) {
@@ -114,56 +125,84 @@ public final class WorkspaceDetector {
     // ============================================================
 
     /**
-     * Detects npm workspace packages from package.json.
-     * Handles both array format and object format with "packages" key.
+     * Detects npm/pnpm/yarn workspace packages. pnpm-workspace.yaml is used when
+     * present (pnpm ignores package.json then); otherwise the "workspaces" key of
+     * package.json, in array or object format.
      */
     static List<WorkspaceModule> detectNpmWorkspace(Path projectRoot) {
-        Path packageJson = projectRoot.resolve(Constants.FILE_PACKAGE_JSON);
-        if (!Files.isRegularFile(packageJson)) {
+        try {
+            List<String> workspacePatterns;
+            Path pnpmWorkspace = projectRoot.resolve(Constants.FILE_PNPM_WORKSPACE);
+            if (Files.isRegularFile(pnpmWorkspace)) {
+                workspacePatterns = parsePnpmWorkspace(Files.readString(pnpmWorkspace));
+            } else {
+                Path packageJson = projectRoot.resolve(Constants.FILE_PACKAGE_JSON);
+                if (!Files.isRegularFile(packageJson)) {
+                    return List.of();
+                }
+                JsonObject json = GSON.fromJson(Files.readString(packageJson), JsonObject.class);
+                if (json == null || !json.has("workspaces")) {
+                    return List.of();
+                }
+                workspacePatterns = parseNpmWorkspaces(json);
+            }
+
+            return expandMembers(projectRoot, workspacePatterns, Constants.FILE_PACKAGE_JSON);
+        } catch (Exception e) {
             return List.of();
         }
+    }
 
-        try {
-            String content = Files.readString(packageJson);
-            JsonObject json = GSON.fromJson(content, JsonObject.class);
+    /**
+     * Parses the "packages" list from pnpm-workspace.yaml.
+     * Handles block lists ({@code - 'packages/*'}) and flow lists ({@code packages: [a, b]}).
+     */
+    static List<String> parsePnpmWorkspace(String content) {
+        List<String> patterns = new ArrayList<>();
+        boolean inPackages = false;
 
-            if (json == null || !json.has("workspaces")) {
-                return List.of();
+        for (String line : content.split("\\r?\\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
             }
 
-            List<String> workspacePatterns = parseNpmWorkspaces(json);
-            List<WorkspaceModule> modules = new ArrayList<>();
-
-            for (String pattern : workspacePatterns) {
-                if (pattern.endsWith("/*")) {
-                    // Glob pattern: expand to subdirectories
-                    String parentDir = pattern.substring(0, pattern.length() - 2);
-                    Path parent = projectRoot.resolve(parentDir);
-                    if (Files.isDirectory(parent)) {
-                        try (Stream<Path> dirs = Files.list(parent)) {
-                            dirs.filter(Files::isDirectory).forEach(dir -> {
-                                String name = dir.getFileName().toString();
-                                String relativePath = parentDir + "/" + name;
-                                ProjectType type = safeDetect(dir);
-                                modules.add(new WorkspaceModule(name, relativePath, type));
-                            });
+            boolean topLevelKey = !Character.isWhitespace(line.charAt(0)) && !trimmed.startsWith("-");
+            if (topLevelKey) {
+                inPackages = trimmed.startsWith("packages:");
+                String rest = inPackages ? trimmed.substring("packages:".length()).trim() : "";
+                if (rest.startsWith("[")) {
+                    int close = rest.lastIndexOf(']');
+                    for (String item : rest.substring(1, close > 0 ? close : rest.length()).split(",")) {
+                        String value = yamlScalar(item);
+                        if (!value.isEmpty()) {
+                            patterns.add(value);
                         }
                     }
-                } else {
-                    // Direct path
-                    Path modulePath = projectRoot.resolve(pattern);
-                    if (Files.isDirectory(modulePath)) {
-                        String name = modulePath.getFileName().toString();
-                        ProjectType type = safeDetect(modulePath);
-                        modules.add(new WorkspaceModule(name, pattern, type));
-                    }
+                    inPackages = false;
+                }
+            } else if (inPackages && trimmed.startsWith("-")) {
+                String value = yamlScalar(trimmed.substring(1));
+                if (!value.isEmpty()) {
+                    patterns.add(value);
                 }
             }
+        }
 
-            return modules;
-        } catch (Exception e) {
-            return List.of();
+        return patterns;
+    }
+
+    /**
+     * Reads a quoted or plain YAML scalar, dropping a trailing comment.
+     */
+    private static String yamlScalar(String text) {
+        String value = text.trim();
+        if (!value.isEmpty() && (value.charAt(0) == '\'' || value.charAt(0) == '"')) {
+            int close = value.indexOf(value.charAt(0), 1);
+            return close > 0 ? value.substring(1, close) : value.substring(1);
         }
+        int comment = value.indexOf(" #");
+        return (comment >= 0 ? value.substring(0, comment) : value).trim();
     }
 
     /**
@@ -215,25 +254,17 @@ public final class WorkspaceDetector {
 
         try {
             String content = Files.readString(settingsFile);
-            List<String> includes = parseGradleIncludes(content);
-            List<WorkspaceModule> modules = new ArrayList<>();
-
-            for (String include : includes) {
+            List<String> relativePaths = new ArrayList<>();
+            for (String include : parseGradleIncludes(content)) {
                 // Convert Gradle notation :app:sub to app/sub
                 String relativePath = include.replace(":", "/");
                 if (relativePath.startsWith("/")) {
                     relativePath = relativePath.substring(1);
                 }
-
-                Path modulePath = projectRoot.resolve(relativePath);
-                if (Files.isDirectory(modulePath)) {
-                    String name = modulePath.getFileName().toString();
-                    ProjectType type = safeDetect(modulePath);
-                    modules.add(new WorkspaceModule(name, relativePath, type));
-                }
+                relativePaths.add(relativePath);
             }
 
-            return modules;
+            return toModules(ModuleWalker.detect(projectRoot, relativePaths));
         } catch (IOException e) {
             return List.of();
         }
@@ -273,26 +304,16 @@ public final class WorkspaceDetector {
     // ============================================================
 
     /**
-     * Detects Go sub-modules by finding go.mod files in subdirectories.
+     * Detects Go sub-modules by finding go.mod files in subdirectories,
+     * skipping vendor, node_modules, hidden and git-ignored directories.
      */
     static List<WorkspaceModule> detectGoModules(Path projectRoot) {
-        try (Stream<Path> walk = Files.walk(projectRoot, 3)) {
-            List<WorkspaceModule> modules = new ArrayList<>();
-
-            walk.filter(Files::isRegularFile)
-                    .filter(p -> p.getFileName().toString().equals("go.mod"))
-                    .filter(p -> !p.getParent().equals(projectRoot))
-                    .forEach(goMod -> {
-                        Path moduleDir = goMod.getParent();
-                        String name = moduleDir.getFileName().toString();
-                        String relativePath = projectRoot.relativize(moduleDir).toString().replace("\\", "/");
-                        modules.add(new WorkspaceModule(name, relativePath, ProjectType.GO));
-                    });
-
-            return modules;
-        } catch (IOException e) {
-            return List.of();
+        List<WorkspaceModule> modules = new ArrayList<>();
+        for (ModuleWalker.Match match : ModuleWalker.walk(projectRoot, GO_MODULE_DEPTH, relativePath -> !ModuleWalker.isHeavy(relativePath),
+                (relativePath, dir) -> dir.isFile(Constants.FILE_GO_MOD))) {
+            modules.add(new WorkspaceModule(match.path().getFileName().toString(), match.relativePath(), ProjectType.GO));
         }
+        return modules;
     }
 
     // ============================================================
@@ -300,13 +321,73 @@ public final class WorkspaceDetector {
     // ============================================================
 
     /**
-     * Safely detects a project type, returning UNKNOWN on any error.
+     * Expands workspace member patterns into modules, in declaration order.
+     *
+     * <p>Plain paths are used as they are; all globs are expanded by a single
+     * {@link ModuleWalker} walk that only enters directories some glob can
+     * still match. Patterns starting with {@code !} exclude what they match.
+     * A directory reached through a {@code **} glob must contain the manifest,
+     * so that {@code packages/**} does not list every source folder, and such
+     * a glob does not enter hidden, dependency or build output directories.
+     * Single-segment wildcards keep them: {@code packages/*} lists
+     * {@code packages/build} like any other member.
+     *
+     * @param projectRoot project directory
+     * @param patterns    member paths and globs
+     * @param manifest    file that marks a module (e.g. package.json)
+     * @return modules, without duplicates
      */
-    private static ProjectType safeDetect(Path path) {
-        try {
-            return ProjectTypeDetector.detect(path);
-        } catch (Exception e) {
-            return ProjectType.UNKNOWN;
+    static List<WorkspaceModule> expandMembers(Path projectRoot, List<String> patterns, String manifest) {
+        List<PathGlob> includes = new ArrayList<>();
+        List<PathGlob> excludes = new ArrayList<>();
+        for (String pattern : patterns) {
+            if (pattern.startsWith("!")) {
+                excludes.add(PathGlob.compile(pattern.substring(1)));
+            } else if (!pattern.isBlank()) {
+                includes.add(PathGlob.compile(pattern));
+            }
+        }
+
+        List<PathGlob> globs = includes.stream().filter(PathGlob::hasWildcards).toList();
+        List<ModuleWalker.Match> walked = globs.isEmpty() ? List.of() : ModuleWalker.walk(projectRoot, MAX_GLOB_DEPTH,
+                relativePath -> globs.stream().anyMatch(g -> (g.matches(relativePath) || g.couldMatchBelow(relativePath))
+                        && !(g.isRecursive() && ModuleWalker.isHeavy(relativePath))),
+                (relativePath, dir) -> globs.stream().anyMatch(g -> g.matches(relativePath)
+                        && (!g.isRecursive() || dir.isFile(manifest))));
+
+        List<String> literals = includes.stream().filter(g -> !g.hasWildcards()).map(PathGlob::pattern).toList();
+        Map<String, ModuleWalker.Match> direct = new HashMap<>();
+        for (ModuleWalker.Match match : ModuleWalker.detect(projectRoot, literals)) {
+            direct.put(match.relativePath(), match);
+        }
+
+        Map<String, ModuleWalker.Match> ordered = new LinkedHashMap<>();
+        for (PathGlob include : includes) {
+            if (!include.hasWildcards()) {
+                ModuleWalker.Match match = direct.get(include.pattern());
+                if (match != null) {
+                    ordered.putIfAbsent(match.relativePath(), match);
+                }
+            } else {
+                for (ModuleWalker.Match match : walked) {
+                    if (include.matches(match.relativePath())) {
+                        ordered.putIfAbsent(match.relativePath(), match);
+                    }
+                }
+            }
+        }
+        ordered.keySet().removeIf(relativePath -> excludes.stream().anyMatch(e -> e.matches(relativePath)));
+
+        return toModules(ordered.values());
+    }
+
+    private static List<WorkspaceModule> toModules(Collection<ModuleWalker.Match> matches) {
+        List<WorkspaceModule> modules = new ArrayList<>();
+        for (ModuleWalker.Match match : matches) {
+            Path fileName = match.path().normalize().getFileName();
+            String name = fileName != null ? fileName.toString() : match.relativePath();
+            modules.add(new WorkspaceModule(name, match.relativePath(), match.type()));
         }
+        return modules;
     }
 }
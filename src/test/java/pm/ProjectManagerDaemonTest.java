@@ -0,0 +1,105 @@
+package pm;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pm.daemon.DaemonClient;
+import pm.daemon.DaemonServer;
+import pm.util.Constants;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProjectManager - daemon forwarding")
+class ProjectManagerDaemonTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DaemonServer server;
+    private Thread serverThread;
+    private final List<String> ran = new CopyOnWriteArrayList<>();
+
+    private final ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+
+    @AfterEach
+    void stopServer() throws InterruptedException {
+        if (server != null) {
+            server.stop();
+            serverThread.join(5000);
+        }
+    }
+
+    /**
+     * Starts a daemon that records the commands it is given instead of running them.
+     */
+    private Path startDaemon() throws InterruptedException {
+        Path socket = tempDir.resolve("daemon.sock");
+        server = new DaemonServer(socket, Constants.VERSION, new DaemonServer.Handler() {
+            @Override
+            public String refusal(Path workingDir, Map<String, String> env) {
+                return null;
+            }
+
+            @Override
+            public int run(String[] args, Path workingDir) {
+                ran.add(String.join(" ", args));
+                return 0;
+            }
+        });
+        serverThread = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        serverThread.start();
+
+        for (int i = 0; i < 100 && DaemonClient.ping(socket) == null; i++) {
+            Thread.sleep(20);
+        }
+        return socket;
+    }
+
+    private OptionalInt forward(Path socket, String... args) {
+        return ProjectManager.forwardToDaemon(socket, args, Map.of("PATH", "/bin"), stdout, stderr);
+    }
+
+    @Test
+    @DisplayName("env switch prompts, so it runs locally even with the daemon up")
+    void envSwitchStaysLocal() throws InterruptedException {
+        Path socket = startDaemon();
+
+        assertTrue(forward(socket, "env", "switch", "my-api", "prod").isEmpty());
+        assertTrue(forward(socket, "ENV", "Switch", "my-api", "prod").isEmpty());
+        assertTrue(ran.isEmpty(), "The daemon should not have run: " + ran);
+    }
+
+    @Test
+    @DisplayName("Other env subcommands are still handed to the daemon")
+    void envListIsForwarded() throws InterruptedException {
+        Path socket = startDaemon();
+
+        assertEquals(OptionalInt.of(0), forward(socket, "env", "list", "my-api"));
+        assertEquals(List.of("env list my-api"), ran);
+    }
+
+    @Test
+    @DisplayName("Commands that need the terminal are never forwarded")
+    void buildStaysLocal() throws InterruptedException {
+        Path socket = startDaemon();
+
+        assertTrue(forward(socket, "build", "my-api").isEmpty());
+        assertTrue(ran.isEmpty());
+    }
+}
@@ -0,0 +1,26 @@
+package pm;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProjectManager - isJsonOutput")
+class ProjectManagerJsonOutputTest {
+
+    @Test
+    @DisplayName("status --json is machine-readable output")
+    void statusJson() {
+        assertTrue(ProjectManager.isJsonOutput(new String[]{"status", "--all", "--json"}));
+        assertTrue(ProjectManager.isJsonOutput(new String[]{"STATUS", "my-api", "--json"}));
+    }
+
+    @Test
+    @DisplayName("--json given to a command without JSON output is ignored")
+    void otherCommandsKeepBanner() {
+        assertFalse(ProjectManager.isJsonOutput(new String[]{"lint", "my-api", "--json"}));
+        assertFalse(ProjectManager.isJsonOutput(new String[]{"my-custom", "my-api", "--json"}));
+        assertFalse(ProjectManager.isJsonOutput(new String[]{"status", "--all"}));
+        assertFalse(ProjectManager.isJsonOutput(new String[]{}));
+    }
+}
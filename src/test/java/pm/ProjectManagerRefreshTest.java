@@ -0,0 +1,116 @@
+package pm;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pm.core.Project;
+import pm.detector.DetectionCache;
+import pm.detector.ProjectType;
+import pm.storage.ProjectStore;
+import pm.util.CommandConfigurator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProjectManager - refresh")
+class ProjectManagerRefreshTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path mavenDir(String name) throws IOException {
+        Path dir = Files.createDirectories(tempDir.resolve(name));
+        Files.writeString(dir.resolve("pom.xml"), "<project/>");
+        return dir;
+    }
+
+    /** A project registered with a stale type, plus user settings that refresh must keep. */
+    private Project staleProject(String name, Path path) {
+        Project project = new Project(name, path, ProjectType.UNKNOWN);
+        project.addCommand("build", "make");
+        project.addEnvVar("PORT", "8080");
+        project.addHook("pre-build", "echo start");
+        project.addHook("pre-build", "./check.sh");
+        return project;
+    }
+
+    // ============================================================
+    // refreshedProject / refreshChanged
+    // ============================================================
+
+    @Test
+    @DisplayName("refreshedProject takes the detected type and commands and keeps env vars and hooks")
+    void refreshedProjectKeepsUserSettings() throws IOException {
+        Project project = staleProject("api", mavenDir("api"));
+
+        Project refreshed = ProjectManager.refreshedProject(project,
+                new DetectionCache.Detection(ProjectType.MAVEN, List.of(ProjectType.MAVEN, ProjectType.DOCKER)));
+
+        assertEquals("api", refreshed.name());
+        assertEquals(project.path(), refreshed.path());
+        assertEquals(ProjectType.MAVEN, refreshed.type());
+        assertEquals(List.of(ProjectType.DOCKER), refreshed.secondaryTypes());
+        assertNotEquals("make", refreshed.getCommand("build"));
+        assertEquals(Map.of("PORT", "8080"), refreshed.envVars());
+        assertEquals(List.of("echo start", "./check.sh"), refreshed.hooks().get("pre-build"));
+        assertTrue(ProjectManager.refreshChanged(project, refreshed));
+    }
+
+    @Test
+    @DisplayName("refreshChanged ignores env vars and hooks, which refresh never touches")
+    void refreshChangedComparesDetectedState() throws IOException {
+        Project project = new Project("api", mavenDir("api"), ProjectType.MAVEN);
+        CommandConfigurator.configureDefaultCommands(project);
+
+        Project refreshed = ProjectManager.refreshedProject(project,
+                new DetectionCache.Detection(ProjectType.MAVEN, List.of(ProjectType.MAVEN)));
+        refreshed.addEnvVar("ONLY_IN_COPY", "1");
+
+        assertFalse(ProjectManager.refreshChanged(project, refreshed));
+    }
+
+    // ============================================================
+    // refreshProjects
+    // ============================================================
+
+    @Test
+    @DisplayName("refreshProjects replaces changed projects only and keeps projects whose path is gone")
+    void refreshProjectsReplacesChangedOnly() throws IOException {
+        Project stale = staleProject("stale", mavenDir("stale"));
+        Project current = new Project("current", mavenDir("current"), ProjectType.MAVEN);
+        CommandConfigurator.configureDefaultCommands(current);
+        Project missing = staleProject("missing", tempDir.resolve("gone"));
+
+        ProjectStore store = new ProjectStore(tempDir.resolve("projects.json"));
+        store.save(Map.of("stale", stale, "current", current, "missing", missing));
+        Path journal = tempDir.resolve("projects.journal");
+
+        store.update(projects -> {
+            Project before = projects.get("current");
+            ProjectManager.refreshProjects(projects, 2);
+            assertSame(before, projects.get("current"), "unchanged project was replaced");
+            return null;
+        });
+
+        // Only the changed project is journaled
+        List<String> records = Files.readAllLines(journal);
+        assertEquals(1, records.size());
+        assertTrue(records.get(0).contains("\"stale\""));
+
+        Map<String, Project> loaded = store.load();
+        Project refreshed = loaded.get("stale");
+        assertEquals(ProjectType.MAVEN, refreshed.type());
+        assertEquals(Map.of("PORT", "8080"), refreshed.envVars());
+        assertEquals(List.of("echo start", "./check.sh"), refreshed.hooks().get("pre-build"));
+
+        Project kept = loaded.get("missing");
+        assertEquals(ProjectType.UNKNOWN, kept.type());
+        assertEquals("make", kept.getCommand("build"));
+        assertEquals(Map.of("PORT", "8080"), kept.envVars());
+    }
+}
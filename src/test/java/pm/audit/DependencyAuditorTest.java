@@ -162,6 +162,33 @@ class DependencyAuditorTest {
             List<Vulnerability> vulns = DependencyAuditor.parseNpmJson(json);
             assertEquals(4, vulns.size());
         }
+
+        @Test
+        @DisplayName("streams large reports, skipping unrelated sections and fields")
+        void streamsLargeReport() {
+            StringBuilder json = new StringBuilder("{ \"auditReportVersion\": 2, \"vulnerabilities\": {");
+            for (int i = 0; i < 5000; i++) {
+                json.append(i == 0 ? "" : ",").append("\"pkg-").append(i).append("\": ")
+                        .append("{ \"via\": [{ \"url\": \"x\" }], \"severity\": \"low\", \"range\": \"*\" }");
+            }
+            json.append("}, \"metadata\": { \"vulnerabilities\": { \"total\": 5000 } } }");
+
+            List<Vulnerability> vulns = DependencyAuditor.parseNpmJson(new java.io.StringReader(json.toString()));
+
+            assertEquals(5000, vulns.size());
+            assertTrue(vulns.stream().allMatch(v -> v.severity() == Severity.LOW));
+        }
+
+        @Test
+        @DisplayName("missing or null severity defaults to medium")
+        void nullSeverity() {
+            String json = """
+                    { "vulnerabilities": { "a": { "severity": null }, "b": {} } }
+                    """;
+            List<Vulnerability> vulns = DependencyAuditor.parseNpmJson(json);
+            assertEquals(2, vulns.size());
+            assertTrue(vulns.stream().allMatch(v -> v.severity() == Severity.MEDIUM));
+        }
     }
 
     // ============================================================
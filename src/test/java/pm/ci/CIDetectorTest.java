@@ -90,7 +90,7 @@ class CIDetectorTest {
         @Test
         @DisplayName("returns empty list for null path")
         void detectNull() {
-            List<CIProvider> providers = CIDetector.detect(null);
+            List<CIProvider> providers = CIDetector.detect((Path) null);
             assertTrue(providers.isEmpty());
         }
     }
@@ -81,6 +81,14 @@ class OutputFormatterTest {
         assertTrue(output.contains(OutputFormatter.BLUE));
     }
 
+    @Test
+    @DisplayName("formatFileSize picks B, KB or MB")
+    void formatFileSize() {
+        assertEquals("512 B", OutputFormatter.formatFileSize(512));
+        assertTrue(OutputFormatter.formatFileSize(1536).endsWith(" KB"));
+        assertTrue(OutputFormatter.formatFileSize(5L * 1024 * 1024).endsWith(" MB"));
+    }
+
     @Test
     @DisplayName("section prints bold cyan header")
     void sectionPrintsHeader() {
@@ -0,0 +1,137 @@
+package pm.completion;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pm.detector.ProjectType;
+import pm.storage.ProjectIndex;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CompletionCache")
+class CompletionCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Map<String, ProjectIndex.Entry> index() {
+        Map<String, ProjectIndex.Entry> index = new LinkedHashMap<>();
+        index.put("web", new ProjectIndex.Entry("web", ProjectType.NODEJS, "/home/user/web",
+                List.of(), List.of()));
+        index.put("api", new ProjectIndex.Entry("api", ProjectType.MAVEN, "/home/user/api",
+                List.of("deploy"), List.of()));
+        return index;
+    }
+
+    // ============================================================
+    // GENERATION
+    // ============================================================
+
+    @Test
+    @DisplayName("First word lists the top-level commands")
+    void firstWordListsCommands() {
+        Map<String, List<String>> contexts = CompletionCache.generate(index());
+
+        List<String> commands = contexts.get("1");
+        assertNotNull(commands);
+        assertTrue(commands.containsAll(CompletionHandler.TOP_LEVEL_COMMANDS));
+    }
+
+    @Test
+    @DisplayName("Contexts listing every project use the @names placeholder")
+    void projectListsUsePlaceholder() {
+        Map<String, List<String>> contexts = CompletionCache.generate(index());
+
+        assertEquals(List.of("--all", "@names"), contexts.get("2 build"));
+        assertFalse(contexts.get("2 build").contains("api"));
+    }
+
+    @Test
+    @DisplayName("Project arguments are covered by the wildcard key")
+    void wildcardCoversProjects() {
+        Map<String, List<String>> contexts = CompletionCache.generate(index());
+
+        assertEquals(List.of("add", "remove"), contexts.get("3 hooks *"));
+        assertFalse(contexts.containsKey("3 hooks api"));
+    }
+
+    @Test
+    @DisplayName("Explicit second words get their own key")
+    void explicitSecondWords() {
+        Map<String, List<String>> contexts = CompletionCache.generate(index());
+
+        assertEquals(List.of("--fail-fast", "--jobs"), contexts.get("3 build --all"));
+    }
+
+    @Test
+    @DisplayName("Hook slots for custom commands get a per-project key")
+    void perProjectHookSlots() {
+        Map<String, List<String>> contexts = CompletionCache.generate(index());
+
+        List<String> apiSlots = contexts.get("4 hooks api add");
+        assertNotNull(apiSlots);
+        assertTrue(apiSlots.contains("pre-deploy"));
+        assertTrue(apiSlots.contains("post-deploy"));
+
+        assertFalse(contexts.containsKey("4 hooks web add"));
+        assertFalse(contexts.get("4 hooks * add").contains("pre-deploy"));
+    }
+
+    @Test
+    @DisplayName("Environment variable keys are not cached")
+    void envKeysNotCached() {
+        Map<String, List<String>> contexts = CompletionCache.generate(index());
+
+        assertEquals(List.of("@names"), contexts.get("3 env get"));
+        assertFalse(contexts.containsKey("4 env get *"));
+    }
+
+    @Test
+    @DisplayName("Empty registry still caches command contexts")
+    void emptyRegistry() {
+        Map<String, List<String>> contexts = CompletionCache.generate(Map.of());
+
+        assertEquals(List.of("--all"), contexts.get("2 build"));
+        assertEquals(List.of("add", "remove"), contexts.get("3 hooks *"));
+    }
+
+    // ============================================================
+    // FILE FORMAT
+    // ============================================================
+
+    @Test
+    @DisplayName("Writes header, sorted names line and tab-separated contexts")
+    void writesFile() throws IOException {
+        Path file = tempDir.resolve("cache").resolve("completions.txt");
+
+        CompletionCache.write(file, index());
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(CompletionCache.HEADER, lines.get(0));
+        assertEquals("names\tapi web", lines.get(1));
+        assertTrue(lines.contains("2 build\t--all @names"));
+        assertTrue(lines.contains("3 hooks *\tadd remove"));
+        assertFalse(Files.exists(file.resolveSibling("completions.txt.tmp")));
+    }
+
+    @Test
+    @DisplayName("Rewriting replaces the previous cache")
+    void rewriteReplaces() throws IOException {
+        Path file = tempDir.resolve("completions.txt");
+
+        CompletionCache.write(file, index());
+        CompletionCache.write(file, Map.of());
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals("names\t", lines.get(1));
+        assertFalse(lines.stream().anyMatch(line -> line.startsWith("4 hooks api add")));
+    }
+}
@@ -148,12 +148,33 @@ class CompletionHandlerTest {
     }
 
     @Test
-    @DisplayName("add command returns empty (freeform name)")
-    void addReturnsEmpty() {
+    @DisplayName("list command suggests --short")
+    void listSuggestsShortFlag() {
+        String[] words = {"pm", "list", ""};
+        List<String> result = CompletionHandler.computeCompletions(words, 2);
+
+        assertEquals(List.of("--short"), result);
+    }
+
+    @Test
+    @DisplayName("add command suggests only --scan (name is freeform)")
+    void addSuggestsOnlyScan() {
         String[] words = {"pm", "add", ""};
         List<String> result = CompletionHandler.computeCompletions(words, 2);
 
-        assertTrue(result.isEmpty());
+        assertEquals(List.of("--scan"), result);
+    }
+
+    @Test
+    @DisplayName("add --scan leaves the directory to the shell, then suggests discovery flags")
+    void addScanSuggestsFlags() {
+        assertTrue(CompletionHandler.computeCompletions(new String[]{"pm", "add", "--scan", ""}, 3).isEmpty());
+
+        List<String> result = CompletionHandler.computeCompletions(new String[]{"pm", "add", "--scan", "~/code", ""}, 4);
+        assertEquals(List.of("--depth", "--jobs", "--dry-run"), result);
+
+        assertTrue(CompletionHandler.computeCompletions(
+                new String[]{"pm", "add", "--scan", "~/code", "--depth", ""}, 5).isEmpty());
     }
 
     @Test
@@ -216,6 +237,44 @@ class CompletionHandlerTest {
         assertTrue(result.contains("--env"));
     }
 
+    @Test
+    @DisplayName("status --all suggests dashboard flags")
+    void statusAllSuggestsFlags() {
+        String[] words = {"pm", "status", "--all", ""};
+        List<String> result = CompletionHandler.computeCompletions(words, 3);
+
+        assertEquals(List.of("--jobs", "--timeout", "--json"), result);
+    }
+
+    @Test
+    @DisplayName("pull --all suggests --ff-only and throttling flags")
+    void pullAllSuggestsFlags() {
+        String[] words = {"pm", "pull", "--all", ""};
+        List<String> result = CompletionHandler.computeCompletions(words, 3);
+
+        assertTrue(result.contains("--ff-only"));
+        assertTrue(result.contains("--per-host"));
+    }
+
+    @Test
+    @DisplayName("git-maintain --all suggests --run and --tasks")
+    void gitMaintainAllSuggestsFlags() {
+        String[] words = {"pm", "git-maintain", "--all", ""};
+        List<String> result = CompletionHandler.computeCompletions(words, 3);
+
+        assertTrue(result.contains("--run"));
+        assertTrue(result.contains("--tasks"));
+    }
+
+    @Test
+    @DisplayName("refresh --all suggests --jobs")
+    void refreshAllSuggestsJobs() {
+        String[] words = {"pm", "refresh", "--all", ""};
+        List<String> result = CompletionHandler.computeCompletions(words, 3);
+
+        assertEquals(List.of("--jobs"), result);
+    }
+
     // ============================================================
     // LEVEL 4+: DEEP COMPLETIONS
     // ============================================================
@@ -158,4 +158,13 @@ class CompletionScriptsTest {
         assertTrue(CompletionScripts.fish().contains("2>/dev/null"));
         assertTrue(CompletionScripts.powershell().contains("2>$null"));
     }
+
+    @Test
+    @DisplayName("all scripts read the completion cache before starting the JVM")
+    void allScriptsReadCompletionCache() {
+        assertTrue(CompletionScripts.bash().contains("PM_COMPLETION_CACHE"));
+        assertTrue(CompletionScripts.zsh().contains("PM_COMPLETION_CACHE"));
+        assertTrue(CompletionScripts.fish().contains("PM_COMPLETION_CACHE"));
+        assertTrue(CompletionScripts.powershell().contains("PM_COMPLETION_CACHE"));
+    }
 }
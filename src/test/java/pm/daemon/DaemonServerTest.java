@@ -0,0 +1,200 @@
+package pm.daemon;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DaemonServer")
+class DaemonServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DaemonServer server;
+    private Thread serverThread;
+
+    private final List<String> ran = new ArrayList<>();
+    private final List<Path> workingDirs = new ArrayList<>();
+    private String refusal;
+
+    private final ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+
+    @AfterEach
+    void stopServer() throws InterruptedException {
+        if (server != null) {
+            server.stop();
+            serverThread.join(5000);
+        }
+    }
+
+    /**
+     * Starts a daemon whose commands print their arguments and exit with the
+     * number given as the first argument.
+     */
+    private Path startServer() throws InterruptedException {
+        Path socket = tempDir.resolve("daemon.sock");
+        server = new DaemonServer(socket, "1.0.0", new DaemonServer.Handler() {
+            @Override
+            public String refusal(Path workingDir, Map<String, String> env) {
+                return refusal;
+            }
+
+            @Override
+            public int run(String[] args, Path workingDir) {
+                ran.add(String.join(" ", args));
+                workingDirs.add(workingDir);
+                System.out.println("out: " + String.join(" ", args));
+                System.err.println("err: é");
+                return Integer.parseInt(args[0]);
+            }
+        });
+        serverThread = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        serverThread.start();
+
+        for (int i = 0; i < 100 && DaemonClient.ping(socket) == null; i++) {
+            Thread.sleep(20);
+        }
+        return socket;
+    }
+
+    private OptionalInt forward(Path socket, String version, String... args) {
+        return DaemonClient.forward(socket, version, args, tempDir, Map.of("PATH", "/bin"), stdout, stderr);
+    }
+
+    // ============================================================
+    // FORWARDING
+    // ============================================================
+
+    @Test
+    @DisplayName("Runs forwarded commands and streams output and exit status back")
+    void forwardsCommand() throws InterruptedException {
+        Path socket = startServer();
+
+        OptionalInt status = forward(socket, "1.0.0", "3", "list");
+
+        assertEquals(OptionalInt.of(3), status);
+        assertEquals(List.of("3 list"), ran);
+        assertEquals(List.of(tempDir), workingDirs);
+        assertEquals("out: 3 list" + System.lineSeparator(), stdout.toString(StandardCharsets.UTF_8));
+        assertTrue(stderr.toString(StandardCharsets.UTF_8).startsWith("err: "));
+    }
+
+    @Test
+    @DisplayName("Serves several clients in turn")
+    void servesSeveralClients() throws InterruptedException {
+        Path socket = startServer();
+
+        assertEquals(OptionalInt.of(0), forward(socket, "1.0.0", "0", "a"));
+        assertEquals(OptionalInt.of(1), forward(socket, "1.0.0", "1", "b"));
+
+        assertEquals(List.of("0 a", "1 b"), ran);
+        assertTrue(DaemonClient.ping(socket).contains("2 command(s) served"));
+    }
+
+    @Test
+    @DisplayName("Restores System.out after each command")
+    void restoresSystemOut() throws InterruptedException {
+        var before = System.out;
+        Path socket = startServer();
+
+        forward(socket, "1.0.0", "0");
+
+        assertSame(before, System.out);
+    }
+
+    // ============================================================
+    // FALLBACK
+    // ============================================================
+
+    @Test
+    @DisplayName("Refused requests are left to the client")
+    void refusedRequest() throws InterruptedException {
+        Path socket = startServer();
+        refusal = "PATH differs";
+
+        assertTrue(forward(socket, "1.0.0", "0").isEmpty());
+        assertTrue(ran.isEmpty());
+        assertEquals(0, stdout.size());
+    }
+
+    @Test
+    @DisplayName("A client of another version is refused and the daemon shuts down")
+    void versionMismatchStopsDaemon() throws InterruptedException {
+        Path socket = startServer();
+
+        assertTrue(forward(socket, "2.0.0", "0").isEmpty());
+
+        serverThread.join(5000);
+        assertFalse(serverThread.isAlive());
+        assertFalse(Files.exists(socket));
+        assertTrue(ran.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Without a daemon the client does nothing")
+    void noDaemon() {
+        Path socket = tempDir.resolve("daemon.sock");
+
+        assertTrue(forward(socket, "1.0.0", "0").isEmpty());
+        assertNull(DaemonClient.ping(socket));
+        assertFalse(DaemonClient.stop(socket));
+    }
+
+    @Test
+    @DisplayName("A stale socket file is ignored by clients and replaced by a new daemon")
+    void staleSocketFile() throws IOException, InterruptedException {
+        Files.writeString(tempDir.resolve("daemon.sock"), "left over");
+        assertTrue(forward(tempDir.resolve("daemon.sock"), "1.0.0", "0").isEmpty());
+
+        Path socket = startServer();
+
+        assertEquals(OptionalInt.of(0), forward(socket, "1.0.0", "0"));
+    }
+
+    // ============================================================
+    // LIFECYCLE
+    // ============================================================
+
+    @Test
+    @DisplayName("STOP ends serve() and removes the socket")
+    void stopRequest() throws InterruptedException {
+        Path socket = startServer();
+
+        assertTrue(DaemonClient.stop(socket));
+
+        serverThread.join(5000);
+        assertFalse(serverThread.isAlive());
+        assertFalse(Files.exists(socket));
+    }
+
+    @Test
+    @DisplayName("A second daemon on the same socket fails to start")
+    void secondDaemonFails() throws InterruptedException {
+        Path socket = startServer();
+
+        DaemonServer second = new DaemonServer(socket, "1.0.0", null);
+
+        assertThrows(IOException.class, second::serve);
+        assertNotNull(DaemonClient.ping(socket));
+    }
+}
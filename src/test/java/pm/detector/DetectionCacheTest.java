@@ -0,0 +1,237 @@
+package pm.detector;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DetectionCache")
+class DetectionCacheTest {
+
+    /** Well after the fixed modification times below, so entries are never racy unless a test says so. */
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long ROOT_TIME = NOW - 60_000;
+
+    @TempDir
+    Path tempDir;
+
+    private Path project;
+    private Path cacheFile;
+    private final AtomicInteger detections = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        project = Files.createDirectories(tempDir.resolve("project"));
+        cacheFile = tempDir.resolve("cache").resolve("detection.json");
+        Files.writeString(project.resolve("pom.xml"), "<project/>");
+        Files.writeString(project.resolve("docker-compose.yml"), "services: {}");
+        touch(project.resolve("pom.xml"), ROOT_TIME);
+        touch(project, ROOT_TIME);
+    }
+
+    private DetectionCache counting() {
+        return new DetectionCache(cacheFile, root -> {
+            detections.incrementAndGet();
+            return new DetectionCache.Detection(ProjectTypeDetector.detect(root), ProjectTypeDetector.detectAll(root));
+        });
+    }
+
+    private static void touch(Path path, long millis) throws IOException {
+        Files.setLastModifiedTime(path, FileTime.fromMillis(millis));
+    }
+
+    // ============================================================
+    // HITS
+    // ============================================================
+
+    @Test
+    @DisplayName("Second lookup of an unchanged project is served from the cache")
+    void repeatedLookupIsCached() {
+        DetectionCache cache = counting();
+
+        DetectionCache.Detection first = cache.lookup(project, true, NOW);
+        DetectionCache.Detection second = cache.lookup(project, false, NOW + 1000);
+
+        assertEquals(ProjectType.MAVEN, first.type());
+        assertEquals(List.of(ProjectType.MAVEN, ProjectType.DOCKER), first.allTypes());
+        assertEquals(first, second);
+        assertEquals(1, detections.get());
+    }
+
+    @Test
+    @DisplayName("Results survive a new cache instance (next pm invocation)")
+    void persistedAcrossInstances() {
+        DetectionCache first = counting();
+        first.lookup(project, true, NOW);
+        first.flush();
+
+        DetectionCache next = counting();
+        assertEquals(ProjectType.MAVEN, next.lookup(project, true, NOW + 1000).type());
+
+        assertEquals(1, detections.get());
+        assertTrue(Files.exists(cacheFile));
+    }
+
+    // ============================================================
+    // PERSISTENCE
+    // ============================================================
+
+    @Test
+    @DisplayName("Detections are written on flush, once for a whole batch")
+    void writtenOnFlush() throws IOException {
+        Path other = Files.createDirectories(tempDir.resolve("other"));
+        touch(other, ROOT_TIME);
+        DetectionCache cache = counting();
+
+        cache.lookup(project, true, NOW);
+        cache.lookup(other, true, NOW);
+        assertFalse(Files.exists(cacheFile), "Nothing should be written before flush");
+
+        cache.flush();
+        assertEquals(2, DetectionCache.read(cacheFile).size());
+    }
+
+    @Test
+    @DisplayName("Flushing keeps the entries other processes wrote meanwhile")
+    void flushMergesWithFile() throws IOException {
+        Path other = Files.createDirectories(tempDir.resolve("other"));
+        touch(other, ROOT_TIME);
+        DetectionCache daemon = counting();
+        daemon.lookup(project, true, NOW);
+
+        DetectionCache client = counting();
+        client.lookup(other, true, NOW);
+        client.flush();
+
+        daemon.flush();
+        assertEquals(2, DetectionCache.read(cacheFile).size());
+    }
+
+    @Test
+    @DisplayName("A long-lived cache sees entries written by other processes")
+    void reloadsChangedFile() throws IOException {
+        Path other = Files.createDirectories(tempDir.resolve("other"));
+        touch(other, ROOT_TIME);
+        DetectionCache daemon = counting();
+        daemon.lookup(other, true, NOW);
+
+        DetectionCache client = counting();
+        client.lookup(project, true, NOW);
+        client.flush();
+
+        daemon.lookup(project, false, NOW + 1000);
+        assertEquals(2, detections.get(), "The daemon should reuse the client's detection");
+    }
+
+    // ============================================================
+    // INVALIDATION
+    // ============================================================
+
+    @Test
+    @DisplayName("Adding a marker file changes the root's time and triggers detection")
+    void newMarkerInvalidates() throws IOException {
+        DetectionCache cache = counting();
+        cache.lookup(project, false, NOW);
+
+        Files.writeString(project.resolve("build.gradle"), "");
+        touch(project, ROOT_TIME + 5000);
+
+        assertEquals(ProjectType.GRADLE, cache.lookup(project, false, NOW + 1000).type());
+        assertEquals(2, detections.get());
+    }
+
+    @Test
+    @DisplayName("A changed marker is caught by full lookups but not by the one-stat type check")
+    void changedMarker() throws IOException {
+        DetectionCache cache = counting();
+        cache.lookup(project, true, NOW);
+
+        touch(project.resolve("pom.xml"), ROOT_TIME + 5000);
+
+        cache.lookup(project, false, NOW + 1000);
+        assertEquals(1, detections.get());
+
+        cache.lookup(project, true, NOW + 2000);
+        assertEquals(2, detections.get());
+    }
+
+    @Test
+    @DisplayName("A root modified within the racy window is detected again")
+    void racyEntryIsNotTrusted() {
+        DetectionCache cache = counting();
+
+        cache.lookup(project, false, ROOT_TIME + DetectionCache.RACY_WINDOW_MS - 1);
+        cache.lookup(project, false, ROOT_TIME + DetectionCache.RACY_WINDOW_MS);
+        cache.lookup(project, false, ROOT_TIME + DetectionCache.RACY_WINDOW_MS + 1000);
+
+        assertEquals(2, detections.get());
+    }
+
+    // ============================================================
+    // EDGE CASES
+    // ============================================================
+
+    @Test
+    @DisplayName("A missing directory gives null and is not cached")
+    void missingDirectory() {
+        DetectionCache cache = counting();
+
+        assertNull(cache.type(tempDir.resolve("gone")));
+        assertNull(cache.detect(tempDir.resolve("gone")));
+        assertEquals(0, detections.get());
+    }
+
+    @Test
+    @DisplayName("A corrupt or outdated cache file is ignored")
+    void corruptFile() throws IOException {
+        Files.createDirectories(cacheFile.getParent());
+        Files.writeString(cacheFile, "{not json", StandardCharsets.UTF_8);
+        assertEquals(ProjectType.MAVEN, counting().lookup(project, false, NOW).type());
+
+        Files.writeString(cacheFile, "{\"projects\":{\"" + project.toAbsolutePath().toString().replace("\\", "\\\\")
+                + "\":{\"rootModified\":" + ROOT_TIME + ",\"markers\":{},\"type\":\"COBOL\","
+                + "\"allTypes\":[\"COBOL\"],\"detectedAt\":" + NOW + "}}}", StandardCharsets.UTF_8);
+        assertTrue(DetectionCache.read(cacheFile).isEmpty());
+        assertEquals(ProjectType.MAVEN, counting().lookup(project, false, NOW).type());
+        assertEquals(2, detections.get());
+    }
+
+    @Test
+    @DisplayName("Flush writes through a temp file of its own and leaves no temp files behind")
+    void flushUsesOwnTempFile() throws IOException {
+        // Stands in for another pm process that is halfway through its own write
+        Path foreign = Files.createDirectories(cacheFile.getParent()).resolve("detection.json.tmp");
+        Files.writeString(foreign, "{\"projects\":{", StandardCharsets.UTF_8);
+
+        DetectionCache cache = counting();
+        cache.lookup(project, true, NOW);
+        cache.flush();
+
+        assertEquals("{\"projects\":{", Files.readString(foreign, StandardCharsets.UTF_8));
+        assertEquals(1, DetectionCache.read(cacheFile).size());
+        try (var files = Files.list(cacheFile.getParent())) {
+            assertEquals(List.of("detection.json", "detection.json.tmp"),
+                    files.map(f -> f.getFileName().toString()).sorted().toList());
+        }
+    }
+
+    @Test
+    @DisplayName("isMarker covers manifests, lock files and .NET project files only")
+    void markers() {
+        assertTrue(ProjectTypeDetector.isMarker("pom.xml"));
+        assertTrue(ProjectTypeDetector.isMarker("bun.lockb"));
+        assertTrue(ProjectTypeDetector.isMarker("App.CSPROJ"));
+        assertFalse(ProjectTypeDetector.isMarker("README.md"));
+        assertFalse(ProjectTypeDetector.isMarker("src"));
+    }
+}
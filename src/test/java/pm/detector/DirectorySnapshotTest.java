@@ -0,0 +1,131 @@
+package pm.detector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DirectorySnapshot")
+class DirectorySnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    // ============================================================
+    // LOOKUPS
+    // ============================================================
+
+    @Test
+    @DisplayName("Tells files from directories")
+    void filesAndDirectories() throws IOException {
+        Files.writeString(tempDir.resolve("pom.xml"), "<project/>");
+        Files.createDirectory(tempDir.resolve("src"));
+
+        DirectorySnapshot root = DirectorySnapshot.of(tempDir);
+
+        assertTrue(root.isListed());
+        assertTrue(root.isFile("pom.xml"));
+        assertFalse(root.isDirectory("pom.xml"));
+        assertTrue(root.isDirectory("src"));
+        assertFalse(root.isFile("src"));
+        assertTrue(root.exists("src"));
+        assertFalse(root.exists("build.gradle"));
+        assertEquals(List.of("pom.xml", "src"), root.names());
+        assertNotNull(root.attributes("pom.xml"));
+        assertNull(root.attributes("missing"));
+    }
+
+    @Test
+    @DisplayName("Resolves nested paths only below directories it has seen")
+    void nestedPaths() throws IOException {
+        Files.createDirectories(tempDir.resolve(".github/workflows"));
+        Files.createDirectories(tempDir.resolve("prisma"));
+        Files.writeString(tempDir.resolve("prisma/schema.prisma"), "");
+
+        DirectorySnapshot root = DirectorySnapshot.of(tempDir);
+
+        assertTrue(root.isDirectory(".github/workflows"));
+        assertTrue(root.isFile("prisma/schema.prisma"));
+        assertFalse(root.exists(".circleci/config.yml"));
+        assertFalse(root.isDirectory("prisma/migrations"));
+    }
+
+    @Test
+    @DisplayName("Lists matching files sorted by name, skipping directories")
+    void files() throws IOException {
+        Files.writeString(tempDir.resolve(".env.local"), "");
+        Files.writeString(tempDir.resolve(".env"), "");
+        Files.createDirectory(tempDir.resolve(".envs"));
+
+        List<Path> env = DirectorySnapshot.of(tempDir).files(name -> name.startsWith(".env"));
+
+        assertEquals(List.of(tempDir.resolve(".env"), tempDir.resolve(".env.local")), env);
+    }
+
+    @Test
+    @DisplayName("existsIgnoreCase matches any case on every file system")
+    void ignoreCase() throws IOException {
+        Files.writeString(tempDir.resolve("ReadMe.MD"), "");
+
+        DirectorySnapshot root = DirectorySnapshot.of(tempDir);
+
+        assertTrue(root.existsIgnoreCase("readme.md"));
+        assertFalse(root.existsIgnoreCase("readme"));
+    }
+
+    @Test
+    @DisplayName("Plain lookups ignore case only on Windows and macOS")
+    void caseInsensitiveSystems() {
+        assertTrue(DirectorySnapshot.isCaseInsensitive("Windows 11"));
+        assertTrue(DirectorySnapshot.isCaseInsensitive("Mac OS X"));
+        assertFalse(DirectorySnapshot.isCaseInsensitive("Linux"));
+    }
+
+    // ============================================================
+    // EDGE CASES
+    // ============================================================
+
+    @Test
+    @DisplayName("A missing directory gives an empty, unlisted snapshot")
+    void missingDirectory() {
+        DirectorySnapshot root = DirectorySnapshot.of(tempDir.resolve("gone"));
+
+        assertFalse(root.isListed());
+        assertTrue(root.names().isEmpty());
+        assertFalse(root.exists("pom.xml"));
+    }
+
+    @Test
+    @DisplayName("Is a point-in-time view: later changes are not seen")
+    void pointInTime() throws IOException {
+        DirectorySnapshot root = DirectorySnapshot.of(tempDir);
+        Files.writeString(tempDir.resolve("pom.xml"), "<project/>");
+
+        assertFalse(root.exists("pom.xml"));
+        assertTrue(DirectorySnapshot.of(tempDir).exists("pom.xml"));
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    @DisplayName("Follows symbolic links and, like Files.exists, treats broken ones as missing")
+    void symbolicLinks() throws IOException {
+        Files.writeString(tempDir.resolve("real.json"), "{}");
+        Files.createSymbolicLink(tempDir.resolve("package.json"), tempDir.resolve("real.json"));
+        Files.createSymbolicLink(tempDir.resolve("Cargo.toml"), tempDir.resolve("missing.toml"));
+
+        DirectorySnapshot root = DirectorySnapshot.of(tempDir);
+
+        assertTrue(root.isFile("package.json"));
+        assertTrue(root.isSymbolicLink("package.json"));
+        assertFalse(root.isSymbolicLink("real.json"));
+        assertFalse(root.exists("Cargo.toml"));
+    }
+}
@@ -0,0 +1,135 @@
+package pm.detector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProjectDiscovery")
+class ProjectDiscoveryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path project(String relative, String... markers) throws IOException {
+        Path dir = Files.createDirectories(tempDir.resolve(relative));
+        for (String marker : markers) {
+            Files.writeString(dir.resolve(marker), "");
+        }
+        return dir;
+    }
+
+    private static List<Path> paths(ProjectDiscovery.Result result) {
+        return result.projects().stream().map(ProjectDiscovery.Found::path).toList();
+    }
+
+    // ============================================================
+    // DISCOVERY
+    // ============================================================
+
+    @Test
+    @DisplayName("Finds projects at any depth, sorted by path, with every type")
+    void findsProjects() throws IOException {
+        Path api = project("work/api", "pom.xml", "docker-compose.yml");
+        Path web = project("web", "package.json", "pnpm-lock.yaml");
+        project("notes/2024");
+
+        ProjectDiscovery.Result result = ProjectDiscovery.discover(List.of(tempDir), 4, 2);
+
+        assertEquals(List.of(web, api), paths(result));
+        ProjectDiscovery.Found found = result.projects().stream()
+                .filter(p -> p.path().equals(api)).findFirst().orElseThrow();
+        assertEquals(ProjectType.MAVEN, found.type());
+        assertEquals(List.of(ProjectType.MAVEN, ProjectType.DOCKER), found.allTypes());
+        assertEquals(0, result.unreadable());
+    }
+
+    @Test
+    @DisplayName("Does not look inside a project, so monorepo modules are not reported")
+    void stopsAtProjects() throws IOException {
+        Path mono = project("mono", "package.json");
+        project("mono/packages/ui", "package.json");
+
+        assertEquals(List.of(mono), paths(ProjectDiscovery.discover(List.of(tempDir), 4, 1)));
+    }
+
+    @Test
+    @DisplayName("A root that is itself a project is reported as one")
+    void rootIsProject() throws IOException {
+        Path root = project("app", "Cargo.toml");
+
+        ProjectDiscovery.Result result = ProjectDiscovery.discover(List.of(root), 4, 1);
+
+        assertEquals(List.of(root), paths(result));
+        assertEquals(1, result.directories());
+    }
+
+    // ============================================================
+    // PRUNING
+    // ============================================================
+
+    @Test
+    @DisplayName("Skips dependency, build output and hidden directories")
+    void prunes() throws IOException {
+        project("node_modules/left-pad", "package.json");
+        project("target/generated", "pom.xml");
+        project("Vendor/lib", "go.mod");
+        project(".cache/tool", "Cargo.toml");
+
+        ProjectDiscovery.Result result = ProjectDiscovery.discover(List.of(tempDir), 4, 1);
+
+        assertTrue(result.projects().isEmpty());
+        assertEquals(1, result.directories());
+        assertTrue(ProjectDiscovery.isPruned(".git"));
+        assertFalse(ProjectDiscovery.isPruned("builder"));
+    }
+
+    @Test
+    @DisplayName("Honors the maximum depth")
+    void maxDepth() throws IOException {
+        Path shallow = project("a", "go.mod");
+        project("b/c/d", "go.mod");
+
+        assertEquals(List.of(shallow), paths(ProjectDiscovery.discover(List.of(tempDir), 2, 1)));
+        assertEquals(2, ProjectDiscovery.discover(List.of(tempDir), 3, 1).projects().size());
+    }
+
+    // ============================================================
+    // EDGE CASES
+    // ============================================================
+
+    @Test
+    @DisplayName("Overlapping roots report each project once; missing roots count as unreadable")
+    void overlappingAndMissingRoots() throws IOException {
+        Path api = project("work/api", "pom.xml");
+
+        ProjectDiscovery.Result result = ProjectDiscovery.discover(
+                List.of(tempDir, tempDir.resolve("work"), tempDir.resolve("gone")), 4, 2);
+
+        assertEquals(List.of(api), paths(result));
+        assertEquals(1, result.unreadable());
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    @DisplayName("Does not follow symbolic links to directories")
+    void symbolicLinkCycle() throws IOException {
+        Path real = project("real");
+        Files.createSymbolicLink(real.resolve("loop"), tempDir);
+        project("linked/app", "pom.xml");
+        Files.createSymbolicLink(real.resolve("app"), tempDir.resolve("linked/app"));
+
+        ProjectDiscovery.Result result = ProjectDiscovery.discover(List.of(real), 10, 1);
+
+        assertTrue(result.projects().isEmpty());
+        assertEquals(1, result.directories());
+    }
+}
@@ -101,7 +101,7 @@ class ProjectTypeDetectorSecondaryTest {
         @DisplayName("throws on null path")
         void throwsOnNull() {
             assertThrows(IllegalArgumentException.class,
-                    () -> ProjectTypeDetector.detectAll(null));
+                    () -> ProjectTypeDetector.detectAll((Path) null));
         }
 
         @Test
@@ -345,7 +345,7 @@ class ProjectTypeDetectorTest {
     @DisplayName("Throws on null path")
     void throwsOnNullPath() {
         assertThrows(IllegalArgumentException.class,
-                () -> ProjectTypeDetector.detect(null));
+                () -> ProjectTypeDetector.detect((Path) null));
     }
 
     @Test
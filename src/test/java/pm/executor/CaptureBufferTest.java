@@ -0,0 +1,140 @@
+package pm.executor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CaptureBuffer")
+class CaptureBufferTest {
+
+    @TempDir
+    Path tempDir;
+
+    /** Ten 8-byte lines: "line-00\n" ... "line-09\n". */
+    private static void writeLines(CaptureBuffer buffer) throws IOException {
+        for (int i = 0; i < 10; i++) {
+            buffer.line(String.format("line-%02d", i));
+        }
+    }
+
+    private static String allLines() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            text.append(String.format("line-%02d", i)).append('\n');
+        }
+        return text.toString();
+    }
+
+    // ============================================================
+    // BOUNDED CAPTURE
+    // ============================================================
+
+    @Test
+    @DisplayName("Output within the budget is kept as is")
+    void fitsInBudget() throws IOException {
+        CaptureBuffer buffer = new CaptureBuffer(80, tempDir);
+        writeLines(buffer);
+        buffer.close();
+
+        assertEquals(allLines(), buffer.text());
+        assertEquals(80, buffer.totalBytes());
+        assertEquals(0, buffer.droppedBytes());
+        assertNull(buffer.spillFile(), "Nothing spills while the output fits");
+    }
+
+    @Test
+    @DisplayName("Keeps head and tail lines and counts the dropped middle")
+    void keepsHeadAndTail() throws IOException {
+        CaptureBuffer buffer = new CaptureBuffer(36);
+        writeLines(buffer);
+
+        assertEquals(80, buffer.totalBytes());
+        assertEquals(44, buffer.droppedBytes());
+        // 18 bytes each: two whole head lines, two whole tail lines after cutting partial ones
+        assertEquals("line-00\nline-01\n[... 48 bytes omitted ...]\nline-08\nline-09\n", buffer.text());
+    }
+
+    @Test
+    @DisplayName("A single chunk larger than the whole ring keeps only its end")
+    void chunkLargerThanRing() throws IOException {
+        CaptureBuffer buffer = new CaptureBuffer(8);
+        buffer.line("x".repeat(100) + "END");
+
+        assertEquals(104, buffer.totalBytes());
+        assertEquals(96, buffer.droppedBytes());
+        assertTrue(buffer.text().startsWith("[... "), buffer.text());
+    }
+
+    @Test
+    @DisplayName("Rejects a budget below two bytes")
+    void rejectsTinyBudget() {
+        assertThrows(IllegalArgumentException.class, () -> new CaptureBuffer(1));
+    }
+
+    // ============================================================
+    // SPILL FILE
+    // ============================================================
+
+    @Test
+    @DisplayName("Spills the full output to a file once the budget is exceeded")
+    void spillsFullOutput() throws IOException {
+        Path cache = tempDir.resolve("cache");
+        CaptureBuffer buffer = new CaptureBuffer(20, cache);
+        writeLines(buffer);
+        buffer.close();
+
+        Path spill = buffer.spillFile();
+        assertNotNull(spill);
+        assertEquals(cache, spill.getParent());
+        assertEquals(allLines(), Files.readString(spill));
+        assertTrue(buffer.droppedBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Keeps capturing in memory when the spill file cannot be created")
+    void spillFailureIsTolerated() throws IOException {
+        Path notADirectory = Files.writeString(tempDir.resolve("file"), "");
+        CaptureBuffer buffer = new CaptureBuffer(20, notADirectory);
+        writeLines(buffer);
+        buffer.close();
+
+        assertNull(buffer.spillFile());
+        assertEquals(60, buffer.droppedBytes());
+        assertTrue(buffer.text().endsWith("line-09\n"));
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    @DisplayName("captureOutput returns head and tail, streams the full output and deletes the spill file")
+    void captureOutputSpills() throws Exception {
+        Path cache = tempDir.resolve("cache");
+        CommandExecutor.CapturedOutput output;
+        String streamed;
+        try (CommandExecutor.CapturedOutput captured = new CommandExecutor().captureOutput(
+                "seq 1 10000", tempDir, 30, null, new CaptureBuffer(1024, cache))) {
+            output = captured;
+            try (Reader reader = captured.reader()) {
+                StringWriter text = new StringWriter();
+                reader.transferTo(text);
+                streamed = text.toString();
+            }
+        }
+
+        assertTrue(output.truncated());
+        assertTrue(output.stdout().startsWith("1\n2\n"));
+        assertTrue(output.stdout().endsWith("9999\n10000\n"));
+        assertEquals(48894, streamed.length());
+        assertTrue(streamed.endsWith("10000\n"));
+        assertFalse(Files.exists(output.spillFile()), "Closing the result deletes the spill file");
+    }
+}
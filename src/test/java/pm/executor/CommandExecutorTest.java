@@ -2,14 +2,21 @@ package pm.executor;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 @DisplayName("CommandExecutor")
 class CommandExecutorTest {
@@ -273,4 +280,238 @@ class CommandExecutorTest {
         CommandExecutor.ExecutionResult result = executor.execute("echo hello", specialPath, 10);
         assertTrue(result.success(), "Command should succeed in directory with parentheses");
     }
+
+    // ============================================================
+    // NON-BLOCKING API — start() (v2.1.0)
+    // ============================================================
+
+    @Test
+    @DisplayName("start returns a handle whose result completes with the exit code")
+    void startCompletesResult() throws Exception {
+        RunningCommand command = executor.start("exit 3", tempDir, 10, null, List.of());
+
+        CommandExecutor.ExecutionResult result = command.result().get(10, TimeUnit.SECONDS);
+
+        assertFalse(result.success());
+        assertEquals(3, result.exitCode());
+        assertFalse(command.isAlive());
+        assertTrue(command.pid() > 0);
+    }
+
+    @Test
+    @DisplayName("Every sink receives every line, in order")
+    void startFeedsAllSinks() throws Exception {
+        LineBuffer buffer = LineBuffer.unbounded();
+        List<String> parsed = new ArrayList<>();
+        Path log = tempDir.resolve("out.log");
+
+        executor.start("echo one && echo two", tempDir, 10, null,
+                List.of(buffer, OutputSink.file(log), parsed::add)).await();
+
+        assertEquals(List.of("one", "two"), buffer.lines());
+        assertEquals(List.of("one", "two"), parsed);
+        assertEquals("one\ntwo\n", Files.readString(log));
+    }
+
+    @Test
+    @DisplayName("A failing sink is detached without affecting the others")
+    void failingSinkIsDetached() throws Exception {
+        LineBuffer buffer = LineBuffer.unbounded();
+        OutputSink broken = line -> {
+            throw new IOException("disk full");
+        };
+
+        CommandExecutor.ExecutionResult result =
+                executor.start("echo one && echo two", tempDir, 10, null, List.of(broken, buffer)).await();
+
+        assertTrue(result.success());
+        assertEquals(List.of("one", "two"), buffer.lines());
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    @DisplayName("start kills the process when the timeout expires")
+    void startTimesOut() throws Exception {
+        CommandExecutor.ExecutionResult result =
+                executor.start("sleep 30", tempDir, 1, null, List.of()).await();
+
+        assertFalse(result.success());
+        assertEquals(-1, result.exitCode());
+        assertTrue(result.message().startsWith("Process timed out after 1 seconds"), result.message());
+        assertTrue(result.durationMs() < 10_000);
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    @DisplayName("cancel stops a running command and reports it")
+    void cancelStopsCommand() throws Exception {
+        // The trailing "; true" keeps the shell from exec'ing sleep (bash does for a lone command)
+        RunningCommand command = executor.start("sleep 30; true", tempDir, 0, null, List.of());
+        List<ProcessHandle> children = awaitDescendants(command, 1);
+        assertTrue(command.isAlive());
+
+        assertTrue(command.cancel());
+        CommandExecutor.ExecutionResult result = command.result().get(10, TimeUnit.SECONDS);
+
+        assertTrue(result.message().startsWith("Process was cancelled"), result.message());
+        assertFalse(command.isAlive());
+        assertFalse(command.kill(), "An exited process cannot be killed again");
+        assertTerminated(children);
+    }
+
+    @Test
+    @DisplayName("start validates its parameters before starting anything")
+    void startValidates() {
+        assertThrows(IllegalArgumentException.class,
+                () -> executor.start(" ", tempDir, 10, null, List.of()));
+        assertThrows(IOException.class,
+                () -> executor.start("echo test", tempDir.resolve("gone"), 10, null, List.of()));
+    }
+
+    @Test
+    @DisplayName("captureOutput collects the output without printing it")
+    void captureOutputCollects() throws IOException, InterruptedException {
+        CommandExecutor.CapturedOutput output =
+                executor.captureOutput("echo $GREETING", tempDir, 10, Map.of("GREETING", "hi"));
+
+        assertEquals(0, output.exitCode());
+        assertEquals("hi\n", output.stdout().replace("\r", ""));
+    }
+
+    // ============================================================
+    // PROCESS TREE TERMINATION (v2.1.0)
+    // ============================================================
+
+    /**
+     * Waits until the command has spawned the given number of descendants.
+     */
+    private static List<ProcessHandle> awaitDescendants(RunningCommand command, int count) throws InterruptedException {
+        ProcessHandle shell = ProcessHandle.of(command.pid()).orElseThrow();
+        for (int i = 0; i < 100; i++) {
+            List<ProcessHandle> descendants = shell.descendants().toList();
+            if (descendants.size() >= count) {
+                return descendants;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Command did not start " + count + " child processes");
+    }
+
+    private static void assertTerminated(List<ProcessHandle> processes) throws Exception {
+        for (ProcessHandle process : processes) {
+            process.onExit().get(10, TimeUnit.SECONDS);
+            assertFalse(process.isAlive(), "Process " + process.pid() + " should have been terminated");
+        }
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    @DisplayName("A timeout terminates the whole process tree and reports the reaped children")
+    void timeoutTerminatesTree() throws Exception {
+        RunningCommand command = executor.start("sleep 60 & sleep 60 & wait", tempDir, 1, null, List.of());
+        List<ProcessHandle> children = awaitDescendants(command, 2);
+
+        CommandExecutor.ExecutionResult result = command.await();
+
+        assertEquals(-1, result.exitCode());
+        assertEquals(2, result.reapedProcesses());
+        assertEquals("Process timed out after 1 seconds (2 child processes terminated)", result.message());
+        assertTerminated(children);
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    @DisplayName("Processes that ignore SIGTERM are killed after the grace period")
+    void ignoredTermIsForced() throws Exception {
+        CommandExecutor impatient = new CommandExecutor(200);
+        RunningCommand command = impatient.start("trap '' TERM; sleep 60 & wait", tempDir, 0, null, List.of());
+        List<ProcessHandle> children = awaitDescendants(command, 1);
+
+        assertTrue(command.cancel());
+        CommandExecutor.ExecutionResult result = command.result().get(10, TimeUnit.SECONDS);
+
+        assertEquals("Process was cancelled (1 child process terminated)", result.message());
+        assertEquals(1, result.reapedProcesses());
+        assertTerminated(children);
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    @DisplayName("The output pump ends even when a detached grandchild keeps the pipe open")
+    void pumpEndsWithDetachedGrandchild() throws Exception {
+        java.util.concurrent.atomic.AtomicBoolean closed = new java.util.concurrent.atomic.AtomicBoolean();
+        OutputSink sink = new OutputSink() {
+            @Override
+            public void line(String line) {
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        // The subshell exits at once, so the sleep is re-parented and escapes the tree
+        CommandExecutor.ExecutionResult result =
+                executor.start("(sleep 5 &); sleep 60", tempDir, 1, null, List.of(sink)).await();
+
+        assertEquals(-1, result.exitCode());
+        assertTrue(result.durationMs() < 4000, "Took " + result.durationMs() + " ms");
+        if (Files.isDirectory(Path.of("/proc"))) {
+            assertTrue(closed.get(), "The pump should have finished and closed its sinks");
+            assertTrue(result.reapedProcesses() >= 1, "The detached sleep holds the pipe and is reaped");
+        }
+    }
+
+    @Test
+    @DisplayName("A command that exits on its own reaps nothing")
+    void normalExitReapsNothing() throws IOException, InterruptedException {
+        CommandExecutor.ExecutionResult result = executor.execute("echo done", tempDir, 10);
+
+        assertEquals(0, result.reapedProcesses());
+    }
+
+    // ============================================================
+    // RESOURCE ACCOUNTING (v2.1.0)
+    // ============================================================
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    @DisplayName("CPU time of a busy child process is counted")
+    void busyChildCpuIsCounted() throws IOException, InterruptedException {
+        CommandExecutor.ExecutionResult result = executor.execute(
+                "sh -c 'i=0; while [ $i -lt 300000 ]; do i=$((i+1)); done'; sleep 0.2", tempDir, 30);
+
+        ResourceUsage usage = result.usage();
+        assertNotNull(usage);
+        assertTrue(usage.cpuMs() >= 100, "CPU: " + usage);
+        assertTrue(usage.peakRssBytes() > 0, "Peak RSS: " + usage);
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    @DisplayName("Bytes written by a child that exited between samples are counted")
+    void collectedChildIoIsCounted() throws IOException, InterruptedException {
+        CommandExecutor.ExecutionResult result = executor.execute(
+                "dd if=/dev/zero of=out.bin bs=1M count=4 conv=fsync 2>/dev/null; sleep 0.2", tempDir, 30);
+
+        assertTrue(result.success());
+        // Storage counters are not kept on every kernel or filesystem (e.g. tmpfs)
+        assumeTrue(result.usage().writeBytes() > 0, "No storage I/O accounting here");
+        assertTrue(result.usage().writeBytes() >= 4L * 1024 * 1024, "Written: " + result.usage());
+    }
+
+    @Test
+    @DisplayName("A result built without usage reports none")
+    void resultWithoutUsage() {
+        assertNull(new CommandExecutor.ExecutionResult(true, 0, 10, "OK").usage());
+    }
+
+    @Test
+    @DisplayName("CPU times are formatted with tenths of a second")
+    void formatCpu() {
+        assertEquals("0.0s", ResourceUsage.formatCpu(0));
+        assertEquals("12.3s", ResourceUsage.formatCpu(12_340));
+        assertEquals("2m 5s", ResourceUsage.formatCpu(125_000));
+    }
 }
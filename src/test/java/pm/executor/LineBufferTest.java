@@ -0,0 +1,43 @@
+package pm.executor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LineBuffer")
+class LineBufferTest {
+
+    @Test
+    @DisplayName("Unbounded buffer keeps every line")
+    void keepsEverything() {
+        LineBuffer buffer = LineBuffer.unbounded();
+        for (int i = 0; i < 1000; i++) {
+            buffer.line("line " + i);
+        }
+
+        assertEquals(1000, buffer.lines().size());
+        assertEquals(0, buffer.droppedLines());
+    }
+
+    @Test
+    @DisplayName("Bounded buffer keeps the most recent lines and counts the rest")
+    void keepsTail() {
+        LineBuffer buffer = new LineBuffer(2);
+        buffer.line("a");
+        buffer.line("b");
+        buffer.line("c");
+
+        assertEquals(List.of("b", "c"), buffer.lines());
+        assertEquals("b\nc\n", buffer.text());
+        assertEquals(1, buffer.droppedLines());
+    }
+
+    @Test
+    @DisplayName("Rejects a negative limit")
+    void rejectsNegativeLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new LineBuffer(-1));
+    }
+}
@@ -0,0 +1,95 @@
+package pm.executor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.OS;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput of the output forwarding paths, in MB/s.
+ *
+ * <p>Opt-in, since it pushes hundreds of megabytes through a pipe:
+ * {@code mvn test -Dtest=OutputPumpBenchmarkTest -Dpm.benchmark=true}
+ * (size with {@code -Dpm.benchmark.mb=N}, default 256).
+ */
+@EnabledIfSystemProperty(named = "pm.benchmark", matches = "true")
+@DisabledOnOs(OS.WINDOWS)
+@DisplayName("OutputPump benchmark")
+class OutputPumpBenchmarkTest {
+
+    private static final String LOG_LINE =
+            "> Task :app:compileJava UP-TO-DATE Skipping task :app:compileJava as it is up-to-date.";
+
+    private static final long MEGABYTE = 1024 * 1024;
+
+    @FunctionalInterface
+    private interface Forwarder {
+        void forward(InputStream stream) throws IOException;
+    }
+
+    /**
+     * Console-like stream: a PrintStream with autoflush, writing nowhere.
+     */
+    private static PrintStream nullConsole() {
+        return new PrintStream(OutputStream.nullOutputStream(), true);
+    }
+
+    private static double measure(String label, long bytes, Forwarder forwarder) throws Exception {
+        Process process = new ProcessBuilder("sh", "-c", "yes '" + LOG_LINE + "' | head -c " + bytes)
+                .redirectErrorStream(true).start();
+        long start = System.nanoTime();
+        forwarder.forward(process.getInputStream());
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertEquals(0, process.waitFor());
+
+        double throughput = bytes / (double) MEGABYTE / seconds;
+        System.out.printf("  %-34s %8.1f MB/s%n", label, throughput);
+        return throughput;
+    }
+
+    @Test
+    @DisplayName("Measures line-by-line versus byte forwarding")
+    void throughput() throws Exception {
+        long bytes = Long.getLong("pm.benchmark.mb", 256) * MEGABYTE;
+        System.out.printf("%nForwarding %d MB of build output:%n", bytes / MEGABYTE);
+
+        double legacy = measure("readLine + println (before)", bytes, stream -> {
+            PrintStream console = nullConsole();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    console.println(line);
+                }
+            }
+        });
+
+        measure("InputStream.transferTo", bytes, stream -> {
+            try (stream) {
+                stream.transferTo(nullConsole());
+            }
+        });
+
+        LongAdder lines = new LongAdder();
+        measure("pump, line sink (decoding)", bytes,
+                stream -> OutputPump.pump(stream, List.of(line -> lines.increment()), () -> false));
+        assertEquals((bytes + LOG_LINE.length()) / (LOG_LINE.length() + 1), lines.sum());
+
+        PrintStream console = nullConsole();
+        double raw = measure("pump, byte sink (console)", bytes, stream -> OutputPump.pump(stream, List.of(
+                (ByteSink) (chunk, offset, length) -> console.write(chunk, offset, length)), () -> false));
+
+        assertTrue(raw > 0 && legacy > 0);
+    }
+}
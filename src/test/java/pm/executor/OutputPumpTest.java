@@ -0,0 +1,121 @@
+package pm.executor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OutputPump")
+class OutputPumpTest {
+
+    /** A byte sink that records what it receives and how often it was flushed. */
+    private static final class RecordingSink implements ByteSink {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int flushes;
+        boolean closed;
+
+        @Override
+        public void write(byte[] chunk, int offset, int length) {
+            bytes.write(chunk, offset, length);
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static void pump(String output, List<OutputSink> sinks) {
+        OutputPump.pump(new ByteArrayInputStream(output.getBytes(StandardCharsets.UTF_8)), sinks, () -> false);
+    }
+
+    private static List<String> split(int chunkSize, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        List<String> lines = new ArrayList<>();
+        OutputPump.LineSplitter splitter = new OutputPump.LineSplitter(StandardCharsets.UTF_8);
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            int length = Math.min(chunkSize, bytes.length - offset);
+            byte[] chunk = new byte[length];
+            System.arraycopy(bytes, offset, chunk, 0, length);
+            splitter.feed(chunk, length, lines::add);
+        }
+        splitter.finish(lines::add);
+        return lines;
+    }
+
+    // ============================================================
+    // BYTE FORWARDING
+    // ============================================================
+
+    @Test
+    @DisplayName("Byte sinks receive the output unchanged, including carriage returns")
+    void forwardsBytesUnchanged() {
+        RecordingSink sink = new RecordingSink();
+        String output = "Downloading 10%\r50%\r100%\r\nno newline at end";
+
+        pump(output, List.of(sink));
+
+        assertEquals(output, sink.bytes.toString(StandardCharsets.UTF_8));
+        assertTrue(sink.flushes >= 1, "Each chunk is flushed");
+        assertTrue(sink.closed);
+    }
+
+    @Test
+    @DisplayName("Byte and line sinks can be mixed; line sinks get decoded lines")
+    void mixesByteAndLineSinks() {
+        RecordingSink bytes = new RecordingSink();
+        List<String> lines = new ArrayList<>();
+
+        pump("a\r\nb\n\nc", List.of(bytes, lines::add));
+
+        assertEquals("a\r\nb\n\nc", bytes.bytes.toString(StandardCharsets.UTF_8));
+        assertEquals(List.of("a", "b", "", "c"), lines);
+    }
+
+    @Test
+    @DisplayName("A failing byte sink is detached and still closed")
+    void failingByteSinkIsDetached() {
+        RecordingSink healthy = new RecordingSink();
+        ByteSink broken = (chunk, offset, length) -> {
+            throw new IOException("pipe closed");
+        };
+
+        pump("one\ntwo\n", List.of(broken, healthy));
+
+        assertEquals("one\ntwo\n", healthy.bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    // ============================================================
+    // LINE SPLITTING
+    // ============================================================
+
+    @Test
+    @DisplayName("Lines split across chunks are joined, whatever the chunk size")
+    void splitsAcrossChunks() {
+        String text = "first line\r\nsecond ünïcode line\nthird\n";
+        List<String> expected = List.of("first line", "second ünïcode line", "third");
+
+        for (int chunkSize = 1; chunkSize <= text.length() + 1; chunkSize++) {
+            assertEquals(expected, split(chunkSize, text), "chunk size " + chunkSize);
+        }
+    }
+
+    @Test
+    @DisplayName("A last line without terminator is emitted at the end; empty output has no lines")
+    void finishesPendingLine() {
+        assertEquals(List.of("a", "tail"), split(3, "a\ntail"));
+        assertEquals(List.of(), split(4, ""));
+    }
+}
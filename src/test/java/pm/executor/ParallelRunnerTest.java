@@ -0,0 +1,130 @@
+package pm.executor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ParallelRunner")
+class ParallelRunnerTest {
+
+    @TempDir
+    Path tempDir;
+
+    // ============================================================
+    // RESULTS
+    // ============================================================
+
+    @Test
+    @DisplayName("Returns results for every item in input order")
+    void returnsResultsInInputOrder() throws InterruptedException {
+        ParallelRunner runner = new ParallelRunner(4);
+        List<Integer> items = List.of(5, 1, 4, 2, 3);
+
+        Map<Integer, Integer> results = runner.runAll(items, i -> {
+            Thread.sleep(i * 10L);
+            return i * i;
+        }, null, null);
+
+        assertEquals(List.of(5, 1, 4, 2, 3), new ArrayList<>(results.keySet()));
+        assertEquals(25, results.get(5));
+        assertEquals(1, results.get(1));
+    }
+
+    @Test
+    @DisplayName("Empty input returns empty results")
+    void emptyInput() throws InterruptedException {
+        Map<String, String> results = new ParallelRunner(2).runAll(List.of(), s -> s, null, null);
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Listener is called once per item on the calling thread")
+    void listenerCalledOnCallingThread() throws InterruptedException {
+        Thread caller = Thread.currentThread();
+        List<String> completed = new ArrayList<>();
+
+        new ParallelRunner(3).runAll(List.of("a", "b", "c"), String::toUpperCase,
+                (item, result) -> {
+                    assertSame(caller, Thread.currentThread());
+                    completed.add(result);
+                }, null);
+
+        assertEquals(3, completed.size());
+        assertTrue(completed.containsAll(List.of("A", "B", "C")));
+    }
+
+    // ============================================================
+    // CONCURRENCY LIMIT
+    // ============================================================
+
+    @Test
+    @DisplayName("Never runs more tasks at once than the job limit")
+    void respectsJobLimit() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        new ParallelRunner(2).runAll(List.of(1, 2, 3, 4, 5, 6), i -> {
+            int now = running.incrementAndGet();
+            peak.accumulateAndGet(now, Math::max);
+            Thread.sleep(30);
+            running.decrementAndGet();
+            return i;
+        }, null, null);
+
+        assertTrue(peak.get() <= 2, "peak concurrency was " + peak.get());
+    }
+
+    @Test
+    @DisplayName("Rejects a job limit below 1")
+    void rejectsInvalidJobs() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelRunner(0));
+    }
+
+    @Test
+    @DisplayName("Default jobs is at least 1")
+    void defaultJobsAtLeastOne() {
+        assertTrue(ParallelRunner.defaultJobs() >= 1);
+    }
+
+    // ============================================================
+    // FAIL-FAST
+    // ============================================================
+
+    @Test
+    @DisplayName("Stop condition cancels work that has not finished")
+    void stopConditionCancelsRemaining() throws InterruptedException {
+        List<Integer> items = List.of(0, 1, 2, 3, 4, 5, 6, 7);
+
+        Map<Integer, Boolean> results = new ParallelRunner(1).runAll(items, i -> {
+            Thread.sleep(10);
+            return i != 1;
+        }, null, ok -> !ok);
+
+        assertTrue(results.containsKey(0));
+        assertFalse(results.get(1));
+        assertTrue(results.size() < items.size());
+    }
+
+    @Test
+    @DisplayName("Cancellation kills processes still running in CommandExecutor")
+    void cancellationKillsRunningProcesses() throws InterruptedException {
+        CommandExecutor executor = new CommandExecutor();
+        long start = System.currentTimeMillis();
+
+        Map<String, Integer> results = new ParallelRunner(2).runAll(List.of("exit 1", "sleep 30"),
+                command -> executor.captureOutput(command, tempDir, 60).exitCode(),
+                null, exitCode -> exitCode != 0);
+
+        assertEquals(1, results.get("exit 1"));
+        assertFalse(results.containsKey("sleep 30"));
+        assertTrue(System.currentTimeMillis() - start < 15_000, "cancelled process was not killed");
+    }
+}
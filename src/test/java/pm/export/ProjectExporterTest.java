@@ -59,6 +59,20 @@ class ProjectExporterTest {
             projects.put(project.name(), project);
             saved.add(project);
         }
+
+        @Override
+        public <T> T update(Mutation<T> mutation) throws IOException {
+            Map<String, Project> updated = load();
+            T result = mutation.apply(updated);
+            updated.forEach((name, project) -> {
+                if (projects.get(name) != project) {
+                    saved.add(project);
+                }
+            });
+            projects.clear();
+            projects.putAll(updated);
+            return result;
+        }
     }
 
     @BeforeEach
@@ -0,0 +1,261 @@
+package pm.git;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import pm.util.RuntimeChecker;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GitMaintenance")
+class GitMaintenanceTest {
+
+    @TempDir
+    Path tempDir;
+
+    // ============================================================
+    // TASKS
+    // ============================================================
+
+    @Test
+    @DisplayName("parseTasks accepts any case and spacing, and names the unknown task")
+    void parseTasks() {
+        assertEquals(EnumSet.of(GitMaintenance.Task.COMMIT_GRAPH, GitMaintenance.Task.UNTRACKED_CACHE),
+                GitMaintenance.parseTasks("Commit-Graph, untracked-cache,"));
+        assertEquals(Set.of(), GitMaintenance.parseTasks(""));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> GitMaintenance.parseTasks("commit-graph,gc"));
+        assertTrue(e.getMessage().contains("gc"));
+    }
+
+    @Test
+    @DisplayName("Default tasks touch object storage only, never config")
+    void defaultsLeaveConfigAlone() {
+        assertFalse(GitMaintenance.Task.DEFAULTS.contains(GitMaintenance.Task.UNTRACKED_CACHE));
+        assertFalse(GitMaintenance.Task.DEFAULTS.contains(GitMaintenance.Task.MANY_FILES));
+        assertTrue(GitMaintenance.Task.DEFAULTS.contains(GitMaintenance.Task.COMMIT_GRAPH));
+    }
+
+    // ============================================================
+    // HEALTH
+    // ============================================================
+
+    @Test
+    @DisplayName("parseCountObjects reads every numeric key")
+    void parseCountObjects() {
+        Map<String, Long> values = RepoHealth.parseCountObjects(String.join("\n",
+                "count: 208",
+                "size: 844",
+                "in-pack: 1520",
+                "packs: 3",
+                "size-pack: 4096",
+                "prune-packable: 12",
+                "garbage: 0",
+                "size-garbage: 0",
+                "not a line",
+                ""));
+
+        assertEquals(208L, values.get("count"));
+        assertEquals(3L, values.get("packs"));
+        assertEquals(4096L, values.get("size-pack"));
+        assertEquals(12L, values.get("prune-packable"));
+        assertEquals(8, values.size());
+    }
+
+    @Test
+    @DisplayName("parseConfigList lower-cases keys, lets the last value win and treats bare keys as true")
+    void parseConfigList() {
+        Map<String, String> values = RepoHealth.parseConfigList(String.join("\n",
+                "core.untrackedCache false",
+                "core.untrackedcache true",
+                "feature.manyFiles",
+                "core.fsmonitor /usr/bin/watchman-hook",
+                ""));
+
+        assertEquals("true", values.get("core.untrackedcache"));
+        assertEquals("true", values.get("feature.manyfiles"));
+        assertEquals("/usr/bin/watchman-hook", values.get("core.fsmonitor"));
+    }
+
+    @Test
+    @DisplayName("parseUntrackedCache tells on, keep and off apart, with feature.manyFiles as the default")
+    void parseUntrackedCache() {
+        assertEquals(RepoHealth.UntrackedCache.ON, RepoHealth.parseUntrackedCache("true", false));
+        assertEquals(RepoHealth.UntrackedCache.KEEP, RepoHealth.parseUntrackedCache("keep", false));
+        assertEquals(RepoHealth.UntrackedCache.KEEP, RepoHealth.parseUntrackedCache("Keep", true));
+        assertEquals(RepoHealth.UntrackedCache.OFF, RepoHealth.parseUntrackedCache("false", true));
+        assertEquals(RepoHealth.UntrackedCache.ON, RepoHealth.parseUntrackedCache(null, true));
+        assertEquals(RepoHealth.UntrackedCache.OFF, RepoHealth.parseUntrackedCache(null, false));
+    }
+
+    @Test
+    @DisplayName("issues flags a missing commit-graph and git's gc --auto limits")
+    void issues() {
+        RepoHealth empty = new RepoHealth(0, 0, 0, 0, 0, 0, false, RepoHealth.UntrackedCache.OFF, false, false);
+        assertEquals(List.of(), empty.issues());
+
+        RepoHealth healthy = new RepoHealth(10, 40_960, 1, 1 << 20, 0, 4096, true, RepoHealth.UntrackedCache.OFF, false, false);
+        assertEquals(List.of(), healthy.issues());
+
+        RepoHealth neglected = new RepoHealth(RepoHealth.LOOSE_OBJECTS_LIMIT + 1, 0,
+                RepoHealth.PACKS_LIMIT + 1, 0, 0, 0, false, RepoHealth.UntrackedCache.OFF, false, false);
+        assertEquals(List.of("no commit-graph",
+                (RepoHealth.LOOSE_OBJECTS_LIMIT + 1) + " loose objects",
+                (RepoHealth.PACKS_LIMIT + 1) + " packs"), neglected.issues());
+    }
+
+    // ============================================================
+    // AGAINST REAL GIT
+    // ============================================================
+
+    @Test
+    @DisplayName("Skips missing paths and non-repositories")
+    void skips() {
+        MaintenanceResult gone = GitMaintenance.run("gone", tempDir.resolve("gone"), Set.of(), 10_000);
+        assertEquals(MaintenanceResult.State.SKIPPED, gone.state());
+        assertEquals("path not found", gone.message());
+
+        assertEquals("not a git repository",
+                GitMaintenance.run("plain", tempDir, Set.of(), 10_000).message());
+    }
+
+    @Test
+    @DisplayName("Reporting reads health and times git status without changing the repository")
+    void reportOnly() throws Exception {
+        Assumptions.assumeTrue(RuntimeChecker.isCommandAvailable("git", "--version"), "git not installed");
+        Path repo = repoWithCommits(3);
+
+        MaintenanceResult result = GitMaintenance.run("repo", repo, Set.of(), 30_000);
+
+        assertEquals(MaintenanceResult.State.OK, result.state(), result.message());
+        assertNull(result.after());
+        assertTrue(result.tasks().isEmpty());
+        assertTrue(result.before().looseObjects() > 0);
+        assertTrue(result.before().indexBytes() > 0);
+        assertFalse(result.before().commitGraph());
+        assertTrue(result.statusBeforeMs() >= 0);
+        assertTrue(Double.isNaN(result.statusChange()));
+        assertTrue(result.before().issues().contains("no commit-graph"));
+    }
+
+    @Test
+    @DisplayName("Running tasks packs loose objects, writes a commit-graph and turns on the untracked cache")
+    void runsTasks() throws Exception {
+        Assumptions.assumeTrue(RuntimeChecker.isCommandAvailable("git", "--version"), "git not installed");
+        Path repo = repoWithCommits(3);
+
+        Set<GitMaintenance.Task> tasks = EnumSet.copyOf(GitMaintenance.Task.DEFAULTS);
+        tasks.add(GitMaintenance.Task.UNTRACKED_CACHE);
+        MaintenanceResult result = GitMaintenance.run("repo", repo, tasks, 60_000);
+
+        assertEquals(MaintenanceResult.State.OK, result.state(), String.valueOf(result.tasks()));
+        assertEquals(List.of(GitMaintenance.Task.LOOSE_OBJECTS, GitMaintenance.Task.INCREMENTAL_REPACK,
+                        GitMaintenance.Task.UNTRACKED_CACHE, GitMaintenance.Task.COMMIT_GRAPH),
+                result.tasks().stream().map(GitMaintenance.TaskOutcome::task).toList());
+
+        RepoHealth after = result.after();
+        assertEquals(0, after.looseObjects());
+        assertTrue(after.packs() > 0);
+        assertTrue(after.commitGraph());
+        assertEquals(RepoHealth.UntrackedCache.ON, after.untrackedCache());
+        assertEquals(List.of(), after.issues());
+        assertFalse(Double.isNaN(result.statusChange()));
+        assertEquals("true", git(repo, "config", "core.untrackedCache"));
+    }
+
+    @Test
+    @DisplayName("The untracked cache is filled before git status is timed again")
+    void untrackedCacheIsPopulated() throws Exception {
+        Assumptions.assumeTrue(RuntimeChecker.isCommandAvailable("git", "--version"), "git not installed");
+        Path repo = repoWithCommits(1);
+
+        MaintenanceResult result = GitMaintenance.run("repo", repo,
+                EnumSet.of(GitMaintenance.Task.UNTRACKED_CACHE), 30_000);
+        assertEquals(MaintenanceResult.State.OK, result.state(), String.valueOf(result.tasks()));
+
+        // A status that may write the index has nothing left to add to the cache
+        long indexSize = Files.size(repo.resolve(".git").resolve("index"));
+        git(repo, "status", "--porcelain");
+        assertEquals(indexSize, Files.size(repo.resolve(".git").resolve("index")));
+    }
+
+    @Test
+    @DisplayName("Reports core.untrackedCache=keep as its own state")
+    void untrackedCacheKeep() throws Exception {
+        Assumptions.assumeTrue(RuntimeChecker.isCommandAvailable("git", "--version"), "git not installed");
+        Path repo = repoWithCommits(1);
+        git(repo, "config", "core.untrackedCache", "keep");
+
+        assertEquals(RepoHealth.UntrackedCache.KEEP, RepoHealth.collect(repo, 30_000).untrackedCache());
+    }
+
+    @Test
+    @DisplayName("A timeout keeps the health read before it and the tasks that ran")
+    @DisabledOnOs(OS.WINDOWS)
+    void timeoutKeepsPartialResult() throws Exception {
+        Assumptions.assumeTrue(RuntimeChecker.isCommandAvailable("git", "--version"), "git not installed");
+        Path repo = repoWithCommits(2);
+        // An fsmonitor hook that hangs once a commit-graph exists: the status run after the tasks times out
+        Path hook = tempDir.resolve("fsmonitor-hook");
+        Files.writeString(hook, "#!/bin/sh\n" +
+                "if [ -f '" + repo.resolve(".git/objects/info/commit-graph") + "' ]; then sleep 30; fi\n" +
+                "exit 1\n");
+        assertTrue(hook.toFile().setExecutable(true));
+        git(repo, "config", "core.fsmonitor", hook.toString());
+
+        long start = System.nanoTime();
+        MaintenanceResult result = GitMaintenance.run("repo", repo,
+                EnumSet.of(GitMaintenance.Task.COMMIT_GRAPH), 2_000);
+
+        assertEquals(MaintenanceResult.State.TIMED_OUT, result.state());
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 20_000, "hook was not killed");
+        assertNotNull(result.before());
+        assertFalse(result.before().commitGraph());
+        assertTrue(result.statusBeforeMs() >= 0);
+        assertNull(result.after());
+        assertEquals(List.of(GitMaintenance.Task.COMMIT_GRAPH),
+                result.tasks().stream().map(GitMaintenance.TaskOutcome::task).toList());
+        assertTrue(result.tasks().get(0).success());
+    }
+
+    // ============================================================
+    // HELPERS
+    // ============================================================
+
+    private Path repoWithCommits(int commits) throws Exception {
+        Path repo = Files.createDirectories(tempDir.resolve("repo"));
+        git(repo, "init", "-q", "-b", "main");
+        for (int i = 0; i < commits; i++) {
+            String file = "file" + i + ".txt";
+            Files.writeString(repo.resolve(file), file);
+            git(repo, "add", file);
+            git(repo, "-c", "user.name=pm", "-c", "user.email=pm@example.com", "commit", "-q", "-m", file);
+        }
+        return repo;
+    }
+
+    private static String git(Path dir, String... args) throws Exception {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        Process process = new ProcessBuilder(command)
+                .directory(dir.toFile())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        assertEquals(0, process.waitFor(), "git " + String.join(" ", args) + ": " + output);
+        return output;
+    }
+}
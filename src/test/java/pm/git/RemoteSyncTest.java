@@ -0,0 +1,252 @@
+package pm.git;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pm.util.GitIntegration;
+import pm.util.RuntimeChecker;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RemoteSync")
+class RemoteSyncTest {
+
+    @TempDir
+    Path tempDir;
+
+    // ============================================================
+    // HOSTS
+    // ============================================================
+
+    @Test
+    @DisplayName("hostOf reads URLs, scp-like remotes and local paths")
+    void hostOf() {
+        assertEquals("github.com", RemoteSync.hostOf("https://github.com/owner/repo.git"));
+        assertEquals("github.com", RemoteSync.hostOf("git@github.com:owner/repo.git"));
+        assertEquals("gitlab.example.com", RemoteSync.hostOf("ssh://git@GitLab.Example.com:2222/group/repo.git"));
+        assertEquals("::1", RemoteSync.hostOf("ssh://git@[::1]:22/repo.git"));
+        assertEquals(RemoteSync.LOCAL_HOST, RemoteSync.hostOf("/srv/git/repo.git"));
+        assertEquals(RemoteSync.LOCAL_HOST, RemoteSync.hostOf("../repo.git"));
+        assertEquals(RemoteSync.LOCAL_HOST, RemoteSync.hostOf("file:///srv/git/repo.git"));
+        assertEquals(RemoteSync.LOCAL_HOST, RemoteSync.hostOf("C:\\repos\\repo.git"));
+        assertEquals(RemoteSync.LOCAL_HOST, RemoteSync.hostOf((String) null));
+    }
+
+    @Test
+    @DisplayName("interleaveByHost alternates hosts and keeps each host's order")
+    void interleaveByHost() {
+        Map<String, String> hosts = Map.of(
+                "a1", "a", "a2", "a", "a3", "a",
+                "b1", "b",
+                "c1", "c", "c2", "c");
+
+        List<String> ordered = RemoteSync.interleaveByHost(
+                List.of("a1", "a2", "a3", "b1", "c1", "c2"), hosts::get);
+
+        assertEquals(List.of("a1", "b1", "c1", "a2", "c2", "a3"), ordered);
+    }
+
+    @Test
+    @DisplayName("Rejects fewer than one operation per host")
+    void rejectsZeroPerHost() {
+        assertThrows(IllegalArgumentException.class, () -> new RemoteSync(RemoteSync.Mode.FETCH, 0, 1000));
+    }
+
+    // ============================================================
+    // OUTPUT PARSING
+    // ============================================================
+
+    @Test
+    @DisplayName("countUpdatedRefs counts new, moved, forced and deleted refs only")
+    void countUpdatedRefs() {
+        String output = String.join("\n",
+                "From github.com:owner/repo",
+                "   1a2b3c4..5d6e7f8  main       -> origin/main",
+                " + 9a8b7c6...1d2e3f4 rebased    -> origin/rebased  (forced update)",
+                " * [new branch]      feature    -> origin/feature",
+                " * [new tag]         v1.0       -> v1.0",
+                " - [deleted]         (none)     -> origin/old",
+                " = [up to date]      stable     -> origin/stable",
+                " ! [rejected]        v0.9       -> v0.9  (would clobber existing tag)",
+                "");
+
+        assertEquals(5, RemoteSync.countUpdatedRefs(output));
+        assertEquals(0, RemoteSync.countUpdatedRefs(""));
+    }
+
+    @Test
+    @DisplayName("errorMessage prefers the last fatal or error line")
+    void errorMessage() {
+        assertEquals("fatal: Could not read from remote repository.", RemoteSync.errorMessage(String.join("\n",
+                "ssh: connect to host example.com port 22: Connection refused",
+                "fatal: Could not read from remote repository.",
+                "",
+                "Please make sure you have the correct access rights")));
+        assertEquals("something odd", RemoteSync.errorMessage("\nsomething odd\n"));
+        assertEquals("git exited with an error", RemoteSync.errorMessage(""));
+    }
+
+    // ============================================================
+    // AGAINST LOCAL BARE REMOTES
+    // ============================================================
+
+    @Test
+    @DisplayName("Skips missing paths, non-repositories and repositories without remotes")
+    void skips() throws Exception {
+        RemoteSync sync = new RemoteSync(RemoteSync.Mode.FETCH, 2, 10_000);
+
+        assertEquals("path not found", sync.sync("gone", tempDir.resolve("gone")).message());
+        assertEquals("not a git repository", sync.sync("plain", tempDir).message());
+
+        Assumptions.assumeTrue(RuntimeChecker.isCommandAvailable("git", "--version"), "git not installed");
+        Path lonely = Files.createDirectories(tempDir.resolve("lonely"));
+        git(lonely, "init", "-q");
+
+        SyncResult result = sync.sync("lonely", lonely);
+        assertEquals(SyncResult.State.SKIPPED, result.state());
+        assertEquals("no remote", result.message());
+        assertFalse(result.ran());
+    }
+
+    @Test
+    @DisplayName("Fetch reports updated refs and received bytes, then up to date")
+    void fetch() throws Exception {
+        Assumptions.assumeTrue(RuntimeChecker.isCommandAvailable("git", "--version"), "git not installed");
+        Path remote = bareRemoteWithCommit();
+        Path clone = cloneOf(remote, "clone");
+        pushCommit(remote, "second.txt");
+
+        RemoteSync sync = new RemoteSync(RemoteSync.Mode.FETCH, 2, 30_000);
+        SyncResult first = sync.sync("clone", clone);
+
+        assertEquals(SyncResult.State.UPDATED, first.state(), first.message());
+        assertEquals("origin", first.remote());
+        assertEquals(RemoteSync.LOCAL_HOST, first.host());
+        assertEquals(1, first.refsUpdated());
+        assertTrue(first.bytesReceived() > 0);
+        assertTrue(first.success());
+
+        SyncResult second = sync.sync("clone", clone);
+        assertEquals(SyncResult.State.UP_TO_DATE, second.state());
+        assertEquals(0, second.refsUpdated());
+    }
+
+    @Test
+    @DisplayName("Pull fast-forwards the branch and refuses to merge diverged history")
+    void pull() throws Exception {
+        Assumptions.assumeTrue(RuntimeChecker.isCommandAvailable("git", "--version"), "git not installed");
+        Path remote = bareRemoteWithCommit();
+        Path clone = cloneOf(remote, "clone");
+        String pushed = pushCommit(remote, "second.txt");
+
+        RemoteSync sync = new RemoteSync(RemoteSync.Mode.PULL, 1, 30_000);
+        SyncResult pulled = sync.sync("clone", clone);
+
+        assertEquals(SyncResult.State.UPDATED, pulled.state(), pulled.message());
+        assertEquals(pushed, GitIntegration.getHeadCommit(clone));
+
+        // Local and remote both gain a commit: --ff-only must fail, not merge
+        commit(clone, "local.txt");
+        pushCommit(remote, "third.txt");
+        String localHead = GitIntegration.getHeadCommit(clone);
+
+        SyncResult diverged = sync.sync("clone", clone);
+        assertEquals(SyncResult.State.FAILED, diverged.state());
+        assertNotNull(diverged.message());
+        assertEquals(localHead, GitIntegration.getHeadCommit(clone));
+    }
+
+    @Test
+    @DisplayName("Pull skips a detached HEAD")
+    void pullSkipsDetachedHead() throws Exception {
+        Assumptions.assumeTrue(RuntimeChecker.isCommandAvailable("git", "--version"), "git not installed");
+        Path clone = cloneOf(bareRemoteWithCommit(), "clone");
+        git(clone, "checkout", "-q", "--detach");
+
+        SyncResult result = new RemoteSync(RemoteSync.Mode.PULL, 1, 30_000).sync("clone", clone);
+
+        assertEquals(SyncResult.State.SKIPPED, result.state());
+        assertEquals("detached HEAD", result.message());
+    }
+
+    @Test
+    @DisplayName("Pull throttles on the host of the branch's upstream remote")
+    void pullUsesUpstreamRemoteHost() throws Exception {
+        Assumptions.assumeTrue(RuntimeChecker.isCommandAvailable("git", "--version"), "git not installed");
+        Path clone = cloneOf(bareRemoteWithCommit(), "clone");
+        git(clone, "remote", "set-url", "origin", "https://git.example.com/team/repo.git");
+        git(clone, "checkout", "-q", "-b", "feature", "--track", "main");
+        git(clone, "checkout", "-q", "main");
+        commit(clone, "second.txt");
+        String mainHead = git(clone, "rev-parse", "HEAD");
+        git(clone, "checkout", "-q", "feature");
+
+        RemoteSync fetch = new RemoteSync(RemoteSync.Mode.FETCH, 1, 30_000);
+        RemoteSync pull = new RemoteSync(RemoteSync.Mode.PULL, 1, 30_000);
+        assertEquals("git.example.com", fetch.projectHost(clone));
+        assertEquals(RemoteSync.LOCAL_HOST, pull.projectHost(clone));
+
+        // The upstream is the local main branch: no network involved
+        SyncResult result = pull.sync("clone", clone);
+        assertEquals(SyncResult.State.UPDATED, result.state(), result.message());
+        assertEquals(mainHead, GitIntegration.getHeadCommit(clone));
+        assertEquals(".", result.remote());
+        assertEquals(RemoteSync.LOCAL_HOST, result.host());
+    }
+
+    // ============================================================
+    // HELPERS
+    // ============================================================
+
+    /** Creates a bare repository whose main branch has one commit. */
+    private Path bareRemoteWithCommit() throws Exception {
+        Path remote = tempDir.resolve("remote.git");
+        git(tempDir, "init", "-q", "--bare", "-b", "main", remote.toString());
+        Path seed = Files.createDirectories(tempDir.resolve("seed"));
+        git(seed, "init", "-q", "-b", "main");
+        commit(seed, "first.txt");
+        git(seed, "push", "-q", remote.toString(), "main");
+        return remote;
+    }
+
+    private Path cloneOf(Path remote, String name) throws Exception {
+        Path clone = tempDir.resolve(name);
+        git(tempDir, "clone", "-q", remote.toString(), clone.toString());
+        return clone;
+    }
+
+    /** Pushes a new commit to the remote from a separate clone and returns its id. */
+    private String pushCommit(Path remote, String file) throws Exception {
+        Path pusher = tempDir.resolve("pusher-" + file);
+        git(tempDir, "clone", "-q", remote.toString(), pusher.toString());
+        commit(pusher, file);
+        git(pusher, "push", "-q", "origin", "main");
+        return git(pusher, "rev-parse", "HEAD");
+    }
+
+    private void commit(Path repo, String file) throws Exception {
+        Files.writeString(repo.resolve(file), file);
+        git(repo, "add", file);
+        git(repo, "-c", "user.name=pm", "-c", "user.email=pm@example.com", "commit", "-q", "-m", file);
+    }
+
+    private static String git(Path dir, String... args) throws Exception {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        Process process = new ProcessBuilder(command)
+                .directory(dir.toFile())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        assertEquals(0, process.waitFor(), "git " + String.join(" ", args) + ": " + output);
+        return output;
+    }
+}
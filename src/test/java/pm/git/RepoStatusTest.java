@@ -0,0 +1,163 @@
+package pm.git;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pm.util.GitIntegration;
+import pm.util.RuntimeChecker;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RepoStatus")
+class RepoStatusTest {
+
+    private static final String SHA = "1111111111111111111111111111111111111111";
+
+    @TempDir
+    Path tempDir;
+
+    private static RepoStatus ok(String upstream, int ahead, int behind,
+                                 int staged, int modified, int untracked, int conflicted) {
+        GitIntegration.GitSnapshot git = new GitIntegration.GitSnapshot(
+                "main", SHA, upstream, ahead, behind, staged, modified, untracked, conflicted, 0);
+        return new RepoStatus("api", Path.of("/projects/api"), RepoStatus.State.OK, git, 12);
+    }
+
+    // ============================================================
+    // COLLECT
+    // ============================================================
+
+    @Test
+    @DisplayName("Missing directory is reported as path not found")
+    void pathNotFound() {
+        RepoStatus status = RepoStatus.collect("gone", tempDir.resolve("gone"), 1000);
+
+        assertEquals(RepoStatus.State.PATH_NOT_FOUND, status.state());
+        assertNull(status.git());
+        assertTrue(status.needsAttention());
+    }
+
+    @Test
+    @DisplayName("Directory without .git is not a repository and needs no attention")
+    void notARepository() {
+        RepoStatus status = RepoStatus.collect("plain", tempDir, 1000);
+
+        assertEquals(RepoStatus.State.NOT_A_REPOSITORY, status.state());
+        assertFalse(status.needsAttention());
+    }
+
+    @Test
+    @DisplayName("Reads a real repository")
+    void realRepository() throws Exception {
+        Assumptions.assumeTrue(RuntimeChecker.isCommandAvailable("git", "--version"), "git not installed");
+
+        git("init", "-q", "-b", "main");
+        Files.writeString(tempDir.resolve("a.txt"), "a");
+        git("add", "a.txt");
+        git("-c", "user.name=pm", "-c", "user.email=pm@example.com", "commit", "-q", "-m", "init");
+
+        RepoStatus clean = RepoStatus.collect("repo", tempDir, 10_000);
+        assertEquals(RepoStatus.State.OK, clean.state());
+        assertEquals("main", clean.git().branch());
+        assertEquals("clean", clean.changesSummary());
+        assertEquals("no upstream", clean.syncSummary());
+        assertFalse(clean.needsAttention());
+
+        Files.writeString(tempDir.resolve("b.txt"), "b");
+        RepoStatus dirty = RepoStatus.collect("repo", tempDir, 10_000);
+        assertEquals("?1", dirty.changesSummary());
+        assertTrue(dirty.needsAttention());
+    }
+
+    // ============================================================
+    // SUMMARIES
+    // ============================================================
+
+    @Test
+    @DisplayName("Changes summary lists only non-zero counts")
+    void changesSummary() {
+        assertEquals("clean", ok("origin/main", 0, 0, 0, 0, 0, 0).changesSummary());
+        assertEquals("+2 ~3 ?1 !1", ok("origin/main", 0, 0, 2, 3, 1, 1).changesSummary());
+        assertEquals("~4", ok("origin/main", 0, 0, 0, 4, 0, 0).changesSummary());
+    }
+
+    @Test
+    @DisplayName("Sync summary shows ahead/behind, in sync, and missing upstreams")
+    void syncSummary() {
+        assertEquals("=", ok("origin/main", 0, 0, 0, 0, 0, 0).syncSummary());
+        assertEquals("↑2 ↓1", ok("origin/main", 2, 1, 0, 0, 0, 0).syncSummary());
+        assertEquals("↓5", ok("origin/main", 0, 5, 0, 0, 0, 0).syncSummary());
+        assertEquals("no upstream", ok(null, -1, -1, 0, 0, 0, 0).syncSummary());
+        assertEquals("upstream gone", ok("origin/old", -1, -1, 0, 0, 0, 0).syncSummary());
+    }
+
+    @Test
+    @DisplayName("Clean repositories behind their upstream need attention")
+    void behindNeedsAttention() {
+        assertFalse(ok("origin/main", 0, 0, 0, 0, 0, 0).needsAttention());
+        assertTrue(ok("origin/main", 0, 1, 0, 0, 0, 0).needsAttention());
+        assertTrue(new RepoStatus("slow", tempDir, RepoStatus.State.TIMED_OUT, null, 10_000).needsAttention());
+    }
+
+    // ============================================================
+    // JSON
+    // ============================================================
+
+    @Test
+    @DisplayName("writeJson emits one object per project with git fields only when read")
+    void writeJson() throws IOException {
+        StringWriter out = new StringWriter();
+        RepoStatus.writeJson(List.of(
+                ok("origin/main", 1, 0, 0, 2, 0, 0),
+                new RepoStatus("slow", tempDir, RepoStatus.State.TIMED_OUT, null, 10_000)), out);
+
+        JsonArray array = JsonParser.parseString(out.toString()).getAsJsonArray();
+        assertEquals(2, array.size());
+
+        JsonObject api = array.get(0).getAsJsonObject();
+        assertEquals("api", api.get("name").getAsString());
+        assertEquals("OK", api.get("state").getAsString());
+        assertEquals("main", api.get("branch").getAsString());
+        assertEquals(1, api.get("ahead").getAsInt());
+        assertEquals(2, api.get("modified").getAsInt());
+        assertFalse(api.get("clean").getAsBoolean());
+
+        JsonObject slow = array.get(1).getAsJsonObject();
+        assertEquals("TIMED_OUT", slow.get("state").getAsString());
+        assertFalse(slow.has("branch"));
+    }
+
+    @Test
+    @DisplayName("writeJson writes null ahead/behind without an upstream")
+    void writeJsonNoUpstream() throws IOException {
+        StringWriter out = new StringWriter();
+        RepoStatus.writeJson(List.of(ok(null, -1, -1, 0, 0, 0, 0)), out);
+
+        JsonObject api = JsonParser.parseString(out.toString()).getAsJsonArray().get(0).getAsJsonObject();
+        assertTrue(api.get("upstream").isJsonNull());
+        assertTrue(api.get("ahead").isJsonNull());
+        assertTrue(api.get("clean").getAsBoolean());
+    }
+
+    private void git(String... args) throws Exception {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        Process process = new ProcessBuilder(command)
+                .directory(tempDir.toFile())
+                .redirectErrorStream(true)
+                .start();
+        process.getInputStream().readAllBytes();
+        assertEquals(0, process.waitFor(), "git " + String.join(" ", args));
+    }
+}
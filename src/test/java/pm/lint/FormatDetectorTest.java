@@ -131,7 +131,7 @@ class FormatDetectorTest {
         @Test
         @DisplayName("returns empty for null path")
         void nullPath() {
-            List<FormatTool> tools = FormatDetector.detect(ProjectType.NODEJS, null);
+            List<FormatTool> tools = FormatDetector.detect(ProjectType.NODEJS, (Path) null);
             assertTrue(tools.isEmpty());
         }
     }
@@ -140,7 +140,7 @@ class LintDetectorTest {
         @Test
         @DisplayName("returns empty for null path")
         void nullPath() {
-            List<LintTool> tools = LintDetector.detect(ProjectType.NODEJS, null);
+            List<LintTool> tools = LintDetector.detect(ProjectType.NODEJS, (Path) null);
             assertTrue(tools.isEmpty());
         }
     }
@@ -119,7 +119,7 @@ class MigrationDetectorTest {
         @Test
         @DisplayName("returns empty for null path")
         void nullPath() {
-            assertTrue(MigrationDetector.detect(null).isEmpty());
+            assertTrue(MigrationDetector.detect((Path) null).isEmpty());
         }
 
         @Test
@@ -78,7 +78,7 @@ class SecretScannerTest {
         @Test
         @DisplayName("returns empty for null path")
         void nullPath() {
-            assertTrue(EnvFileDetector.detectEnvFiles(null).isEmpty());
+            assertTrue(EnvFileDetector.detectEnvFiles((Path) null).isEmpty());
         }
 
         @Test
@@ -312,7 +312,7 @@ class SecretScannerTest {
         @Test
         @DisplayName("returns empty for null path")
         void nullPath() {
-            assertTrue(SecretScanner.scan(null).isEmpty());
+            assertTrue(SecretScanner.scan((Path) null).isEmpty());
         }
 
         @Test
@@ -0,0 +1,109 @@
+package pm.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pm.core.Project;
+import pm.detector.ProjectType;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProjectAdapter")
+class ProjectAdapterTest {
+
+    private final List<String> warnings = new ArrayList<>();
+    private final ProjectAdapter adapter = new ProjectAdapter(warnings);
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(Project.class, adapter)
+            .create();
+
+    private Project read(String json, String key) throws IOException {
+        return adapter.read(new JsonReader(new StringReader(json)), key);
+    }
+
+    @Test
+    @DisplayName("Roundtrip preserves every persisted field")
+    void roundtripPreservesFields() {
+        Project original = new Project("web", Paths.get("/home/user/web"), ProjectType.NODEJS);
+        original.addCommand("build", "npm run build");
+        original.addEnvVar("NODE_ENV", "production");
+        original.addHook("pre-build", "npm ci");
+        original.addHook("pre-build", "npm run lint");
+        original.addSecondaryType(ProjectType.DOCKER);
+
+        Project restored = gson.fromJson(gson.toJson(original), Project.class);
+
+        assertEquals("web", restored.name());
+        assertEquals(original.path(), restored.path());
+        assertEquals(ProjectType.NODEJS, restored.type());
+        assertEquals("npm run build", restored.getCommand("build"));
+        assertEquals("production", restored.getEnvVar("NODE_ENV"));
+        assertEquals(List.of("npm ci", "npm run lint"), restored.getHooks("pre-build"));
+        assertEquals(List.of(ProjectType.DOCKER), restored.secondaryTypes());
+        assertTrue(warnings.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reads files written by the previous DTO serializer")
+    void readsLegacyDtoJson() throws IOException {
+        Project original = new Project("api", Paths.get("/home/user/api"), ProjectType.GRADLE);
+        original.addCommand("test", "gradle test");
+        String legacy = new Gson().toJson(ProjectStore.ProjectDTO.fromProject(original));
+
+        Project restored = read(legacy, "api");
+
+        assertEquals("api", restored.name());
+        assertEquals("gradle test", restored.getCommand("test"));
+    }
+
+    @Test
+    @DisplayName("Missing name falls back to the registry key")
+    void missingNameUsesKey() throws IOException {
+        Project project = read("{\"path\":\"/tmp/x\",\"type\":\"MAVEN\"}", "fallback");
+        assertEquals("fallback", project.name());
+    }
+
+    @Test
+    @DisplayName("Missing path skips the entry with a warning")
+    void missingPathSkipsEntry() throws IOException {
+        assertNull(read("{\"name\":\"broken\",\"type\":\"MAVEN\",\"path\":null}", "broken"));
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.get(0).contains("missing path"));
+    }
+
+    @Test
+    @DisplayName("Unknown type and secondary types degrade gracefully")
+    void unknownTypesDegrade() throws IOException {
+        Project project = read("{\"name\":\"app\",\"path\":\"/tmp/app\",\"type\":\"COBOL\","
+                + "\"secondaryTypes\":[\"DOCKER\",\"FORTRAN\"]}", "app");
+
+        assertEquals(ProjectType.UNKNOWN, project.type());
+        assertEquals(List.of(ProjectType.DOCKER), project.secondaryTypes());
+        assertEquals(2, warnings.size());
+    }
+
+    @Test
+    @DisplayName("Unknown fields and null collections are ignored")
+    void ignoresUnknownFieldsAndNulls() throws IOException {
+        Project project = read("{\"name\":\"app\",\"path\":\"/tmp/app\",\"type\":\"RUST\","
+                + "\"future\":{\"nested\":[1,2]},\"commands\":null,\"hooks\":null}", "app");
+
+        assertEquals(ProjectType.RUST, project.type());
+        assertEquals(0, project.commandCount());
+        assertFalse(project.hasHooks());
+    }
+
+    @Test
+    @DisplayName("Serializes null as JSON null")
+    void serializesNull() {
+        assertEquals("null", gson.toJson(null, Project.class));
+    }
+}
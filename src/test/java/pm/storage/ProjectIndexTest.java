@@ -0,0 +1,86 @@
+package pm.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pm.core.Project;
+import pm.detector.ProjectType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProjectIndex")
+class ProjectIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Write → read roundtrip preserves entries in order")
+    void roundtrip() throws IOException {
+        Path file = tempDir.resolve("projects.index");
+        List<ProjectIndex.Entry> entries = List.of(
+                new ProjectIndex.Entry("api", ProjectType.MAVEN, "/home/user/api",
+                        List.of("build", "test"), List.of("pre-build")),
+                new ProjectIndex.Entry("web", ProjectType.NODEJS, "/home/user/web", List.of(), List.of()));
+
+        ProjectIndex.write(file, entries);
+        Map<String, ProjectIndex.Entry> read = ProjectIndex.read(file);
+
+        assertEquals(List.of("api", "web"), List.copyOf(read.keySet()));
+        assertEquals(entries.get(0), read.get("api"));
+        assertEquals(entries.get(1), read.get("web"));
+    }
+
+    @Test
+    @DisplayName("Tabs, commas, backslashes and line breaks survive escaping")
+    void escapesSpecialCharacters() throws IOException {
+        Path file = tempDir.resolve("projects.index");
+        ProjectIndex.Entry entry = new ProjectIndex.Entry("odd\tname", ProjectType.GO,
+                "C:\\Users\\me\\a,b\nc", List.of("a,b", "c\\d"), List.of("pre-a,b"));
+
+        ProjectIndex.write(file, List.of(entry));
+
+        assertEquals(entry, ProjectIndex.read(file).get("odd\tname"));
+        assertEquals(2, Files.readAllLines(file).size());
+    }
+
+    @Test
+    @DisplayName("Entry.from summarizes a project")
+    void entryFromProject() {
+        Project project = new Project("api", Paths.get("/home/user/api"), ProjectType.GRADLE);
+        project.addCommand("build", "gradle build");
+        project.addHook("post-build", "echo done");
+
+        ProjectIndex.Entry entry = ProjectIndex.Entry.from(project);
+
+        assertEquals("api", entry.name());
+        assertEquals(ProjectType.GRADLE, entry.type());
+        assertEquals(List.of("build"), entry.commands());
+        assertEquals(List.of("post-build"), entry.hookSlots());
+    }
+
+    @Test
+    @DisplayName("Unknown type reads as UNKNOWN")
+    void unknownTypeReadsAsUnknown() throws IOException {
+        Path file = tempDir.resolve("projects.index");
+        Files.writeString(file, "# pm project index v1\napp\tCOBOL\t/tmp/app\t\t\n");
+
+        assertEquals(ProjectType.UNKNOWN, ProjectIndex.read(file).get("app").type());
+    }
+
+    @Test
+    @DisplayName("Rejects files without the index header")
+    void rejectsMissingHeader() throws IOException {
+        Path file = tempDir.resolve("projects.index");
+        Files.writeString(file, "{\"not\": \"an index\"}\n");
+
+        assertThrows(IOException.class, () -> ProjectIndex.read(file));
+    }
+}
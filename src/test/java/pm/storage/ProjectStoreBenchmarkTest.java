@@ -0,0 +1,167 @@
+package pm.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import pm.core.Project;
+import pm.detector.ProjectType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the streaming {@link ProjectAdapter} path against the previous
+ * reflective DTO path for registries of 100, 1k and 10k projects.
+ *
+ * <p>Disabled by default. Run with:
+ * <pre>{@code
+ * mvn test -Dtest=ProjectStoreBenchmarkTest -Dpm.benchmark=true
+ * }</pre>
+ *
+ * <p>Reports the median time and the bytes allocated by the calling thread
+ * per load/save.
+ */
+@DisplayName("ProjectStore benchmark")
+@EnabledIfSystemProperty(named = "pm.benchmark", matches = "true")
+class ProjectStoreBenchmarkTest {
+
+    private static final int WARMUP = 5;
+    private static final int RUNS = 15;
+
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Streaming adapters vs reflective DTO binding")
+    void compareLoadAndSave() throws IOException {
+        System.out.printf("%n%-8s %-12s %10s %14s%n", "size", "path", "median ms", "allocated KB");
+
+        for (int size : new int[]{100, 1_000, 10_000}) {
+            Map<String, Project> projects = createProjects(size);
+            Path file = tempDir.resolve("projects-" + size + ".json");
+
+            Result legacySave = measure(() -> legacySave(file, projects));
+            Result streamSave = measure(() -> streamingSave(file, projects));
+            Result legacyLoad = measure(() -> assertEquals(size, legacyLoad(file).size()));
+            Result streamLoad = measure(() -> assertEquals(size, streamingLoad(file).size()));
+
+            print(size, "save dto", legacySave);
+            print(size, "save stream", streamSave);
+            print(size, "load dto", legacyLoad);
+            print(size, "load stream", streamLoad);
+        }
+    }
+
+    // ============================================================
+    // PREVIOUS PATH (Files.readString + Map<String, ProjectDTO>)
+    // ============================================================
+
+    private Map<String, Project> legacyLoad(Path file) throws IOException {
+        String json = Files.readString(file);
+        Map<String, ProjectStore.ProjectDTO> dtos = gson.fromJson(json,
+                new TypeToken<Map<String, ProjectStore.ProjectDTO>>() {}.getType());
+        Map<String, Project> projects = new HashMap<>();
+        List<String> warnings = new ArrayList<>();
+        dtos.forEach((key, dto) -> projects.put(key, dto.toProjectSafe(key, warnings)));
+        return projects;
+    }
+
+    private void legacySave(Path file, Map<String, Project> projects) throws IOException {
+        Map<String, ProjectStore.ProjectDTO> dtos = new HashMap<>();
+        projects.forEach((key, project) -> dtos.put(key, ProjectStore.ProjectDTO.fromProject(project)));
+        Files.writeString(file, gson.toJson(dtos));
+    }
+
+    // ============================================================
+    // STREAMING PATH (ProjectAdapter)
+    // ============================================================
+
+    private Map<String, Project> streamingLoad(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return ProjectStore.readProjects(new JsonReader(reader));
+        }
+    }
+
+    private void streamingSave(Path file, Map<String, Project> projects) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+             JsonWriter json = new JsonWriter(writer)) {
+            json.setIndent("  ");
+            ProjectStore.writeProjects(json, projects);
+        }
+    }
+
+    // ============================================================
+    // HELPERS
+    // ============================================================
+
+    private static Map<String, Project> createProjects(int size) {
+        Map<String, Project> projects = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            Project project = new Project("project-" + i, Paths.get("/home/user/code/project-" + i),
+                    ProjectType.NODEJS);
+            project.addCommand("build", "npm run build");
+            project.addCommand("test", "npm test");
+            project.addCommand("run", "npm start");
+            project.addEnvVar("NODE_ENV", "development");
+            project.addEnvVar("PORT", String.valueOf(3000 + i % 1000));
+            project.addHook("pre-build", "npm ci");
+            project.addSecondaryType(ProjectType.DOCKER);
+            projects.put(project.name(), project);
+        }
+        return projects;
+    }
+
+    private static Result measure(Action action) throws IOException {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP; i++) {
+            action.run();
+        }
+
+        long[] nanos = new long[RUNS];
+        long allocated = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            action.run();
+            nanos[i] = System.nanoTime() - start;
+            allocated += threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+        }
+        Arrays.sort(nanos);
+        return new Result(nanos[RUNS / 2] / 1_000_000.0, allocated / RUNS / 1024);
+    }
+
+    private static void print(int size, String path, Result result) {
+        System.out.printf("%-8d %-12s %10.2f %14d%n", size, path, result.medianMs(), result.allocatedKb());
+    }
+
+    private interface Action {
+        void run() throws IOException;
+    }
+
+    private record Result(double medianMs, long allocatedKb) {}
+}
@@ -5,15 +5,21 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
 import pm.core.Project;
 import pm.detector.ProjectType;
+import pm.util.Constants;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,6 +28,9 @@ class ProjectStoreTest {
 
     private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
 
+    @TempDir
+    Path tempDir;
+
     private Project createTestProject(String name, String path, ProjectType type) {
         Project project = new Project(name, Paths.get(path), type);
         project.addCommand("build", "gradle build");
@@ -268,4 +277,335 @@ class ProjectStoreTest {
         assertEquals("second", hooks.get(1));
         assertEquals("third", hooks.get(2));
     }
+
+    // ============================================================
+    // BATCH UPDATE (single load/save cycle)
+    // ============================================================
+
+    @Test
+    @DisplayName("update applies many changes and persists them in one write")
+    void updateAppliesBatch() throws IOException {
+        ProjectStore store = new ProjectStore(tempDir.resolve("projects.json"));
+        store.saveProject(createTestProject("existing", "/home/user/existing", ProjectType.MAVEN));
+
+        int added = store.update(projects -> {
+            for (int i = 0; i < 50; i++) {
+                projects.put("p" + i, createTestProject("p" + i, "/home/user/p" + i, ProjectType.GRADLE));
+            }
+            projects.remove("existing");
+            return 50;
+        });
+
+        Map<String, Project> loaded = store.load();
+        assertEquals(50, added);
+        assertEquals(50, loaded.size());
+        assertFalse(loaded.containsKey("existing"));
+        assertEquals("gradle build", loaded.get("p7").getCommand("build"));
+    }
+
+    @Test
+    @DisplayName("update only journals the projects that changed")
+    void updateJournalsOnlyChanges() throws IOException {
+        Path file = tempDir.resolve("projects.json");
+        ProjectStore store = new ProjectStore(file);
+        store.update(projects -> {
+            projects.put("first", createTestProject("first", "/home/user/first", ProjectType.MAVEN));
+            projects.put("second", createTestProject("second", "/home/user/second", ProjectType.NODEJS));
+            return null;
+        });
+        store.save(store.load());
+
+        store.update(projects -> {
+            projects.get("second").addCommand("lint", "npm run lint");
+            return null;
+        });
+
+        String journal = Files.readString(tempDir.resolve("projects.journal"));
+        assertEquals(1, journal.lines().count());
+        assertTrue(journal.contains("\"second\""));
+        assertFalse(journal.contains("\"first\""));
+        assertEquals("npm run lint", store.findProject("second").getCommand("lint"));
+    }
+
+    @Test
+    @DisplayName("The default registry journals to Constants.PROJECTS_JOURNAL_FILE, which Telemetry reads")
+    void defaultJournalMatchesConstant() {
+        assertEquals(Constants.PROJECTS_JOURNAL_FILE, ProjectStore.journalFileFor(Constants.PROJECTS_FILE));
+        assertEquals(tempDir.resolve("projects.journal"), ProjectStore.journalFileFor(tempDir.resolve("projects.json")));
+    }
+
+    @Test
+    @DisplayName("update without changes writes nothing")
+    void updateWithoutChangesWritesNothing() throws IOException {
+        ProjectStore store = new ProjectStore(tempDir.resolve("projects.json"));
+        store.saveProject(createTestProject("api", "/home/user/api", ProjectType.RUST));
+        store.save(store.load());
+
+        store.update(projects -> projects.size());
+
+        assertFalse(Files.exists(tempDir.resolve("projects.journal")));
+    }
+
+    @Test
+    @DisplayName("update writes nothing when the mutation fails")
+    void updateAbortsOnFailure() throws IOException {
+        ProjectStore store = new ProjectStore(tempDir.resolve("projects.json"));
+        store.saveProject(createTestProject("keep", "/home/user/keep", ProjectType.MAVEN));
+
+        assertThrows(IOException.class, () -> store.update(projects -> {
+            projects.clear();
+            throw new IOException("abort");
+        }));
+
+        assertTrue(store.load().containsKey("keep"));
+    }
+
+    @Test
+    @DisplayName("saveProject, findProject and removeProject work on a custom file")
+    void singleOperationsOnCustomFile() throws IOException {
+        ProjectStore store = new ProjectStore(tempDir.resolve("nested/projects.json"));
+        store.saveProject(createTestProject("api", "/home/user/api", ProjectType.RUST));
+
+        assertNotNull(store.findProject("api"));
+        assertTrue(store.removeProject("api"));
+        assertNull(store.findProject("api"));
+        assertFalse(store.removeProject("api"));
+    }
+
+    // ============================================================
+    // JOURNAL (append-only log + compaction)
+    // ============================================================
+
+    @Test
+    @DisplayName("Single changes are appended to the journal, not the snapshot")
+    void singleChangesGoToJournal() throws IOException {
+        Path file = tempDir.resolve("projects.json");
+        ProjectStore store = new ProjectStore(file);
+
+        store.saveProject(createTestProject("api", "/home/user/api", ProjectType.RUST));
+        store.saveProject(createTestProject("web", "/home/user/web", ProjectType.NODEJS));
+        store.removeProject("api");
+
+        assertFalse(Files.exists(file));
+        assertEquals(3, Files.readString(tempDir.resolve("projects.journal")).lines().count());
+
+        Map<String, Project> loaded = new ProjectStore(file).load();
+        assertEquals(1, loaded.size());
+        assertTrue(loaded.containsKey("web"));
+    }
+
+    @Test
+    @DisplayName("load replays the journal on top of the snapshot")
+    void loadReplaysJournalOverSnapshot() throws IOException {
+        Path file = tempDir.resolve("projects.json");
+        ProjectStore store = new ProjectStore(file);
+        store.save(Map.of(
+                "api", createTestProject("api", "/home/user/api", ProjectType.RUST),
+                "web", createTestProject("web", "/home/user/web", ProjectType.NODEJS)));
+
+        store.renameProject("api", "backend");
+        Project web = store.findProject("web");
+        web.addCommand("build", "pnpm build");
+        store.saveProject(web);
+
+        Map<String, Project> loaded = new ProjectStore(file).load();
+        assertEquals(2, loaded.size());
+        assertTrue(loaded.containsKey("backend"));
+        assertFalse(loaded.containsKey("api"));
+        assertEquals("pnpm build", loaded.get("web").getCommand("build"));
+    }
+
+    @Test
+    @DisplayName("Journal is compacted into a new snapshot past the threshold")
+    void journalIsCompacted() throws IOException {
+        Path file = tempDir.resolve("projects.json");
+        Path journal = tempDir.resolve("projects.journal");
+        ProjectStore store = new ProjectStore(file, 2048);
+
+        for (int i = 0; i < 20; i++) {
+            store.saveProject(createTestProject("p" + i, "/home/user/p" + i, ProjectType.MAVEN));
+        }
+
+        assertTrue(Files.exists(file));
+        assertTrue(!Files.exists(journal) || Files.size(journal) <= 2048);
+        assertFalse(Files.exists(tempDir.resolve("projects.json.tmp")));
+        assertEquals(20, new ProjectStore(file).load().size());
+    }
+
+    @Test
+    @DisplayName("A record torn by a crash is skipped and later appends still work")
+    void tornRecordIsSkipped() throws IOException {
+        Path file = tempDir.resolve("projects.json");
+        Path journal = tempDir.resolve("projects.journal");
+        ProjectStore store = new ProjectStore(file);
+        store.saveProject(createTestProject("api", "/home/user/api", ProjectType.RUST));
+
+        // Simulate a crash in the middle of appending a record
+        Files.writeString(journal, "{\"op\":\"put\",\"key\":\"half", StandardOpenOption.APPEND);
+        assertEquals(Set.of("api"), store.load().keySet());
+
+        store.saveProject(createTestProject("web", "/home/user/web", ProjectType.NODEJS));
+        assertEquals(Set.of("api", "web"), new ProjectStore(file).load().keySet());
+    }
+
+    @Test
+    @DisplayName("Corrupted snapshot is recovered from the backup plus the journal")
+    void corruptedSnapshotRecoversWithJournal() throws IOException {
+        Path file = tempDir.resolve("projects.json");
+        ProjectStore store = new ProjectStore(file);
+        store.save(Map.of("api", createTestProject("api", "/home/user/api", ProjectType.RUST)));
+        store.save(store.load());
+        store.saveProject(createTestProject("web", "/home/user/web", ProjectType.NODEJS));
+
+        Files.writeString(file, "{ not json");
+
+        Map<String, Project> loaded = new ProjectStore(file).load();
+        assertEquals(Set.of("api", "web"), loaded.keySet());
+    }
+
+    @Test
+    @DisplayName("Recovery keeps changes folded into the snapshot by compaction")
+    void recoveryKeepsCompactedChanges() throws IOException {
+        Path file = tempDir.resolve("projects.json");
+        ProjectStore store = new ProjectStore(file);
+        store.save(Map.of("api", createTestProject("api", "/home/user/api", ProjectType.RUST)));
+        store.saveProject(createTestProject("web", "/home/user/web", ProjectType.NODEJS));
+        store.save(store.load());
+        store.saveProject(createTestProject("cli", "/home/user/cli", ProjectType.GO));
+
+        Files.writeString(file, "{ not json");
+
+        assertEquals(Set.of("api", "web", "cli"), new ProjectStore(file).load().keySet());
+    }
+
+    @Test
+    @DisplayName("Appends from another store are not lost while the journal is compacted")
+    void concurrentAppendsSurviveCompaction() throws Exception {
+        Path file = tempDir.resolve("projects.json");
+        List<Thread> writers = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int w = 0; w < 2; w++) {
+            String prefix = "w" + w + "-";
+            ProjectStore store = new ProjectStore(file, 1024);
+            Thread writer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 40; i++) {
+                        store.saveProject(createTestProject(prefix + i, "/home/user/" + prefix + i, ProjectType.MAVEN));
+                    }
+                } catch (Throwable t) {
+                    synchronized (failures) {
+                        failures.add(t);
+                    }
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(List.of(), failures);
+        assertEquals(80, new ProjectStore(file).load().size());
+    }
+
+    // ============================================================
+    // NAME INDEX (projects.index)
+    // ============================================================
+
+    @Test
+    @DisplayName("Every change keeps the index in sync")
+    void indexFollowsChanges() throws IOException {
+        Path file = tempDir.resolve("projects.json");
+        ProjectStore store = new ProjectStore(file);
+
+        store.saveProject(createTestProject("api", "/home/user/api", ProjectType.MAVEN));
+        store.saveProject(createTestProject("web", "/home/user/web", ProjectType.NODEJS));
+        store.renameProject("api", "backend");
+        store.update(projects -> projects.remove("web"));
+
+        Map<String, ProjectIndex.Entry> index = ProjectIndex.read(tempDir.resolve("projects.index"));
+        assertEquals(Set.of("backend"), index.keySet());
+        assertEquals(ProjectType.MAVEN, index.get("backend").type());
+        assertEquals(Set.of("build", "run"), Set.copyOf(index.get("backend").commands()));
+        assertEquals(index, store.loadIndex());
+    }
+
+    @Test
+    @DisplayName("loadIndex rebuilds a missing or outdated index")
+    void loadIndexRebuildsStaleIndex() throws IOException {
+        Path file = tempDir.resolve("projects.json");
+        Path indexFile = tempDir.resolve("projects.index");
+        new ProjectStore(file).save(Map.of("api", createTestProject("api", "/home/user/api", ProjectType.RUST)));
+
+        Files.delete(indexFile);
+        assertEquals(Set.of("api"), new ProjectStore(file).loadIndex().keySet());
+        assertTrue(Files.exists(indexFile));
+
+        // Registry changed behind the index's back (e.g. by an older version)
+        Files.writeString(indexFile, "# pm project index v1\n");
+        Files.setLastModifiedTime(indexFile, java.nio.file.attribute.FileTime.fromMillis(0));
+        assertEquals(Set.of("api"), new ProjectStore(file).loadIndex().keySet());
+    }
+
+    @Test
+    @DisplayName("loadIndex on an empty registry returns nothing and writes nothing")
+    void loadIndexEmptyRegistry() throws IOException {
+        ProjectStore store = new ProjectStore(tempDir.resolve("projects.json"));
+
+        assertTrue(store.loadIndex().isEmpty());
+        assertFalse(Files.exists(tempDir.resolve("projects.index")));
+    }
+
+    @Test
+    @DisplayName("Registry changes regenerate the completion cache")
+    void changesRefreshCompletionCache() throws IOException {
+        Path file = tempDir.resolve("projects.json");
+        Path cacheFile = tempDir.resolve("cache").resolve("completions.txt");
+        ProjectStore store = new ProjectStore(file);
+
+        store.saveProject(createTestProject("api", "/home/user/api", ProjectType.MAVEN));
+        assertTrue(Files.readAllLines(cacheFile).contains("names\tapi"));
+
+        store.renameProject("api", "backend");
+        assertTrue(Files.readAllLines(cacheFile).contains("names\tbackend"));
+    }
+
+    // ============================================================
+    // LOAD CACHE (daemon)
+    // ============================================================
+
+    @Test
+    @DisplayName("Load cache returns independent copies")
+    void loadCacheReturnsCopies() throws IOException {
+        ProjectStore store = new ProjectStore(tempDir.resolve("projects.json"));
+        store.saveProject(createTestProject("api", "/home/user/api", ProjectType.MAVEN));
+        store.enableLoadCache();
+
+        Map<String, Project> first = store.load();
+        first.get("api").addCommand("deploy", "make deploy");
+        first.remove("api");
+
+        Map<String, Project> second = store.load();
+        assertTrue(second.containsKey("api"));
+        assertFalse(second.get("api").hasCommand("deploy"));
+    }
+
+    @Test
+    @DisplayName("Load cache picks up changes made by another process")
+    void loadCacheSeesExternalChanges() throws IOException {
+        Path file = tempDir.resolve("projects.json");
+        ProjectStore daemonStore = new ProjectStore(file);
+        daemonStore.enableLoadCache();
+        daemonStore.saveProject(createTestProject("api", "/home/user/api", ProjectType.MAVEN));
+        assertEquals(Set.of("api"), daemonStore.load().keySet());
+
+        // Journal append by another store instance
+        new ProjectStore(file).saveProject(createTestProject("web", "/home/user/web", ProjectType.NODEJS));
+        assertEquals(Set.of("api", "web"), daemonStore.load().keySet());
+
+        // Snapshot rewrite by another store instance
+        new ProjectStore(file).save(Map.of("cli", createTestProject("cli", "/home/user/cli", ProjectType.GO)));
+        assertEquals(Set.of("cli"), daemonStore.load().keySet());
+    }
 }
@@ -0,0 +1,55 @@
+package pm.tracking;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.Test;
+import pm.executor.ResourceUsage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsRecordAdapterTest {
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(StatsRecord.class, new StatsRecordAdapter())
+            .create();
+
+    @Test
+    void roundtripPreservesAllFields() {
+        StatsRecord original = new StatsRecord(12340, true, "2026-02-28T15:30:00Z");
+        assertEquals(original, gson.fromJson(gson.toJson(original), StatsRecord.class));
+    }
+
+    @Test
+    void writesExpectedFields() {
+        String json = gson.toJson(new StatsRecord(500, false, "2026-02-28T15:30:00Z"));
+        assertEquals("{\"durationMs\":500,\"success\":false,\"timestamp\":\"2026-02-28T15:30:00Z\"}", json);
+    }
+
+    @Test
+    void ignoresUnknownFieldsAndNulls() {
+        StatsRecord record = gson.fromJson(
+                "{\"durationMs\":42,\"success\":true,\"timestamp\":null,\"extra\":[1]}", StatsRecord.class);
+        assertEquals(42, record.durationMs());
+        assertTrue(record.success());
+        assertNull(record.timestamp());
+    }
+
+    @Test
+    void roundtripPreservesUsage() {
+        StatsRecord original = new StatsRecord(12340, true, "2026-02-28T15:30:00Z",
+                new ResourceUsage(9000, 1200, 812L * 1024 * 1024, 4096, 1 << 20));
+        assertEquals(original, gson.fromJson(gson.toJson(original), StatsRecord.class));
+    }
+
+    @Test
+    void recordsWithoutUsageFieldsHaveNoUsage() {
+        StatsRecord record = gson.fromJson(
+                "{\"durationMs\":42,\"success\":true,\"timestamp\":\"2026-02-28T15:30:00Z\"}", StatsRecord.class);
+        assertNull(record.usage());
+    }
+
+    @Test
+    void readsNull() {
+        assertNull(gson.fromJson("null", StatsRecord.class));
+    }
+}
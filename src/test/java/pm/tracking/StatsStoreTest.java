@@ -3,6 +3,7 @@ package pm.tracking;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import pm.executor.ResourceUsage;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -42,6 +43,17 @@ class StatsStoreTest {
         assertTrue(stats.get("build").get(0).success());
     }
 
+    @Test
+    void recordKeepsResourceUsage() {
+        ResourceUsage usage = new ResourceUsage(9000, 1200, 512L * 1024 * 1024, 0, 2048);
+        store.record("my-api", "build", 12340, true, usage);
+        store.record("my-api", "build", 11000, true);
+
+        List<StatsRecord> builds = store.getStats("my-api").get("build");
+        assertEquals(usage, builds.get(0).usage());
+        assertNull(builds.get(1).usage());
+    }
+
     @Test
     void recordMultipleCommandsSameProject() {
         store.record("my-api", "build", 12340, true);
@@ -67,6 +79,24 @@ class StatsStoreTest {
         assertEquals(1024, builds.get(19).durationMs());
     }
 
+    @Test
+    void recordAllAddsOneEntryPerProject() {
+        store.record("api", "fetch", 500, true);
+        store.recordAll("fetch", Map.of(
+                "api", new StatsRecord(700, true, "2026-01-01T00:00:00Z"),
+                "web", new StatsRecord(900, false, "2026-01-01T00:00:00Z")));
+
+        assertEquals(2, store.getStats("api").get("fetch").size());
+        assertEquals(700, store.getStats("api").get("fetch").get(1).durationMs());
+        assertFalse(store.getStats("web").get("fetch").get(0).success());
+    }
+
+    @Test
+    void recordAllWithNoRecordsDoesNotWrite() {
+        store.recordAll("fetch", Map.of());
+        assertFalse(Files.exists(statsFile));
+    }
+
     @Test
     void getStatsReturnsNullForUnknownProject() {
         Map<String, List<StatsRecord>> stats = store.getStats("nonexistent");
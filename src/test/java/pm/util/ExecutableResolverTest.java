@@ -0,0 +1,158 @@
+package pm.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ExecutableResolver")
+@DisabledOnOs(OS.WINDOWS)
+class ExecutableResolverTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path first;
+    private Path second;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        first = Files.createDirectories(tempDir.resolve("first"));
+        second = Files.createDirectories(tempDir.resolve("second"));
+    }
+
+    private Path file(Path dir, String name, boolean executable) throws IOException {
+        Path file = dir.resolve(name);
+        Files.writeString(file, "#!/bin/sh\n");
+        file.toFile().setExecutable(executable);
+        return file;
+    }
+
+    private String path(Path... dirs) {
+        StringBuilder path = new StringBuilder();
+        for (Path dir : dirs) {
+            if (!path.isEmpty()) {
+                path.append(File.pathSeparator);
+            }
+            path.append(dir);
+        }
+        return path.toString();
+    }
+
+    // ============================================================
+    // UNIX LOOKUP
+    // ============================================================
+
+    @Test
+    @DisplayName("Finds an executable in a PATH directory")
+    void findsExecutable() throws IOException {
+        Path tool = file(second, "tool", true);
+
+        assertEquals(tool, ExecutableResolver.find("tool", path(first, second), null, false));
+    }
+
+    @Test
+    @DisplayName("Earlier PATH entries win")
+    void firstMatchWins() throws IOException {
+        Path early = file(first, "tool", true);
+        file(second, "tool", true);
+
+        assertEquals(early, ExecutableResolver.find("tool", path(first, second), null, false));
+    }
+
+    @Test
+    @DisplayName("Files without the executable bit are skipped")
+    void skipsNonExecutable() throws IOException {
+        file(first, "tool", false);
+        Path executable = file(second, "tool", true);
+
+        assertEquals(executable, ExecutableResolver.find("tool", path(first, second), null, false));
+    }
+
+    @Test
+    @DisplayName("Directories with the command's name are skipped")
+    void skipsDirectories() throws IOException {
+        Files.createDirectories(first.resolve("tool"));
+
+        assertNull(ExecutableResolver.find("tool", path(first), null, false));
+    }
+
+    @Test
+    @DisplayName("Missing commands, empty and null PATH return null")
+    void notFound() {
+        assertNull(ExecutableResolver.find("tool", path(first, second), null, false));
+        assertNull(ExecutableResolver.find("tool", "", null, false));
+        assertNull(ExecutableResolver.find("tool", null, null, false));
+        assertNull(ExecutableResolver.find("", path(first), null, false));
+    }
+
+    @Test
+    @DisplayName("Commands with a path are checked directly, not on PATH")
+    void explicitPath() throws IOException {
+        Path tool = file(first, "tool", true);
+
+        assertEquals(tool, ExecutableResolver.find(tool.toString(), "", null, false));
+        assertNull(ExecutableResolver.find(second.resolve("tool").toString(), path(first), null, false));
+    }
+
+    @Test
+    @DisplayName("Finds a real tool on this machine's PATH")
+    void findsJava() {
+        assertNotNull(ExecutableResolver.find("java"));
+        assertNull(ExecutableResolver.find("nonexistent_cmd_xyz"));
+    }
+
+    // ============================================================
+    // WINDOWS RULES
+    // ============================================================
+
+    @Test
+    @DisplayName("Windows: tries PATHEXT extensions in order")
+    void windowsPathExt() throws IOException {
+        file(first, "tool.cmd", false);
+        Path exe = file(first, "tool.exe", false);
+
+        // Lower-case extensions: this test runs on case-sensitive file systems
+        assertEquals(exe, ExecutableResolver.find("tool", path(first), ".com;.exe;.bat;.cmd", true));
+        assertNull(ExecutableResolver.find("tool", path(second), ".exe", true));
+    }
+
+    @Test
+    @DisplayName("Windows: a name that already has an extension is tried as is")
+    void windowsExplicitExtension() throws IOException {
+        Path cmd = file(first, "tool.cmd", false);
+
+        assertEquals(cmd, ExecutableResolver.find("tool.cmd", path(first), ".exe;.cmd", true));
+    }
+
+    @Test
+    @DisplayName("Windows: empty App Execution Alias stubs are not executables")
+    void windowsSkipsEmptyAliases() throws IOException {
+        Files.createFile(first.resolve("python.exe"));
+        Path real = file(second, "python.exe", false);
+
+        assertEquals(real, ExecutableResolver.find("python", path(first, second), ".exe", true));
+    }
+
+    // ============================================================
+    // splitPath
+    // ============================================================
+
+    @Test
+    @DisplayName("splitPath drops empty entries and surrounding quotes")
+    void splitPath() {
+        String value = "\"/opt/tool bin\"" + File.pathSeparator + File.pathSeparator + "/usr/bin";
+
+        assertArrayEquals(new String[]{"/opt/tool bin", "/usr/bin"}, ExecutableResolver.splitPath(value));
+        assertEquals(0, ExecutableResolver.splitPath(null).length);
+    }
+}
@@ -2,11 +2,16 @@ package pm.util;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -139,4 +144,181 @@ class GitIntegrationTest {
         assertTrue(str.contains("3 untracked"));
         assertTrue(str.contains("1 staged"));
     }
+
+    // ============================================================
+    // snapshot
+    // ============================================================
+
+    private static GitIntegration.GitSnapshot parse(String... records) {
+        String output = String.join("\0", records) + "\0";
+        return GitIntegration.parseSnapshot(output.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("parseSnapshot reads branch, upstream, ahead/behind and stash headers")
+    void parseSnapshotHeaders() {
+        GitIntegration.GitSnapshot git = parse(
+                "# branch.oid 0123456789abcdef0123456789abcdef01234567",
+                "# branch.head feature/login",
+                "# branch.upstream origin/feature/login",
+                "# branch.ab +3 -12",
+                "# stash 2");
+
+        assertEquals("feature/login", git.branch());
+        assertEquals("0123456789abcdef0123456789abcdef01234567", git.commit());
+        assertEquals("origin/feature/login", git.upstream());
+        assertEquals(3, git.ahead());
+        assertEquals(12, git.behind());
+        assertEquals(2, git.stashes());
+        assertTrue(git.hasUpstream());
+        assertTrue(git.isClean());
+    }
+
+    @Test
+    @DisplayName("parseSnapshot counts staged, modified, untracked and conflicted entries")
+    void parseSnapshotEntries() {
+        GitIntegration.GitSnapshot git = parse(
+                "# branch.oid 0123456789abcdef0123456789abcdef01234567",
+                "# branch.head main",
+                "1 M. N... 100644 100644 100644 aaaa bbbb staged.txt",
+                "1 .M N... 100644 100644 100644 aaaa aaaa modified.txt",
+                "1 MM N... 100644 100644 100644 aaaa bbbb both.txt",
+                "1 .D N... 100644 100644 000000 aaaa aaaa deleted.txt",
+                "2 R. N... 100644 100644 100644 aaaa aaaa R100 new name.txt",
+                "old name.txt",
+                "u UU N... 100644 100644 100644 100644 aaaa bbbb cccc conflict.txt",
+                "? untracked.txt",
+                "? dir/");
+
+        assertEquals(3, git.staged());
+        assertEquals(3, git.modified());
+        assertEquals(2, git.untracked());
+        assertEquals(1, git.conflicted());
+        assertFalse(git.isClean());
+        assertFalse(git.hasUpstream());
+        assertEquals(-1, git.ahead());
+    }
+
+    @Test
+    @DisplayName("parseSnapshot handles detached HEAD, initial commit and a gone upstream")
+    void parseSnapshotSpecialStates() {
+        GitIntegration.GitSnapshot detached = parse(
+                "# branch.oid 0123456789abcdef0123456789abcdef01234567",
+                "# branch.head (detached)");
+        assertTrue(detached.isDetached());
+        assertNull(detached.branch());
+
+        GitIntegration.GitSnapshot initial = parse("# branch.oid (initial)", "# branch.head main");
+        assertNull(initial.commit());
+        assertEquals("main", initial.branch());
+
+        // Upstream configured but deleted on the remote: no branch.ab line
+        GitIntegration.GitSnapshot gone = parse(
+                "# branch.oid 0123456789abcdef0123456789abcdef01234567",
+                "# branch.head main",
+                "# branch.upstream origin/main");
+        assertEquals("origin/main", gone.upstream());
+        assertFalse(gone.hasUpstream());
+    }
+
+    @Test
+    @DisplayName("parseSnapshot of empty output is a clean tree")
+    void parseSnapshotEmpty() {
+        GitIntegration.GitSnapshot git = GitIntegration.parseSnapshot(new byte[0]);
+
+        assertTrue(git.isClean());
+        assertTrue(git.status().isClean());
+    }
+
+    @Test
+    @DisplayName("snapshot reads a real repository in one call")
+    void snapshotRealRepository() throws Exception {
+        Assumptions.assumeTrue(RuntimeChecker.isCommandAvailable("git", "--version"), "git not installed");
+
+        git("init", "-q", "-b", "main");
+        Files.writeString(tempDir.resolve("tracked.txt"), "one");
+        git("add", "tracked.txt");
+        git("-c", "user.name=pm", "-c", "user.email=pm@example.com", "commit", "-q", "-m", "init");
+        Files.writeString(tempDir.resolve("tracked.txt"), "two");
+        Files.writeString(tempDir.resolve("new.txt"), "new");
+
+        GitIntegration.GitSnapshot git = GitIntegration.snapshot(tempDir);
+
+        assertNotNull(git);
+        assertEquals("main", git.branch());
+        assertEquals(40, git.commit().length());
+        assertEquals(1, git.modified());
+        assertEquals(1, git.untracked());
+        assertEquals(0, git.staged());
+        assertFalse(git.hasUpstream());
+    }
+
+    // ============================================================
+    // TIMEOUTS
+    // ============================================================
+
+    @Test
+    @DisplayName("runForOutput kills a process that exceeds the timeout")
+    @DisabledOnOs(OS.WINDOWS)
+    void runForOutputTimesOut() {
+        long start = System.nanoTime();
+
+        assertThrows(TimeoutException.class,
+                () -> GitIntegration.runForOutput(new ProcessBuilder("sleep", "30"), 200));
+
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 10_000, "process was not killed");
+    }
+
+    @Test
+    @DisplayName("runForOutput kills children that keep the output pipe open")
+    @DisabledOnOs(OS.WINDOWS)
+    void runForOutputKillsPipeHoldingChildren() {
+        long start = System.nanoTime();
+
+        assertThrows(TimeoutException.class,
+                () -> GitIntegration.runForOutput(new ProcessBuilder("sh", "-c", "sleep 30 & wait"), 500));
+
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 10_000, "waited for the child");
+    }
+
+    @Test
+    @DisplayName("runForOutput stops waiting for output held by a detached process")
+    @DisabledOnOs(OS.WINDOWS)
+    void runForOutputStopsWaitingForDetachedProcess() {
+        long start = System.nanoTime();
+
+        // sh exits at once; the orphaned sleep keeps the pipe open for 3 s. If sh is
+        // gone before the read starts, the JDK closes the pipe itself and the output
+        // comes back early instead; either way the caller must not wait for the sleep.
+        try {
+            GitIntegration.runForOutput(new ProcessBuilder("sh", "-c", "sleep 3 & exit 0"), 500);
+        } catch (TimeoutException expected) {
+            // The read was already blocked on the pipe
+        }
+
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 2_500, "waited for the detached process");
+    }
+
+    @Test
+    @DisplayName("runForOutput returns output within the timeout and null on failure")
+    @DisabledOnOs(OS.WINDOWS)
+    void runForOutputCompletes() throws Exception {
+        byte[] output = GitIntegration.runForOutput(new ProcessBuilder("echo", "hello"), 10_000);
+
+        assertEquals("hello\n", new String(output, StandardCharsets.UTF_8));
+        assertNull(GitIntegration.runForOutput(new ProcessBuilder("false"), 10_000));
+        assertNull(GitIntegration.runForOutput(new ProcessBuilder("nonexistent_cmd_xyz"), 0));
+    }
+
+    private void git(String... args) throws Exception {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        Process process = new ProcessBuilder(command)
+                .directory(tempDir.toFile())
+                .redirectErrorStream(true)
+                .start();
+        process.getInputStream().readAllBytes();
+        assertEquals(0, process.waitFor(), "git " + String.join(" ", args));
+    }
 }
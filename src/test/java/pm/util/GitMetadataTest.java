@@ -0,0 +1,350 @@
+package pm.util;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GitMetadata")
+class GitMetadataTest {
+
+    private static final String SHA_A = "1111111111111111111111111111111111111111";
+    private static final String SHA_B = "2222222222222222222222222222222222222222";
+
+    @TempDir
+    Path tempDir;
+
+    /** Creates a minimal .git directory with HEAD pointing at refs/heads/main. */
+    private Path repo(Path root) throws IOException {
+        Path gitDir = Files.createDirectories(root.resolve(".git"));
+        write(gitDir.resolve("HEAD"), "ref: refs/heads/main\n");
+        Files.createDirectories(gitDir.resolve("refs/heads"));
+        write(gitDir.resolve("config"), "[core]\n\trepositoryformatversion = 0\n");
+        return gitDir;
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    // ============================================================
+    // HEAD AND REFS
+    // ============================================================
+
+    @Test
+    @DisplayName("Reads branch and commit from HEAD and a loose ref")
+    void looseRef() throws IOException {
+        Path gitDir = repo(tempDir);
+        write(gitDir.resolve("refs/heads/main"), SHA_A + "\n");
+
+        GitMetadata git = GitMetadata.discover(tempDir);
+
+        assertNotNull(git);
+        assertEquals("main", git.currentBranch());
+        assertFalse(git.isDetached());
+        assertEquals(SHA_A, git.headCommit());
+    }
+
+    @Test
+    @DisplayName("Falls back to packed-refs, and loose refs win over packed ones")
+    void packedRefs() throws IOException {
+        Path gitDir = repo(tempDir);
+        write(gitDir.resolve("packed-refs"), String.join("\n",
+                "# pack-refs with: peeled fully-peeled sorted",
+                SHA_A + " refs/heads/main",
+                SHA_B + " refs/tags/v1",
+                "^" + SHA_A,
+                SHA_A + " refs/heads/feature/x",
+                ""));
+
+        GitMetadata git = GitMetadata.discover(tempDir);
+        assertEquals(SHA_A, git.headCommit());
+        assertEquals(SHA_B, git.resolve("refs/tags/v1"));
+
+        write(gitDir.resolve("refs/heads/main"), SHA_B + "\n");
+        assertEquals(SHA_B, GitMetadata.discover(tempDir).headCommit());
+    }
+
+    @Test
+    @DisplayName("Detached HEAD has no branch but a commit")
+    void detachedHead() throws IOException {
+        Path gitDir = repo(tempDir);
+        write(gitDir.resolve("HEAD"), SHA_B + "\n");
+
+        GitMetadata git = GitMetadata.discover(tempDir);
+
+        assertTrue(git.isDetached());
+        assertNull(git.currentBranch());
+        assertEquals(SHA_B, git.headCommit());
+    }
+
+    @Test
+    @DisplayName("Unborn branch has a name but no commit")
+    void unbornBranch() throws IOException {
+        repo(tempDir);
+
+        GitMetadata git = GitMetadata.discover(tempDir);
+
+        assertEquals("main", git.currentBranch());
+        assertNull(git.headCommit());
+    }
+
+    @Test
+    @DisplayName("Discovers the repository from a subdirectory")
+    void discoverWalksUp() throws IOException {
+        repo(tempDir);
+        Path sub = Files.createDirectories(tempDir.resolve("src/main"));
+
+        assertNotNull(GitMetadata.discover(sub));
+    }
+
+    @Test
+    @DisplayName("Returns null outside a repository")
+    void notARepository() throws IOException {
+        Path plain = Files.createDirectories(tempDir.resolve("plain"));
+        // A stray .git file that is not a gitdir link is ignored
+        write(plain.resolve(".git"), "garbage");
+
+        assertNull(GitMetadata.readGitFile(plain.resolve(".git")));
+        assertNull(GitMetadata.discover(plain));
+    }
+
+    // ============================================================
+    // WORKTREES
+    // ============================================================
+
+    @Test
+    @DisplayName("Follows a worktree's gitdir file and reads shared refs from commondir")
+    void linkedWorktree() throws IOException {
+        Path main = Files.createDirectories(tempDir.resolve("main"));
+        Path gitDir = repo(main);
+        write(gitDir.resolve("refs/heads/feature"), SHA_B + "\n");
+        write(gitDir.resolve("config"), "[remote \"origin\"]\n\turl = https://github.com/owner/repo.git\n");
+
+        Path worktreeGitDir = gitDir.resolve("worktrees/wt");
+        write(worktreeGitDir.resolve("HEAD"), "ref: refs/heads/feature\n");
+        write(worktreeGitDir.resolve("commondir"), "../..\n");
+
+        Path worktree = Files.createDirectories(tempDir.resolve("wt"));
+        write(worktree.resolve(".git"), "gitdir: " + worktreeGitDir + "\n");
+
+        GitMetadata git = GitMetadata.discover(worktree);
+
+        assertEquals("feature", git.currentBranch());
+        assertEquals(SHA_B, git.headCommit());
+        assertEquals("https://github.com/owner/repo.git", git.remoteUrl("origin"));
+    }
+
+    @Test
+    @DisplayName("Relative gitdir paths resolve against the .git file's directory")
+    void relativeGitFile() throws IOException {
+        Path modules = Files.createDirectories(tempDir.resolve(".git/modules/lib"));
+        write(modules.resolve("HEAD"), "ref: refs/heads/main\n");
+        Path submodule = Files.createDirectories(tempDir.resolve("lib"));
+        write(submodule.resolve(".git"), "gitdir: ../.git/modules/lib\n");
+
+        assertEquals(modules, GitMetadata.readGitFile(submodule.resolve(".git")));
+        assertEquals("main", GitMetadata.discover(submodule).currentBranch());
+    }
+
+    // ============================================================
+    // CONFIG
+    // ============================================================
+
+    @Test
+    @DisplayName("parseConfig handles subsections, quotes, comments and continuations")
+    void parseConfig() {
+        Map<String, List<String>> config = GitMetadata.parseConfig(String.join("\n",
+                "# comment",
+                "[Core]",
+                "\tBare = false ; trailing comment",
+                "\tfilemode",
+                "[remote \"Origin\"]",
+                "\turl = \"https://example.com/a b.git\"",
+                "\tfetch = +refs/heads/*:refs/remotes/origin/*",
+                "\tfetch = +refs/tags/*:refs/tags/*",
+                "[alias]",
+                "\tlg = log \\",
+                "--oneline",
+                "[branch.legacy]",
+                "\tremote = origin",
+                ""));
+
+        assertEquals(List.of("false"), config.get("core.bare"));
+        assertEquals(List.of("true"), config.get("core.filemode"));
+        assertEquals(List.of("https://example.com/a b.git"), config.get("remote.Origin.url"));
+        assertEquals(2, config.get("remote.Origin.fetch").size());
+        assertEquals(List.of("log --oneline"), config.get("alias.lg"));
+        assertEquals(List.of("origin"), config.get("branch.legacy.remote"));
+    }
+
+    @Test
+    @DisplayName("Upstream comes from branch.<name>.remote and .merge")
+    void upstream() throws IOException {
+        Path gitDir = repo(tempDir);
+        write(gitDir.resolve("config"), String.join("\n",
+                "[branch \"main\"]",
+                "\tremote = origin",
+                "\tmerge = refs/heads/main",
+                "[branch \"local\"]",
+                "\tremote = .",
+                "\tmerge = refs/heads/main",
+                ""));
+
+        GitMetadata git = GitMetadata.discover(tempDir);
+
+        assertEquals("origin/main", git.upstream("main"));
+        assertEquals("main", git.upstream("local"));
+        assertNull(git.upstream("other"));
+        assertNull(git.upstream(null));
+        assertEquals("origin", git.upstreamRemote("main"));
+        assertEquals(".", git.upstreamRemote("local"));
+        assertNull(git.upstreamRemote("other"));
+    }
+
+    @Test
+    @DisplayName("Remote URLs apply the longest insteadOf rewrite")
+    void remoteUrlInsteadOf() throws IOException {
+        Path gitDir = repo(tempDir);
+        write(gitDir.resolve("config"), String.join("\n",
+                "[remote \"origin\"]",
+                "\turl = gh:owner/repo.git",
+                "[remote \"plain\"]",
+                "\turl = git@gitlab.com:group/project.git",
+                "[url \"https://github.com/\"]",
+                "\tinsteadOf = gh:",
+                "[url \"https://mirror.example.com/\"]",
+                "\tinsteadOf = g",
+                ""));
+
+        GitMetadata git = GitMetadata.discover(tempDir);
+
+        assertEquals("https://github.com/owner/repo.git", git.remoteUrl("origin"));
+        assertEquals("https://mirror.example.com/it@gitlab.com:group/project.git", git.remoteUrl("plain"));
+        assertNull(git.remoteUrl("missing"));
+    }
+
+    @Test
+    @DisplayName("Default remote is the branch's remote, else origin, else the first by name")
+    void defaultRemote() throws IOException {
+        Path gitDir = repo(tempDir);
+        write(gitDir.resolve("config"), String.join("\n",
+                "[remote \"upstream\"]",
+                "\turl = https://example.com/upstream.git",
+                "[remote \"fork\"]",
+                "\turl = https://example.com/fork.git",
+                "[branch \"main\"]",
+                "\tremote = upstream",
+                "[branch \"local\"]",
+                "\tremote = .",
+                ""));
+        GitMetadata git = GitMetadata.discover(tempDir);
+
+        assertEquals("upstream", git.defaultRemote("main"));
+        assertEquals("fork", git.defaultRemote("local"));
+        assertEquals("fork", git.defaultRemote(null));
+
+        write(gitDir.resolve("config"), "[remote \"origin\"]\n\turl = https://example.com/o.git\n");
+        assertEquals("origin", GitMetadata.discover(tempDir).defaultRemote("main"));
+
+        write(gitDir.resolve("config"), "");
+        assertNull(GitMetadata.discover(tempDir).defaultRemote("main"));
+    }
+
+    @Test
+    @DisplayName("Object store size counts packs and loose objects only")
+    void objectStoreSize() throws IOException {
+        Path gitDir = repo(tempDir);
+        write(gitDir.resolve("objects/ab/" + SHA_A.substring(2)), "x".repeat(100));
+        write(gitDir.resolve("objects/pack/pack-1.pack"), "x".repeat(1000));
+        write(gitDir.resolve("objects/pack/pack-1.idx"), "x".repeat(50));
+        write(gitDir.resolve("objects/info/packs"), "x".repeat(10));
+
+        assertEquals(1100, GitMetadata.discover(tempDir).objectStoreSize());
+    }
+
+    @Test
+    @DisplayName("Finds a single commit-graph or a split chain, and measures the index")
+    void commitGraphAndIndex() throws IOException {
+        Path gitDir = repo(tempDir);
+        GitMetadata git = GitMetadata.discover(tempDir);
+        assertFalse(git.hasCommitGraph());
+        assertEquals(0, git.indexSize());
+
+        write(gitDir.resolve("objects/info/commit-graphs/commit-graph-chain"), SHA_A + "\n");
+        write(gitDir.resolve("index"), "x".repeat(64));
+        assertTrue(git.hasCommitGraph());
+        assertEquals(64, git.indexSize());
+
+        Files.delete(gitDir.resolve("objects/info/commit-graphs/commit-graph-chain"));
+        write(gitDir.resolve("objects/info/commit-graph"), "x");
+        assertTrue(git.hasCommitGraph());
+    }
+
+    @Test
+    @DisplayName("Reftable repositories are reported as unsupported")
+    void reftableUnsupported() throws IOException {
+        Path gitDir = repo(tempDir);
+        write(gitDir.resolve("config"), "[extensions]\n\trefStorage = reftable\n");
+
+        assertFalse(GitMetadata.discover(tempDir).isSupported());
+    }
+
+    // ============================================================
+    // AGAINST REAL GIT
+    // ============================================================
+
+    @Test
+    @DisplayName("Agrees with git on a real repository, after pack-refs and in a worktree")
+    void matchesGit() throws Exception {
+        Assumptions.assumeTrue(RuntimeChecker.isCommandAvailable("git", "--version"), "git not installed");
+
+        Path main = Files.createDirectories(tempDir.resolve("main"));
+        git(main, "init", "-q", "-b", "main");
+        Files.writeString(main.resolve("a.txt"), "a");
+        git(main, "add", "a.txt");
+        git(main, "-c", "user.name=pm", "-c", "user.email=pm@example.com", "commit", "-q", "-m", "init");
+        git(main, "remote", "add", "origin", "git@github.com:owner/repo.git");
+        git(main, "config", "branch.main.remote", "origin");
+        git(main, "config", "branch.main.merge", "refs/heads/main");
+        git(main, "pack-refs", "--all");
+        git(main, "worktree", "add", "-q", "-b", "feature", tempDir.resolve("wt").toString());
+
+        GitMetadata repo = GitMetadata.discover(main);
+        assertEquals(git(main, "rev-parse", "HEAD"), repo.headCommit());
+        assertEquals("main", repo.currentBranch());
+        assertEquals("origin/main", repo.upstream("main"));
+        assertEquals(git(main, "remote", "get-url", "origin"), repo.remoteUrl("origin"));
+
+        GitMetadata worktree = GitMetadata.discover(tempDir.resolve("wt"));
+        assertEquals("feature", worktree.currentBranch());
+        assertEquals(git(tempDir.resolve("wt"), "rev-parse", "HEAD"), worktree.headCommit());
+        assertEquals(repo.remoteUrl("origin"), worktree.remoteUrl("origin"));
+
+        assertTrue(GitIntegration.isGitRepository(tempDir.resolve("wt")));
+        assertEquals("feature", GitIntegration.getCurrentBranch(tempDir.resolve("wt")));
+    }
+
+    private static String git(Path dir, String... args) throws Exception {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        Process process = new ProcessBuilder(command)
+                .directory(dir.toFile())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        assertEquals(0, process.waitFor(), "git " + String.join(" ", args) + ": " + output);
+        return output;
+    }
+}
@@ -0,0 +1,80 @@
+package pm.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares answering "is this runtime installed?" by running
+ * {@code <tool> --version} through a shell against resolving the tool on PATH
+ * in Java, for the 14 runtimes checked by {@code pm doctor}.
+ *
+ * <p>Disabled by default. Run with:
+ * <pre>{@code
+ * mvn test -Dtest=RuntimeCheckerBenchmarkTest -Dpm.benchmark=true
+ * }</pre>
+ *
+ * <p>Reports the median time per tool and for a full pass over all 14.
+ */
+@DisplayName("RuntimeChecker benchmark")
+@EnabledIfSystemProperty(named = "pm.benchmark", matches = "true")
+class RuntimeCheckerBenchmarkTest {
+
+    private static final int PROBE_RUNS = 3;
+    private static final int RESOLVE_WARMUP = 200;
+    private static final int RESOLVE_RUNS = 1_000;
+
+    /** Same commands and flags as handleDoctor(). */
+    private static final String[][] RUNTIMES = {
+            {"java", "-version"}, {"mvn", "-version"}, {"gradle", "-version"},
+            {"node", "--version"}, {"npm", "--version"}, {"dotnet", "--version"},
+            {"python", "--version"}, {"cargo", "--version"}, {"go", "version"},
+            {"pnpm", "--version"}, {"bun", "--version"}, {"yarn", "--version"},
+            {"flutter", "--version"}, {"docker", "--version"},
+    };
+
+    @Test
+    @DisplayName("Version probe vs PATH resolution")
+    void compareProbeAndResolve() {
+        System.out.printf("%n%-10s %-10s %14s %14s%n", "tool", "found", "probe ms", "resolve us");
+
+        double probeTotal = 0;
+        double resolveTotal = 0;
+        for (String[] runtime : RUNTIMES) {
+            String command = runtime[0];
+            String flag = runtime[1];
+
+            boolean probed = RuntimeChecker.probeVersion(command, flag) != null;
+            boolean resolved = ExecutableResolver.find(command) != null;
+            // A tool found on PATH may still fail its probe (broken install), never the reverse
+            assertTrue(resolved || !probed, command + " answered its probe but was not resolved");
+
+            double probeMs = median(PROBE_RUNS, 0, () -> RuntimeChecker.probeVersion(command, flag)) / 1e6;
+            double resolveUs = median(RESOLVE_RUNS, RESOLVE_WARMUP, () -> ExecutableResolver.find(command)) / 1e3;
+            probeTotal += probeMs;
+            resolveTotal += resolveUs;
+
+            System.out.printf("%-10s %-10s %14.1f %14.1f%n", command, resolved, probeMs, resolveUs);
+        }
+
+        System.out.printf("%-10s %-10s %14.1f %14.1f%n", "all 14", "", probeTotal, resolveTotal);
+    }
+
+    private static long median(int runs, int warmup, Runnable action) {
+        for (int i = 0; i < warmup; i++) {
+            action.run();
+        }
+        long[] times = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            action.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[runs / 2];
+    }
+}
@@ -76,6 +76,14 @@ class RuntimeCheckerTest {
         assertFalse(version.isBlank());
     }
 
+    @Test
+    @DisplayName("getVersion agrees with a direct probe (cache hit or miss)")
+    void getVersionMatchesProbe() {
+        String probed = RuntimeChecker.probeVersion("java", "-version");
+        assertEquals(probed, RuntimeChecker.getVersion("java", "-version"));
+        assertEquals(probed, RuntimeChecker.getVersion("java", "-version"));
+    }
+
     @Test
     @DisplayName("getVersion returns null for nonexistent command")
     void getVersionNonexistent() {
@@ -0,0 +1,186 @@
+package pm.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RuntimeProbeCache")
+@DisabledOnOs(OS.WINDOWS)
+class RuntimeProbeCacheTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private Path binDir;
+    private Path cacheFile;
+    private final AtomicInteger probes = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        binDir = Files.createDirectories(tempDir.resolve("bin"));
+        cacheFile = tempDir.resolve("cache").resolve("runtime-probes.json");
+        install("tool");
+    }
+
+    private Path install(String name) throws IOException {
+        Path binary = binDir.resolve(name);
+        Files.writeString(binary, "#!/bin/sh\necho " + name + " 1.0\n");
+        binary.toFile().setExecutable(true);
+        return binary;
+    }
+
+    private Supplier<String> counting(String output) {
+        return () -> {
+            probes.incrementAndGet();
+            return output;
+        };
+    }
+
+    private String path() {
+        return binDir + File.pathSeparator + tempDir.resolve("missing");
+    }
+
+    // ============================================================
+    // HITS
+    // ============================================================
+
+    @Test
+    @DisplayName("Second probe of an unchanged tool is served from the cache")
+    void repeatedProbeIsCached() {
+        RuntimeProbeCache cache = new RuntimeProbeCache(cacheFile);
+
+        assertEquals("tool 1.0", cache.get("tool", "--version", path(), NOW, counting("tool 1.0")));
+        assertEquals("tool 1.0", cache.get("tool", "--version", path(), NOW + 1000, counting("other")));
+
+        assertEquals(1, probes.get());
+    }
+
+    @Test
+    @DisplayName("Results survive a new cache instance (next pm invocation)")
+    void persistedAcrossInstances() {
+        new RuntimeProbeCache(cacheFile).get("tool", "--version", path(), NOW, counting("tool 1.0"));
+
+        RuntimeProbeCache next = new RuntimeProbeCache(cacheFile);
+
+        assertEquals("tool 1.0", next.get("tool", "--version", path(), NOW, counting("other")));
+        assertEquals(1, probes.get());
+    }
+
+    @Test
+    @DisplayName("Missing tools are cached as null")
+    void negativeResultCached() {
+        RuntimeProbeCache cache = new RuntimeProbeCache(cacheFile);
+
+        assertNull(cache.get("absent", "--version", path(), NOW, counting(null)));
+        assertNull(cache.get("absent", "--version", path(), NOW, counting("absent 1.0")));
+
+        assertEquals(1, probes.get());
+    }
+
+    @Test
+    @DisplayName("Different flags are separate entries")
+    void flagIsPartOfKey() {
+        RuntimeProbeCache cache = new RuntimeProbeCache(cacheFile);
+
+        cache.get("tool", "--version", path(), NOW, counting("tool 1.0"));
+        assertEquals("audit 2.0", cache.get("tool", "audit --version", path(), NOW, counting("audit 2.0")));
+
+        assertEquals(2, probes.get());
+    }
+
+    // ============================================================
+    // INVALIDATION
+    // ============================================================
+
+    @Test
+    @DisplayName("Upgrading the binary in place triggers a new probe")
+    void binaryChangeInvalidates() throws IOException {
+        RuntimeProbeCache cache = new RuntimeProbeCache(cacheFile);
+        cache.get("tool", "--version", path(), NOW, counting("tool 1.0"));
+
+        Path binary = binDir.resolve("tool");
+        Files.writeString(binary, "#!/bin/sh\necho tool 2.0 upgraded\n");
+        Files.setLastModifiedTime(binary, FileTime.fromMillis(NOW + 60_000));
+
+        assertEquals("tool 2.0", cache.get("tool", "--version", path(), NOW, counting("tool 2.0")));
+        assertEquals(2, probes.get());
+    }
+
+    @Test
+    @DisplayName("Installing a tool into a PATH directory triggers a new probe")
+    void pathDirectoryChangeInvalidates() throws IOException {
+        RuntimeProbeCache cache = new RuntimeProbeCache(cacheFile);
+        assertNull(cache.get("newtool", "--version", path(), NOW, counting(null)));
+
+        install("newtool");
+        Files.setLastModifiedTime(binDir, FileTime.fromMillis(NOW + 60_000));
+
+        assertEquals("newtool 1.0", cache.get("newtool", "--version", path(), NOW, counting("newtool 1.0")));
+        assertEquals(2, probes.get());
+    }
+
+    @Test
+    @DisplayName("A different PATH triggers a new probe")
+    void differentPathInvalidates() throws IOException {
+        RuntimeProbeCache cache = new RuntimeProbeCache(cacheFile);
+        cache.get("tool", "--version", path(), NOW, counting("tool 1.0"));
+
+        Path otherBin = Files.createDirectories(tempDir.resolve("other"));
+        String otherPath = otherBin + File.pathSeparator + binDir;
+
+        cache.get("tool", "--version", otherPath, NOW, counting("tool 1.0"));
+        assertEquals(2, probes.get());
+    }
+
+    @Test
+    @DisplayName("Entries expire after MAX_AGE_MS")
+    void entriesExpire() {
+        RuntimeProbeCache cache = new RuntimeProbeCache(cacheFile);
+        cache.get("tool", "--version", path(), NOW, counting("tool 1.0"));
+
+        cache.get("tool", "--version", path(), NOW + RuntimeProbeCache.MAX_AGE_MS, counting("tool 1.0"));
+
+        assertEquals(2, probes.get());
+    }
+
+    // ============================================================
+    // FILE HANDLING
+    // ============================================================
+
+    @Test
+    @DisplayName("A corrupt cache file is ignored and replaced")
+    void corruptFileIgnored() throws IOException {
+        Files.createDirectories(cacheFile.getParent());
+        Files.writeString(cacheFile, "{not json", StandardCharsets.UTF_8);
+
+        RuntimeProbeCache cache = new RuntimeProbeCache(cacheFile);
+
+        assertEquals("tool 1.0", cache.get("tool", "--version", path(), NOW, counting("tool 1.0")));
+        assertEquals(1, RuntimeProbeCache.read(cacheFile).size());
+    }
+
+    @Test
+    @DisplayName("Fingerprint is stable while nothing changes")
+    void fingerprintStable() {
+        assertEquals(RuntimeProbeCache.fingerprint("tool", path()),
+                RuntimeProbeCache.fingerprint("tool", path()));
+        assertNotEquals(RuntimeProbeCache.fingerprint("tool", path()),
+                RuntimeProbeCache.fingerprint("absent", path()));
+    }
+}
@@ -1,14 +1,27 @@
 package pm.util;
 
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.net.ssl.SSLException;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -16,6 +29,18 @@ import static org.junit.jupiter.api.Assertions.*;
 @DisplayName("UpdateChecker")
 class UpdateCheckerTest {
 
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
     // ============================================================
     // extractTagName - JSON parsing
     // ============================================================
@@ -333,7 +358,7 @@ class UpdateCheckerTest {
     @DisplayName("checkForUpdates does not throw even without internet")
     void checkForUpdatesNoThrow() {
         // This should return silently regardless of network state
-        assertDoesNotThrow(UpdateChecker::checkForUpdates);
+        assertDoesNotThrow(() -> UpdateChecker.checkForUpdates());
     }
 
     // ============================================================
@@ -348,4 +373,150 @@ class UpdateCheckerTest {
 
         assertThrows(InvocationTargetException.class, constructor::newInstance);
     }
+
+    // ============================================================
+    // Cached check - against a local stand-in for the GitHub API
+    // ============================================================
+
+    private static final String RELEASE_JSON = "{\"tag_name\":\"v99.0.0\",\"assets\":[{"
+            + "\"name\":\"projectmanager-99.0.0.jar\",\"size\":5242880}]}";
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final List<String> ifNoneMatch = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Starts a server answering like the releases API: 200 with an ETag, or 304
+     * when the request carries that ETag. A negative status makes it fail instead.
+     */
+    private String startApi(int status) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/releases/latest", exchange -> {
+            requests.incrementAndGet();
+            String etag = exchange.getRequestHeaders().getFirst("If-None-Match");
+            ifNoneMatch.add(etag);
+            if (status < 0) {
+                exchange.sendResponseHeaders(500, -1);
+            } else if ("\"abc\"".equals(etag)) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] body = RELEASE_JSON.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("ETag", "\"abc\"");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/releases/latest";
+    }
+
+    @Test
+    @DisplayName("First run revalidates in the background and caches the release")
+    void firstRunCachesRelease() throws Exception {
+        String url = startApi(200);
+        Path cacheFile = tempDir.resolve("cache").resolve("update-check.json");
+
+        Thread check = UpdateChecker.checkForUpdates(url, cacheFile, 1000);
+        assertNotNull(check);
+        assertTrue(check.isDaemon());
+        check.join(5000);
+
+        UpdateChecker.CachedCheck cached = UpdateChecker.readCache(cacheFile);
+        assertNotNull(cached);
+        assertEquals("99.0.0", cached.latestVersion());
+        assertEquals(5242880, cached.expectedSize());
+        assertEquals("\"abc\"", cached.etag());
+        assertEquals(1000, cached.checkedAt());
+    }
+
+    @Test
+    @DisplayName("Fresh cache is used without any request")
+    void freshCacheSkipsNetwork() throws Exception {
+        String url = startApi(200);
+        Path cacheFile = tempDir.resolve("update-check.json");
+        UpdateChecker.revalidate(url, cacheFile, null, 1000);
+        requests.set(0);
+
+        assertNull(UpdateChecker.checkForUpdates(url, cacheFile, 1000 + UpdateChecker.CHECK_TTL_MS - 1));
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    @DisplayName("Stale cache is revalidated with If-None-Match and kept on 304")
+    void staleCacheRevalidatesWithEtag() throws Exception {
+        String url = startApi(200);
+        Path cacheFile = tempDir.resolve("update-check.json");
+        UpdateChecker.revalidate(url, cacheFile, null, 1000);
+
+        long later = 1000 + UpdateChecker.CHECK_TTL_MS;
+        Thread check = UpdateChecker.checkForUpdates(url, cacheFile, later);
+        assertNotNull(check);
+        check.join(5000);
+
+        assertEquals(List.of("\"abc\""), ifNoneMatch.subList(1, ifNoneMatch.size()));
+        UpdateChecker.CachedCheck cached = UpdateChecker.readCache(cacheFile);
+        assertEquals("99.0.0", cached.latestVersion());
+        assertEquals(later, cached.checkedAt());
+    }
+
+    @Test
+    @DisplayName("Failed check keeps the previous result and waits for the TTL")
+    void failedCheckKeepsPreviousResult() throws IOException {
+        String url = startApi(-1);
+        Path cacheFile = tempDir.resolve("update-check.json");
+        UpdateChecker.CachedCheck previous = new UpdateChecker.CachedCheck(1000, "\"abc\"", "1.2.3", 42);
+
+        UpdateChecker.CachedCheck result = UpdateChecker.revalidate(url, cacheFile, previous, 5000);
+
+        assertEquals(new UpdateChecker.CachedCheck(5000, "\"abc\"", "1.2.3", 42), result);
+        assertEquals(result, UpdateChecker.readCache(cacheFile));
+        assertTrue(result.isFresh(5001));
+    }
+
+    @Test
+    @DisplayName("Unreachable API is recorded without throwing")
+    void unreachableApiRecorded() {
+        Path cacheFile = tempDir.resolve("update-check.json");
+
+        UpdateChecker.CachedCheck result = UpdateChecker.revalidate(
+                "http://127.0.0.1:1/releases/latest", cacheFile, null, 1000);
+
+        assertNull(result.latestVersion());
+        assertEquals(1000, UpdateChecker.readCache(cacheFile).checkedAt());
+    }
+
+    @Test
+    @DisplayName("Missing or corrupt cache reads as null")
+    void corruptCacheReadsAsNull() throws IOException {
+        Path cacheFile = tempDir.resolve("update-check.json");
+        assertNull(UpdateChecker.readCache(cacheFile));
+
+        Files.writeString(cacheFile, "{not json");
+        assertNull(UpdateChecker.readCache(cacheFile));
+    }
+
+    @Test
+    @DisplayName("Attempt is recorded before the request so an interrupted check retries later")
+    void attemptRecordedBeforeRequest() throws IOException {
+        Path cacheFile = tempDir.resolve("update-check.json");
+        List<UpdateChecker.CachedCheck> seenDuringRequest = new ArrayList<>();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/releases/latest", exchange -> {
+            seenDuringRequest.add(UpdateChecker.readCache(cacheFile));
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.start();
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/releases/latest";
+
+        long now = 10 * UpdateChecker.CHECK_TTL_MS;
+        UpdateChecker.revalidate(url, cacheFile, null, now);
+
+        UpdateChecker.CachedCheck marker = seenDuringRequest.get(0);
+        assertNotNull(marker);
+        assertTrue(marker.isFresh(now));
+        assertFalse(marker.isFresh(now + UpdateChecker.RETRY_AFTER_MS));
+    }
 }
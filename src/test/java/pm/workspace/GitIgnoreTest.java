@@ -0,0 +1,94 @@
+package pm.workspace;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GitIgnore")
+class GitIgnoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    // ============================================================
+    // RULES
+    // ============================================================
+
+    @Test
+    @DisplayName("A name without a slash matches at any depth")
+    void unanchored() {
+        GitIgnore ignore = GitIgnore.NONE.withRules("", "coverage\n*.log\n");
+
+        assertTrue(ignore.isIgnored("coverage", true));
+        assertTrue(ignore.isIgnored("packages/ui/coverage", true));
+        assertTrue(ignore.isIgnored("a/debug.log", false));
+        assertFalse(ignore.isIgnored("coverage-report", true));
+    }
+
+    @Test
+    @DisplayName("A leading or middle slash anchors the pattern to the file's directory")
+    void anchored() {
+        GitIgnore ignore = GitIgnore.NONE.withRules("", "/tmp\ndocs/generated\n");
+
+        assertTrue(ignore.isIgnored("tmp", true));
+        assertFalse(ignore.isIgnored("src/tmp", true));
+        assertTrue(ignore.isIgnored("docs/generated", true));
+        assertFalse(ignore.isIgnored("site/docs/generated", true));
+    }
+
+    @Test
+    @DisplayName("A trailing slash only matches directories")
+    void directoryOnly() {
+        GitIgnore ignore = GitIgnore.NONE.withRules("", "cache/\n");
+
+        assertTrue(ignore.isIgnored("cache", true));
+        assertFalse(ignore.isIgnored("cache", false));
+    }
+
+    @Test
+    @DisplayName("The last matching line wins, so ! re-includes")
+    void negation() {
+        GitIgnore ignore = GitIgnore.NONE.withRules("", "generated/**\n!generated/keep\n");
+
+        assertTrue(ignore.isIgnored("generated/tmp", true));
+        assertFalse(ignore.isIgnored("generated/keep", true));
+        assertFalse(ignore.isIgnored("generated", true));
+    }
+
+    @Test
+    @DisplayName("Skips comments and blank lines, honors escapes")
+    void syntax() {
+        GitIgnore ignore = GitIgnore.NONE.withRules("", "# comment\n\n\\#hash\n\\!bang\n   \n");
+
+        assertTrue(ignore.isIgnored("#hash", false));
+        assertTrue(ignore.isIgnored("!bang", false));
+        assertFalse(ignore.isIgnored("comment", false));
+        assertSame(GitIgnore.NONE, GitIgnore.NONE.withRules("", "# only comments\n"));
+    }
+
+    // ============================================================
+    // NESTED FILES
+    // ============================================================
+
+    @Test
+    @DisplayName("A nested file applies below its directory and overrides its parents")
+    void nested() {
+        GitIgnore root = GitIgnore.NONE.withRules("", "fixtures\n");
+        GitIgnore nested = root.withRules("packages/ui", "!fixtures\nstorybook-static\n");
+
+        assertTrue(nested.isIgnored("fixtures", true));
+        assertFalse(nested.isIgnored("packages/ui/fixtures", true));
+        assertTrue(nested.isIgnored("packages/ui/storybook-static", true));
+        assertFalse(nested.isIgnored("packages/api/storybook-static", true));
+    }
+
+    @Test
+    @DisplayName("A missing file adds no rules")
+    void missingFile() {
+        assertSame(GitIgnore.NONE, GitIgnore.NONE.withFile("", tempDir.resolve(".gitignore")));
+    }
+}
@@ -0,0 +1,116 @@
+package pm.workspace;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pm.detector.ProjectType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ModuleWalker")
+class ModuleWalkerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private void file(String relative) throws IOException {
+        Path path = tempDir.resolve(relative);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, relative.endsWith(".gitignore") || relative.endsWith("exclude") ? "" : "{}");
+    }
+
+    private List<String> walkFor(String marker) {
+        return ModuleWalker.walk(tempDir, 5, rel -> true, (rel, dir) -> dir.isFile(marker)).stream()
+                .map(ModuleWalker.Match::relativePath)
+                .toList();
+    }
+
+    // ============================================================
+    // WALK
+    // ============================================================
+
+    @Test
+    @DisplayName("Finds accepted directories sorted by path, with their type")
+    void findsMatches() throws IOException {
+        file("services/b/go.mod");
+        file("services/a/go.mod");
+        file("go.mod");
+
+        List<ModuleWalker.Match> matches = ModuleWalker.walk(tempDir, 5, rel -> true,
+                (rel, dir) -> dir.isFile("go.mod"));
+
+        assertEquals(List.of("services/a", "services/b"), matches.stream().map(ModuleWalker.Match::relativePath).toList());
+        assertEquals(ProjectType.GO, matches.get(0).type());
+    }
+
+    @Test
+    @DisplayName("Skips what .gitignore files exclude")
+    void prunesIgnored() throws IOException {
+        file("generated/x/go.mod");
+        file("tools/scratch/go.mod");
+        file("tools/keep/go.mod");
+        Files.writeString(tempDir.resolve(".gitignore"), "generated/\n");
+        Files.writeString(tempDir.resolve("tools/.gitignore"), "scratch\n");
+
+        assertEquals(List.of("tools/keep"), walkFor("go.mod"));
+    }
+
+    @Test
+    @DisplayName("Leaves heavy directories to the descend test")
+    void heavyDirectories() throws IOException {
+        file("node_modules/dep/go.mod");
+        file(".cache/dep/go.mod");
+        file("tools/keep/go.mod");
+
+        assertEquals(List.of(".cache/dep", "node_modules/dep", "tools/keep"), walkFor("go.mod"));
+        assertEquals(List.of("tools/keep"),
+                ModuleWalker.walk(tempDir, 5, rel -> !ModuleWalker.isHeavy(rel), (rel, dir) -> dir.isFile("go.mod"))
+                        .stream().map(ModuleWalker.Match::relativePath).toList());
+    }
+
+    @Test
+    @DisplayName("Honors .git/info/exclude")
+    void infoExclude() throws IOException {
+        file("local/go.mod");
+        file("shared/go.mod");
+        Files.createDirectories(tempDir.resolve(".git/info"));
+        Files.writeString(tempDir.resolve(".git/info/exclude"), "/local\n");
+
+        assertEquals(List.of("shared"), walkFor("go.mod"));
+    }
+
+    @Test
+    @DisplayName("Only lists directories the descend test allows, down to the maximum depth")
+    void descendAndDepth() throws IOException {
+        file("apps/web/package.json");
+        file("docs/site/package.json");
+        file("apps/web/deep/er/package.json");
+
+        List<ModuleWalker.Match> matches = ModuleWalker.walk(tempDir, 2, rel -> rel.startsWith("apps"),
+                (rel, dir) -> dir.isFile("package.json"));
+
+        assertEquals(List.of("apps/web"), matches.stream().map(ModuleWalker.Match::relativePath).toList());
+    }
+
+    // ============================================================
+    // DETECT
+    // ============================================================
+
+    @Test
+    @DisplayName("detect keeps input order and drops missing directories")
+    void detect() throws IOException {
+        file("lib/Cargo.toml");
+        Files.createDirectories(tempDir.resolve("app"));
+
+        List<ModuleWalker.Match> matches = ModuleWalker.detect(tempDir, List.of("lib", "gone", "app"));
+
+        assertEquals(List.of("lib", "app"), matches.stream().map(ModuleWalker.Match::relativePath).toList());
+        assertEquals(ProjectType.RUST, matches.get(0).type());
+        assertEquals(ProjectType.UNKNOWN, matches.get(1).type());
+    }
+}
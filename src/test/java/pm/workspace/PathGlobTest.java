@@ -0,0 +1,84 @@
+package pm.workspace;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PathGlob")
+class PathGlobTest {
+
+    // ============================================================
+    // MATCHING
+    // ============================================================
+
+    @Test
+    @DisplayName("* and ? stay within one segment")
+    void singleSegmentWildcards() {
+        PathGlob glob = PathGlob.compile("packages/*");
+
+        assertTrue(glob.matches("packages/ui"));
+        assertFalse(glob.matches("packages"));
+        assertFalse(glob.matches("packages/ui/src"));
+        assertTrue(PathGlob.compile("lib-?").matches("lib-a"));
+        assertFalse(PathGlob.compile("lib-?").matches("lib-ab"));
+    }
+
+    @Test
+    @DisplayName("** matches any number of segments, but at the end at least one")
+    void recursive() {
+        assertTrue(PathGlob.compile("**/test").matches("test"));
+        assertTrue(PathGlob.compile("**/test").matches("a/b/test"));
+        assertTrue(PathGlob.compile("apps/**/web").matches("apps/web"));
+        assertTrue(PathGlob.compile("apps/**/web").matches("apps/x/y/web"));
+
+        PathGlob inside = PathGlob.compile("packages/**");
+        assertTrue(inside.matches("packages/a/b"));
+        assertFalse(inside.matches("packages"));
+        assertTrue(inside.isRecursive());
+    }
+
+    @Test
+    @DisplayName("Supports classes, negated classes, braces and escapes")
+    void syntax() {
+        assertTrue(PathGlob.compile("v[0-9]").matches("v7"));
+        assertFalse(PathGlob.compile("v[!0-9]").matches("v7"));
+        assertTrue(PathGlob.compile("{apps,libs}/*").matches("libs/core"));
+        assertFalse(PathGlob.compile("{apps,libs}/*").matches("tools/core"));
+        assertTrue(PathGlob.compile("a\\*b").matches("a*b"));
+        assertFalse(PathGlob.compile("a\\*b").matches("axb"));
+        assertTrue(PathGlob.compile("file.txt").matches("file.txt"));
+        assertFalse(PathGlob.compile("file.txt").matches("fileXtxt"));
+    }
+
+    @Test
+    @DisplayName("Ignores ./, leading and trailing slashes")
+    void normalization() {
+        PathGlob glob = PathGlob.compile("./packages/*/");
+
+        assertEquals("packages/*", glob.pattern());
+        assertTrue(glob.matches("packages/ui"));
+        assertTrue(PathGlob.compile("/build").matches("build"));
+        assertFalse(PathGlob.compile("packages/ui").hasWildcards());
+        assertTrue(glob.hasWildcards());
+    }
+
+    // ============================================================
+    // PRUNING
+    // ============================================================
+
+    @Test
+    @DisplayName("couldMatchBelow tells a walk which directories can lead to a match")
+    void couldMatchBelow() {
+        PathGlob glob = PathGlob.compile("packages/*");
+
+        assertTrue(glob.couldMatchBelow(""));
+        assertTrue(glob.couldMatchBelow("packages"));
+        assertFalse(glob.couldMatchBelow("packages/ui"));
+        assertFalse(glob.couldMatchBelow("docs"));
+
+        PathGlob recursive = PathGlob.compile("apps/**");
+        assertTrue(recursive.couldMatchBelow("apps/a/b/c"));
+        assertFalse(recursive.couldMatchBelow("tools"));
+    }
+}
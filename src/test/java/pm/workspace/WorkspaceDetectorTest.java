@@ -76,6 +76,22 @@ class WorkspaceDetectorTest {
             assertTrue(modules.stream().anyMatch(m -> m.relativePath().equals("crates/core")));
         }
 
+        @Test
+        @DisplayName("expands glob members and honors exclude")
+        void globMembers() throws IOException {
+            Files.writeString(tempDir.resolve("Cargo.toml"),
+                    "[workspace]\nmembers = [\"crates/*\"]\nexclude = [\"crates/experimental\"]\n");
+            Files.createDirectories(tempDir.resolve("crates/core"));
+            Files.writeString(tempDir.resolve("crates/core/Cargo.toml"), "[package]");
+            Files.createDirectories(tempDir.resolve("crates/cli"));
+            Files.createDirectories(tempDir.resolve("crates/experimental"));
+
+            List<WorkspaceModule> modules = WorkspaceDetector.detect(ProjectType.RUST, tempDir);
+            assertEquals(List.of("crates/cli", "crates/core"),
+                    modules.stream().map(WorkspaceModule::relativePath).toList());
+            assertEquals(ProjectType.RUST, modules.get(1).type());
+        }
+
         @Test
         @DisplayName("skips non-existent member directories")
         void skipsNonExistent() throws IOException {
@@ -169,6 +185,70 @@ class WorkspaceDetectorTest {
             List<WorkspaceModule> modules = WorkspaceDetector.detect(ProjectType.YARN, tempDir);
             assertEquals(1, modules.size());
         }
+
+        @Test
+        @DisplayName("reads pnpm-workspace.yaml with recursive globs and negations")
+        void pnpmWorkspaceYaml() throws IOException {
+            Files.writeString(tempDir.resolve("package.json"), "{\"workspaces\": [\"ignored/*\"]}");
+            Files.writeString(tempDir.resolve("pnpm-workspace.yaml"), String.join("\n",
+                    "packages:",
+                    "  - 'packages/**'",
+                    "  - \"apps/*\"  # deployable apps",
+                    "  - '!**/test/**'",
+                    "catalog:",
+                    "  react: ^18"));
+            Files.createDirectories(tempDir.resolve("packages/ui/src"));
+            Files.writeString(tempDir.resolve("packages/ui/package.json"), "{}");
+            Files.createDirectories(tempDir.resolve("packages/tools/cli"));
+            Files.writeString(tempDir.resolve("packages/tools/cli/package.json"), "{}");
+            Files.createDirectories(tempDir.resolve("packages/test/fixture"));
+            Files.writeString(tempDir.resolve("packages/test/fixture/package.json"), "{}");
+            Files.createDirectories(tempDir.resolve("packages/ui/node_modules/dep"));
+            Files.writeString(tempDir.resolve("packages/ui/node_modules/dep/package.json"), "{}");
+            Files.createDirectories(tempDir.resolve("apps/web"));
+            Files.createDirectories(tempDir.resolve("ignored/old"));
+
+            List<WorkspaceModule> modules = WorkspaceDetector.detect(ProjectType.PNPM, tempDir);
+
+            assertEquals(List.of("packages/tools/cli", "packages/ui", "apps/web"),
+                    modules.stream().map(WorkspaceModule::relativePath).toList());
+            assertEquals(ProjectType.NODEJS, modules.get(1).type());
+        }
+
+        @Test
+        @DisplayName("keeps glob members named like build directories")
+        void globMembersNamedLikeBuildDirs() throws IOException {
+            Files.writeString(tempDir.resolve("package.json"), "{\"workspaces\": [\"packages/*\"]}");
+            Files.createDirectories(tempDir.resolve("packages/build"));
+            Files.createDirectories(tempDir.resolve("packages/core"));
+            Files.createDirectories(tempDir.resolve("packages/out"));
+
+            List<WorkspaceModule> modules = WorkspaceDetector.detect(ProjectType.NODEJS, tempDir);
+            assertEquals(List.of("packages/build", "packages/core", "packages/out"),
+                    modules.stream().map(WorkspaceModule::relativePath).toList());
+        }
+
+        @Test
+        @DisplayName("skips git-ignored workspace directories")
+        void gitIgnored() throws IOException {
+            Files.writeString(tempDir.resolve("package.json"), "{\"workspaces\": [\"packages/*\"]}");
+            Files.writeString(tempDir.resolve(".gitignore"), "packages/scratch/\n");
+            Files.createDirectories(tempDir.resolve("packages/core"));
+            Files.createDirectories(tempDir.resolve("packages/scratch"));
+
+            List<WorkspaceModule> modules = WorkspaceDetector.detect(ProjectType.NODEJS, tempDir);
+            assertEquals(List.of("core"), modules.stream().map(WorkspaceModule::name).toList());
+        }
+
+        @Test
+        @DisplayName("parsePnpmWorkspace handles block and flow lists")
+        void parsePnpmWorkspace() {
+            assertEquals(List.of("packages/*", "!**/test/**"), WorkspaceDetector.parsePnpmWorkspace(
+                    "# workspace\npackages:\n- packages/*\n- '!**/test/**'\nonlyBuiltDependencies:\n  - esbuild\n"));
+            assertEquals(List.of("apps/*", "libs/*"),
+                    WorkspaceDetector.parsePnpmWorkspace("packages: ['apps/*', \"libs/*\"]\n"));
+            assertTrue(WorkspaceDetector.parsePnpmWorkspace("catalog:\n  - x\n").isEmpty());
+        }
     }
 
     // ============================================================
@@ -266,6 +346,23 @@ class WorkspaceDetectorTest {
             assertEquals(1, modules.size());
             assertEquals("pkg", modules.get(0).name());
         }
+
+        @Test
+        @DisplayName("does not descend into vendor, node_modules or .git")
+        void prunesHeavyDirectories() throws IOException {
+            Files.createFile(tempDir.resolve("go.mod"));
+            Files.createDirectories(tempDir.resolve("vendor/github.com/dep"));
+            Files.createFile(tempDir.resolve("vendor/github.com/dep/go.mod"));
+            Files.createDirectories(tempDir.resolve("web/node_modules/x"));
+            Files.createFile(tempDir.resolve("web/node_modules/x/go.mod"));
+            Files.createDirectories(tempDir.resolve(".git/modules"));
+            Files.createFile(tempDir.resolve(".git/modules/go.mod"));
+            Files.createDirectories(tempDir.resolve("tools"));
+            Files.createFile(tempDir.resolve("tools/go.mod"));
+
+            List<WorkspaceModule> modules = WorkspaceDetector.detect(ProjectType.GO, tempDir);
+            assertEquals(List.of("tools"), modules.stream().map(WorkspaceModule::relativePath).toList());
+        }
     }
 
     // ============================================================